@@ -0,0 +1,52 @@
+package dev.nebulamc.inject.benchmarks;
+
+import dev.nebulamc.inject.Container;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building containers with a varying number of service definitions.
+ *
+ * @author Sparky983
+ * @see FactoryBuildBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContainerBuildBenchmark {
+
+    /**
+     * The number of service definitions, including the root of the graph.
+     */
+    @Param({"1", "16", "192"})
+    public int serviceCount;
+
+    private ServiceGraph graph;
+
+    @Setup
+    public void setUp() {
+
+        // serviceCount - 1 leaves and their root
+        graph = new ServiceGraph(1, serviceCount - 1);
+    }
+
+    @Benchmark
+    public Container build() {
+
+        return graph.newContainer();
+    }
+}
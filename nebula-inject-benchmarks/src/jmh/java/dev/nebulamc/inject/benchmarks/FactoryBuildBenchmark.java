@@ -0,0 +1,67 @@
+package dev.nebulamc.inject.benchmarks;
+
+import dev.nebulamc.inject.Container;
+import dev.nebulamc.inject.Factory;
+import dev.nebulamc.inject.Service;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building a container with a {@link Factory}.
+ * <p>
+ * Kept apart from {@link ContainerBuildBenchmark}, as it does not depend on the number of service
+ * definitions.
+ *
+ * @author Sparky983
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FactoryBuildBenchmark {
+
+    private final ServiceFactory factory = new ServiceFactory();
+
+    @Benchmark
+    public Container buildWithFactory() {
+
+        return Container.builder()
+                .factory(factory)
+                .build();
+    }
+
+    public static final class Repository {
+
+    }
+
+    public static final class Configuration {
+
+    }
+
+    @Factory
+    public static final class ServiceFactory {
+
+        @Service
+        Configuration configuration() {
+
+            return new Configuration();
+        }
+
+        @Service
+        Repository repository(final Configuration configuration) {
+
+            return new Repository();
+        }
+    }
+}
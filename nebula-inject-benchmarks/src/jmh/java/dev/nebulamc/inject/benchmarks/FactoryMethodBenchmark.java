@@ -0,0 +1,183 @@
+package dev.nebulamc.inject.benchmarks;
+
+import dev.nebulamc.inject.Container;
+import dev.nebulamc.inject.Factory;
+import dev.nebulamc.inject.Service;
+import dev.nebulamc.inject.ServiceDefinition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares creating a service from a {@link Service @Service} method through its
+ * {@link ServiceDefinition} against the previous {@link Method#invoke(Object, Object...)} based
+ * implementation, for methods with 0, 3 and 10 parameters.
+ *
+ * @author Sparky983
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FactoryMethodBenchmark {
+
+    @Param({"0", "3", "10"})
+    public int parameterCount;
+
+    private final ServiceFactory factory = new ServiceFactory();
+
+    private Container container;
+    private ServiceDefinition<?> serviceDefinition;
+    private Method serviceMethod;
+    private Parameter[] parameters;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+
+        container = Container.builder()
+                .factory(factory)
+                .build();
+
+        final Class<?> serviceType = switch (parameterCount) {
+            case 0 -> Service0.class;
+            case 3 -> Service3.class;
+            case 10 -> Service10.class;
+            default -> throw new IllegalArgumentException("Unsupported parameter count");
+        };
+
+        serviceDefinition = container.findServiceDefinition(serviceType);
+
+        for (final Method method : ServiceFactory.class.getDeclaredMethods()) {
+            if (method.getReturnType().equals(serviceType)) {
+                serviceMethod = method;
+            }
+        }
+        parameters = serviceMethod.getParameters();
+    }
+
+    @Benchmark
+    public Object methodHandle() {
+
+        return serviceDefinition.createService(container);
+    }
+
+    /**
+     * The implementation of {@code ServiceServiceDefinition.createService} before service methods
+     * were invoked through a {@link java.lang.invoke.MethodHandle}.
+     */
+    @Benchmark
+    public Object reflection() throws IllegalAccessException, InvocationTargetException {
+
+        final Object[] arguments = new Object[parameters.length];
+
+        for (int i = 0; i < arguments.length; i++) {
+            arguments[i] = container.findService(parameters[i].getType());
+        }
+
+        serviceMethod.setAccessible(true);
+
+        try {
+            return serviceMethod.invoke(factory, arguments);
+        } finally {
+            serviceMethod.setAccessible(false);
+        }
+    }
+
+    public static final class A {
+
+    }
+
+    public static final class B {
+
+    }
+
+    public static final class C {
+
+    }
+
+    public static final class D {
+
+    }
+
+    public static final class E {
+
+    }
+
+    public static final class F {
+
+    }
+
+    public static final class G {
+
+    }
+
+    public static final class H {
+
+    }
+
+    public static final class I {
+
+    }
+
+    public static final class J {
+
+    }
+
+    public static final class Service0 {
+
+    }
+
+    public static final class Service3 {
+
+    }
+
+    public static final class Service10 {
+
+    }
+
+    @Factory
+    public static final class ServiceFactory {
+
+        @Service
+        Service0 service0() {
+
+            return new Service0();
+        }
+
+        @Service
+        Service3 service3(final A a, final B b, final C c) {
+
+            return new Service3();
+        }
+
+        @Service
+        Service10 service10(final A a,
+                            final B b,
+                            final C c,
+                            final D d,
+                            final E e,
+                            final F f,
+                            final G g,
+                            final H h,
+                            final I i,
+                            final J j) {
+
+            return new Service10();
+        }
+    }
+}
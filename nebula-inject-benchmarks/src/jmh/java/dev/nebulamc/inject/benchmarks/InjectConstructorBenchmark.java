@@ -0,0 +1,165 @@
+package dev.nebulamc.inject.benchmarks;
+
+import dev.nebulamc.inject.Container;
+import dev.nebulamc.inject.Inject;
+import dev.nebulamc.inject.ServiceDefinition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares creating a service from an {@link Inject @Inject} constructor through a generated
+ * hidden class ({@link Container.Builder#generateConstructorAccessors(boolean)}), through a
+ * method handle (the default) and through {@link Constructor#newInstance(Object...)}, for
+ * constructors with 0, 3 and 10 parameters.
+ *
+ * @author Sparky983
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InjectConstructorBenchmark {
+
+    @Param({"0", "3", "10"})
+    public int parameterCount;
+
+    private Container container;
+    private ServiceDefinition<?> methodHandleServiceDefinition;
+    private ServiceDefinition<?> hiddenClassServiceDefinition;
+    private Constructor<?> constructor;
+    private Class<?>[] parameterTypes;
+
+    @Setup
+    public void setUp() {
+
+        final Class<?> serviceType = switch (parameterCount) {
+            case 0 -> Service0.class;
+            case 3 -> Service3.class;
+            case 10 -> Service10.class;
+            default -> throw new IllegalArgumentException("Unsupported parameter count");
+        };
+
+        container = Container.builder().build();
+        methodHandleServiceDefinition = container.findServiceDefinition(serviceType);
+        hiddenClassServiceDefinition = Container.builder()
+                .generateConstructorAccessors(true)
+                .build()
+                .findServiceDefinition(serviceType);
+
+        constructor = serviceType.getDeclaredConstructors()[0];
+        parameterTypes = constructor.getParameterTypes();
+    }
+
+    @Benchmark
+    public Object methodHandle() {
+
+        return methodHandleServiceDefinition.createService(container);
+    }
+
+    @Benchmark
+    public Object hiddenClass() {
+
+        return hiddenClassServiceDefinition.createService(container);
+    }
+
+    /**
+     * Resolves the arguments the same way as the service definitions, but invokes the constructor
+     * reflectively.
+     */
+    @Benchmark
+    public Object reflection()
+            throws InvocationTargetException, InstantiationException, IllegalAccessException {
+
+        final Object[] arguments = new Object[parameterTypes.length];
+
+        for (int i = 0; i < arguments.length; i++) {
+            arguments[i] = container.findService(parameterTypes[i]);
+        }
+
+        return constructor.newInstance(arguments);
+    }
+
+    public static final class A {
+
+    }
+
+    public static final class B {
+
+    }
+
+    public static final class C {
+
+    }
+
+    public static final class D {
+
+    }
+
+    public static final class E {
+
+    }
+
+    public static final class F {
+
+    }
+
+    public static final class G {
+
+    }
+
+    public static final class H {
+
+    }
+
+    public static final class I {
+
+    }
+
+    public static final class J {
+
+    }
+
+    public static final class Service0 {
+
+    }
+
+    public static final class Service3 {
+
+        @Inject
+        public Service3(final A a, final B b, final C c) {
+
+        }
+    }
+
+    public static final class Service10 {
+
+        @Inject
+        public Service10(final A a,
+                         final B b,
+                         final C c,
+                         final D d,
+                         final E e,
+                         final F f,
+                         final G g,
+                         final H h,
+                         final I i,
+                         final J j) {
+
+        }
+    }
+}
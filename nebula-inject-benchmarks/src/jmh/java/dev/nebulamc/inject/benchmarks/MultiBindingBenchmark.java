@@ -0,0 +1,113 @@
+package dev.nebulamc.inject.benchmarks;
+
+import dev.nebulamc.inject.Container;
+import dev.nebulamc.inject.ServiceDefinition;
+import dev.nebulamc.inject.ServiceFinder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Container#findServices(Class)} for a type with a varying number of service
+ * definitions, both before and after the services were created.
+ *
+ * @author Sparky983
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MultiBindingBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int bindingCount;
+
+    private Container warmContainer;
+
+    @Setup
+    public void setUp() {
+
+        warmContainer = newContainer();
+        warmContainer.findServices(Plugin.class);
+    }
+
+    private Container newContainer() {
+
+        final Container.Builder builder = Container.builder();
+        for (int i = 0; i < bindingCount; i++) {
+            builder.serviceDefinition(new PluginServiceDefinition());
+        }
+        return builder.build();
+    }
+
+    @Benchmark
+    public List<Plugin> coldFindServices(final ColdContainer coldContainer) {
+
+        return coldContainer.container.findServices(Plugin.class);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public List<Plugin> warmFindServices() {
+
+        return warmContainer.findServices(Plugin.class);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public List<Plugin> warmFindServicesContended() {
+
+        return warmContainer.findServices(Plugin.class);
+    }
+
+    /**
+     * A freshly built container for each cold lookup.
+     * <p>
+     * Kept in its own state, so that only the cold benchmark pays for the invocation-level setup.
+     */
+    @State(Scope.Thread)
+    public static class ColdContainer {
+
+        private Container container;
+
+        @Setup(Level.Invocation)
+        public void setUp(final MultiBindingBenchmark benchmark) {
+
+            container = benchmark.newContainer();
+        }
+    }
+
+    public static final class Plugin {
+
+    }
+
+    private static final class PluginServiceDefinition implements ServiceDefinition<Plugin> {
+
+        @Override
+        public Class<Plugin> getServiceType() {
+
+            return Plugin.class;
+        }
+
+        @Override
+        public Plugin createService(final ServiceFinder serviceFinder) {
+
+            return new Plugin();
+        }
+    }
+}
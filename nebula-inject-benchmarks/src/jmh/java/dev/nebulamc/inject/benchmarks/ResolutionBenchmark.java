@@ -0,0 +1,116 @@
+package dev.nebulamc.inject.benchmarks;
+
+import dev.nebulamc.inject.Container;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures resolving a {@link ServiceGraph} of varying depth and width.
+ * <p>
+ * Cold resolution resolves the root service of a freshly built container, so every service in the
+ * graph is created. Warm resolution looks up services that have already been created, from one
+ * thread and from many threads at once.
+ *
+ * @author Sparky983
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResolutionBenchmark {
+
+    @Param({"1", "4", "16"})
+    public int depth;
+
+    @Param({"1", "4", "12"})
+    public int width;
+
+    private ServiceGraph graph;
+    private Class<?> rootType;
+    private List<Class<?>> types;
+    private Container warmContainer;
+
+    @Setup
+    public void setUp() {
+
+        graph = new ServiceGraph(depth, width);
+        rootType = graph.getRootType();
+        types = graph.getTypes();
+
+        warmContainer = graph.newContainer();
+        warmContainer.findService(rootType);
+    }
+
+    @Benchmark
+    public Object coldFindService(final ColdContainer coldContainer) {
+
+        return coldContainer.container.findService(rootType);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Object warmFindService() {
+
+        return warmContainer.findService(rootType);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Object warmFindServiceContended() {
+
+        return warmContainer.findService(rootType);
+    }
+
+    /**
+     * Looks up every service in the graph, so the lookup is not always served by the same cache
+     * entry.
+     */
+    @Benchmark
+    @Threads(8)
+    public void warmFindAllServicesContended(final Blackhole blackhole) {
+
+        for (final Class<?> type : types) {
+            blackhole.consume(warmContainer.findService(type));
+        }
+    }
+
+    /**
+     * A freshly built container for each cold resolution.
+     * <p>
+     * Kept in its own state, so that only the cold benchmarks pay for the invocation-level setup.
+     */
+    @State(Scope.Thread)
+    public static class ColdContainer {
+
+        private Container container;
+
+        /**
+         * Builds a fresh container before each cold resolution, outside the measurement.
+         * <p>
+         * Cold resolution creates every service in the graph, which takes long enough for the
+         * overhead of an invocation-level setup not to dominate.
+         */
+        @Setup(Level.Invocation)
+        public void setUp(final ResolutionBenchmark benchmark) {
+
+            container = benchmark.graph.newContainer();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package dev.nebulamc.inject.benchmarks;
+
+import dev.nebulamc.inject.Container;
+import dev.nebulamc.inject.ServiceDefinition;
+import dev.nebulamc.inject.ServiceFinder;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A layered graph of services used to benchmark resolution.
+ * <p>
+ * The root service depends on every service of the first layer, and every service of a layer
+ * depends on every service of the next layer. The last layer has no dependencies.
+ * <p>
+ * Each service needs its own type, so the services are arrays of {@link Node} with increasing
+ * dimensions ({@code Node[]}, {@code Node[][]}, ...). This avoids declaring hundreds of classes,
+ * while keeping the types real classes that the container can look up.
+ *
+ * @author Sparky983
+ */
+final class ServiceGraph {
+
+    /**
+     * The maximum number of services in a graph, limited by the maximum number of array
+     * dimensions.
+     */
+    static final int MAX_SIZE = 255;
+
+    private final Class<?> rootType;
+    private final List<ServiceDefinition<?>> serviceDefinitions;
+
+    /**
+     * Constructs a new {@link ServiceGraph}.
+     *
+     * @param depth the number of layers below the root
+     * @param width the number of services in each layer
+     */
+    ServiceGraph(final int depth, final int width) {
+
+        if (depth * width + 1 > MAX_SIZE) {
+            throw new IllegalArgumentException("Graph of depth " + depth + " and width " + width +
+                    " is too large");
+        }
+
+        final List<ServiceDefinition<?>> serviceDefinitions = new ArrayList<>();
+        Class<?> type = Node.class;
+
+        // Build from the last layer up, so each layer knows the types of the next
+        List<Class<?>> nextLayer = List.of();
+        for (int layer = 0; layer < depth; layer++) {
+            final List<Class<?>> currentLayer = new ArrayList<>(width);
+            for (int i = 0; i < width; i++) {
+                type = type.arrayType();
+                currentLayer.add(type);
+                serviceDefinitions.add(new NodeServiceDefinition<>(type, nextLayer));
+            }
+            nextLayer = currentLayer;
+        }
+
+        this.rootType = type.arrayType();
+        serviceDefinitions.add(new NodeServiceDefinition<>(rootType, nextLayer));
+        this.serviceDefinitions = serviceDefinitions;
+    }
+
+    /**
+     * Gets the type of the root service, which transitively depends on every other service.
+     *
+     * @return the type of the root service
+     */
+    Class<?> getRootType() {
+
+        return rootType;
+    }
+
+    /**
+     * Gets all types in this graph.
+     *
+     * @return the types
+     */
+    List<Class<?>> getTypes() {
+
+        return serviceDefinitions.stream()
+                .<Class<?>>map(ServiceDefinition::getServiceType)
+                .toList();
+    }
+
+    /**
+     * Builds a new container containing every service in this graph.
+     *
+     * @return the container
+     */
+    Container newContainer() {
+
+        final Container.Builder builder = Container.builder();
+        for (final ServiceDefinition<?> serviceDefinition : serviceDefinitions) {
+            builder.serviceDefinition(serviceDefinition);
+        }
+        return builder.build();
+    }
+
+    public static final class Node {
+
+    }
+
+    private static final class NodeServiceDefinition<T> implements ServiceDefinition<T> {
+
+        private final Class<T> type;
+        private final List<Class<?>> dependencies;
+
+        NodeServiceDefinition(final Class<T> type, final List<Class<?>> dependencies) {
+
+            this.type = type;
+            this.dependencies = dependencies;
+        }
+
+        @Override
+        public Class<T> getServiceType() {
+
+            return type;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public T createService(final ServiceFinder serviceFinder) {
+
+            for (final Class<?> dependency : dependencies) {
+                serviceFinder.findService(dependency);
+            }
+
+            return (T) Array.newInstance(type.getComponentType(), 0);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package dev.nebulamc.inject.benchmarks;
+
+import dev.nebulamc.inject.Container;
+import dev.nebulamc.inject.Inject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of looking up already created singletons, both uncontended and with
+ * many threads looking up the same container at once.
+ *
+ * @author Sparky983
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SingletonLookupBenchmark {
+
+    private Container container;
+
+    @Setup
+    public void setUp() {
+
+        container = Container.builder().build();
+        container.findService(Repository.class);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Object findService() {
+
+        return container.findService(Repository.class);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Object findServiceContended() {
+
+        return container.findService(Repository.class);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Object findServicesContended() {
+
+        return container.findServices(Repository.class);
+    }
+
+    public static final class Configuration {
+
+    }
+
+    public static final class Repository {
+
+        @Inject
+        public Repository(final Configuration configuration) {
+
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package dev.nebulamc.inject.benchmarks;
+
+import dev.nebulamc.inject.Container;
+import dev.nebulamc.inject.Factory;
+import dev.nebulamc.inject.Inject;
+import dev.nebulamc.inject.Service;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the first build of a precompiled container in a JVM without a snapshot (cold) and with
+ * a snapshot ({@link Container#builder(Path)}).
+ * <p>
+ * Each measurement is a single build in a new JVM, as the constructors and methods discovered by
+ * the first build are cached for the rest of the JVM. The snapshot is written during setup by a
+ * container that does not share that cache, so both benchmarks start with the same classes
+ * loaded.
+ *
+ * @author Sparky983
+ * @see ContainerBuildBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class SnapshotBuildBenchmark {
+
+    private final ServiceFactory factory = new ServiceFactory();
+
+    private Path snapshot;
+
+    @Setup
+    public void setUp() throws IOException {
+
+        snapshot = Files.createTempFile("nebula-inject-snapshot", ".bin");
+        Files.delete(snapshot);
+        newBuilder(Container.builder(snapshot)).build();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+
+        Files.deleteIfExists(snapshot);
+    }
+
+    /**
+     * Adds the services to the builder. The services of the factory are the roots of the plan, and
+     * reach every concrete class.
+     */
+    private Container.Builder newBuilder(final Container.Builder builder) {
+
+        return builder
+                .factory(factory)
+                .precompile(true);
+    }
+
+    @Benchmark
+    public Container cold() {
+
+        return newBuilder(Container.builder()).build();
+    }
+
+    @Benchmark
+    public Container snapshot() {
+
+        return newBuilder(Container.builder(snapshot)).build();
+    }
+
+    public static final class Configuration {
+
+    }
+
+    public static final class Clock {
+
+    }
+
+    public static final class Server {
+
+    }
+
+    @Factory
+    public static final class ServiceFactory {
+
+        @Service
+        Configuration configuration() {
+
+            return new Configuration();
+        }
+
+        @Service
+        Clock clock() {
+
+            return new Clock();
+        }
+
+        @Service
+        Server server(final Application application) {
+
+            return new Server();
+        }
+    }
+
+    public static final class Repository {
+
+        @Inject
+        public Repository(final Configuration configuration) {
+
+        }
+    }
+
+    public static final class Cache {
+
+        @Inject
+        public Cache(final Configuration configuration, final Clock clock) {
+
+        }
+    }
+
+    public static final class UserService {
+
+        @Inject
+        public UserService(final Repository repository, final Cache cache) {
+
+        }
+    }
+
+    public static final class OrderService {
+
+        @Inject
+        public OrderService(final Repository repository, final Cache cache, final Clock clock) {
+
+        }
+    }
+
+    public static final class Application {
+
+        @Inject
+        public Application(final UserService userService, final OrderService orderService) {
+
+        }
+    }
+}
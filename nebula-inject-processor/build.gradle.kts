@@ -0,0 +1,9 @@
+plugins {
+    id("nebula-inject.library-conventions")
+}
+
+dependencies {
+    compileOnly("org.jspecify:jspecify:1.0.0")
+
+    testImplementation(project(":nebula-inject"))
+}
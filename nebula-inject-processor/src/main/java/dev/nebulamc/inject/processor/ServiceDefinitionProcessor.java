@@ -0,0 +1,829 @@
+package dev.nebulamc.inject.processor;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An annotation processor that generates reflection-free service definitions at compile time.
+ * <p>
+ * For every class with a constructor annotated with {@code @Inject}, a
+ * {@code <Class>_ServiceDefinition} is generated next to it. The generated definition calls the
+ * constructor directly:
+ * <pre>{@code
+ * Container container = Container.builder()
+ *         .serviceDefinition(new Sedan_ServiceDefinition())
+ *         .build();
+ * }</pre>
+ * <p>
+ * For every class annotated with {@code @Factory}, a {@code <Class>_ServiceDefinitionRegistry} is
+ * generated that calls the factory's {@code @Service} methods directly:
+ * <pre>{@code
+ * Container container = Container.builder()
+ *         .serviceDefinitionRegistry(new CarFactory_ServiceDefinitionRegistry(new CarFactory()))
+ *         .build();
+ * }</pre>
+ * <p>
+ * If the {@value #INDEX_OPTION} option is set to a fully qualified class name, a
+ * {@code ServiceDefinitionRegistry} of that name is additionally generated containing the service
+ * definitions of all {@code @Inject} classes in the compilation:
+ * <pre>{@code
+ * // compiled with -Anebula.inject.index=com.example.ExampleServiceDefinitions
+ * Container container = Container.builder()
+ *         .serviceDefinitionRegistry(new ExampleServiceDefinitions())
+ *         .build();
+ * }</pre>
+ * <p>
+ * Constructors and service methods must not be private, and their classes must not be private or
+ * non-static inner classes, as the generated code must be able to call them.
+ *
+ * @author Sparky983
+ * @since 0.3
+ */
+@NullMarked
+@SupportedAnnotationTypes({
+        ServiceDefinitionProcessor.INJECT,
+        ServiceDefinitionProcessor.FACTORY
+})
+@SupportedOptions(ServiceDefinitionProcessor.INDEX_OPTION)
+public final class ServiceDefinitionProcessor extends AbstractProcessor {
+
+    /**
+     * The option specifying the fully qualified name of the service definition index to generate.
+     *
+     * @since 0.3
+     */
+    public static final String INDEX_OPTION = "nebula.inject.index";
+
+    static final String INJECT = "dev.nebulamc.inject.Inject";
+    static final String FACTORY = "dev.nebulamc.inject.Factory";
+    static final String SERVICE = "dev.nebulamc.inject.Service";
+    static final String NAMED = "dev.nebulamc.inject.Named";
+
+    private static final String SERVICE_DEFINITION_SUFFIX = "_ServiceDefinition";
+    private static final String SERVICE_DEFINITION_REGISTRY_SUFFIX = "_ServiceDefinitionRegistry";
+
+    /**
+     * The fully qualified names of all service definitions generated for {@code @Inject} classes,
+     * used to generate the index.
+     */
+    private final List<String> serviceDefinitions = new ArrayList<>();
+
+    /**
+     * Whether the index has been generated, after which no more service definitions can be added
+     * to it.
+     */
+    private boolean indexWritten;
+
+    private @Nullable Elements elements;
+    private @Nullable Types types;
+    private @Nullable Filer filer;
+    private @Nullable Messager messager;
+
+    @Override
+    public synchronized void init(final ProcessingEnvironment processingEnv) {
+
+        super.init(processingEnv);
+
+        this.elements = processingEnv.getElementUtils();
+        this.types = processingEnv.getTypeUtils();
+        this.filer = processingEnv.getFiler();
+        this.messager = processingEnv.getMessager();
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations,
+                           final RoundEnvironment roundEnv) {
+
+        if (roundEnv.processingOver()) {
+            return false;
+        }
+
+        final int previousServiceDefinitions = serviceDefinitions.size();
+
+        final TypeElement inject = elements().getTypeElement(INJECT);
+        if (inject != null) {
+            final Map<TypeElement, List<ExecutableElement>> injectConstructors =
+                    new LinkedHashMap<>();
+            for (final Element element : roundEnv.getElementsAnnotatedWith(inject)) {
+                if (element.getKind() == ElementKind.CONSTRUCTOR) {
+                    injectConstructors
+                            .computeIfAbsent((TypeElement) element.getEnclosingElement(),
+                                    (type) -> new ArrayList<>())
+                            .add((ExecutableElement) element);
+                }
+            }
+            injectConstructors.forEach(this::processInjectClass);
+        }
+
+        final TypeElement factory = elements().getTypeElement(FACTORY);
+        if (factory != null) {
+            for (final Element element : roundEnv.getElementsAnnotatedWith(factory)) {
+                if (element.getKind() == ElementKind.CLASS) {
+                    processFactoryClass((TypeElement) element);
+                }
+            }
+        }
+
+        final String index = processingEnv.getOptions().get(INDEX_OPTION);
+        if (index != null && !indexWritten &&
+                serviceDefinitions.size() == previousServiceDefinitions) {
+            // Generated in the first round that generates no service definitions, once the
+            // definitions of the previous rounds are known, rather than in the final round whose
+            // generated sources are not processed
+            writeIndex(index);
+            indexWritten = true;
+        }
+
+        // Other processors may also be interested in these annotations
+        return false;
+    }
+
+    private void processInjectClass(final TypeElement type,
+                                    final List<ExecutableElement> constructors) {
+
+        if (constructors.size() > 1) {
+            error(type, "Multiple constructors annotated with @" + INJECT + " found");
+            return;
+        }
+
+        final ExecutableElement constructor = constructors.get(0);
+
+        if (type.getModifiers().contains(Modifier.ABSTRACT)) {
+            error(type, "Cannot create service definition for abstract class " +
+                    type.getQualifiedName());
+            return;
+        }
+
+        if (!isAccessible(type) || constructor.getModifiers().contains(Modifier.PRIVATE)) {
+            error(constructor, "@" + INJECT + " constructors and their classes must not be " +
+                    "private or non-static inner classes to generate a service definition");
+            return;
+        }
+
+        final String packageName = packageOf(type);
+        final String simpleName = generatedName(type, SERVICE_DEFINITION_SUFFIX);
+        final String serviceType = erasure(type.asType());
+
+        final StringBuilder source = new StringBuilder();
+        final List<String> typeTokens = new ArrayList<>();
+        writeHeader(source, packageName);
+        source.append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n")
+                .append("public final class ").append(simpleName)
+                .append(" implements dev.nebulamc.inject.ServiceDefinition<")
+                .append(serviceType).append("> {\n\n");
+        writeGetServiceType(source, serviceType, "    ");
+        writeGetName(source, getName(type), "    ");
+        source.append("\n    @Override\n")
+                .append("    public ").append(serviceType)
+                .append(" createService(final dev.nebulamc.inject.ServiceFinder serviceFinder) {\n\n");
+        writeNullCheck(source, "        ");
+        final String arguments = writeArguments(source, constructor, typeTokens, "        ");
+        source.append("        try {\n")
+                .append("            return new ").append(serviceType)
+                .append("(").append(arguments).append(");\n")
+                .append("        } catch (final Throwable e) {\n")
+                .append("            throw new dev.nebulamc.inject.ServiceException(")
+                .append("\"Exception while constructing \" + ").append(serviceType)
+                .append(".class, e);\n")
+                .append("        }\n")
+                .append("    }\n");
+        writeTypeTokens(source, typeTokens);
+        source.append("}\n");
+
+        final String qualifiedName = qualify(packageName, simpleName);
+        if (indexWritten) {
+            error(type, "Service definition generated after the index was generated, so it " +
+                    "cannot be added to the index");
+        }
+        if (writeSourceFile(qualifiedName, source, type)) {
+            serviceDefinitions.add(qualifiedName);
+        }
+    }
+
+    private void processFactoryClass(final TypeElement factory) {
+
+        if (!isAccessible(factory)) {
+            error(factory, "@" + FACTORY + " classes must not be private or non-static inner " +
+                    "classes to generate a service definition registry");
+            return;
+        }
+
+        final TypeElement service = elements().getTypeElement(SERVICE);
+        final List<ExecutableElement> serviceMethods = new ArrayList<>();
+
+        for (final Element element : factory.getEnclosedElements()) {
+            if (element.getKind() == ElementKind.METHOD &&
+                    service != null &&
+                    isAnnotationPresent(element, service)) {
+                final ExecutableElement method = (ExecutableElement) element;
+                if (method.getModifiers().contains(Modifier.PRIVATE)) {
+                    error(method, "@" + SERVICE + " methods must not be private to generate a " +
+                            "service definition registry");
+                    return;
+                }
+                if (!(method.getReturnType() instanceof DeclaredType)) {
+                    error(method, "@" + SERVICE + " methods must return a class or interface");
+                    return;
+                }
+                serviceMethods.add(method);
+            }
+        }
+
+        final String packageName = packageOf(factory);
+        final String simpleName = generatedName(factory, SERVICE_DEFINITION_REGISTRY_SUFFIX);
+        final String factoryType = erasure(factory.asType());
+
+        final StringBuilder source = new StringBuilder();
+        final List<String> typeTokens = new ArrayList<>();
+        writeHeader(source, packageName);
+        source.append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n")
+                .append("public final class ").append(simpleName)
+                .append(" implements dev.nebulamc.inject.ServiceDefinitionRegistry {\n\n")
+                .append("    private final dev.nebulamc.inject.ServiceDefinitionRegistry ")
+                .append("serviceDefinitionRegistry;\n\n")
+                .append("    public ").append(simpleName).append("(final ").append(factoryType)
+                .append(" factory) {\n\n")
+                .append("        if (factory == null) {\n")
+                .append("            throw new NullPointerException(")
+                .append("\"Argument \\\"factory\\\" cannot be null\");\n")
+                .append("        }\n\n")
+                .append("        this.serviceDefinitionRegistry = ")
+                .append("dev.nebulamc.inject.ServiceDefinitionRegistry.builder()\n");
+
+        for (final ExecutableElement method : serviceMethods) {
+            writeServiceMethodDefinition(source, factoryType, method, typeTokens);
+        }
+
+        source.append("                .build();\n")
+                .append("    }\n");
+        writeDelegatingRegistryMethods(source);
+        writeTypeTokens(source, typeTokens);
+        source.append("}\n");
+
+        writeSourceFile(qualify(packageName, simpleName), source, factory);
+    }
+
+    private void writeServiceMethodDefinition(final StringBuilder source,
+                                              final String factoryType,
+                                              final ExecutableElement method,
+                                              final List<String> typeTokens) {
+
+        final String indent = "                        ";
+        final String serviceType = erasure(method.getReturnType());
+        final String receiver = method.getModifiers().contains(Modifier.STATIC)
+                ? factoryType
+                : "factory";
+        final String description = factoryType + "." + method.getSimpleName() + "()";
+
+        source.append("                .serviceDefinition(new dev.nebulamc.inject.ServiceDefinition<")
+                .append(serviceType).append(">() {\n\n");
+        writeGetServiceType(source, serviceType, "                    ");
+        writeGetName(source, getName(method), "                    ");
+        if (isParameterizedServiceType(method.getReturnType())) {
+            writeGetGenericType(
+                    source,
+                    typeToken(typeTokens, method.getReturnType()),
+                    "                    ");
+        }
+        source.append("\n                    @Override\n")
+                .append("                    public ").append(serviceType)
+                .append(" createService(final dev.nebulamc.inject.ServiceFinder serviceFinder) {\n\n");
+        writeNullCheck(source, indent);
+        final String arguments = writeArguments(source, method, typeTokens, indent);
+        source.append(indent).append("final ").append(serviceType).append(" service;\n\n")
+                .append(indent).append("try {\n")
+                .append(indent).append("    service = ").append(receiver).append(".")
+                .append(method.getSimpleName()).append("(").append(arguments).append(");\n")
+                .append(indent)
+                .append("} catch (final dev.nebulamc.inject.NoUniqueServiceException e) {\n")
+                .append(indent).append("    throw e;\n")
+                .append(indent).append("} catch (final Throwable e) {\n")
+                .append(indent).append("    throw new dev.nebulamc.inject.ServiceException(\"")
+                .append(description).append(" threw an exception\", e);\n")
+                .append(indent).append("}\n\n")
+                .append(indent).append("if (service == null) {\n")
+                .append(indent).append("    throw new dev.nebulamc.inject.ServiceException(")
+                .append("\"Service method ").append(description).append(" returned null\");\n")
+                .append(indent).append("}\n\n")
+                .append(indent).append("return service;\n")
+                .append("                    }\n")
+                .append("                })\n");
+    }
+
+    private void writeIndex(final String index) {
+
+        final int lastDot = index.lastIndexOf('.');
+        final String packageName = lastDot == -1 ? "" : index.substring(0, lastDot);
+        final String simpleName = index.substring(lastDot + 1);
+
+        final StringBuilder source = new StringBuilder();
+        writeHeader(source, packageName);
+        source.append("public final class ").append(simpleName)
+                .append(" implements dev.nebulamc.inject.ServiceDefinitionRegistry {\n\n")
+                .append("    private final dev.nebulamc.inject.ServiceDefinitionRegistry ")
+                .append("serviceDefinitionRegistry =\n")
+                .append("            dev.nebulamc.inject.ServiceDefinitionRegistry.builder()\n");
+        for (final String serviceDefinition : serviceDefinitions) {
+            source.append("                    .serviceDefinition(new ").append(serviceDefinition)
+                    .append("())\n");
+        }
+        source.append("                    .build();\n");
+        writeDelegatingRegistryMethods(source);
+        source.append("}\n");
+
+        writeSourceFile(index, source);
+    }
+
+    /**
+     * Writes a local variable for each parameter of the executable and returns the arguments to
+     * call it with.
+     * <p>
+     * Parameters are resolved the same way as the runtime's parameter resolver: {@code Iterable},
+     * {@code Collection}, {@code List}, {@code Set} and arrays of a non-generic class are resolved
+     * to all services of that class, {@code Supplier} of a non-generic class is resolved lazily by
+     * {@code ServiceFinder.findLazyService}, and any other type is resolved to a single service of
+     * its erasure. Parameters of parameterized types are resolved to the service of that generic
+     * type, and parameters annotated with {@code @Named} are resolved to the service of that
+     * name.
+     */
+    private String writeArguments(final StringBuilder source,
+                                  final ExecutableElement executable,
+                                  final List<String> typeTokens,
+                                  final String indent) {
+
+        final List<? extends VariableElement> parameters = executable.getParameters();
+        final StringBuilder arguments = new StringBuilder();
+
+        for (int i = 0; i < parameters.size(); i++) {
+            final TypeMirror type = parameters.get(i).asType();
+            final String argument = "arg" + i;
+
+            source.append(indent).append("final ").append(erasure(type)).append(" ")
+                    .append(argument).append(" = ")
+                    .append(resolve(parameters.get(i), type, typeTokens))
+                    .append(";\n");
+
+            if (i > 0) {
+                arguments.append(", ");
+            }
+            arguments.append(argument);
+        }
+
+        if (!parameters.isEmpty()) {
+            source.append("\n");
+        }
+
+        return arguments.toString();
+    }
+
+    private String resolve(final VariableElement parameter,
+                           final TypeMirror type,
+                           final List<String> typeTokens) {
+
+        if (type.getKind().isPrimitive()) {
+            error(parameter, "Primitive parameters cannot be injected");
+            return "null";
+        }
+
+        final String name = getName(parameter);
+
+        if (type instanceof final ArrayType arrayType &&
+                isNonGenericClass(arrayType.getComponentType())) {
+            if (name != null) {
+                return namedCollectionError(parameter);
+            }
+            final String componentType = erasure(arrayType.getComponentType());
+            return "serviceFinder.findServices(" + componentType + ".class).toArray(new " +
+                    componentType + "[0])";
+        }
+
+        if (type instanceof final DeclaredType declaredType &&
+                erasure(type).equals("java.util.function.Supplier") &&
+                declaredType.getTypeArguments().size() == 1 &&
+                isParameterizedServiceType(declaredType.getTypeArguments().get(0))) {
+            final TypeMirror elementType = declaredType.getTypeArguments().get(0);
+            if (name != null) {
+                return "serviceFinder.findLazyService(" + erasure(elementType) + ".class, " +
+                        elements().getConstantExpression(name) + ")";
+            }
+            return "serviceFinder.findLazyService(" + typeToken(typeTokens, elementType) + ")";
+        }
+
+        if (type instanceof final DeclaredType declaredType &&
+                declaredType.getTypeArguments().size() == 1 &&
+                isNonGenericClass(declaredType.getTypeArguments().get(0))) {
+            final String elementType = erasure(declaredType.getTypeArguments().get(0));
+            switch (erasure(type)) {
+                case "java.lang.Iterable", "java.util.Collection", "java.util.List" -> {
+                    if (name != null) {
+                        return namedCollectionError(parameter);
+                    }
+                    return "serviceFinder.findServices(" + elementType + ".class)";
+                }
+                case "java.util.Set" -> {
+                    if (name != null) {
+                        return namedCollectionError(parameter);
+                    }
+                    return "java.util.Set.copyOf(serviceFinder.findServices(" + elementType +
+                            ".class))";
+                }
+                case "java.util.function.Supplier" -> {
+                    // Like the runtime, so the supplier caches singletons but not scoped services
+                    if (name != null) {
+                        return "serviceFinder.findLazyService(" + elementType + ".class, " +
+                                elements().getConstantExpression(name) + ")";
+                    }
+                    return "serviceFinder.findLazyService(dev.nebulamc.inject.TypeToken.of(" +
+                            elementType + ".class))";
+                }
+                default -> {
+                }
+            }
+        }
+
+        if (name != null) {
+            return "serviceFinder.findService(" + erasure(type) + ".class, " +
+                    elements().getConstantExpression(name) + ")";
+        }
+
+        if (isParameterizedServiceType(type)) {
+            return "serviceFinder.findGenericService(" + typeToken(typeTokens, type) + ")";
+        }
+
+        return "serviceFinder.findService(" + erasure(type) + ".class)";
+    }
+
+    /**
+     * Gets the name of the constant holding the type token of the specified type, adding it to the
+     * type tokens if it is not already there.
+     * <p>
+     * Type tokens are constants, as creating one reflects on its class.
+     */
+    private String typeToken(final List<String> typeTokens, final TypeMirror type) {
+
+        final String typeName = typeName(type);
+        int index = typeTokens.indexOf(typeName);
+
+        if (index == -1) {
+            index = typeTokens.size();
+            typeTokens.add(typeName);
+        }
+
+        return "TYPE_" + index;
+    }
+
+    /**
+     * Writes a constant for each of the type tokens, named by {@link #typeToken(List, TypeMirror)}.
+     */
+    private void writeTypeTokens(final StringBuilder source, final List<String> typeTokens) {
+
+        for (int i = 0; i < typeTokens.size(); i++) {
+            source.append("\n    private static final dev.nebulamc.inject.TypeToken<")
+                    .append(typeTokens.get(i)).append("> TYPE_").append(i).append(" =\n")
+                    .append("            new dev.nebulamc.inject.TypeToken<>() {};\n");
+        }
+    }
+
+    private String namedCollectionError(final VariableElement parameter) {
+
+        error(parameter, "Parameters annotated with @" + NAMED + " must not be collections or " +
+                "arrays");
+        return "null";
+    }
+
+    private void writeHeader(final StringBuilder source, final String packageName) {
+
+        source.append("// Generated by ").append(getClass().getName()).append(". Do not edit.\n");
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n");
+        }
+        source.append("\n");
+    }
+
+    private void writeGetServiceType(final StringBuilder source,
+                                     final String serviceType,
+                                     final String indent) {
+
+        source.append(indent).append("@Override\n")
+                .append(indent).append("public Class<").append(serviceType)
+                .append("> getServiceType() {\n\n")
+                .append(indent).append("    return ").append(serviceType).append(".class;\n")
+                .append(indent).append("}\n");
+    }
+
+    /**
+     * Writes the {@code getName()} method of a named service definition, or nothing if the
+     * service is not named.
+     */
+    private void writeGetName(final StringBuilder source,
+                              final @Nullable String name,
+                              final String indent) {
+
+        if (name == null) {
+            return;
+        }
+
+        source.append("\n").append(indent).append("@Override\n")
+                .append(indent).append("public String getName() {\n\n")
+                .append(indent).append("    return ").append(elements().getConstantExpression(name))
+                .append(";\n")
+                .append(indent).append("}\n");
+    }
+
+    private void writeGetGenericType(final StringBuilder source,
+                                     final String typeToken,
+                                     final String indent) {
+
+        source.append("\n").append(indent).append("@Override\n")
+                .append(indent).append("public java.lang.reflect.Type getGenericType() {\n\n")
+                .append(indent).append("    return ").append(typeToken).append(".getType();\n")
+                .append(indent).append("}\n");
+    }
+
+    private void writeNullCheck(final StringBuilder source, final String indent) {
+
+        source.append(indent).append("if (serviceFinder == null) {\n")
+                .append(indent).append("    throw new NullPointerException(")
+                .append("\"Argument \\\"serviceFinder\\\" cannot be null\");\n")
+                .append(indent).append("}\n\n");
+    }
+
+    private void writeDelegatingRegistryMethods(final StringBuilder source) {
+
+        source.append("\n    @Override\n")
+                .append("    public <T> dev.nebulamc.inject.ServiceDefinition<T> ")
+                .append("findServiceDefinition(final Class<T> type) {\n\n")
+                .append("        return serviceDefinitionRegistry.findServiceDefinition(type);\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public <T> dev.nebulamc.inject.ServiceDefinition<T> ")
+                .append("findServiceDefinitionOrNull(final Class<T> type) {\n\n")
+                .append("        return serviceDefinitionRegistry")
+                .append(".findServiceDefinitionOrNull(type);\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public <T> java.util.List<dev.nebulamc.inject.ServiceDefinition<T>> ")
+                .append("findServiceDefinitions(final Class<T> type) {\n\n")
+                .append("        return serviceDefinitionRegistry.findServiceDefinitions(type);\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public <T> java.util.List<dev.nebulamc.inject.ServiceDefinition<T>> ")
+                .append("findServiceDefinitions(final Class<T> type, final String name) {\n\n")
+                .append("        return serviceDefinitionRegistry")
+                .append(".findServiceDefinitions(type, name);\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public <T> java.util.List<dev.nebulamc.inject.ServiceDefinition<T>> ")
+                .append("findGenericServiceDefinitions(\n")
+                .append("            final dev.nebulamc.inject.TypeToken<T> type) {\n\n")
+                .append("        return serviceDefinitionRegistry")
+                .append(".findGenericServiceDefinitions(type);\n")
+                .append("    }\n");
+    }
+
+    private boolean writeSourceFile(final String qualifiedName,
+                                    final CharSequence source,
+                                    final Element... originatingElements) {
+
+        try (final Writer writer = filer().createSourceFile(qualifiedName, originatingElements)
+                .openWriter()) {
+            writer.append(source);
+            return true;
+        } catch (final IOException e) {
+            messager().printMessage(Diagnostic.Kind.ERROR,
+                    "Unable to write " + qualifiedName + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Checks whether generated code in the same package can refer to the type.
+     */
+    private boolean isAccessible(final TypeElement type) {
+
+        Element element = type;
+        while (element instanceof final TypeElement typeElement) {
+            if (typeElement.getModifiers().contains(Modifier.PRIVATE)) {
+                return false;
+            }
+            final Element enclosing = typeElement.getEnclosingElement();
+            if (enclosing instanceof TypeElement &&
+                    typeElement.getKind() == ElementKind.CLASS &&
+                    !typeElement.getModifiers().contains(Modifier.STATIC)) {
+                return false;
+            }
+            element = enclosing;
+        }
+        return element instanceof PackageElement;
+    }
+
+    private boolean isNonGenericClass(final TypeMirror type) {
+
+        return type.getKind() == TypeKind.DECLARED &&
+                ((DeclaredType) type).getTypeArguments().isEmpty();
+    }
+
+    /**
+     * Checks whether the type is a parameterized type that the runtime finds services of by their
+     * generic type, which are those whose type arguments are classes or such parameterized types.
+     */
+    private boolean isParameterizedServiceType(final TypeMirror type) {
+
+        return type instanceof final DeclaredType declaredType &&
+                !declaredType.getTypeArguments().isEmpty() &&
+                isServiceType(type);
+    }
+
+    private boolean isServiceType(final TypeMirror type) {
+
+        if (type instanceof final ArrayType arrayType) {
+            final TypeMirror componentType = arrayType.getComponentType();
+            // Arrays of parameterized types are not classes
+            return componentType.getKind().isPrimitive() ||
+                    isNonGenericClass(componentType) ||
+                    componentType.getKind() == TypeKind.ARRAY && isServiceType(componentType);
+        }
+
+        if (!(type instanceof final DeclaredType declaredType)) {
+            return false;
+        }
+
+        final TypeMirror enclosingType = declaredType.getEnclosingType();
+        if (enclosingType.getKind() != TypeKind.NONE && !isNonGenericClass(enclosingType)) {
+            return false;
+        }
+
+        return declaredType.getTypeArguments().stream().allMatch(this::isServiceType);
+    }
+
+    /**
+     * Gets the name of the type as it is written in source code, without type annotations.
+     */
+    private String typeName(final TypeMirror type) {
+
+        if (type instanceof final ArrayType arrayType) {
+            return typeName(arrayType.getComponentType()) + "[]";
+        }
+
+        if (!(type instanceof final DeclaredType declaredType)) {
+            return type.getKind().name().toLowerCase(Locale.ROOT);
+        }
+
+        final StringBuilder name = new StringBuilder(
+                ((TypeElement) declaredType.asElement()).getQualifiedName());
+        final List<? extends TypeMirror> typeArguments = declaredType.getTypeArguments();
+
+        if (!typeArguments.isEmpty()) {
+            name.append("<");
+            for (int i = 0; i < typeArguments.size(); i++) {
+                if (i > 0) {
+                    name.append(", ");
+                }
+                name.append(typeName(typeArguments.get(i)));
+            }
+            name.append(">");
+        }
+
+        return name.toString();
+    }
+
+    /**
+     * Gets the value of the {@code @Named} annotation of the element, or {@code null} if it is not
+     * annotated with {@code @Named}.
+     */
+    private @Nullable String getName(final Element element) {
+
+        final TypeElement named = elements().getTypeElement(NAMED);
+
+        if (named == null) {
+            return null;
+        }
+
+        for (final AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (types().isSameType(mirror.getAnnotationType(), named.asType())) {
+                for (final Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> value :
+                        mirror.getElementValues().entrySet()) {
+                    if (value.getKey().getSimpleName().contentEquals("value")) {
+                        return (String) value.getValue().getValue();
+                    }
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private boolean isAnnotationPresent(final Element element, final TypeElement annotation) {
+
+        return element.getAnnotationMirrors()
+                .stream()
+                .anyMatch((mirror) -> types().isSameType(
+                        mirror.getAnnotationType(), annotation.asType()));
+    }
+
+    private String erasure(final TypeMirror type) {
+
+        return types().erasure(type).toString();
+    }
+
+    private String packageOf(final TypeElement type) {
+
+        return elements().getPackageOf(type).getQualifiedName().toString();
+    }
+
+    /**
+     * Gets the name of the class to generate for the specified type, joining the names of nested
+     * classes with an underscore.
+     */
+    private String generatedName(final TypeElement type, final String suffix) {
+
+        final StringBuilder name = new StringBuilder(type.getSimpleName());
+        Element enclosing = type.getEnclosingElement();
+        while (enclosing instanceof final TypeElement enclosingType) {
+            name.insert(0, enclosingType.getSimpleName() + "_");
+            enclosing = enclosingType.getEnclosingElement();
+        }
+        return name.append(suffix).toString();
+    }
+
+    private String qualify(final String packageName, final String simpleName) {
+
+        return packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+    }
+
+    private void error(final Element element, final String message) {
+
+        messager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private Elements elements() {
+
+        if (elements == null) {
+            throw new IllegalStateException("init(ProcessingEnvironment) has not been called yet");
+        }
+        return elements;
+    }
+
+    private Types types() {
+
+        if (types == null) {
+            throw new IllegalStateException("init(ProcessingEnvironment) has not been called yet");
+        }
+        return types;
+    }
+
+    private Filer filer() {
+
+        if (filer == null) {
+            throw new IllegalStateException("init(ProcessingEnvironment) has not been called yet");
+        }
+        return filer;
+    }
+
+    private Messager messager() {
+
+        if (messager == null) {
+            throw new IllegalStateException("init(ProcessingEnvironment) has not been called yet");
+        }
+        return messager;
+    }
+}
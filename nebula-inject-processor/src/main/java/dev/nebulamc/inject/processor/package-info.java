@@ -0,0 +1,7 @@
+/**
+ * Contains the Nebula Inject annotation processor.
+ *
+ * @see dev.nebulamc.inject.processor.ServiceDefinitionProcessor
+ * @since 0.3
+ */
+package dev.nebulamc.inject.processor;
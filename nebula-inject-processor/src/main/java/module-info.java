@@ -0,0 +1,15 @@
+/**
+ * Nebula Inject Processor.
+ *
+ * @author Sparky983
+ * @since 0.3
+ */
+module dev.nebulamc.inject.processor {
+    requires static org.jspecify;
+    requires java.compiler;
+
+    exports dev.nebulamc.inject.processor;
+
+    provides javax.annotation.processing.Processor
+            with dev.nebulamc.inject.processor.ServiceDefinitionProcessor;
+}
@@ -0,0 +1,743 @@
+package dev.nebulamc.inject.processor;
+
+import dev.nebulamc.inject.Container;
+import dev.nebulamc.inject.Scope;
+import dev.nebulamc.inject.ServiceDefinition;
+import dev.nebulamc.inject.ServiceDefinitionRegistry;
+import dev.nebulamc.inject.ServiceException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.lang.reflect.Field;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ServiceDefinitionProcessorTest {
+
+    static final String CAR = """
+            package com.example;
+
+            import dev.nebulamc.inject.Inject;
+
+            import java.util.List;
+            import java.util.Set;
+            import java.util.function.Supplier;
+
+            public class Car {
+
+                public static class Engine {
+
+                    @Inject
+                    Engine() {
+
+                    }
+                }
+
+                public static class Wheel {
+
+                    @Inject
+                    public Wheel() {
+
+                    }
+                }
+
+                public final Engine engine;
+                public final List<Wheel> wheels;
+                public final Set<Wheel> wheelSet;
+                public final Wheel[] wheelArray;
+                public final Supplier<Engine> engineSupplier;
+
+                @Inject
+                Car(final Engine engine,
+                    final List<Wheel> wheels,
+                    final Set<Wheel> wheelSet,
+                    final Wheel[] wheelArray,
+                    final Supplier<Engine> engineSupplier) {
+
+                    this.engine = engine;
+                    this.wheels = wheels;
+                    this.wheelSet = wheelSet;
+                    this.wheelArray = wheelArray;
+                    this.engineSupplier = engineSupplier;
+                }
+            }
+            """;
+
+    static final String BROKEN_CAR = """
+            package com.example;
+
+            import dev.nebulamc.inject.Inject;
+
+            public class BrokenCar {
+
+                @Inject
+                BrokenCar() {
+
+                    throw new IllegalStateException();
+                }
+            }
+            """;
+
+    static final String DRIVER_FACTORY = """
+            package com.example;
+
+            import dev.nebulamc.inject.Factory;
+            import dev.nebulamc.inject.Service;
+
+            @Factory
+            public class DriverFactory {
+
+                @Service
+                String driver(final Car car) {
+
+                    return "Driver of " + car.getClass().getSimpleName();
+                }
+
+                @Service
+                static Integer age() {
+
+                    return null;
+                }
+            }
+            """;
+
+    static final String GARAGE = """
+            package com.example;
+
+            import dev.nebulamc.inject.Factory;
+            import dev.nebulamc.inject.Inject;
+            import dev.nebulamc.inject.Named;
+            import dev.nebulamc.inject.Service;
+
+            import java.util.function.Supplier;
+
+            public class Garage {
+
+                @Named("v8")
+                public static class Engine {
+
+                    @Inject
+                    Engine() {
+
+                    }
+                }
+
+                @Factory
+                public static class SizeFactory {
+
+                    @Service
+                    @Named("small")
+                    Integer small() {
+
+                        return 2;
+                    }
+
+                    @Service
+                    @Named("large")
+                    Integer large() {
+
+                        return 4;
+                    }
+                }
+
+                public final Integer small;
+                public final Supplier<Integer> large;
+
+                @Inject
+                Garage(@Named("small") final Integer small,
+                       @Named("large") final Supplier<Integer> large) {
+
+                    this.small = small;
+                    this.large = large;
+                }
+            }
+            """;
+
+    static final String SHELF = """
+            package com.example;
+
+            import dev.nebulamc.inject.Factory;
+            import dev.nebulamc.inject.Inject;
+            import dev.nebulamc.inject.Service;
+
+            import java.util.function.Supplier;
+
+            public class Shelf {
+
+                public static class Box<T> {
+
+                    public final T value;
+
+                    Box(final T value) {
+
+                        this.value = value;
+                    }
+                }
+
+                @Factory
+                public static class BoxFactory {
+
+                    @Service
+                    Box<String> stringBox() {
+
+                        return new Box<>("string");
+                    }
+
+                    @Service
+                    Box<Integer> integerBox() {
+
+                        return new Box<>(1);
+                    }
+                }
+
+                public final Box<String> stringBox;
+                public final Supplier<Box<Integer>> integerBox;
+
+                @Inject
+                Shelf(final Box<String> stringBox, final Supplier<Box<Integer>> integerBox) {
+
+                    this.stringBox = stringBox;
+                    this.integerBox = integerBox;
+                }
+            }
+            """;
+
+    @TempDir
+    Path output;
+
+    Compilation compile(final Map<String, String> sources, final String... options) {
+
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        final StandardJavaFileManager fileManager =
+                compiler.getStandardFileManager(diagnostics, null, null);
+
+        final List<JavaFileObject> compilationUnits = sources.entrySet()
+                .stream()
+                .map((source) -> new SourceFile(source.getKey(), source.getValue()))
+                .collect(Collectors.toList());
+
+        final List<String> arguments = new ArrayList<>(List.of(
+                "-d", output.toString(),
+                "-classpath", classpathOf(Container.class)));
+        arguments.addAll(List.of(options));
+
+        final JavaCompiler.CompilationTask task = compiler.getTask(
+                null,
+                fileManager,
+                diagnostics,
+                arguments,
+                null,
+                compilationUnits);
+        task.setProcessors(List.of(new ServiceDefinitionProcessor()));
+
+        final boolean success = task.call();
+        return new Compilation(success, diagnostics.getDiagnostics());
+    }
+
+    ClassLoader classLoader() throws Exception {
+
+        return new URLClassLoader(new URL[]{output.toUri().toURL()}, getClass().getClassLoader());
+    }
+
+    static String classpathOf(final Class<?> type) {
+
+        try {
+            return new File(type.getProtectionDomain().getCodeSource().getLocation().toURI())
+                    .getPath();
+        } catch (final URISyntaxException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    record Compilation(boolean success,
+                       List<Diagnostic<? extends JavaFileObject>> diagnostics) {
+
+        boolean hasError(final String message) {
+
+            return diagnostics.stream()
+                    .filter((diagnostic) -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+                    .anyMatch((diagnostic) -> diagnostic.getMessage(null).contains(message));
+        }
+
+        boolean hasWarnings() {
+
+            return diagnostics.stream()
+                    .anyMatch((diagnostic) -> diagnostic.getKind() == Diagnostic.Kind.WARNING ||
+                            diagnostic.getKind() == Diagnostic.Kind.MANDATORY_WARNING);
+        }
+    }
+
+    static final class SourceFile extends SimpleJavaFileObject {
+
+        private final String source;
+
+        SourceFile(final String name, final String source) {
+
+            super(URI.create("string:///" + name.replace('.', '/') + Kind.SOURCE.extension),
+                    Kind.SOURCE);
+            this.source = source;
+        }
+
+        @Override
+        public CharSequence getCharContent(final boolean ignoreEncodingErrors) {
+
+            return source;
+        }
+    }
+
+    @DisplayName("@Inject")
+    @Nested
+    class InjectClasses {
+
+        Container container;
+        ClassLoader classLoader;
+        ServiceDefinitionRegistry registry;
+
+        @BeforeEach
+        void setUp() throws Exception {
+
+            final Compilation compilation = compile(Map.of(
+                    "com.example.Car", CAR,
+                    "com.example.BrokenCar", BROKEN_CAR));
+            assertTrue(compilation.success(), compilation.diagnostics()::toString);
+
+            classLoader = classLoader();
+            final ServiceDefinitionRegistry.Builder builder = ServiceDefinitionRegistry.builder();
+            for (final String name : List.of(
+                    "com.example.Car_ServiceDefinition",
+                    "com.example.Car_Engine_ServiceDefinition",
+                    "com.example.Car_Wheel_ServiceDefinition",
+                    "com.example.BrokenCar_ServiceDefinition")) {
+                builder.serviceDefinition((ServiceDefinition<?>) classLoader.loadClass(name)
+                        .getConstructor()
+                        .newInstance());
+            }
+            registry = builder.build();
+            container = Container.builder()
+                    .serviceDefinitionRegistry(registry)
+                    .build();
+        }
+
+        @Test
+        void testGetServiceType() throws Exception {
+
+            final Class<?> car = classLoader.loadClass("com.example.Car");
+
+            assertEquals(car, container.findServiceDefinition(car).getServiceType());
+        }
+
+        @Test
+        void testCreateService() throws Exception {
+
+            final Class<?> car = classLoader.loadClass("com.example.Car");
+            final Class<?> engine = classLoader.loadClass("com.example.Car$Engine");
+            final Class<?> wheel = classLoader.loadClass("com.example.Car$Wheel");
+
+            final Object service = container.findService(car);
+
+            assertSame(container.findService(engine), get(service, "engine"));
+            assertEquals(List.of(container.findService(wheel)), get(service, "wheels"));
+            assertEquals(Set.of(container.findService(wheel)), get(service, "wheelSet"));
+            assertEquals(wheel, get(service, "wheelArray").getClass().getComponentType());
+            assertSame(container.findService(engine),
+                    ((Supplier<?>) get(service, "engineSupplier")).get());
+        }
+
+        @Test
+        void testCreateServiceWhenSupplierIsOfPrototype() throws Exception {
+
+            final Class<?> car = classLoader.loadClass("com.example.Car");
+            final Class<?> engine = classLoader.loadClass("com.example.Car$Engine");
+            final Container container = Container.builder()
+                    .serviceDefinitionRegistry(registry)
+                    .scope(engine, Scope.prototype())
+                    .build();
+
+            final Supplier<?> engineSupplier =
+                    (Supplier<?>) get(container.findService(car), "engineSupplier");
+
+            // Like the runtime's suppliers, only singletons are cached
+            assertNotSame(engineSupplier.get(), engineSupplier.get());
+            assertSame(engineSupplier.get().getClass(), engine);
+        }
+
+        @Test
+        void testCreateServiceWhenServiceFinderIsNull() throws Exception {
+
+            final Class<?> car = classLoader.loadClass("com.example.Car");
+            final ServiceDefinition<?> serviceDefinition = container.findServiceDefinition(car);
+
+            assertThrows(NullPointerException.class, () -> serviceDefinition.createService(null));
+        }
+
+        @Test
+        void testCreateServiceWhenConstructorThrows() throws Exception {
+
+            final Class<?> brokenCar = classLoader.loadClass("com.example.BrokenCar");
+
+            final ServiceException e = assertThrows(ServiceException.class,
+                    () -> container.findService(brokenCar));
+            assertInstanceOf(IllegalStateException.class, e.getCause());
+        }
+
+        Object get(final Object service, final String name) throws Exception {
+
+            final Field field = service.getClass().getField(name);
+            return field.get(service);
+        }
+    }
+
+    @DisplayName("@Factory")
+    @Nested
+    class FactoryClasses {
+
+        Container container;
+
+        @BeforeEach
+        void setUp() throws Exception {
+
+            final Compilation compilation = compile(Map.of(
+                    "com.example.Car", CAR,
+                    "com.example.DriverFactory", DRIVER_FACTORY));
+            assertTrue(compilation.success(), compilation.diagnostics()::toString);
+
+            final ClassLoader classLoader = classLoader();
+            final Class<?> factory = classLoader.loadClass("com.example.DriverFactory");
+            final ServiceDefinitionRegistry registry = (ServiceDefinitionRegistry) classLoader
+                    .loadClass("com.example.DriverFactory_ServiceDefinitionRegistry")
+                    .getConstructor(factory)
+                    .newInstance(factory.getDeclaredConstructor().newInstance());
+            container = Container.builder()
+                    .serviceDefinitionRegistry(registry)
+                    .build();
+        }
+
+        @Test
+        void testCreateService() {
+
+            assertEquals("Driver of Car", container.findService(String.class));
+        }
+
+        @Test
+        void testCreateServiceWhenServiceMethodReturnsNull() {
+
+            assertThrows(ServiceException.class, () -> container.findService(Integer.class));
+        }
+    }
+
+    @DisplayName("@Named")
+    @Nested
+    class NamedServices {
+
+        Container container;
+        ClassLoader classLoader;
+
+        @BeforeEach
+        void setUp() throws Exception {
+
+            final Compilation compilation = compile(Map.of("com.example.Garage", GARAGE));
+            assertTrue(compilation.success(), compilation.diagnostics()::toString);
+
+            classLoader = classLoader();
+            final Class<?> factory = classLoader.loadClass("com.example.Garage$SizeFactory");
+            final ServiceDefinitionRegistry registry = (ServiceDefinitionRegistry) classLoader
+                    .loadClass("com.example.Garage_SizeFactory_ServiceDefinitionRegistry")
+                    .getConstructor(factory)
+                    .newInstance(factory.getDeclaredConstructor().newInstance());
+            container = Container.builder()
+                    .serviceDefinitionRegistry(registry)
+                    .serviceDefinition(newServiceDefinition("com.example.Garage_ServiceDefinition"))
+                    .serviceDefinition(
+                            newServiceDefinition("com.example.Garage_Engine_ServiceDefinition"))
+                    .build();
+        }
+
+        ServiceDefinition<?> newServiceDefinition(final String name) throws Exception {
+
+            return (ServiceDefinition<?>) classLoader.loadClass(name)
+                    .getConstructor()
+                    .newInstance();
+        }
+
+        @Test
+        void testGetName() throws Exception {
+
+            final Class<?> engine = classLoader.loadClass("com.example.Garage$Engine");
+
+            assertEquals("v8", container.findServiceDefinition(engine).getName());
+            assertEquals("small",
+                    container.findServiceDefinition(Integer.class, "small").getName());
+        }
+
+        @Test
+        void testCreateService() throws Exception {
+
+            final Class<?> garage = classLoader.loadClass("com.example.Garage");
+
+            final Object service = container.findService(garage);
+
+            assertEquals(2, garage.getField("small").get(service));
+            assertEquals(4, ((Supplier<?>) garage.getField("large").get(service)).get());
+        }
+    }
+
+    @DisplayName("Generic services")
+    @Nested
+    class GenericServices {
+
+        Container container;
+        ClassLoader classLoader;
+
+        @BeforeEach
+        void setUp() throws Exception {
+
+            final Compilation compilation = compile(Map.of("com.example.Shelf", SHELF));
+            assertTrue(compilation.success(), compilation.diagnostics()::toString);
+
+            classLoader = classLoader();
+            final Class<?> factory = classLoader.loadClass("com.example.Shelf$BoxFactory");
+            final ServiceDefinitionRegistry registry = (ServiceDefinitionRegistry) classLoader
+                    .loadClass("com.example.Shelf_BoxFactory_ServiceDefinitionRegistry")
+                    .getConstructor(factory)
+                    .newInstance(factory.getDeclaredConstructor().newInstance());
+            final ServiceDefinition<?> shelf = (ServiceDefinition<?>) classLoader
+                    .loadClass("com.example.Shelf_ServiceDefinition")
+                    .getConstructor()
+                    .newInstance();
+            container = Container.builder()
+                    .serviceDefinitionRegistry(registry)
+                    .serviceDefinition(shelf)
+                    .build();
+        }
+
+        @Test
+        void testCreateService() throws Exception {
+
+            final Class<?> shelf = classLoader.loadClass("com.example.Shelf");
+            final Class<?> box = classLoader.loadClass("com.example.Shelf$Box");
+
+            final Object service = container.findService(shelf);
+
+            final Object stringBox = shelf.getField("stringBox").get(service);
+            final Object integerBox = ((Supplier<?>) shelf.getField("integerBox").get(service))
+                    .get();
+            assertEquals("string", box.getField("value").get(stringBox));
+            assertEquals(1, box.getField("value").get(integerBox));
+        }
+
+        @Test
+        void testFindServices() throws Exception {
+
+            final Class<?> box = classLoader.loadClass("com.example.Shelf$Box");
+
+            assertEquals(2, container.findServices(box).size());
+        }
+    }
+
+    @DisplayName("-A" + ServiceDefinitionProcessor.INDEX_OPTION)
+    @Nested
+    class Index {
+
+        @Test
+        void testIndex() throws Exception {
+
+            final Compilation compilation = compile(Map.of("com.example.Car", CAR),
+                    "-A" + ServiceDefinitionProcessor.INDEX_OPTION + "=com.example.Index");
+            assertTrue(compilation.success(), compilation.diagnostics()::toString);
+            // The index is not generated in the final round, which javac warns about
+            assertFalse(compilation.hasWarnings(), compilation.diagnostics()::toString);
+
+            final ClassLoader classLoader = classLoader();
+            final ServiceDefinitionRegistry index = (ServiceDefinitionRegistry) classLoader
+                    .loadClass("com.example.Index")
+                    .getConstructor()
+                    .newInstance();
+            final Container container = Container.builder()
+                    .serviceDefinitionRegistry(index)
+                    .build();
+            final Class<?> car = classLoader.loadClass("com.example.Car");
+
+            assertEquals(car, container.findService(car).getClass());
+            assertEquals(car.getName() + "_ServiceDefinition",
+                    container.findServiceDefinition(car).getClass().getName());
+        }
+    }
+
+    @DisplayName("Errors")
+    @Nested
+    class Errors {
+
+        @Test
+        void testAbstractClass() {
+
+            final Compilation compilation = compile(Map.of("com.example.Vehicle", """
+                    package com.example;
+
+                    public abstract class Vehicle {
+
+                        @dev.nebulamc.inject.Inject
+                        Vehicle() {
+
+                        }
+                    }
+                    """));
+
+            assertFalse(compilation.success());
+            assertTrue(compilation.hasError("abstract class"));
+        }
+
+        @Test
+        void testPrivateConstructor() {
+
+            final Compilation compilation = compile(Map.of("com.example.Vehicle", """
+                    package com.example;
+
+                    public class Vehicle {
+
+                        @dev.nebulamc.inject.Inject
+                        private Vehicle() {
+
+                        }
+                    }
+                    """));
+
+            assertFalse(compilation.success());
+            assertTrue(compilation.hasError("must not be private"));
+        }
+
+        @Test
+        void testInnerClass() {
+
+            final Compilation compilation = compile(Map.of("com.example.Vehicle", """
+                    package com.example;
+
+                    public class Vehicle {
+
+                        public class Seat {
+
+                            @dev.nebulamc.inject.Inject
+                            Seat() {
+
+                            }
+                        }
+                    }
+                    """));
+
+            assertFalse(compilation.success());
+            assertTrue(compilation.hasError("non-static inner classes"));
+        }
+
+        @Test
+        void testMultipleInjectConstructors() {
+
+            final Compilation compilation = compile(Map.of("com.example.Vehicle", """
+                    package com.example;
+
+                    public class Vehicle {
+
+                        @dev.nebulamc.inject.Inject
+                        Vehicle() {
+
+                        }
+
+                        @dev.nebulamc.inject.Inject
+                        Vehicle(final String name) {
+
+                        }
+                    }
+                    """));
+
+            assertFalse(compilation.success());
+            assertTrue(compilation.hasError("Multiple constructors"));
+        }
+
+        @Test
+        void testPrimitiveParameter() {
+
+            final Compilation compilation = compile(Map.of("com.example.Vehicle", """
+                    package com.example;
+
+                    public class Vehicle {
+
+                        @dev.nebulamc.inject.Inject
+                        Vehicle(final int wheels) {
+
+                        }
+                    }
+                    """));
+
+            assertFalse(compilation.success());
+            assertTrue(compilation.hasError("Primitive parameters"));
+        }
+
+        @Test
+        void testNamedCollectionParameter() {
+
+            final Compilation compilation = compile(Map.of("com.example.Vehicle", """
+                    package com.example;
+
+                    public class Vehicle {
+
+                        @dev.nebulamc.inject.Inject
+                        Vehicle(@dev.nebulamc.inject.Named("wheels")
+                                final java.util.List<String> wheels) {
+
+                        }
+                    }
+                    """));
+
+            assertFalse(compilation.success());
+            assertTrue(compilation.hasError("must not be collections or arrays"));
+        }
+
+        @Test
+        void testPrimitiveServiceMethod() {
+
+            final Compilation compilation = compile(Map.of("com.example.VehicleFactory", """
+                    package com.example;
+
+                    @dev.nebulamc.inject.Factory
+                    public class VehicleFactory {
+
+                        @dev.nebulamc.inject.Service
+                        int wheels() {
+
+                            return 4;
+                        }
+                    }
+                    """));
+
+            assertFalse(compilation.success());
+            assertTrue(compilation.hasError("must return a class or interface"));
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package dev.nebulamc.inject;
+
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * A listener that is notified whenever a container creates a service, used to find the services
+ * that are slow to create.
+ * <p>
+ * Services are only timed by containers with a listener, so containers without one do not pay for
+ * timing. Services found in caches are never reported, as they are not created.
+ *
+ * @author Sparky983
+ * @see Container.Builder#constructionListener(ConstructionListener)
+ * @see ConstructionReport
+ * @since 0.3
+ */
+@NullMarked
+@FunctionalInterface
+public interface ConstructionListener {
+
+    /**
+     * Called after a service has been created, on the thread that created it.
+     * <p>
+     * The services created while creating the service, such as its dependencies, are reported
+     * before it.
+     *
+     * @param serviceDefinition the service definition the service was created from
+     * @param wallTimeNanos the time taken to create the service in nanoseconds, including creating
+     * its dependencies
+     * @param selfTimeNanos the time taken to create the service in nanoseconds, excluding creating
+     * its dependencies
+     * @param dependencyCount the number of services created while creating the service, excluding
+     * the services they created
+     * @param depth the number of services the thread was creating when it started creating the
+     * service, or {@code 0} if the service was requested directly
+     * @since 0.3
+     */
+    void serviceCreated(ServiceDefinition<?> serviceDefinition,
+                        long wallTimeNanos,
+                        long selfTimeNanos,
+                        int dependencyCount,
+                        int depth);
+}
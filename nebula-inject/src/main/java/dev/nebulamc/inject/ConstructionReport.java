@@ -0,0 +1,130 @@
+package dev.nebulamc.inject;
+
+import dev.nebulamc.inject.internal.ConstructionReportImpl;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * A {@link ConstructionListener} that records how long each service took to create, to find the
+ * services slowing down startup.
+ * <pre>{@code
+ * final ConstructionReport report = ConstructionReport.create();
+ * final Container container = Container.builder()
+ *         .constructionListener(report)
+ *         .eager(ForkJoinPool.commonPool())
+ *         .build();
+ *
+ * System.out.println(report.format());
+ * }</pre>
+ * Services created multiple times, such as {@link Scope#prototype() prototypes}, are recorded once
+ * per service definition, with the times of every creation summed.
+ *
+ * @author Sparky983
+ * @see Container.Builder#constructionListener(ConstructionListener)
+ * @since 0.3
+ */
+@NullMarked
+public interface ConstructionReport extends ConstructionListener {
+
+    /**
+     * Creates a new empty construction report.
+     *
+     * @return the new construction report
+     * @since 0.3
+     */
+    static ConstructionReport create() {
+
+        return new ConstructionReportImpl();
+    }
+
+    /**
+     * Gets the entries of the services created so far, sorted from the longest to the shortest
+     * {@linkplain Entry#getSelfTime() self time}.
+     *
+     * @return an unmodifiable snapshot of the entries
+     * @since 0.3
+     */
+    List<Entry> getEntries();
+
+    /**
+     * Gets the entry of the services created from the specified service definition.
+     *
+     * @param serviceDefinition the service definition
+     * @return the entry, or {@code null} if no services of the service definition have been
+     * created
+     * @throws NullPointerException if the service definition is {@code null}.
+     * @since 0.3
+     */
+    @Nullable Entry getEntry(ServiceDefinition<?> serviceDefinition);
+
+    /**
+     * Formats the entries of the services created so far as a table, sorted from the longest to
+     * the shortest self time.
+     *
+     * @return the formatted entries
+     * @since 0.3
+     */
+    String format();
+
+    /**
+     * The times taken to create the services of a service definition.
+     *
+     * @since 0.3
+     */
+    interface Entry {
+
+        /**
+         * Gets the service definition the services were created from.
+         *
+         * @return the service definition
+         * @since 0.3
+         */
+        ServiceDefinition<?> getServiceDefinition();
+
+        /**
+         * Gets the number of services created from the service definition.
+         *
+         * @return the number of services
+         * @since 0.3
+         */
+        int getCount();
+
+        /**
+         * Gets the time taken to create the services, including creating their dependencies.
+         *
+         * @return the wall time
+         * @since 0.3
+         */
+        Duration getWallTime();
+
+        /**
+         * Gets the time taken to create the services, excluding creating their dependencies.
+         *
+         * @return the self time
+         * @since 0.3
+         */
+        Duration getSelfTime();
+
+        /**
+         * Gets the number of services created while creating the services, excluding the services
+         * they created.
+         *
+         * @return the number of dependencies created
+         * @since 0.3
+         */
+        int getDependencyCount();
+
+        /**
+         * Gets the deepest resolution depth at which a service was created, which is {@code 0}
+         * if every service was requested directly.
+         *
+         * @return the maximum depth
+         * @see ConstructionListener#serviceCreated(ServiceDefinition, long, long, int, int)
+         * @since 0.3
+         */
+        int getMaxDepth();
+    }
+}
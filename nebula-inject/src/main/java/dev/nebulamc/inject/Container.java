@@ -3,6 +3,9 @@ package dev.nebulamc.inject;
 import org.jspecify.annotations.NullMarked;
 import dev.nebulamc.inject.internal.ContainerImpl;
 
+import java.nio.file.Path;
+import java.util.concurrent.Executor;
+
 /**
  * Represents the dependency injection container.
  *
@@ -24,6 +27,36 @@ public interface Container extends ServiceFinder, ServiceDefinitionRegistry {
         return new ContainerImpl.BuilderImpl();
     }
 
+    /**
+     * Creates a new builder for the dependency injection container that uses the specified
+     * snapshot file to start faster.
+     * <p>
+     * The injectable constructors of concrete classes and the {@link Service @Service} methods of
+     * {@link Factory factories} are normally discovered by reflection every time a container is
+     * built. Instead, the snapshot file is memory-mapped and the constructors and methods it
+     * contains are used without discovering them again, as long as their classes have not changed
+     * since they were written to the snapshot. Any change to a class invalidates its entry in the
+     * snapshot.
+     * <p>
+     * If the snapshot does not exist or is empty, the dependency graph of the container is walked
+     * when it is built, without creating any services, so the constructors and methods of the
+     * whole graph are written to the snapshot. Otherwise, the graph is only walked if the container
+     * is {@linkplain Builder#validate(boolean) validated} or
+     * {@linkplain Builder#precompile(boolean) precompiled}, and the snapshot is only rewritten
+     * with what changed by such builds. The snapshot is ignored if it cannot be read, and a warning
+     * is logged to the {@linkplain System#getLogger(String) system logger} named after this
+     * interface if it cannot be written.
+     *
+     * @param snapshot the snapshot file
+     * @return the builder
+     * @throws NullPointerException if the snapshot is {@code null}.
+     * @since 0.3
+     */
+    static Builder builder(final Path snapshot) {
+
+        return new ContainerImpl.BuilderImpl(snapshot);
+    }
+
     /**
      * A builder for the dependency injection container.
      *
@@ -34,6 +67,11 @@ public interface Container extends ServiceFinder, ServiceDefinitionRegistry {
 
         /**
          * Sets the parent of this container.
+         * <p>
+         * Services that this container has no service definitions for are found in the parent. If
+         * the parent was built by a builder from {@link #builder()} and this container is not
+         * {@link #precompile(boolean) precompiled}, the parent's services are shared with this
+         * container rather than copied into it, so building the container is cheap.
          *
          * @param parent the parent container
          * @return this builder (for chaining)
@@ -68,6 +106,138 @@ public interface Container extends ServiceFinder, ServiceDefinitionRegistry {
          */
         <T> Builder singleton(Class<T> type, T singleton);
 
+        /**
+         * Sets the scope of the services of the specified type, overriding the scope of their
+         * service definitions.
+         * <p>
+         * Services of types that are not {@link Scope#singleton() singletons} are never cached by
+         * the container, they are looked up in their scope every time they are requested.
+         *
+         * @param type the type of the services
+         * @param scope the scope
+         * @return this builder (for chaining)
+         * @throws NullPointerException if the type or scope are {@code null}.
+         * @see ScopedServiceDefinition
+         * @since 0.3
+         */
+        Builder scope(Class<?> type, Scope scope);
+
+        /**
+         * Sets whether the container's dependency graph should be compiled into a resolution plan
+         * when the container is built.
+         * <p>
+         * The plan contains the services added to this builder, the services of factories and all
+         * services they transitively depend on. Services in the plan are created without looking up
+         * their service definitions, at the cost of looking them up when the container is built.
+         * Other services are resolved lazily, the same as without a plan.
+         * <p>
+         * Service definitions in the plan are looked up once, when the container is built, so
+         * services of the parent that are depended on are also looked up then.
+         * <p>
+         * Disabled by default.
+         *
+         * @param precompile whether to compile a resolution plan
+         * @return this builder (for chaining)
+         * @since 0.3
+         */
+        Builder precompile(boolean precompile);
+
+        /**
+         * Sets whether the container's dependency graph should be validated when the container is
+         * built.
+         * <p>
+         * Every service added to this builder, every service of factories and every service they
+         * transitively depend on is checked, without creating any services. All problems are
+         * reported at once, rather than when the first service that cannot be created is
+         * requested. A problem is either:
+         * <ul>
+         *     <li>a dependency on a single service of a type that has no services or multiple
+         *     services, or</li>
+         *     <li>a cycle of dependencies that are not
+         *     {@link java.util.function.Supplier lazy}.</li>
+         * </ul>
+         * Only the dependencies of injectable constructors and {@link Service @Service} methods are
+         * known, so services of other service definitions are not checked. Services of the parent
+         * are checked using the parent's service definitions.
+         * <p>
+         * Disabled by default.
+         *
+         * @param validate whether to validate the dependency graph
+         * @return this builder (for chaining)
+         * @since 0.3
+         */
+        Builder validate(boolean validate);
+
+        /**
+         * Sets whether the injectable constructors of concrete classes should be invoked by classes
+         * generated at runtime, rather than through method handles.
+         * <p>
+         * A hidden class that calls the constructor directly is generated for each concrete class,
+         * when the class is first looked up by any container with this option enabled. This avoids
+         * reflection and method handles entirely when services are created, including for
+         * third-party classes that cannot be processed by the annotation processor, at the cost of
+         * generating the classes.
+         * <p>
+         * Classes whose packages Nebula Inject cannot define classes in, such as packages that are
+         * not open to Nebula Inject's module, are constructed through method handles instead.
+         * <p>
+         * Disabled by default.
+         *
+         * @param generateConstructorAccessors whether to generate classes that invoke injectable
+         * constructors
+         * @return this builder (for chaining)
+         * @since 0.3
+         */
+        Builder generateConstructorAccessors(boolean generateConstructorAccessors);
+
+        /**
+         * Sets the listener notified whenever the container creates a service, with the time
+         * taken to create it.
+         * <p>
+         * Services are only timed if the container has a listener, so containers without one do
+         * not pay for timing. Services are created without a listener by default.
+         *
+         * @param constructionListener the construction listener, such as a
+         * {@link ConstructionReport}
+         * @return this builder (for chaining)
+         * @throws NullPointerException if the construction listener is {@code null}.
+         * @since 0.3
+         */
+        Builder constructionListener(ConstructionListener constructionListener);
+
+        /**
+         * Sets the metrics recorded to whenever the container finds or creates services.
+         * <p>
+         * Services are only timed if the container has metrics or a construction listener, so
+         * containers without either do not pay for timing. Metrics are not recorded by default.
+         *
+         * @param metrics the metrics, such as {@link ContainerStatistics}
+         * @return this builder (for chaining)
+         * @throws NullPointerException if the metrics are {@code null}.
+         * @since 0.3
+         */
+        Builder metrics(ContainerMetrics metrics);
+
+        /**
+         * Makes the container create its singletons when it is built, rather than when they are
+         * first requested.
+         * <p>
+         * The services are created on the specified executor, such as
+         * {@link java.util.concurrent.ForkJoinPool#commonPool()}. Services that do not depend on
+         * each other are created concurrently, and each service is created once the services it
+         * depends on have been created.
+         * <p>
+         * Implies {@link #precompile(boolean) precompile(true)}, as only the services in the
+         * resolution plan are created eagerly. {@link #build()} waits until every service has been
+         * created, and throws the exception of the first service that could not be created.
+         *
+         * @param executor the executor to create the services on
+         * @return this builder (for chaining)
+         * @throws NullPointerException if the executor is {@code null}.
+         * @since 0.3
+         */
+        Builder eager(Executor executor);
+
         /**
          * Adds a service definition to the container.
          *
@@ -90,10 +260,32 @@ public interface Container extends ServiceFinder, ServiceDefinitionRegistry {
         @Override
         Builder serviceDefinitionRegistry(ServiceDefinitionRegistry serviceDefinitionRegistry);
 
+        /**
+         * Sets whether the service definitions and singletons added to this builder should also be
+         * indexed by every superclass and interface of their service types, other than
+         * {@link Object}.
+         * <p>
+         * A service is then found by any of its supertypes, and its singleton is shared by all of
+         * them rather than being created for each type. Services of factories, service definition
+         * registries and the parent are not indexed by their supertypes.
+         * <p>
+         * Disabled by default.
+         *
+         * @param indexSupertypes whether to index service definitions by their supertypes
+         * @return this builder (for chaining)
+         * @since 0.3
+         */
+        @Override
+        Builder indexSupertypes(boolean indexSupertypes);
+
         /**
          * Builds the container.
          *
          * @return the built container
+         * @throws ContainerValidationException if the container is
+         * {@linkplain #validate(boolean) validated} and problems were found.
+         * @throws ServiceException if the container is {@link #eager(Executor) eager} and an
+         * exception occurred while creating a service.
          * @since 0.1
          */
         @Override
@@ -0,0 +1,53 @@
+package dev.nebulamc.inject;
+
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * A service provider interface for recording the metrics of a container, such as how often
+ * services are found, how many lookups hit the container's cache and how long services take to
+ * create.
+ * <p>
+ * Implementations may bridge the metrics to a metrics library, or use the ready-made
+ * {@link ContainerStatistics}. Every method is called on the thread that found or created the
+ * services, often by several threads at once, so implementations must be thread-safe and should
+ * not block.
+ *
+ * @author Sparky983
+ * @see Container.Builder#metrics(ContainerMetrics)
+ * @since 0.3
+ */
+@NullMarked
+public interface ContainerMetrics {
+
+    /**
+     * Called after the services of a type have been found by
+     * {@link Container#findServices(Class)}, including when they are found to resolve the
+     * dependencies of another service.
+     *
+     * @param serviceType the type of the services
+     * @param cached whether the services were found in the container's cache of singletons,
+     * rather than being created, looked up in a scope or looked up in the parent container
+     * @since 0.3
+     */
+    void servicesFound(Class<?> serviceType, boolean cached);
+
+    /**
+     * Called after a service has been created.
+     *
+     * @param serviceDefinition the service definition the service was created from
+     * @param durationNanos the time taken to create the service in nanoseconds, including creating
+     * its dependencies
+     * @since 0.3
+     */
+    void serviceCreated(ServiceDefinition<?> serviceDefinition, long durationNanos);
+
+    /**
+     * Called after the singletons of a type have been cached by the container, which happens at
+     * most once per type.
+     *
+     * @param serviceType the type of the singletons
+     * @param count the number of singletons cached
+     * @since 0.3
+     */
+    void singletonsCached(Class<?> serviceType, int count);
+}
@@ -0,0 +1,101 @@
+package dev.nebulamc.inject;
+
+import dev.nebulamc.inject.internal.ContainerStatisticsImpl;
+import org.jspecify.annotations.NullMarked;
+
+import java.time.Duration;
+
+/**
+ * {@link ContainerMetrics} that keeps lock-free running totals of a container's metrics, to be
+ * read by monitoring.
+ * <pre>{@code
+ * final ContainerStatistics statistics = ContainerStatistics.create();
+ * final Container container = Container.builder()
+ *         .metrics(statistics)
+ *         .build();
+ *
+ * System.out.println(statistics.getCacheHitRatio());
+ * System.out.println(statistics.getCreationTime(0.99));
+ * }</pre>
+ * Creation times are recorded in a histogram whose buckets grow exponentially, so the times of
+ * {@link #getCreationTime(double) quantiles} are accurate to within about 6%, whatever their
+ * magnitude.
+ *
+ * @author Sparky983
+ * @see Container.Builder#metrics(ContainerMetrics)
+ * @since 0.3
+ */
+@NullMarked
+public interface ContainerStatistics extends ContainerMetrics {
+
+    /**
+     * Creates new container statistics with every total set to {@code 0}.
+     *
+     * @return the new container statistics
+     * @since 0.3
+     */
+    static ContainerStatistics create() {
+
+        return new ContainerStatisticsImpl();
+    }
+
+    /**
+     * Gets the number of times services have been found.
+     *
+     * @return the number of lookups
+     * @since 0.3
+     */
+    long getLookupCount();
+
+    /**
+     * Gets the number of times services have been found in the container's cache of singletons.
+     *
+     * @return the number of cache hits
+     * @since 0.3
+     */
+    long getCacheHitCount();
+
+    /**
+     * Gets the proportion of lookups that were found in the container's cache of singletons.
+     *
+     * @return the cache hit ratio between {@code 0} and {@code 1}, or {@code 0} if no services
+     * have been found
+     * @since 0.3
+     */
+    double getCacheHitRatio();
+
+    /**
+     * Gets the number of services that have been created.
+     *
+     * @return the number of services
+     * @since 0.3
+     */
+    long getCreationCount();
+
+    /**
+     * Gets the total time taken to create services.
+     *
+     * @return the total creation time
+     * @since 0.3
+     */
+    Duration getTotalCreationTime();
+
+    /**
+     * Gets the time within which the specified quantile of services were created. For example,
+     * {@code getCreationTime(0.99)} is the 99th percentile creation time.
+     *
+     * @param quantile the quantile between {@code 0} and {@code 1}
+     * @return the creation time, or {@link Duration#ZERO} if no services have been created
+     * @throws IllegalArgumentException if the quantile is not between {@code 0} and {@code 1}.
+     * @since 0.3
+     */
+    Duration getCreationTime(double quantile);
+
+    /**
+     * Gets the number of singletons cached by the container, which live as long as it does.
+     *
+     * @return the number of singletons
+     * @since 0.3
+     */
+    long getSingletonCount();
+}
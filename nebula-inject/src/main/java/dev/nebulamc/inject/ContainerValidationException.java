@@ -0,0 +1,61 @@
+package dev.nebulamc.inject;
+
+import dev.nebulamc.inject.internal.util.Preconditions;
+import org.jspecify.annotations.NullMarked;
+
+import java.util.List;
+
+/**
+ * An exception thrown to indicate that a container was
+ * {@linkplain Container.Builder#validate(boolean) validated}, and some of its services could not be
+ * created.
+ *
+ * @author Sparky983
+ * @since 0.3
+ */
+@NullMarked
+public class ContainerValidationException extends ServiceException {
+
+    private final List<String> problems;
+
+    /**
+     * Constructs a new container validation exception for the specified problems.
+     *
+     * @param problems descriptions of each problem
+     * @throws NullPointerException if the problems are or contain {@code null}.
+     * @since 0.3
+     */
+    public ContainerValidationException(final List<String> problems) {
+
+        super(createMessage(problems));
+
+        this.problems = List.copyOf(problems);
+    }
+
+    private static String createMessage(final List<String> problems) {
+
+        Preconditions.requireNonNull(problems, "problems");
+
+        final StringBuilder message = new StringBuilder()
+                .append(problems.size())
+                .append(problems.size() == 1 ? " problem" : " problems")
+                .append(" found while validating container:");
+
+        for (final String problem : problems) {
+            message.append(System.lineSeparator()).append("  - ").append(problem);
+        }
+
+        return message.toString();
+    }
+
+    /**
+     * Gets the problems found while validating the container.
+     *
+     * @return an unmodifiable list of descriptions of each problem
+     * @since 0.3
+     */
+    public List<String> getProblems() {
+
+        return problems;
+    }
+}
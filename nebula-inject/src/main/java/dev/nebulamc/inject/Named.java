@@ -0,0 +1,51 @@
+package dev.nebulamc.inject;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.PARAMETER;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Names a service, so that it can be found by its name when there are multiple services of its
+ * type.
+ * <p>
+ * Services are named by annotating their {@link Service} method, or the class of services with an
+ * <a href="package-summary.html#injectable-constructors">injectable constructor</a>. Named
+ * services are found with {@link ServiceFinder#findService(Class, String)}, or injected by
+ * annotating a parameter with the name:
+ * <pre>{@code
+ * @Service
+ * @Named("primary")
+ * Database createPrimaryDatabase() {
+ *     return Database.connect(...);
+ * }
+ *
+ * @Service
+ * Repository createRepository(@Named("primary") Database database) {
+ *     return new Repository(database);
+ * }
+ * }</pre>
+ * Only the named service is created, rather than every service of its type. Named parameters must
+ * be of the service type or a {@link java.util.function.Supplier Supplier} of it.
+ *
+ * @author Sparky983
+ * @see ServiceDefinition#getName()
+ * @since 0.3
+ */
+@Documented
+@Retention(RUNTIME)
+@Target({TYPE, METHOD, PARAMETER})
+public @interface Named {
+
+    /**
+     * The name of the service.
+     *
+     * @return the name
+     * @since 0.3
+     */
+    String value();
+}
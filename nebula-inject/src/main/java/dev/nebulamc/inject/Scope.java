@@ -0,0 +1,138 @@
+package dev.nebulamc.inject;
+
+import dev.nebulamc.inject.internal.BoundedScope;
+import dev.nebulamc.inject.internal.BuiltInScope;
+import org.jspecify.annotations.NullMarked;
+
+import java.util.function.Supplier;
+
+/**
+ * Determines how long the services of a {@link ServiceDefinition} live, and where they are stored.
+ * <p>
+ * By default, every service is a {@link #singleton() singleton}. The scope of a service is
+ * specified by its service definition, if it is a {@link ScopedServiceDefinition}, or by
+ * {@link Container.Builder#scope(Class, Scope)}.
+ * <p>
+ * Custom scopes, such as a scope per request or per player session, are typically
+ * {@link #bounded(int) bounded}, so that short-lived services do not stay in memory for the life of
+ * the container:
+ * <pre>{@code
+ * final Scope.Bounded sessionScope = Scope.bounded(64);
+ * final Container container = Container.builder()
+ *         .scope(PlayerSession.class, sessionScope)
+ *         .build();
+ *
+ * final PlayerSession session = container.findService(PlayerSession.class);
+ * // ...
+ * sessionScope.clear(); // The next lookup creates a new session
+ * }</pre>
+ *
+ * @author Sparky983
+ * @since 0.3
+ */
+@NullMarked
+public interface Scope {
+
+    /**
+     * Gets the scope in which a single service is created per service definition and container,
+     * and kept for the life of the container.
+     * <p>
+     * This is the default scope of every service. Its services are stored by the container they
+     * are requested from, so it only supports containers built by a {@link Container.Builder}.
+     *
+     * @return the singleton scope
+     * @since 0.3
+     */
+    static Scope singleton() {
+
+        return BuiltInScope.SINGLETON;
+    }
+
+    /**
+     * Gets the scope in which a new service is created every time one is requested.
+     * <p>
+     * Prototype services are never stored.
+     *
+     * @return the prototype scope
+     * @since 0.3
+     */
+    static Scope prototype() {
+
+        return BuiltInScope.PROTOTYPE;
+    }
+
+    /**
+     * Creates a new scope that stores at most the specified number of services per service
+     * definition.
+     * <p>
+     * The scope stores a service per service definition and container. Each service definition
+     * has its own bound, so the services of one service definition never evict those of another.
+     * Once a service definition has the maximum number of services, the service of the container
+     * that least recently requested it is evicted to make room for the next one. A service is
+     * created at most once per service definition and container until it is evicted, even if it
+     * is requested by multiple threads at the same time.
+     *
+     * @param maximumSize the maximum number of services to store
+     * @return the new scope
+     * @throws IllegalArgumentException if {@code maximumSize} is less than {@code 1}.
+     * @since 0.3
+     */
+    static Bounded bounded(final int maximumSize) {
+
+        return new BoundedScope(maximumSize);
+    }
+
+    /**
+     * Gets the service of the specified service definition for the specified container in this
+     * scope, creating it with the specified factory if there is none.
+     * <p>
+     * Containers built from the same service definitions do not share services, so scopes that
+     * store services should store them per container.
+     * <p>
+     * The factory must not be called while holding a lock that is required to get another service
+     * in this scope, as creating a service may get the services it depends on.
+     *
+     * @param container the container the service is requested from
+     * @param serviceDefinition the service definition
+     * @param factory the factory that creates a new service for the service definition
+     * @return the service
+     * @param <T> the type of the service
+     * @throws IllegalArgumentException if this is the {@link #singleton() singleton} scope and the
+     * container was not built by a {@link Container.Builder}.
+     * @throws NullPointerException if {@code container}, {@code serviceDefinition} or
+     * {@code factory} are {@code null}.
+     * @throws ServiceException if an exception occurred while creating the service.
+     * @since 0.3
+     */
+    <T> T getService(Container container,
+                     ServiceDefinition<T> serviceDefinition,
+                     Supplier<? extends T> factory);
+
+    /**
+     * A scope that stores a limited number of services, which may be evicted at any time.
+     *
+     * @see #bounded(int)
+     * @since 0.3
+     */
+    interface Bounded extends Scope {
+
+        /**
+         * Evicts the services of the specified service definition from this scope, in every
+         * container.
+         * <p>
+         * The next time one of the services is requested, a new one is created.
+         *
+         * @param serviceDefinition the service definition
+         * @throws NullPointerException if {@code serviceDefinition} is {@code null}.
+         * @since 0.3
+         */
+        void evict(ServiceDefinition<?> serviceDefinition);
+
+        /**
+         * Evicts every service from this scope.
+         *
+         * @since 0.3
+         */
+        void clear();
+    }
+}
@@ -0,0 +1,24 @@
+package dev.nebulamc.inject;
+
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * A {@link ServiceDefinition} whose services are not necessarily singletons.
+ * <p>
+ * The scope may be overridden by {@link Container.Builder#scope(Class, Scope)}.
+ *
+ * @author Sparky983
+ * @param <T> the type of the service
+ * @since 0.3
+ */
+@NullMarked
+public interface ScopedServiceDefinition<T> extends ServiceDefinition<T> {
+
+    /**
+     * Gets the scope of the services of this service definition.
+     *
+     * @return the scope
+     * @since 0.3
+     */
+    Scope getScope();
+}
@@ -1,6 +1,9 @@
 package dev.nebulamc.inject;
 
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.lang.reflect.Type;
 
 /**
  * The definition of a service.
@@ -20,6 +23,35 @@ public interface ServiceDefinition<T> {
      */
     Class<T> getServiceType();
 
+    /**
+     * Gets the generic type of the service, which distinguishes it from services of other
+     * parameterizations of its type.
+     * <p>
+     * The generic type must be the {@linkplain #getServiceType() service type} or a parameterized
+     * type of it whose type arguments are classes or parameterized types themselves. Any other
+     * type is treated as the service type.
+     *
+     * @return the generic type of the service, which is the service type by default
+     * @see TypeToken
+     * @since 0.3
+     */
+    default Type getGenericType() {
+
+        return getServiceType();
+    }
+
+    /**
+     * Gets the name of the service, which distinguishes it from other services of its type.
+     *
+     * @return the name of the service, or {@code null} if the service is not named
+     * @see Named
+     * @since 0.3
+     */
+    default @Nullable String getName() {
+
+        return null;
+    }
+
     /**
      * Creates and performs dependency injection on a new object for this definition.
      * <p>
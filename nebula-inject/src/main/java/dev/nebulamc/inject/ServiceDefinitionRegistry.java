@@ -1,10 +1,13 @@
 package dev.nebulamc.inject;
 
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 
 import java.util.List;
 
 import dev.nebulamc.inject.internal.ServiceDefinitionRegistryImpl;
+import dev.nebulamc.inject.internal.Types;
+import dev.nebulamc.inject.internal.util.Preconditions;
 
 /**
  * A registry of {@link ServiceDefinition ServiceDefinitions}.
@@ -39,6 +42,31 @@ public interface ServiceDefinitionRegistry {
      */
     <T> ServiceDefinition<T> findServiceDefinition(Class<T> type);
 
+    /**
+     * Finds a single implementation of the specified service type, or {@code null} if there is not
+     * exactly one.
+     * <p>
+     * Unlike {@link #findServiceDefinition(Class)}, this method does not throw if zero or multiple
+     * implementations were found, so it should be preferred when the absence of an implementation
+     * is expected. Registries that delegate to other registries should override this method to
+     * delegate to the same method.
+     *
+     * @param type the service type
+     * @return the only implementation of the specified service type, or {@code null} if zero or
+     * multiple implementations were found
+     * @param <T> the type of the service
+     * @throws NullPointerException if the type is {@code null}.
+     * @since 0.3
+     */
+    default <T> @Nullable ServiceDefinition<T> findServiceDefinitionOrNull(final Class<T> type) {
+
+        Preconditions.requireNonNull(type, "type");
+
+        final List<ServiceDefinition<T>> serviceDefinitions = findServiceDefinitions(type);
+
+        return serviceDefinitions.size() == 1 ? serviceDefinitions.get(0) : null;
+    }
+
     /**
      * Finds all implementations of the specified service type.
      *
@@ -50,6 +78,99 @@ public interface ServiceDefinitionRegistry {
      */
     <T> List<ServiceDefinition<T>> findServiceDefinitions(Class<T> type);
 
+    /**
+     * Finds the single implementation of the specified service type with the specified
+     * {@linkplain ServiceDefinition#getName() name}.
+     *
+     * @param type the service type
+     * @param name the name of the service
+     * @return the only implementation of the specified service type with the specified name
+     * @param <T> the type of the service
+     * @throws NoUniqueServiceException if zero or multiple implementations of the service type with
+     * the name were found.
+     * @throws NullPointerException if the type or name are {@code null}.
+     * @since 0.3
+     */
+    default <T> ServiceDefinition<T> findServiceDefinition(final Class<T> type, final String name) {
+
+        Preconditions.requireNonNull(type, "type");
+        Preconditions.requireNonNull(name, "name");
+
+        final List<ServiceDefinition<T>> serviceDefinitions = findServiceDefinitions(type, name);
+
+        if (serviceDefinitions.size() != 1) {
+            throw new NoUniqueServiceException(
+                    (serviceDefinitions.isEmpty() ? "No" : "Multiple") +
+                            " service definitions named \"" + name + "\" for type \"" +
+                            type.getName() + "\" found");
+        }
+
+        return serviceDefinitions.get(0);
+    }
+
+    /**
+     * Finds all implementations of the specified service type with the specified
+     * {@linkplain ServiceDefinition#getName() name}.
+     * <p>
+     * By default, the implementations found by {@link #findServiceDefinitions(Class)} are
+     * filtered by name. Registries that can index their service definitions by name should
+     * override this method, and registries that delegate to other registries should override it to
+     * delegate to the same method.
+     *
+     * @param type the service type
+     * @param name the name of the service
+     * @return an unmodifiable list of all implementations of the specified service type with the
+     * specified name
+     * @param <T> the type of the service
+     * @throws NullPointerException if the type or name are {@code null}.
+     * @since 0.3
+     */
+    default <T> List<ServiceDefinition<T>> findServiceDefinitions(final Class<T> type,
+                                                                  final String name) {
+
+        Preconditions.requireNonNull(type, "type");
+        Preconditions.requireNonNull(name, "name");
+
+        return findServiceDefinitions(type)
+                .stream()
+                .filter((serviceDefinition) -> name.equals(serviceDefinition.getName()))
+                .toList();
+    }
+
+    /**
+     * Finds all implementations of the specified generic service type.
+     * <p>
+     * Implementations whose {@linkplain ServiceDefinition#getGenericType() generic type} is not
+     * parameterized are implementations of every parameterization of their type. By default, the
+     * implementations found by {@link #findServiceDefinitions(Class)} are filtered by generic type.
+     * Registries that can index their service definitions by generic type should override this
+     * method, and registries that delegate to other registries should override it to delegate to
+     * the same method.
+     *
+     * @param type the generic service type
+     * @return an unmodifiable list of all implementations of the specified generic service type
+     * @param <T> the type of the service
+     * @throws NullPointerException if the type is {@code null}.
+     * @see TypeToken
+     * @since 0.3
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    default <T> List<ServiceDefinition<T>> findGenericServiceDefinitions(final TypeToken<T> type) {
+
+        Preconditions.requireNonNull(type, "type");
+
+        final List<? extends ServiceDefinition<? super T>> serviceDefinitions =
+                findServiceDefinitions(type.getRawType());
+
+        if (!type.isParameterized()) {
+            return (List) serviceDefinitions;
+        }
+
+        return (List) serviceDefinitions
+                .stream()
+                .filter((serviceDefinition) -> Types.isServiceOf(serviceDefinition, type))
+                .toList();
+    }
 
     /**
      * A builder for a service definition registry.
@@ -79,6 +200,23 @@ public interface ServiceDefinitionRegistry {
          */
         Builder serviceDefinitionRegistry(ServiceDefinitionRegistry serviceDefinitionRegistry);
 
+        /**
+         * Sets whether the service definitions added to this builder should also be indexed by
+         * every superclass and interface of their service types, other than {@link Object}.
+         * <p>
+         * The supertypes of each service definition are found once, when the registry is built, so
+         * a service definition of an implementation is found by any of its supertypes without
+         * registering a service definition for each supertype. Service definitions of registries
+         * added to this builder are not indexed by their supertypes.
+         * <p>
+         * Disabled by default.
+         *
+         * @param indexSupertypes whether to index service definitions by their supertypes
+         * @return this builder (for chaining)
+         * @since 0.3
+         */
+        Builder indexSupertypes(boolean indexSupertypes);
+
         /**
          * Builds the service definition registry.
          *
@@ -1,9 +1,11 @@
 package dev.nebulamc.inject;
 
+import dev.nebulamc.inject.internal.util.Preconditions;
 import org.jspecify.annotations.NullMarked;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 /**
  * Responsible for finding services.
@@ -27,6 +29,108 @@ public interface ServiceFinder {
      */
     <T> T findService(Class<T> serviceType);
 
+    /**
+     * Finds the service of the specified type with the specified name.
+     * <p>
+     * Only the named service is created, rather than every service of the type.
+     * <p>
+     * By default, no services are found, as a service finder that only knows the types of its
+     * services has no named services. Service finders that know the names of their services should
+     * override this method.
+     *
+     * @param serviceType the type of the service
+     * @param name the name of the service
+     * @return the found service
+     * @param <T> the type of the service
+     * @throws NoUniqueServiceException if zero or multiple services with the name were found.
+     * @throws NullPointerException if the service type or name are {@code null}.
+     * @throws ServiceException if an exception occurred while finding the service object.
+     * @see Named
+     * @since 0.3
+     */
+    default <T> T findService(final Class<T> serviceType, final String name) {
+
+        Preconditions.requireNonNull(serviceType, "serviceType");
+        Preconditions.requireNonNull(name, "name");
+
+        throw new NoUniqueServiceException(
+                "No services named \"" + name + "\" of type \"" + serviceType.getName() +
+                        "\" found");
+    }
+
+    /**
+     * Finds a service of the specified generic type.
+     * <p>
+     * By default, the service of the {@linkplain TypeToken#getRawType() raw type} is found by
+     * {@link #findService(Class)}, as if every service was of every parameterization of its type.
+     * Service finders that know the generic types of their services should override this method.
+     *
+     * @param serviceType the generic type of the service
+     * @return the found service
+     * @param <T> the type of the service
+     * @throws NoUniqueServiceException if zero or multiple service was found.
+     * @throws NullPointerException if the service type is {@code null}.
+     * @throws ServiceException if an exception occurred while finding the service object.
+     * @see TypeToken
+     * @since 0.3
+     */
+    @SuppressWarnings("unchecked")
+    default <T> T findGenericService(final TypeToken<T> serviceType) {
+
+        Preconditions.requireNonNull(serviceType, "serviceType");
+
+        return (T) findService(serviceType.getRawType());
+    }
+
+    /**
+     * Gets a {@link Supplier} that finds the service of the specified generic type when it is
+     * called, as injected into {@code Supplier} parameters.
+     * <p>
+     * By default, the supplier finds the service every time it is called. Containers instead cache
+     * the service if it is a singleton, so only services of other scopes are found again.
+     *
+     * @param serviceType the generic type of the service
+     * @return the supplier
+     * @param <T> the type of the service
+     * @throws NullPointerException if the service type is {@code null}.
+     * @see TypeToken#of(Class)
+     * @since 0.3
+     */
+    @SuppressWarnings("unchecked")
+    default <T> Supplier<T> findLazyService(final TypeToken<T> serviceType) {
+
+        Preconditions.requireNonNull(serviceType, "serviceType");
+
+        if (serviceType.isParameterized()) {
+            return () -> findGenericService(serviceType);
+        }
+
+        final Class<T> rawType = (Class<T>) serviceType.getRawType();
+        return () -> findService(rawType);
+    }
+
+    /**
+     * Gets a {@link Supplier} that finds the service of the specified type with the specified name
+     * when it is called, as injected into {@link Named} {@code Supplier} parameters.
+     * <p>
+     * By default, the supplier finds the service every time it is called. Containers instead cache
+     * the service if it is a singleton, so only services of other scopes are found again.
+     *
+     * @param serviceType the type of the service
+     * @param name the name of the service
+     * @return the supplier
+     * @param <T> the type of the service
+     * @throws NullPointerException if the service type or name are {@code null}.
+     * @since 0.3
+     */
+    default <T> Supplier<T> findLazyService(final Class<T> serviceType, final String name) {
+
+        Preconditions.requireNonNull(serviceType, "serviceType");
+        Preconditions.requireNonNull(name, "name");
+
+        return () -> findService(serviceType, name);
+    }
+
     /**
      * Finds a service of the specified type.
      *
@@ -39,6 +143,30 @@ public interface ServiceFinder {
      */
     <T> Optional<T> findOptionalService(Class<T> serviceType);
 
+    /**
+     * Finds the service of the specified type with the specified name.
+     * <p>
+     * By default, no services are found, like {@link #findService(Class, String)}. Service finders
+     * that know the names of their services should override this method.
+     *
+     * @param serviceType the type of the service
+     * @param name the name of the service
+     * @return the found service or {@link Optional#empty()} if zero or multiple services with the
+     * name were found
+     * @param <T> the type of the service
+     * @throws NullPointerException if the service type or name are {@code null}.
+     * @throws ServiceException if an exception occurred while finding the service object.
+     * @see Named
+     * @since 0.3
+     */
+    default <T> Optional<T> findOptionalService(final Class<T> serviceType, final String name) {
+
+        Preconditions.requireNonNull(serviceType, "serviceType");
+        Preconditions.requireNonNull(name, "name");
+
+        return Optional.empty();
+    }
+
     /**
      * Finds all service of the specified type.
      *
@@ -50,4 +178,27 @@ public interface ServiceFinder {
      * @since 0.1
      */
     <T> List<T> findServices(Class<T> serviceType);
+
+    /**
+     * Finds all services of the specified generic type.
+     * <p>
+     * By default, the services of the {@linkplain TypeToken#getRawType() raw type} are found by
+     * {@link #findServices(Class)}, as if every service was of every parameterization of its type.
+     * Service finders that know the generic types of their services should override this method.
+     *
+     * @param serviceType the generic type of the service
+     * @return an unmodifiable list of all found services or {@link List#of()} if none were found
+     * @param <T> the type of the service
+     * @throws NullPointerException if the service type is {@code null}.
+     * @throws ServiceException if an exception occurred while finding the service objects.
+     * @see TypeToken
+     * @since 0.3
+     */
+    @SuppressWarnings("unchecked")
+    default <T> List<T> findGenericServices(final TypeToken<T> serviceType) {
+
+        Preconditions.requireNonNull(serviceType, "serviceType");
+
+        return (List<T>) findServices(serviceType.getRawType());
+    }
 }
@@ -0,0 +1,167 @@
+package dev.nebulamc.inject;
+
+import dev.nebulamc.inject.internal.Types;
+import dev.nebulamc.inject.internal.util.Preconditions;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+
+/**
+ * A service type that may be generic, such as {@code Cache<Player>}, so that services of different
+ * parameterizations of the same class can be told apart.
+ * <p>
+ * Generic types are captured by creating an anonymous subclass:
+ * <pre>{@code
+ * final TypeToken<Cache<Player>> playerCacheType = new TypeToken<>() {};
+ * final Cache<Player> playerCache = container.findGenericService(playerCacheType);
+ * }</pre>
+ * The type arguments must be classes or parameterized types themselves, not type variables or
+ * wildcards. Parameterized types are canonicalized, so equal type tokens hash and compare cheaply
+ * and are best created once and reused.
+ * <p>
+ * The services of a class that is not parameterized, such as those of
+ * {@linkplain Container.Builder#singleton(Class, Object) singletons}, are services of every
+ * parameterization of the class.
+ *
+ * @author Sparky983
+ * @param <T> the service type
+ * @see ServiceDefinition#getGenericType()
+ * @since 0.3
+ */
+@NullMarked
+public abstract class TypeToken<T> {
+
+    private final Type type;
+    private final Class<? super T> rawType;
+
+    /**
+     * Constructs a new {@link TypeToken} for the type argument of its anonymous subclass.
+     *
+     * @throws IllegalArgumentException if the type argument is not a class or a parameterized type
+     * of classes, or the type token is not a direct subclass with a type argument.
+     * @since 0.3
+     */
+    protected TypeToken() {
+
+        if (!(getClass().getGenericSuperclass() instanceof final ParameterizedType superclass) ||
+                superclass.getRawType() != TypeToken.class) {
+            throw new IllegalArgumentException(
+                    "Type token must be a direct subclass with a type argument");
+        }
+
+        this.type = Types.canonicalize(superclass.getActualTypeArguments()[0]);
+        this.rawType = rawType(type);
+    }
+
+    private TypeToken(final Type type) {
+
+        this.type = type;
+        this.rawType = rawType(type);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Class<? super T> rawType(final Type type) {
+
+        return (Class<? super T>) Types.getRawType(type);
+    }
+
+    /**
+     * Creates a type token of the specified class.
+     *
+     * @param type the class
+     * @return the type token
+     * @param <T> the service type
+     * @throws NullPointerException if the class is {@code null}.
+     * @since 0.3
+     */
+    public static <T> TypeToken<T> of(final Class<T> type) {
+
+        Preconditions.requireNonNull(type, "type");
+
+        return new SimpleTypeToken<>(type);
+    }
+
+    /**
+     * Creates a type token of the specified type.
+     *
+     * @param type the class or parameterized type
+     * @return the type token
+     * @throws IllegalArgumentException if the type is not a class or a parameterized type of
+     * classes.
+     * @throws NullPointerException if the type is {@code null}.
+     * @since 0.3
+     */
+    public static TypeToken<?> of(final Type type) {
+
+        Preconditions.requireNonNull(type, "type");
+
+        return new SimpleTypeToken<>(Types.canonicalize(type));
+    }
+
+    /**
+     * Gets the type of this type token.
+     *
+     * @return the class or the canonical parameterized type
+     * @since 0.3
+     */
+    public final Type getType() {
+
+        return type;
+    }
+
+    /**
+     * Gets the class of this type token, which is the raw type if it is parameterized.
+     *
+     * @return the class
+     * @since 0.3
+     */
+    public final Class<? super T> getRawType() {
+
+        return rawType;
+    }
+
+    /**
+     * Checks whether this type token is a parameterized type, rather than a class.
+     *
+     * @return {@code true} if this type token is parameterized, otherwise {@code false}
+     * @since 0.3
+     */
+    public final boolean isParameterized() {
+
+        return type != rawType;
+    }
+
+    @Override
+    public final boolean equals(final @Nullable Object obj) {
+
+        if (this == obj) {
+            return true;
+        }
+
+        // The types are canonical, so they are usually the same instance
+        return obj instanceof final TypeToken<?> typeToken &&
+                (type == typeToken.type || type.equals(typeToken.type));
+    }
+
+    @Override
+    public final int hashCode() {
+
+        return type.hashCode();
+    }
+
+    @Override
+    public String toString() {
+
+        return type.getTypeName();
+    }
+
+    private static final class SimpleTypeToken<T> extends TypeToken<T> {
+
+        SimpleTypeToken(final Type type) {
+
+            super(type);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package dev.nebulamc.inject.internal;
 
 import dev.nebulamc.inject.Container;
 import dev.nebulamc.inject.NoUniqueServiceException;
+import dev.nebulamc.inject.TypeToken;
 import dev.nebulamc.inject.internal.util.Preconditions;
 import org.jspecify.annotations.NullMarked;
 
@@ -33,6 +34,26 @@ public abstract class AbstractContainer extends AbstractServiceDefinitionRegistr
         return services.get(0);
     }
 
+    @Override
+    public <T> T findGenericService(final TypeToken<T> serviceType) {
+
+        Preconditions.requireNonNull(serviceType, "serviceType");
+
+        final List<T> services = findGenericServices(serviceType);
+
+        if (services.isEmpty()) {
+            throw new NoUniqueServiceException(
+                    "No services of type \"" + serviceType + "\" found");
+        }
+
+        if (services.size() > 1) {
+            throw new NoUniqueServiceException(
+                    "Multiple service definitions for type \"" + serviceType + "\" found");
+        }
+
+        return services.get(0);
+    }
+
     @Override
     public <T> Optional<T> findOptionalService(final Class<T> serviceType) {
 
@@ -0,0 +1,196 @@
+package dev.nebulamc.inject.internal;
+
+import dev.nebulamc.inject.Container;
+import dev.nebulamc.inject.Scope;
+import dev.nebulamc.inject.ServiceDefinition;
+import dev.nebulamc.inject.internal.util.Preconditions;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * A scope that stores the services of each service definition for the containers that least
+ * recently requested them, up to a maximum size per service definition.
+ * <p>
+ * Services are stored per service definition and container, so containers built from the same
+ * service definitions do not share services. Each service definition is bounded separately, so
+ * frequently requested service definitions never evict the services of others. Services are only
+ * evicted when their service definition is full, or by {@link #evict(ServiceDefinition)} and
+ * {@link #clear()}. The services of containers that are no longer used are kept until they are
+ * evicted.
+ * <p>
+ * Like {@link ContainerImpl}, services are created while holding a {@link CreationLock} per service
+ * definition and container rather than the lock of the whole scope, so creating a service may get
+ * the other services of the scope it depends on.
+ *
+ * @author Sparky983
+ * @see Scope#bounded(int)
+ */
+@NullMarked
+public final class BoundedScope implements Scope.Bounded {
+
+    private final int maximumSize;
+
+    /**
+     * A map of service definition to its services by container, each ordered from least to most
+     * recently used.
+     * <p>
+     * The services of a service definition are guarded by their map, as even
+     * {@link Map#get(Object)} reorders the entries.
+     */
+    private final Map<ServiceDefinition<?>, Map<Container, Object>> services =
+            new ConcurrentHashMap<>();
+
+    /**
+     * A map of service definition and container to the lock guarding the creation of its service.
+     * <p>
+     * Locks are removed once the service has been stored.
+     */
+    private final Map<Key, CreationLock> creationLocks = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new {@link BoundedScope} that stores at most the specified number of services
+     * per service definition.
+     *
+     * @param maximumSize the maximum number of services to store per service definition
+     * @throws IllegalArgumentException if {@code maximumSize} is less than {@code 1}.
+     */
+    public BoundedScope(final int maximumSize) {
+
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize must be at least 1");
+        }
+
+        this.maximumSize = maximumSize;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> T getService(final Container container,
+                            final ServiceDefinition<T> serviceDefinition,
+                            final Supplier<? extends T> factory) {
+
+        Preconditions.requireNonNull(container, "container");
+        Preconditions.requireNonNull(serviceDefinition, "serviceDefinition");
+        Preconditions.requireNonNull(factory, "factory");
+
+        final T service = (T) findService(container, serviceDefinition);
+
+        if (service != null) {
+            return service;
+        }
+
+        final Key key = new Key(container, serviceDefinition);
+        final CreationLock lock = creationLocks.computeIfAbsent(
+                key,
+                (ignored) -> new CreationLock(serviceDefinition));
+
+        lock.lock();
+        try {
+            final T existingService = (T) findService(container, serviceDefinition);
+
+            if (existingService != null) {
+                return existingService;
+            }
+
+            final T createdService = factory.get();
+            Preconditions.requireNonNull(createdService, "createdService");
+
+            final Map<Container, Object> definitionServices =
+                    services.computeIfAbsent(serviceDefinition, (ignored) -> newServices());
+            synchronized (definitionServices) {
+                definitionServices.put(container, createdService);
+            }
+            creationLocks.remove(key, lock);
+            return createdService;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Creates the map of the services of a service definition, which evicts the least recently
+     * used service once it has more than {@link #maximumSize} services.
+     */
+    private Map<Container, Object> newServices() {
+
+        return new LinkedHashMap<>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Container, Object> eldest) {
+
+                return size() > maximumSize;
+            }
+        };
+    }
+
+    private @Nullable Object findService(final Container container,
+                                         final ServiceDefinition<?> serviceDefinition) {
+
+        assert container != null;
+        assert serviceDefinition != null;
+
+        final Map<Container, Object> definitionServices = services.get(serviceDefinition);
+
+        if (definitionServices == null) {
+            return null;
+        }
+
+        synchronized (definitionServices) {
+            return definitionServices.get(container);
+        }
+    }
+
+    @Override
+    public void evict(final ServiceDefinition<?> serviceDefinition) {
+
+        Preconditions.requireNonNull(serviceDefinition, "serviceDefinition");
+
+        services.remove(serviceDefinition);
+    }
+
+    @Override
+    public void clear() {
+
+        services.clear();
+    }
+
+    /**
+     * The service definition and container a service is created for.
+     */
+    private static final class Key {
+
+        private final Container container;
+        private final ServiceDefinition<?> serviceDefinition;
+
+        Key(final Container container, final ServiceDefinition<?> serviceDefinition) {
+
+            assert container != null;
+            assert serviceDefinition != null;
+
+            this.container = container;
+            this.serviceDefinition = serviceDefinition;
+        }
+
+        @Override
+        public boolean equals(final @Nullable Object obj) {
+
+            if (this == obj) {
+                return true;
+            }
+
+            return obj instanceof final Key key &&
+                    container.equals(key.container) &&
+                    serviceDefinition.equals(key.serviceDefinition);
+        }
+
+        @Override
+        public int hashCode() {
+
+            return 31 * container.hashCode() + serviceDefinition.hashCode();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package dev.nebulamc.inject.internal;
+
+import dev.nebulamc.inject.Container;
+import dev.nebulamc.inject.Scope;
+import dev.nebulamc.inject.ServiceDefinition;
+import dev.nebulamc.inject.internal.util.Preconditions;
+import org.jspecify.annotations.NullMarked;
+
+import java.util.function.Supplier;
+
+/**
+ * The scopes built into every container.
+ *
+ * @author Sparky983
+ * @see Scope#singleton()
+ * @see Scope#prototype()
+ */
+@NullMarked
+public enum BuiltInScope implements Scope {
+
+    /**
+     * The singleton scope, whose services are stored by the container itself.
+     * <p>
+     * Only containers built by {@link ContainerImpl.BuilderImpl} store singletons.
+     */
+    SINGLETON {
+        @Override
+        public <T> T getService(final Container container,
+                                final ServiceDefinition<T> serviceDefinition,
+                                final Supplier<? extends T> factory) {
+
+            Preconditions.requireNonNull(container, "container");
+            Preconditions.requireNonNull(serviceDefinition, "serviceDefinition");
+            Preconditions.requireNonNull(factory, "factory");
+
+            if (!(container instanceof final ContainerImpl containerImpl)) {
+                throw new IllegalArgumentException(
+                        "Singletons can only be stored by containers built by Container.builder()");
+            }
+
+            return containerImpl.getSingleton(serviceDefinition, factory);
+        }
+    },
+
+    /**
+     * The prototype scope, which creates a new service every time one is requested.
+     */
+    PROTOTYPE {
+        @Override
+        public <T> T getService(final Container container,
+                                final ServiceDefinition<T> serviceDefinition,
+                                final Supplier<? extends T> factory) {
+
+            Preconditions.requireNonNull(container, "container");
+            Preconditions.requireNonNull(serviceDefinition, "serviceDefinition");
+            Preconditions.requireNonNull(factory, "factory");
+
+            return factory.get();
+        }
+    }
+}
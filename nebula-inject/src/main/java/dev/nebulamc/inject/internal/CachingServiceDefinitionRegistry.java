@@ -0,0 +1,88 @@
+package dev.nebulamc.inject.internal;
+
+import dev.nebulamc.inject.ServiceDefinition;
+import dev.nebulamc.inject.ServiceDefinitionRegistry;
+import dev.nebulamc.inject.internal.util.Preconditions;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * A {@link ServiceDefinitionRegistry} decorator that memoizes the service definitions found for
+ * each type, including when no service definitions were found.
+ * <p>
+ * Service definitions are cached with a {@link ClassValue}, so the cache does not prevent classes
+ * from being unloaded.
+ * <p>
+ * This registry must only decorate registries that always find the same service definitions for
+ * a type, such as {@link InjectServiceDefinitionRegistry}.
+ *
+ * @author Sparky983
+ */
+@NullMarked
+public final class CachingServiceDefinitionRegistry implements ServiceDefinitionRegistry {
+
+    private final ServiceDefinitionRegistry serviceDefinitionRegistry;
+    private final ClassValue<List<ServiceDefinition<?>>> serviceDefinitions;
+
+    /**
+     * Constructs a new {@link CachingServiceDefinitionRegistry} that caches the service definitions
+     * of the given service definition registry.
+     *
+     * @param serviceDefinitionRegistry the service definition registry to cache
+     * @throws NullPointerException if {@code serviceDefinitionRegistry} is {@code null}.
+     */
+    public CachingServiceDefinitionRegistry(
+            final ServiceDefinitionRegistry serviceDefinitionRegistry) {
+
+        Preconditions.requireNonNull(serviceDefinitionRegistry, "serviceDefinitionRegistry");
+
+        this.serviceDefinitionRegistry = serviceDefinitionRegistry;
+        this.serviceDefinitions = new ClassValue<>() {
+            @Override
+            protected List<ServiceDefinition<?>> computeValue(final Class<?> type) {
+
+                return List.copyOf(serviceDefinitionRegistry.findServiceDefinitions(type));
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> ServiceDefinition<T> findServiceDefinition(final Class<T> type) {
+
+        Preconditions.requireNonNull(type, "type");
+
+        final List<ServiceDefinition<?>> serviceDefinitions = this.serviceDefinitions.get(type);
+
+        if (serviceDefinitions.size() == 1) {
+            return (ServiceDefinition<T>) serviceDefinitions.get(0);
+        }
+
+        // Let the decorated registry throw its own exception
+        return serviceDefinitionRegistry.findServiceDefinition(type);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> @Nullable ServiceDefinition<T> findServiceDefinitionOrNull(final Class<T> type) {
+
+        Preconditions.requireNonNull(type, "type");
+
+        final List<ServiceDefinition<?>> serviceDefinitions = this.serviceDefinitions.get(type);
+
+        return serviceDefinitions.size() == 1
+                ? (ServiceDefinition<T>) serviceDefinitions.get(0)
+                : null;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @Override
+    public <T> List<ServiceDefinition<T>> findServiceDefinitions(final Class<T> type) {
+
+        Preconditions.requireNonNull(type, "type");
+
+        return (List) serviceDefinitions.get(type);
+    }
+}
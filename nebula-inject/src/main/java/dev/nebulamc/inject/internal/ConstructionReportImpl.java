@@ -0,0 +1,196 @@
+package dev.nebulamc.inject.internal;
+
+import dev.nebulamc.inject.ConstructionReport;
+import dev.nebulamc.inject.ServiceDefinition;
+import dev.nebulamc.inject.internal.util.Preconditions;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The default implementation of {@link ConstructionReport}, used by
+ * {@link ConstructionReport#create()}.
+ * <p>
+ * The times of each service definition are accumulated while holding the lock of its statistics,
+ * so services of different service definitions are recorded concurrently.
+ *
+ * @author Sparky983
+ */
+@NullMarked
+public final class ConstructionReportImpl implements ConstructionReport {
+
+    private static final Comparator<Entry> BY_SELF_TIME =
+            Comparator.comparing(Entry::getSelfTime).reversed();
+
+    private final Map<ServiceDefinition<?>, Statistics> statistics = new ConcurrentHashMap<>();
+
+    @Override
+    public void serviceCreated(final ServiceDefinition<?> serviceDefinition,
+                               final long wallTimeNanos,
+                               final long selfTimeNanos,
+                               final int dependencyCount,
+                               final int depth) {
+
+        Preconditions.requireNonNull(serviceDefinition, "serviceDefinition");
+
+        statistics.computeIfAbsent(serviceDefinition, (definition) -> new Statistics())
+                .add(wallTimeNanos, selfTimeNanos, dependencyCount, depth);
+    }
+
+    @Override
+    public List<Entry> getEntries() {
+
+        final List<Entry> entries = new ArrayList<>(statistics.size());
+
+        statistics.forEach((serviceDefinition, serviceStatistics) ->
+                entries.add(serviceStatistics.toEntry(serviceDefinition)));
+
+        entries.sort(BY_SELF_TIME);
+        return Collections.unmodifiableList(entries);
+    }
+
+    @Override
+    public @Nullable Entry getEntry(final ServiceDefinition<?> serviceDefinition) {
+
+        Preconditions.requireNonNull(serviceDefinition, "serviceDefinition");
+
+        final Statistics statistics = this.statistics.get(serviceDefinition);
+
+        return statistics == null ? null : statistics.toEntry(serviceDefinition);
+    }
+
+    @Override
+    public String format() {
+
+        final StringBuilder table = new StringBuilder(String.format(
+                Locale.ROOT,
+                "%12s %12s %7s %12s %9s  %s%n",
+                "Self (ms)", "Wall (ms)", "Count", "Dependencies", "Max depth", "Service"));
+
+        for (final Entry entry : getEntries()) {
+            table.append(String.format(
+                    Locale.ROOT,
+                    "%12.3f %12.3f %7d %12d %9d  %s%n",
+                    entry.getSelfTime().toNanos() / 1e6,
+                    entry.getWallTime().toNanos() / 1e6,
+                    entry.getCount(),
+                    entry.getDependencyCount(),
+                    entry.getMaxDepth(),
+                    entry.getServiceDefinition().getServiceType().getName()));
+        }
+
+        return table.toString();
+    }
+
+    @Override
+    public String toString() {
+
+        return format();
+    }
+
+    /**
+     * The accumulated times of the services of a service definition.
+     */
+    private static final class Statistics {
+
+        private int count;
+        private long wallTimeNanos;
+        private long selfTimeNanos;
+        private int dependencyCount;
+        private int maxDepth;
+
+        synchronized void add(final long wallTimeNanos,
+                              final long selfTimeNanos,
+                              final int dependencyCount,
+                              final int depth) {
+
+            this.count++;
+            this.wallTimeNanos += wallTimeNanos;
+            this.selfTimeNanos += selfTimeNanos;
+            this.dependencyCount += dependencyCount;
+            this.maxDepth = Math.max(maxDepth, depth);
+        }
+
+        synchronized Entry toEntry(final ServiceDefinition<?> serviceDefinition) {
+
+            assert serviceDefinition != null;
+
+            return new EntryImpl(
+                    serviceDefinition,
+                    count,
+                    Duration.ofNanos(wallTimeNanos),
+                    Duration.ofNanos(selfTimeNanos),
+                    dependencyCount,
+                    maxDepth);
+        }
+    }
+
+    private static final class EntryImpl implements Entry {
+
+        private final ServiceDefinition<?> serviceDefinition;
+        private final int count;
+        private final Duration wallTime;
+        private final Duration selfTime;
+        private final int dependencyCount;
+        private final int maxDepth;
+
+        EntryImpl(final ServiceDefinition<?> serviceDefinition,
+                  final int count,
+                  final Duration wallTime,
+                  final Duration selfTime,
+                  final int dependencyCount,
+                  final int maxDepth) {
+
+            this.serviceDefinition = serviceDefinition;
+            this.count = count;
+            this.wallTime = wallTime;
+            this.selfTime = selfTime;
+            this.dependencyCount = dependencyCount;
+            this.maxDepth = maxDepth;
+        }
+
+        @Override
+        public ServiceDefinition<?> getServiceDefinition() {
+
+            return serviceDefinition;
+        }
+
+        @Override
+        public int getCount() {
+
+            return count;
+        }
+
+        @Override
+        public Duration getWallTime() {
+
+            return wallTime;
+        }
+
+        @Override
+        public Duration getSelfTime() {
+
+            return selfTime;
+        }
+
+        @Override
+        public int getDependencyCount() {
+
+            return dependencyCount;
+        }
+
+        @Override
+        public int getMaxDepth() {
+
+            return maxDepth;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package dev.nebulamc.inject.internal;
+
+import dev.nebulamc.inject.ConstructionListener;
+import org.jspecify.annotations.NullMarked;
+
+import java.util.Arrays;
+
+/**
+ * Times the services being created by the current thread, from the first requested service to the
+ * service currently being created, so that the time spent creating each service's dependencies can
+ * be excluded from its own time.
+ * <p>
+ * Only used by containers with a {@link ConstructionListener}.
+ *
+ * @author Sparky983
+ */
+@NullMarked
+final class ConstructionTimer {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private static final ThreadLocal<ConstructionTimer> CURRENT =
+            ThreadLocal.withInitial(ConstructionTimer::new);
+
+    /**
+     * The time spent creating the dependencies of each service being created.
+     */
+    private long[] dependencyTimesNanos = new long[INITIAL_CAPACITY];
+
+    /**
+     * The number of dependencies created while creating each service being created.
+     */
+    private int[] dependencyCounts = new int[INITIAL_CAPACITY];
+
+    private int size;
+
+    /**
+     * Gets the construction timer of the current thread.
+     *
+     * @return the construction timer
+     */
+    static ConstructionTimer current() {
+
+        return CURRENT.get();
+    }
+
+    /**
+     * Starts timing a new service, whose dependencies are timed until {@link #stop(long)}.
+     *
+     * @return the depth of the service, which is the number of services already being created
+     */
+    int start() {
+
+        if (size == dependencyTimesNanos.length) {
+            dependencyTimesNanos = Arrays.copyOf(dependencyTimesNanos, size * 2);
+            dependencyCounts = Arrays.copyOf(dependencyCounts, size * 2);
+        }
+
+        dependencyTimesNanos[size] = 0;
+        dependencyCounts[size] = 0;
+        return size++;
+    }
+
+    /**
+     * Gets the time spent creating the dependencies of the service being timed.
+     *
+     * @return the time in nanoseconds
+     */
+    long getDependencyTimeNanos() {
+
+        assert size > 0;
+
+        return dependencyTimesNanos[size - 1];
+    }
+
+    /**
+     * Gets the number of dependencies created while creating the service being timed.
+     *
+     * @return the number of dependencies
+     */
+    int getDependencyCount() {
+
+        assert size > 0;
+
+        return dependencyCounts[size - 1];
+    }
+
+    /**
+     * Stops timing the service being timed, adding its time to the service that depends on it.
+     *
+     * @param wallTimeNanos the time taken to create the service in nanoseconds
+     */
+    void stop(final long wallTimeNanos) {
+
+        assert size > 0;
+
+        size--;
+
+        if (size > 0) {
+            dependencyTimesNanos[size - 1] += wallTimeNanos;
+            dependencyCounts[size - 1]++;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package dev.nebulamc.inject.internal;
+
+import org.jspecify.annotations.NullMarked;
+
+import java.lang.reflect.Constructor;
+
+/**
+ * Invokes a {@link Constructor} without reflection.
+ *
+ * @author Sparky983
+ * @see ConstructorAccessorFactory
+ */
+@NullMarked
+@FunctionalInterface
+public interface ConstructorAccessor {
+
+    /**
+     * Constructs a new object with the specified arguments.
+     *
+     * @param arguments the arguments of the constructor, which must match its parameter types
+     * @return the constructed object
+     * @throws Throwable if the constructor threw an exception, or the arguments did not match the
+     * parameter types.
+     */
+    Object newInstance(Object[] arguments) throws Throwable;
+}
@@ -0,0 +1,25 @@
+package dev.nebulamc.inject.internal;
+
+import dev.nebulamc.inject.ServiceException;
+import org.jspecify.annotations.NullMarked;
+
+import java.lang.reflect.Constructor;
+
+/**
+ * A factory for creating {@link ConstructorAccessor ConstructorAccessors}.
+ *
+ * @author Sparky983
+ */
+@NullMarked
+public interface ConstructorAccessorFactory {
+
+    /**
+     * Creates a {@link ConstructorAccessor} for the specified constructor.
+     *
+     * @param constructor the constructor
+     * @return the constructor accessor
+     * @throws NullPointerException if the constructor is {@code null}.
+     * @throws ServiceException if the constructor is not accessible to Nebula Inject.
+     */
+    ConstructorAccessor createConstructorAccessor(Constructor<?> constructor);
+}
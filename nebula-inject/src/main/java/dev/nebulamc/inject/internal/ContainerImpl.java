@@ -1,94 +1,1311 @@
 package dev.nebulamc.inject.internal;
 
+import dev.nebulamc.inject.ConstructionListener;
 import dev.nebulamc.inject.Container;
+import dev.nebulamc.inject.ContainerMetrics;
+import dev.nebulamc.inject.ContainerValidationException;
 import dev.nebulamc.inject.NoUniqueServiceException;
+import dev.nebulamc.inject.Scope;
+import dev.nebulamc.inject.ScopedServiceDefinition;
 import dev.nebulamc.inject.ServiceDefinition;
 import dev.nebulamc.inject.ServiceDefinitionRegistry;
 import dev.nebulamc.inject.ServiceException;
-import dev.nebulamc.inject.internal.util.Multimap;
+import dev.nebulamc.inject.TypeToken;
 import dev.nebulamc.inject.internal.util.Preconditions;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
 
 /**
  * The default implementation of {@link Container}, used by {@link Container#builder()}.
  * <p>
  * Services are instantiated lazily, when they are first requested and are cached as a singleton.
+ * <p>
+ * Cached services are looked up without locking. Creation is guarded by a {@link CreationLock} per
+ * service type, so creating a slow service never blocks lookups or creation of unrelated service
+ * types. Because locks are only held while a service's dependencies are being resolved, the locks
+ * are always acquired in dependency order, meaning they can only deadlock if the dependency graph
+ * contains a cycle, which the locks detect rather than waiting forever.
+ * <p>
+ * The types whose services are being created by each thread are tracked in a
+ * {@link ResolutionPath}, so a cycle of dependencies that are not lazy fails with a
+ * {@link ServiceException} describing the cycle rather than a {@link StackOverflowError}. Only
+ * creating services is tracked, so finding cached services costs nothing extra. Cycles entered by
+ * several threads at once are detected by the creation locks instead, failing the same way.
+ * <p>
+ * Finding services records a {@link ServiceResolutionEvent} for Java Flight Recorder, noting
+ * whether they were cached. The event is only created while a recording has it enabled.
+ * <p>
+ * If the container was built with {@link ContainerMetrics}, lookups, the creation time of each
+ * service and the number of cached singletons are recorded to them.
+ * <p>
+ * If the container was built with a {@link ResolutionPlan}, services of planned types are cached
+ * in an array indexed by the plan, and their dependencies are resolved by index rather than
+ * looking up service definitions.
+ * <p>
+ * Services of types with a service that is not a {@link Scope#singleton() singleton} are never
+ * cached by type. Their service definitions are cached instead, and each service is looked up in
+ * its scope every time the type is requested.
+ * <p>
+ * Services found by {@linkplain #findService(Class, String) name} or
+ * {@linkplain #findGenericServices(TypeToken) parameterized type} are created on their own, without
+ * creating the other services of their type. Singletons created this way are kept with the
+ * singletons of scoped types, and are reused once the services of their type are created. The
+ * singletons of each parameterized type are also cached by type token.
+ * <p>
+ * If service definitions are indexed by their supertypes, every singleton is also kept with the
+ * singletons of scoped types, so the types of a service definition share its singleton.
+ * <p>
+ * If the parent is also a {@link ContainerImpl}, the child does not copy or wrap the parent's
+ * services. Types that the child has no service definitions for are looked up in the parent every
+ * time they are requested, sharing the parent's service definitions and cached services. Concrete
+ * classes that the parent cannot create are instead created by the child, as they may depend on
+ * the child's services.
  *
  * @author Sparky983
  */
 @NullMarked
-public final class ContainerImpl extends AbstractContainer {
+public final class ContainerImpl extends AbstractContainer implements ScopedServiceFinder {
+
+    /**
+     * Marks a planned type whose creation is being scheduled by
+     * {@link #createAllPlannedServices(Executor)}.
+     */
+    private static final CompletableFuture<Void> SCHEDULING = new CompletableFuture<>();
+
+    /**
+     * A map of service type to services containing all currently loaded singletons.
+     */
+    private final Map<Class<?>, List<?>> singletons = new ConcurrentHashMap<>();
+
+    /**
+     * A map of service type to the lock guarding the creation of its services.
+     * <p>
+     * Locks are removed once the services have been cached as there is no need to lock again.
+     */
+    private final Map<Class<?>, CreationLock> creationLocks = new ConcurrentHashMap<>();
+
+    /**
+     * A map of service type to the service definitions of all currently loaded scoped types.
+     */
+    private final Map<Class<?>, ServiceDefinition<?>[]> scopedServiceDefinitions =
+            new ConcurrentHashMap<>();
+
+    /**
+     * The singletons of scoped types, which cannot be cached by type.
+     * <p>
+     * Only this container's singletons are stored, so one service per service definition is never
+     * evicted.
+     */
+    private final Scope.Bounded scopedSingletons = new BoundedScope(1);
+
+    /**
+     * Whether a singleton has been found by name or generic type before the services of its type
+     * were created, meaning it may be in the {@link #scopedSingletons}.
+     * <p>
+     * Set while holding the lock of the singleton's type, so it is always visible to the thread
+     * that later creates the services of the type.
+     */
+    private volatile boolean singletonsFoundByDefinition;
+
+    /**
+     * Whether the service definitions of this container may be found by several types, such as
+     * by their {@linkplain ServiceDefinitionRegistry.Builder#indexSupertypes(boolean) supertypes},
+     * meaning their singletons are shared by those types rather than created for each type.
+     */
+    private final boolean singletonsSharedByTypes;
+
+    /**
+     * A map of parameterized type to its services, for parameterized types whose services are all
+     * singletons.
+     */
+    private final Map<TypeToken<?>, List<?>> genericSingletons = new ConcurrentHashMap<>();
+
+    /**
+     * The registry of this container's own service definitions, which does not include the
+     * service definitions of the {@link #parent}.
+     */
+    private final ServiceDefinitionRegistry serviceDefinitionRegistry;
+
+    private final @Nullable ContainerImpl parent;
+
+    /**
+     * The registry of service definitions for concrete classes that neither this container nor the
+     * {@link #parent} provides, or {@code null} if they are in the service definition registry.
+     */
+    private final @Nullable ServiceDefinitionRegistry injectServiceDefinitionRegistry;
+
+    /**
+     * The types that this container has no service definitions for, whose services are found in
+     * the {@link #parent} every time they are requested.
+     */
+    private final Set<Class<?>> parentServiceTypes = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The concrete classes that the {@link #parent} cannot create, whose services are created by
+     * this container from the {@link #injectServiceDefinitionRegistry}.
+     */
+    private final Set<Class<?>> injectedServiceTypes = ConcurrentHashMap.newKeySet();
+
+    /**
+     * A map of service type to the scope overriding the scopes of its service definitions.
+     */
+    private final Map<Class<?>, Scope> scopes;
+
+    private final @Nullable ResolutionPlan resolutionPlan;
+
+    /**
+     * The listener notified whenever a service is created, or {@code null} if services are not
+     * timed.
+     */
+    private final @Nullable ConstructionListener constructionListener;
+
+    /**
+     * The metrics recorded to whenever services are found or created, or {@code null} if metrics
+     * are not recorded.
+     */
+    private final @Nullable ContainerMetrics metrics;
+
+    /**
+     * The services of each planned type, indexed by the {@link #resolutionPlan}.
+     */
+    private final AtomicReferenceArray<List<?>> plannedSingletons;
+
+    /**
+     * The locks guarding the creation of the services of each planned type, indexed by the
+     * {@link #resolutionPlan}.
+     */
+    private final CreationLock[] plannedCreationLocks;
+
+    /**
+     * Whether each planned type is scoped, indexed by the {@link #resolutionPlan}.
+     */
+    private final boolean[] plannedScoped;
+
+    /**
+     * Constructs a new {@link ContainerImpl} using the service from the given
+     * {@link ServiceDefinitionRegistry}.
+     *
+     * @param serviceDefinitionRegistry the service definition registry to use
+     * @throws NullPointerException if {@code serviceDefinitionRegistry} is {@code null}.
+     */
+    public ContainerImpl(final ServiceDefinitionRegistry serviceDefinitionRegistry) {
+
+        this(serviceDefinitionRegistry, null);
+    }
+
+    /**
+     * Constructs a new {@link ContainerImpl} using the service from the given
+     * {@link ServiceDefinitionRegistry}, and the given resolution plan if one is specified.
+     *
+     * @param serviceDefinitionRegistry the service definition registry to use
+     * @param resolutionPlan the resolution plan compiled from the service definition registry
+     * @throws NullPointerException if {@code serviceDefinitionRegistry} is {@code null}.
+     */
+    ContainerImpl(final ServiceDefinitionRegistry serviceDefinitionRegistry,
+                  final @Nullable ResolutionPlan resolutionPlan) {
+
+        this(serviceDefinitionRegistry, resolutionPlan, Map.of(), null, null, null, null, false);
+    }
+
+    /**
+     * Constructs a new {@link ContainerImpl} using the service from the given
+     * {@link ServiceDefinitionRegistry}, the given resolution plan if one is specified, the given
+     * scopes, the given parent if one is specified, and the given construction listener and metrics
+     * if they are specified.
+     *
+     * @param serviceDefinitionRegistry the service definition registry to use
+     * @param resolutionPlan the resolution plan compiled from the service definition registry
+     * @param scopes a map of service type to the scope overriding the scopes of its service
+     * definitions
+     * @param parent the parent container whose services are shared, or {@code null} if the
+     * container has no parent or the parent's services are in the service definition registry
+     * @param injectServiceDefinitionRegistry the registry of service definitions for concrete
+     * classes that neither this container nor the parent provides, or {@code null} if they are in
+     * the service definition registry
+     * @param constructionListener the listener notified whenever a service is created, or
+     * {@code null} if services should not be timed
+     * @param metrics the metrics recorded to whenever services are found or created, or
+     * {@code null} if metrics should not be recorded
+     * @param singletonsSharedByTypes whether service definitions may be found by several types,
+     * whose singletons should be shared by those types
+     * @throws NullPointerException if {@code serviceDefinitionRegistry} or {@code scopes} are
+     * {@code null}.
+     */
+    ContainerImpl(final ServiceDefinitionRegistry serviceDefinitionRegistry,
+                  final @Nullable ResolutionPlan resolutionPlan,
+                  final Map<Class<?>, Scope> scopes,
+                  final @Nullable ContainerImpl parent,
+                  final @Nullable ServiceDefinitionRegistry injectServiceDefinitionRegistry,
+                  final @Nullable ConstructionListener constructionListener,
+                  final @Nullable ContainerMetrics metrics,
+                  final boolean singletonsSharedByTypes) {
+
+        Preconditions.requireNonNull(serviceDefinitionRegistry, "serviceDefinitionRegistry");
+        Preconditions.requireNonNull(scopes, "scopes");
+
+        final int plannedTypes = resolutionPlan == null ? 0 : resolutionPlan.size();
+
+        this.serviceDefinitionRegistry = serviceDefinitionRegistry;
+        this.parent = parent;
+        this.injectServiceDefinitionRegistry = injectServiceDefinitionRegistry;
+        this.scopes = Map.copyOf(scopes);
+        this.resolutionPlan = resolutionPlan;
+        this.constructionListener = constructionListener;
+        this.metrics = metrics;
+        this.singletonsSharedByTypes = singletonsSharedByTypes;
+        this.plannedSingletons = new AtomicReferenceArray<>(plannedTypes);
+        this.plannedCreationLocks = new CreationLock[plannedTypes];
+        Arrays.setAll(
+                plannedCreationLocks,
+                (index) -> new CreationLock(resolutionPlan.getServiceType(index)));
+        this.plannedScoped = new boolean[plannedTypes];
+        for (int i = 0; i < plannedTypes; i++) {
+            plannedScoped[i] = isScoped(
+                    resolutionPlan.getServiceType(i),
+                    resolutionPlan.getServiceDefinitions(i));
+        }
+    }
+
+    @Override
+    public <T> ServiceDefinition<T> findServiceDefinition(final Class<T> type) {
+
+        Preconditions.requireNonNull(type, "type");
+
+        if (parent != null) {
+            return super.findServiceDefinition(type);
+        }
+
+        return serviceDefinitionRegistry.findServiceDefinition(type);
+    }
+
+    @Override
+    public <T> @Nullable ServiceDefinition<T> findServiceDefinitionOrNull(final Class<T> type) {
+
+        Preconditions.requireNonNull(type, "type");
+
+        if (parent != null) {
+            return super.findServiceDefinitionOrNull(type);
+        }
+
+        return serviceDefinitionRegistry.findServiceDefinitionOrNull(type);
+    }
+
+    @Override
+    public <T> List<ServiceDefinition<T>> findServiceDefinitions(final Class<T> type) {
+
+        Preconditions.requireNonNull(type, "type");
+
+        final List<ServiceDefinition<T>> serviceDefinitions =
+                serviceDefinitionRegistry.findServiceDefinitions(type);
+
+        if (parent == null) {
+            return serviceDefinitions;
+        }
+
+        final List<ServiceDefinition<T>> parentServiceDefinitions =
+                parent.findServiceDefinitions(type);
+
+        if (parentServiceDefinitions.isEmpty()) {
+            return serviceDefinitions;
+        }
+
+        if (serviceDefinitions.isEmpty()) {
+            return parentServiceDefinitions;
+        }
+
+        final List<ServiceDefinition<T>> allServiceDefinitions = new ArrayList<>(
+                serviceDefinitions.size() + parentServiceDefinitions.size());
+        allServiceDefinitions.addAll(serviceDefinitions);
+        allServiceDefinitions.addAll(parentServiceDefinitions);
+        return Collections.unmodifiableList(allServiceDefinitions);
+    }
+
+    @Override
+    public <T> List<ServiceDefinition<T>> findServiceDefinitions(final Class<T> type,
+                                                                 final String name) {
+
+        Preconditions.requireNonNull(type, "type");
+        Preconditions.requireNonNull(name, "name");
+
+        final List<ServiceDefinition<T>> serviceDefinitions =
+                serviceDefinitionRegistry.findServiceDefinitions(type, name);
+
+        if (serviceDefinitions.isEmpty() && parent != null) {
+            return parent.findServiceDefinitions(type, name);
+        }
+
+        return serviceDefinitions;
+    }
+
+    @Override
+    public <T> T findService(final Class<T> serviceType, final String name) {
+
+        Preconditions.requireNonNull(serviceType, "serviceType");
+        Preconditions.requireNonNull(name, "name");
+
+        final List<ServiceDefinition<T>> serviceDefinitions =
+                serviceDefinitionRegistry.findServiceDefinitions(serviceType, name);
+
+        if (serviceDefinitions.isEmpty() && parent != null) {
+            return parent.findService(serviceType, name);
+        }
+
+        if (serviceDefinitions.size() != 1) {
+            throw new NoUniqueServiceException(
+                    (serviceDefinitions.isEmpty() ? "No" : "Multiple") +
+                            " services named \"" + name + "\" of type \"" +
+                            serviceType.getName() + "\" found");
+        }
+
+        try {
+            return findServiceOf(serviceType, serviceDefinitions.get(0));
+        } catch (final NoUniqueServiceException e) {
+            throw new ServiceException(e);
+        }
+    }
+
+    @Override
+    public <T> Optional<T> findOptionalService(final Class<T> serviceType, final String name) {
+
+        Preconditions.requireNonNull(serviceType, "serviceType");
+        Preconditions.requireNonNull(name, "name");
+
+        if (findServiceDefinitions(serviceType, name).size() != 1) {
+            return Optional.empty();
+        }
+
+        return Optional.of(findService(serviceType, name));
+    }
+
+    /**
+     * Finds the service of the specified service definition of the specified type, without
+     * creating the other services of the type.
+     */
+    private <T> T findServiceOf(final Class<T> serviceType,
+                                   final ServiceDefinition<T> serviceDefinition) {
+
+        assert serviceType != null;
+        assert serviceDefinition != null;
+
+        if (getScope(serviceType, serviceDefinition) != Scope.singleton() ||
+                scopedServiceDefinitions.containsKey(serviceType)) {
+            return findScopedService(serviceType, serviceDefinition, null);
+        }
+
+        if (resolutionPlan != null) {
+            final int index = resolutionPlan.indexOf(serviceType);
+            if (index != ResolutionPlan.UNPLANNED) {
+                if (plannedScoped[index]) {
+                    return findScopedService(serviceType, serviceDefinition, null);
+                }
+
+                final CreationLock lock = plannedCreationLocks[index];
+                lock.lock();
+                try {
+                    return findSingletonOf(
+                            serviceType,
+                            serviceDefinition,
+                            Arrays.asList(resolutionPlan.getServiceDefinitions(index)),
+                            plannedSingletons.get(index));
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+
+        final List<?> singletonServices = singletons.get(serviceType);
+
+        if (singletonServices != null) {
+            return findSingletonOf(
+                    serviceType,
+                    serviceDefinition,
+                    findOwnServiceDefinitions(serviceType),
+                    singletonServices);
+        }
+
+        final CreationLock lock = creationLocks.computeIfAbsent(serviceType, CreationLock::new);
+
+        lock.lock();
+        try {
+            // The type may have been found to be scoped while waiting for the lock
+            if (scopedServiceDefinitions.containsKey(serviceType)) {
+                return findScopedService(serviceType, serviceDefinition, null);
+            }
+
+            return findSingletonOf(
+                    serviceType,
+                    serviceDefinition,
+                    findOwnServiceDefinitions(serviceType),
+                    singletons.get(serviceType));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Finds the singleton of the specified service definition of the specified type, while holding
+     * the lock guarding the creation of the services of the type.
+     *
+     * @param serviceDefinitions the service definitions the services of the type were created
+     * from, in the order of its services
+     * @param singletonServices the services of the type, or {@code null} if they have not been
+     * created
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T findSingletonOf(final Class<T> serviceType,
+                                     final ServiceDefinition<T> serviceDefinition,
+                                     final List<? extends ServiceDefinition<?>> serviceDefinitions,
+                                     final @Nullable List<?> singletonServices) {
+
+        assert serviceType != null;
+        assert serviceDefinition != null;
+        assert serviceDefinitions != null;
+
+        if (singletonServices != null) {
+            final int index = serviceDefinitions.indexOf(serviceDefinition);
+            if (index != -1) {
+                return (T) singletonServices.get(index);
+            }
+        }
+
+        singletonsFoundByDefinition = true;
+        return findScopedService(serviceType, serviceDefinition, null);
+    }
+
+    @Override
+    public <T> List<ServiceDefinition<T>> findGenericServiceDefinitions(final TypeToken<T> type) {
+
+        Preconditions.requireNonNull(type, "type");
+
+        final List<ServiceDefinition<T>> serviceDefinitions =
+                serviceDefinitionRegistry.findGenericServiceDefinitions(type);
+
+        if (parent == null) {
+            return serviceDefinitions;
+        }
+
+        final List<ServiceDefinition<T>> parentServiceDefinitions =
+                parent.findGenericServiceDefinitions(type);
+
+        if (parentServiceDefinitions.isEmpty()) {
+            return serviceDefinitions;
+        }
+
+        if (serviceDefinitions.isEmpty()) {
+            return parentServiceDefinitions;
+        }
+
+        final List<ServiceDefinition<T>> allServiceDefinitions = new ArrayList<>(
+                serviceDefinitions.size() + parentServiceDefinitions.size());
+        allServiceDefinitions.addAll(serviceDefinitions);
+        allServiceDefinitions.addAll(parentServiceDefinitions);
+        return Collections.unmodifiableList(allServiceDefinitions);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> List<T> findGenericServices(final TypeToken<T> serviceType) {
+
+        Preconditions.requireNonNull(serviceType, "serviceType");
+
+        if (!serviceType.isParameterized()) {
+            return (List<T>) findServices(serviceType.getRawType());
+        }
+
+        final List<T> singletonServices = (List<T>) genericSingletons.get(serviceType);
+
+        if (singletonServices != null) {
+            return singletonServices;
+        }
+
+        final Class<T> rawType = (Class<T>) serviceType.getRawType();
+        final ServiceDefinition<?>[] serviceDefinitions = serviceDefinitionRegistry
+                .findGenericServiceDefinitions(serviceType)
+                .toArray(new ServiceDefinition<?>[0]);
+        final List<T> services;
+
+        try {
+            final Object[] ownServices = new Object[serviceDefinitions.length];
+            for (int i = 0; i < ownServices.length; i++) {
+                ownServices[i] = findServiceOf(
+                        rawType,
+                        (ServiceDefinition<T>) serviceDefinitions[i]);
+            }
+            services = (List<T>) Collections.unmodifiableList(Arrays.asList(ownServices));
+        } catch (final NoUniqueServiceException e) {
+            throw new ServiceException(e);
+        }
+
+        final List<T> allServices;
+        if (parent == null) {
+            allServices = services;
+        } else {
+            final List<T> parentServices = parent.findGenericServices(serviceType);
+            if (parentServices.isEmpty()) {
+                allServices = services;
+            } else if (services.isEmpty()) {
+                allServices = parentServices;
+            } else {
+                final List<T> mergedServices =
+                        new ArrayList<>(services.size() + parentServices.size());
+                mergedServices.addAll(services);
+                mergedServices.addAll(parentServices);
+                allServices = Collections.unmodifiableList(mergedServices);
+            }
+        }
+
+        if (!isScoped(rawType, serviceDefinitions) &&
+                !scopedServiceDefinitions.containsKey(rawType)) {
+            // The parent's services are captured once, like the singletons of classes
+            genericSingletons.putIfAbsent(serviceType, allServices);
+        }
+
+        return allServices;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> Supplier<T> findLazyService(final TypeToken<T> serviceType) {
+
+        Preconditions.requireNonNull(serviceType, "serviceType");
+
+        return (Supplier<T>) Dependency.lazy(serviceType).resolve(this);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> Supplier<T> findLazyService(final Class<T> serviceType, final String name) {
+
+        Preconditions.requireNonNull(serviceType, "serviceType");
+        Preconditions.requireNonNull(name, "name");
+
+        return (Supplier<T>) Dependency.lazy(serviceType, name).resolve(this);
+    }
+
+    @Override
+    public boolean isSingleton(final Class<?> serviceType) {
+
+        Preconditions.requireNonNull(serviceType, "serviceType");
+
+        if (scopedServiceDefinitions.containsKey(serviceType)) {
+            return false;
+        }
+
+        if (resolutionPlan != null) {
+            final int index = resolutionPlan.indexOf(serviceType);
+            if (index != ResolutionPlan.UNPLANNED) {
+                return !plannedScoped[index];
+            }
+        }
+
+        final List<? extends ServiceDefinition<?>> serviceDefinitions =
+                findOwnServiceDefinitions(serviceType);
+
+        if (serviceDefinitions.isEmpty() && parent != null) {
+            return parent.isSingleton(serviceType);
+        }
+
+        return !isScoped(serviceType, serviceDefinitions.toArray(new ServiceDefinition<?>[0]));
+    }
+
+    @Override
+    public <T> List<T> findServices(final Class<T> serviceType) {
+
+        Preconditions.requireNonNull(serviceType, "serviceType");
+
+        final Object event = FlightRecorderEvents.beginServiceResolution(serviceType);
+
+        if (event == null) {
+            return findServices(serviceType, null);
+        }
+
+        try {
+            return findServices(serviceType, event);
+        } catch (final RuntimeException | Error e) {
+            FlightRecorderEvents.commitServiceResolution(event, false, false);
+            throw e;
+        }
+    }
+
+    /**
+     * Finds the services of the specified type, recording how they were found with
+     * {@link #found(Class, List, boolean, boolean, Object)}.
+     *
+     * @param event the event returned by
+     * {@link FlightRecorderEvents#beginServiceResolution(Class)}, or {@code null} if the event is
+     * not enabled
+     */
+    @SuppressWarnings("unchecked")
+    private <T> List<T> findServices(final Class<T> serviceType, final @Nullable Object event) {
+
+        assert serviceType != null;
+
+        // Singletons are by far the most common, so they are found before anything else
+        final List<T> singletonServices = (List<T>) singletons.get(serviceType);
+
+        if (singletonServices != null) {
+            return found(serviceType, singletonServices, true, false, event);
+        }
+
+        if (serviceType.equals(Container.class)) {
+            return found(serviceType, (List<T>) List.of(this), true, false, event);
+        }
+
+        if (resolutionPlan != null) {
+            final int index = resolutionPlan.indexOf(serviceType);
+            if (index != ResolutionPlan.UNPLANNED) {
+                final boolean cacheHit = plannedSingletons.get(index) != null;
+                return found(
+                        serviceType,
+                        (List<T>) findPlannedServices(index),
+                        cacheHit,
+                        false,
+                        event);
+            }
+        }
+
+        final ServiceDefinition<?>[] serviceDefinitions = scopedServiceDefinitions.get(serviceType);
+
+        if (serviceDefinitions != null) {
+            final List<T> services = withParentServices(serviceType, (List<T>) findScopedServices(
+                    serviceType,
+                    serviceDefinitions,
+                    ResolutionPlan.UNPLANNED));
+            return found(serviceType, services, false, false, event);
+        }
+
+        if (parent != null && !injectedServiceTypes.contains(serviceType)) {
+            // Not cached, so the parent's services are shared rather than copied
+            if (parentServiceTypes.contains(serviceType)) {
+                return found(serviceType, parent.findServices(serviceType), false, true, event);
+            }
+
+            if (serviceDefinitionRegistry.findServiceDefinitions(serviceType).isEmpty()) {
+                final List<T> parentServices = findParentServices(serviceType);
+                if (parentServices != null) {
+                    return found(serviceType, parentServices, false, true, event);
+                }
+            }
+        }
+
+        return found(serviceType, createServices(serviceType), false, false, event);
+    }
+
+    /**
+     * Records that the services of the specified type were found to the metrics and the event.
+     *
+     * @param cacheHit whether the services were found in the singleton cache
+     * @param parent whether the services were found by the parent
+     * @param event the event, or {@code null} if the event is not enabled
+     * @return the services
+     */
+    private <T> List<T> found(final Class<T> serviceType,
+                              final List<T> services,
+                              final boolean cacheHit,
+                              final boolean parent,
+                              final @Nullable Object event) {
+
+        assert serviceType != null;
+        assert services != null;
+
+        if (metrics != null) {
+            metrics.servicesFound(serviceType, cacheHit);
+        }
+
+        if (event != null) {
+            FlightRecorderEvents.commitServiceResolution(event, cacheHit, parent);
+        }
+
+        return services;
+    }
+
+    /**
+     * Finds the services of the specified type, which this container has no service definitions
+     * for, in the parent.
+     * <p>
+     * Concrete classes that the parent cannot create are created by this container instead, as
+     * their dependencies may be services of this container. Whether the parent can create them is
+     * decided from its dependency graph, so the parent is only asked for the services it has.
+     *
+     * @return the services, or {@code null} if they should be created by this container
+     */
+    private <T> @Nullable List<T> findParentServices(final Class<T> serviceType) {
+
+        assert serviceType != null;
+        assert parent != null;
+
+        if (injectServiceDefinitionRegistry != null &&
+                !injectServiceDefinitionRegistry.findServiceDefinitions(serviceType).isEmpty() &&
+                !parent.canCreateServices(serviceType)) {
+            injectedServiceTypes.add(serviceType);
+            return null;
+        }
+
+        parentServiceTypes.add(serviceType);
+        return parent.findServices(serviceType);
+    }
+
+    /**
+     * Determines whether this container has services of the specified type, and every service they
+     * depend on, without creating any services.
+     * <p>
+     * Only the dependencies of {@link DependentServiceDefinition DependentServiceDefinitions} are
+     * known, so the services of other service definitions are assumed to be creatable.
+     */
+    private boolean canCreateServices(final Class<?> serviceType) {
+
+        assert serviceType != null;
+
+        final List<?> singletonServices = singletons.get(serviceType);
+
+        if (singletonServices != null) {
+            return !singletonServices.isEmpty();
+        }
+
+        final ResolutionPlan dependencyGraph = ResolutionPlan.compile(this, List.of(serviceType));
+        final int index = dependencyGraph.indexOf(serviceType);
+
+        return index != ResolutionPlan.UNPLANNED &&
+                dependencyGraph.getServiceDefinitions(index).length != 0 &&
+                dependencyGraph.findProblems().isEmpty();
+    }
+
+    /**
+     * Finds the service definitions of the specified type that this container creates services
+     * for, which excludes the service definitions of the parent.
+     */
+    private <T> List<ServiceDefinition<T>> findOwnServiceDefinitions(final Class<T> serviceType) {
+
+        assert serviceType != null;
+
+        if (injectServiceDefinitionRegistry != null &&
+                injectedServiceTypes.contains(serviceType)) {
+            return injectServiceDefinitionRegistry.findServiceDefinitions(serviceType);
+        }
+
+        return serviceDefinitionRegistry.findServiceDefinitions(serviceType);
+    }
+
+    /**
+     * Appends the services of the parent of the specified type to the specified services of this
+     * container.
+     */
+    private <T> List<T> withParentServices(final Class<T> serviceType, final List<T> services) {
+
+        assert serviceType != null;
+        assert services != null;
+
+        if (parent == null || injectedServiceTypes.contains(serviceType)) {
+            // The parent cannot create the services of classes injected by this container
+            return services;
+        }
+
+        final List<T> parentServices = parent.findServices(serviceType);
+
+        if (parentServices.isEmpty()) {
+            return services;
+        }
+
+        final List<T> allServices = new ArrayList<>(services.size() + parentServices.size());
+        allServices.addAll(services);
+        allServices.addAll(parentServices);
+        return Collections.unmodifiableList(allServices);
+    }
+
+    /**
+     * Creates and caches the services of the specified type, unless another thread has already
+     * done so.
+     * <p>
+     * If the type is scoped, its service definitions are cached instead and its services are
+     * looked up in their scopes.
+     *
+     * @param serviceType the type of the services
+     * @return the services
+     * @param <T> the type of the services
+     * @throws ServiceException if an exception occurred while creating the services.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> List<T> createServices(final Class<T> serviceType) {
+
+        assert serviceType != null;
+
+        final CreationLock lock = creationLocks.computeIfAbsent(serviceType, CreationLock::new);
+        final ServiceDefinition<?>[] scopedDefinitions;
+
+        lock.lock();
+        try {
+            final List<T> singletonServices = (List<T>) singletons.get(serviceType);
+
+            if (singletonServices != null) {
+                return singletonServices;
+            }
+
+            final List<ServiceDefinition<T>> serviceDefinitions =
+                    findOwnServiceDefinitions(serviceType);
+            scopedDefinitions = serviceDefinitions.toArray(new ServiceDefinition<?>[0]);
+
+            if (!isScoped(serviceType, scopedDefinitions)) {
+                try {
+                    final List<T> services = createSingletons(serviceType, serviceDefinitions);
+                    // The parent's services are captured once, like this container's singletons
+                    final List<T> allServices = withParentServices(serviceType, services);
+                    singletons.put(serviceType, allServices);
+                    if (metrics != null) {
+                        metrics.singletonsCached(serviceType, services.size());
+                    }
+                    // Only removed once cached, otherwise a thread waiting on this lock and a
+                    // thread with a new lock could both create the services after a failed attempt
+                    creationLocks.remove(serviceType, lock);
+                    return allServices;
+                } catch (final NoUniqueServiceException e) {
+                    throw new ServiceException(e);
+                }
+            }
+
+            scopedServiceDefinitions.put(serviceType, scopedDefinitions);
+            creationLocks.remove(serviceType, lock);
+        } finally {
+            lock.unlock();
+        }
+
+        // Looked up without holding the type's lock, as each scope guards its own services
+        return withParentServices(serviceType, (List<T>) findScopedServices(
+                serviceType,
+                scopedDefinitions,
+                ResolutionPlan.UNPLANNED));
+    }
+
+    /**
+     * Creates the services of the specified singleton type, tracking the type in the current
+     * thread's {@link ResolutionPath} while they are created.
+     *
+     * @throws ServiceException if an exception occurred while creating the services, or the
+     * services of the type are already being created by the current thread.
+     */
+    private <T> List<T> createSingletons(final Class<T> serviceType,
+                                         final List<ServiceDefinition<T>> serviceDefinitions) {
+
+        assert serviceType != null;
+        assert serviceDefinitions != null;
+
+        final ResolutionPath resolutionPath = ResolutionPath.current();
+        resolutionPath.push(this, serviceType);
+
+        try {
+            return serviceDefinitions
+                    .stream()
+                    .map((serviceDefinition) -> createSingleton(serviceDefinition, null))
+                    .toList();
+        } finally {
+            resolutionPath.pop();
+        }
+    }
+
+    /**
+     * Creates the singleton of the specified service definition of a type that is not scoped, whose
+     * services are already being created by the current thread.
+     * <p>
+     * Singletons may have already been found by name or parameterized type, or as the service of
+     * another type, in which case they are reused rather than being created again.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T createSingleton(final ServiceDefinition<T> serviceDefinition,
+                                  final int @Nullable [] dependencyIndices) {
+
+        assert serviceDefinition != null;
+
+        if (!singletonsFoundByDefinition && !singletonsSharedByTypes) {
+            return (T) createService(serviceDefinition, dependencyIndices);
+        }
+
+        return scopedSingletons.getService(
+                this,
+                serviceDefinition,
+                () -> (T) createService(serviceDefinition, dependencyIndices));
+    }
+
+    /**
+     * Determines whether any of the specified service definitions of the specified type is not a
+     * singleton.
+     */
+    private boolean isScoped(final Class<?> serviceType,
+                             final ServiceDefinition<?>[] serviceDefinitions) {
+
+        assert serviceType != null;
+        assert serviceDefinitions != null;
+
+        for (final ServiceDefinition<?> serviceDefinition : serviceDefinitions) {
+            if (getScope(serviceType, serviceDefinition) != Scope.singleton()) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private Scope getScope(final Class<?> serviceType,
+                           final ServiceDefinition<?> serviceDefinition) {
+
+        assert serviceType != null;
+        assert serviceDefinition != null;
+
+        final Scope scope = scopes.get(serviceType);
+
+        if (scope != null) {
+            return scope;
+        }
+
+        if (serviceDefinition instanceof final ScopedServiceDefinition<?> scopedServiceDefinition) {
+            return scopedServiceDefinition.getScope();
+        }
+
+        return Scope.singleton();
+    }
+
+    /**
+     * Looks up the services of the specified scoped type in their scopes.
+     *
+     * @param serviceType the type of the services
+     * @param serviceDefinitions the service definitions of the type
+     * @param plannedIndex the index of the type in the resolution plan, or
+     * {@link ResolutionPlan#UNPLANNED} if it is not planned
+     * @return the services
+     * @throws ServiceException if an exception occurred while creating the services.
+     */
+    private List<?> findScopedServices(final Class<?> serviceType,
+                                       final ServiceDefinition<?>[] serviceDefinitions,
+                                       final int plannedIndex) {
+
+        assert serviceType != null;
+        assert serviceDefinitions != null;
+
+        try {
+            final Object[] services = new Object[serviceDefinitions.length];
+
+            for (int i = 0; i < services.length; i++) {
+                final int[] dependencyIndices;
+                if (plannedIndex == ResolutionPlan.UNPLANNED) {
+                    dependencyIndices = null;
+                } else {
+                    assert resolutionPlan != null;
+                    dependencyIndices = resolutionPlan.getDependencyIndices(plannedIndex, i);
+                }
+
+                services[i] = findScopedService(
+                        serviceType,
+                        serviceDefinitions[i],
+                        dependencyIndices);
+            }
+
+            return Collections.unmodifiableList(Arrays.asList(services));
+        } catch (final NoUniqueServiceException e) {
+            throw new ServiceException(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T findScopedService(final Class<?> serviceType,
+                                    final ServiceDefinition<T> serviceDefinition,
+                                    final int @Nullable [] dependencyIndices) {
+
+        assert serviceType != null;
+        assert serviceDefinition != null;
+
+        final Scope scope = getScope(serviceType, serviceDefinition);
+        final Supplier<T> factory = () -> {
+            final ResolutionPath resolutionPath = ResolutionPath.current();
+            resolutionPath.push(this, serviceType);
+            try {
+                return (T) createService(serviceDefinition, dependencyIndices);
+            } finally {
+                resolutionPath.pop();
+            }
+        };
+
+        return scope.getService(this, serviceDefinition, factory);
+    }
+
+    /**
+     * Gets the singleton of the specified service definition in this container, creating it with
+     * the specified factory if there is none.
+     *
+     * @see BuiltInScope#SINGLETON
+     */
+    <T> T getSingleton(final ServiceDefinition<T> serviceDefinition,
+                       final Supplier<? extends T> factory) {
+
+        assert serviceDefinition != null;
+        assert factory != null;
+
+        return scopedSingletons.getService(this, serviceDefinition, factory);
+    }
 
     /**
-     * A map of service type to service containing all currently loaded singletons.
+     * Creates the services of every planned type on the specified executor.
+     * <p>
+     * The services of each type are created once the services of the planned types it depends on
+     * have been created, so services that do not depend on each other are created concurrently.
+     *
+     * @param executor the executor to create the services on
+     * @throws IllegalStateException if this container does not have a resolution plan.
+     * @throws NullPointerException if {@code executor} is {@code null}.
+     * @throws ServiceException if an exception occurred while creating a service.
      */
-    private final Multimap<Class<?>, ?> singletons = new Multimap<>();
+    void createAllPlannedServices(final Executor executor) {
 
-    private final ServiceDefinitionRegistry serviceDefinitionRegistry;
+        Preconditions.requireNonNull(executor, "executor");
+
+        if (resolutionPlan == null) {
+            throw new IllegalStateException("Container does not have a resolution plan");
+        }
+
+        final CompletableFuture<?>[] futures = new CompletableFuture<?>[resolutionPlan.size()];
+
+        for (int i = 0; i < futures.length; i++) {
+            schedulePlannedServices(i, executor, futures);
+        }
+
+        try {
+            CompletableFuture.allOf(futures).join();
+        } catch (final CompletionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof final RuntimeException runtimeException) {
+                throw runtimeException;
+            } else if (cause instanceof final Error error) {
+                throw error;
+            }
+            throw new ServiceException(cause);
+        }
+    }
 
     /**
-     * Constructs a new {@link ContainerImpl} using the service from the given
-     * {@link ServiceDefinitionRegistry}.
+     * Schedules the creation of the services of the planned type at the specified index, after
+     * the creation of the planned types it depends on.
      *
-     * @param serviceDefinitionRegistry the service definition registry to use
-     * @throws NullPointerException if {@code serviceDefinitionRegistry} is {@code null}.
+     * @return the future completed once the services have been created
      */
-    public ContainerImpl(final ServiceDefinitionRegistry serviceDefinitionRegistry) {
+    private CompletableFuture<?> schedulePlannedServices(final int index,
+                                                         final Executor executor,
+                                                         final CompletableFuture<?>[] futures) {
 
-        Preconditions.requireNonNull(serviceDefinitionRegistry, "serviceDefinitionRegistry");
+        assert resolutionPlan != null;
+        assert executor != null;
+        assert futures != null;
 
-        this.serviceDefinitionRegistry = serviceDefinitionRegistry;
-    }
+        if (futures[index] != null) {
+            return futures[index];
+        }
 
-    @Override
-    public <T> ServiceDefinition<T> findServiceDefinition(final Class<T> type) {
+        futures[index] = SCHEDULING;
 
-        Preconditions.requireNonNull(type, "type");
+        final List<CompletableFuture<?>> dependencies = new ArrayList<>();
+        final int serviceDefinitions = resolutionPlan.getServiceDefinitions(index).length;
 
-        return serviceDefinitionRegistry.findServiceDefinition(type);
-    }
+        for (int i = 0; i < serviceDefinitions; i++) {
+            final int[] dependencyIndices = resolutionPlan.getDependencyIndices(index, i);
 
-    @Override
-    public <T> List<ServiceDefinition<T>> findServiceDefinitions(final Class<T> type) {
+            if (dependencyIndices == null) {
+                continue;
+            }
 
-        Preconditions.requireNonNull(type, "type");
+            for (final int dependencyIndex : dependencyIndices) {
+                if (dependencyIndex == ResolutionPlan.UNPLANNED) {
+                    continue;
+                }
 
-        return serviceDefinitionRegistry.findServiceDefinitions(type);
+                final CompletableFuture<?> dependency =
+                        schedulePlannedServices(dependencyIndex, executor, futures);
+
+                // A cycle, left to fail the same way as when resolved lazily
+                if (dependency != SCHEDULING) {
+                    dependencies.add(dependency);
+                }
+            }
+        }
+
+        final CompletableFuture<?> dependenciesCreated = CompletableFuture
+                .allOf(dependencies.toArray(new CompletableFuture<?>[0]));
+        // Scoped services are only created when requested, unlike their dependencies
+        final CompletableFuture<?> future = plannedScoped[index]
+                ? dependenciesCreated
+                : dependenciesCreated.thenRunAsync(() -> findPlannedServices(index), executor);
+        futures[index] = future;
+        return future;
     }
 
-    @SuppressWarnings({"unchecked", "rawtypes"})
-    @Override
-    public <T> List<T> findServices(final Class<T> serviceType) {
+    private List<?> findPlannedServices(final int index) {
 
-        Preconditions.requireNonNull(serviceType, "serviceType");
+        assert resolutionPlan != null;
 
-        if (serviceType.equals(Container.class)) {
-            return (List<T>) List.of(this);
+        if (plannedScoped[index]) {
+            return findScopedServices(
+                    resolutionPlan.getServiceType(index),
+                    resolutionPlan.getServiceDefinitions(index),
+                    index);
         }
 
-        synchronized (singletons) {
-            final List<T> singletonServices = (List<T>) singletons.get(serviceType);
+        final List<?> singletonServices = plannedSingletons.get(index);
+
+        if (singletonServices != null) {
+            return singletonServices;
+        }
+
+        return createPlannedServices(index);
+    }
+
+    /**
+     * Creates and caches the services of the planned type at the specified index, unless another
+     * thread has already done so.
+     *
+     * @param index the index of the type in the resolution plan
+     * @return the services
+     * @throws ServiceException if an exception occurred while creating the services.
+     */
+    private List<?> createPlannedServices(final int index) {
+
+        assert resolutionPlan != null;
+
+        final CreationLock lock = plannedCreationLocks[index];
+
+        lock.lock();
+        try {
+            final List<?> singletonServices = plannedSingletons.get(index);
 
             if (singletonServices != null) {
                 return singletonServices;
             }
 
+            final ResolutionPath resolutionPath = ResolutionPath.current();
+            resolutionPath.push(this, resolutionPlan.getServiceType(index));
+
             try {
-                final List<T> services = findServiceDefinitions(serviceType)
-                        .stream()
-                        .map((serviceDefinition) -> serviceDefinition.createService(
-                                new ServiceDefinitionServiceFinderDecorator(this, serviceDefinition)))
-                        .toList();
-                singletons.put(serviceType, (List) services);
-                return services;
+                final ServiceDefinition<?>[] serviceDefinitions =
+                        resolutionPlan.getServiceDefinitions(index);
+                final Object[] services = new Object[serviceDefinitions.length];
+
+                for (int i = 0; i < services.length; i++) {
+                    services[i] = createSingleton(
+                            serviceDefinitions[i],
+                            resolutionPlan.getDependencyIndices(index, i));
+                }
+
+                final List<?> servicesList = Collections.unmodifiableList(Arrays.asList(services));
+                plannedSingletons.set(index, servicesList);
+                if (metrics != null) {
+                    metrics.singletonsCached(resolutionPlan.getServiceType(index), services.length);
+                }
+                return servicesList;
             } catch (final NoUniqueServiceException e) {
                 throw new ServiceException(e);
+            } finally {
+                resolutionPath.pop();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Creates a new service of the specified service definition, resolving its dependencies by
+     * index if it is planned, and timing it if this container has a construction listener or
+     * metrics.
+     *
+     * @param serviceDefinition the service definition
+     * @param dependencyIndices the indices of the dependencies of the service definition in the
+     * resolution plan, or {@code null} if they are not planned
+     * @return the service
+     */
+    private Object createService(final ServiceDefinition<?> serviceDefinition,
+                                 final int @Nullable [] dependencyIndices) {
+
+        assert serviceDefinition != null;
+
+        if (constructionListener == null) {
+            if (metrics == null) {
+                return instantiate(serviceDefinition, dependencyIndices);
             }
+
+            final long start = System.nanoTime();
+            final Object service = instantiate(serviceDefinition, dependencyIndices);
+            metrics.serviceCreated(serviceDefinition, System.nanoTime() - start);
+            return service;
+        }
+
+        final ConstructionTimer constructionTimer = ConstructionTimer.current();
+        final int depth = constructionTimer.start();
+        final long start = System.nanoTime();
+        long wallTimeNanos = 0;
+
+        try {
+            final Object service = instantiate(serviceDefinition, dependencyIndices);
+            wallTimeNanos = System.nanoTime() - start;
+            constructionListener.serviceCreated(
+                    serviceDefinition,
+                    wallTimeNanos,
+                    wallTimeNanos - constructionTimer.getDependencyTimeNanos(),
+                    constructionTimer.getDependencyCount(),
+                    depth);
+            if (metrics != null) {
+                metrics.serviceCreated(serviceDefinition, wallTimeNanos);
+            }
+            return service;
+        } finally {
+            constructionTimer.stop(wallTimeNanos);
+        }
+    }
+
+    private Object instantiate(final ServiceDefinition<?> serviceDefinition,
+                               final int @Nullable [] dependencyIndices) {
+
+        assert serviceDefinition != null;
+
+        if (dependencyIndices == null) {
+            return serviceDefinition.createService(
+                    new ServiceDefinitionServiceFinderDecorator(this, serviceDefinition));
+        }
+
+        final DependentServiceDefinition<?> dependentServiceDefinition =
+                (DependentServiceDefinition<?>) serviceDefinition;
+        final List<Dependency> dependencies = dependentServiceDefinition.getDependencies();
+        final Object[] arguments = new Object[dependencyIndices.length];
+
+        for (int i = 0; i < arguments.length; i++) {
+            final Dependency dependency = dependencies.get(i);
+
+            if (dependencyIndices[i] != ResolutionPlan.UNPLANNED) {
+                final List<?> services = findPlannedServices(dependencyIndices[i]);
+                if (!dependency.isSingle() || services.size() == 1) {
+                    arguments[i] = dependency.resolve(services);
+                    continue;
+                }
+            }
+
+            // Unplanned or unresolvable, resolved the same way as without a plan so exceptions are
+            // the same
+            arguments[i] = dependency.resolve(
+                    new ServiceDefinitionServiceFinderDecorator(this, serviceDefinition));
         }
+
+        return dependentServiceDefinition.createService(arguments);
     }
 
     /**
@@ -96,20 +1313,100 @@ public final class ContainerImpl extends AbstractContainer {
      */
     public static final class BuilderImpl implements Container.Builder {
 
-        private final ParameterResolver parameterResolver = new ParameterResolverImpl();
+        /**
+         * The logger that snapshot write failures are reported to.
+         */
+        private static final System.Logger LOGGER = System.getLogger(Container.class.getName());
+
+        private static final ParameterResolver PARAMETER_RESOLVER = new ParameterResolverImpl();
+
+        /**
+         * The registry of service definitions for concrete classes, shared by all containers so
+         * that each class' injectable constructor is only looked up once.
+         */
+        private static final ServiceDefinitionRegistry INJECT_SERVICE_DEFINITION_REGISTRY =
+                new CachingServiceDefinitionRegistry(
+                        new InjectServiceDefinitionRegistry(
+                                new InjectServiceDefinitionFactoryImpl(PARAMETER_RESOLVER)));
+
+        /**
+         * The registry of service definitions for concrete classes used by
+         * {@link #generateConstructorAccessors(boolean)}, only created once it is first used.
+         */
+        private static final class GeneratingInjectServiceDefinitionRegistry {
+
+            private static final ServiceDefinitionRegistry INSTANCE =
+                    new CachingServiceDefinitionRegistry(new InjectServiceDefinitionRegistry(
+                            new InjectServiceDefinitionFactoryImpl(
+                                    PARAMETER_RESOLVER,
+                                    new HiddenClassConstructorAccessorFactory(
+                                            new MethodHandleConstructorAccessorFactory()))));
+        }
 
         /**
          * The factory used by {@link #factory(Object)}.
          */
-        private final FactoryServiceDefinitionRegistryFactory serviceDefinitionRegistryFactory
-                = new FactoryServiceDefinitionRegistryFactoryImpl(
-                new ServiceServiceDefinitionFactoryImpl(parameterResolver));
+        private final FactoryServiceDefinitionRegistryFactory serviceDefinitionRegistryFactory;
+
+        /**
+         * The snapshot file the {@link #serviceIndex} was read from and is written to, or
+         * {@code null} if the container does not use a snapshot.
+         */
+        private final @Nullable Path snapshot;
+
+        private final @Nullable ServiceIndex serviceIndex;
 
         private final ServiceDefinitionRegistry.Builder serviceDefinitions =
                 ServiceDefinitionRegistry.builder();
         private final List<ServiceDefinitionRegistry> serviceDefinitionRegistries = new ArrayList<>();
 
+        /**
+         * The service definitions added to this builder, whose types are the entry points of the
+         * resolution plan.
+         */
+        private final List<ServiceDefinition<?>> rootServiceDefinitions = new ArrayList<>();
+        private final List<Object> factories = new ArrayList<>();
+        private final Map<Class<?>, Scope> scopes = new HashMap<>();
+
         private @Nullable Container parent;
+        private boolean precompile;
+        private boolean validate;
+        private boolean generateConstructorAccessors;
+        private boolean indexSupertypes;
+        private @Nullable Executor eagerExecutor;
+        private @Nullable ConstructionListener constructionListener;
+        private @Nullable ContainerMetrics metrics;
+
+        /**
+         * Constructs a new {@link BuilderImpl} that always discovers injectable constructors and
+         * service methods.
+         */
+        public BuilderImpl() {
+
+            this.snapshot = null;
+            this.serviceIndex = null;
+            this.serviceDefinitionRegistryFactory = new FactoryServiceDefinitionRegistryFactoryImpl(
+                    new ServiceServiceDefinitionFactoryImpl(PARAMETER_RESOLVER));
+        }
+
+        /**
+         * Constructs a new {@link BuilderImpl} that finds injectable constructors and service
+         * methods in the specified snapshot file, and writes the ones it discovers to the file when
+         * the container is built.
+         *
+         * @param snapshot the snapshot file
+         * @throws NullPointerException if {@code snapshot} is {@code null}.
+         */
+        public BuilderImpl(final Path snapshot) {
+
+            Preconditions.requireNonNull(snapshot, "snapshot");
+
+            this.snapshot = snapshot;
+            this.serviceIndex = ServiceIndex.read(snapshot);
+            this.serviceDefinitionRegistryFactory = new FactoryServiceDefinitionRegistryFactoryImpl(
+                    new ServiceServiceDefinitionFactoryImpl(PARAMETER_RESOLVER),
+                    serviceIndex);
+        }
 
         @Override
         public Container.Builder serviceDefinition(final ServiceDefinition<?> serviceDefinition) {
@@ -117,6 +1414,7 @@ public final class ContainerImpl extends AbstractContainer {
             Preconditions.requireNonNull(serviceDefinition, "serviceDefinition");
 
             serviceDefinitions.serviceDefinition(serviceDefinition);
+            rootServiceDefinitions.add(serviceDefinition);
 
             return this;
         }
@@ -132,6 +1430,15 @@ public final class ContainerImpl extends AbstractContainer {
             return this;
         }
 
+        @Override
+        public Container.Builder indexSupertypes(final boolean indexSupertypes) {
+
+            serviceDefinitions.indexSupertypes(indexSupertypes);
+            this.indexSupertypes = indexSupertypes;
+
+            return this;
+        }
+
         @Override
         public Container.Builder parent(final Container parent) {
 
@@ -151,6 +1458,7 @@ public final class ContainerImpl extends AbstractContainer {
                     .createServiceDefinitionRegistry(factory);
 
             serviceDefinitionRegistries.add(factoryRegistry);
+            factories.add(factory);
 
             return this;
         }
@@ -161,7 +1469,77 @@ public final class ContainerImpl extends AbstractContainer {
             Preconditions.requireNonNull(type, "type");
             Preconditions.requireNonNull(singleton, "singleton");
 
-            serviceDefinitions.serviceDefinition(new SingletonServiceDefinition<>(type, singleton));
+            final ServiceDefinition<T> serviceDefinition =
+                    new SingletonServiceDefinition<>(type, singleton);
+            serviceDefinitions.serviceDefinition(serviceDefinition);
+            rootServiceDefinitions.add(serviceDefinition);
+
+            return this;
+        }
+
+        @Override
+        public Container.Builder scope(final Class<?> type, final Scope scope) {
+
+            Preconditions.requireNonNull(type, "type");
+            Preconditions.requireNonNull(scope, "scope");
+
+            scopes.put(type, scope);
+
+            return this;
+        }
+
+        @Override
+        public Container.Builder precompile(final boolean precompile) {
+
+            this.precompile = precompile;
+
+            return this;
+        }
+
+        @Override
+        public Container.Builder validate(final boolean validate) {
+
+            this.validate = validate;
+
+            return this;
+        }
+
+        @Override
+        public Container.Builder generateConstructorAccessors(
+                final boolean generateConstructorAccessors) {
+
+            this.generateConstructorAccessors = generateConstructorAccessors;
+
+            return this;
+        }
+
+        @Override
+        public Container.Builder constructionListener(
+                final ConstructionListener constructionListener) {
+
+            Preconditions.requireNonNull(constructionListener, "constructionListener");
+
+            this.constructionListener = constructionListener;
+
+            return this;
+        }
+
+        @Override
+        public Container.Builder metrics(final ContainerMetrics metrics) {
+
+            Preconditions.requireNonNull(metrics, "metrics");
+
+            this.metrics = metrics;
+
+            return this;
+        }
+
+        @Override
+        public Container.Builder eager(final Executor executor) {
+
+            Preconditions.requireNonNull(executor, "executor");
+
+            this.eagerExecutor = executor;
 
             return this;
         }
@@ -173,18 +1551,282 @@ public final class ContainerImpl extends AbstractContainer {
                     new ArrayList<>(this.serviceDefinitionRegistries);
             serviceDefinitionRegistries.add(serviceDefinitions.build());
 
+            final ServiceDefinitionRegistry injectServiceDefinitionRegistry =
+                    createInjectServiceDefinitionRegistry();
+
+            final boolean planned = precompile || eagerExecutor != null;
+
+            walkDependencyGraph(
+                    serviceDefinitionRegistries,
+                    injectServiceDefinitionRegistry,
+                    planned);
+
+            final ContainerImpl container;
+
+            if (parent instanceof final ContainerImpl parentImpl && !planned) {
+                container = buildWithParent(
+                        serviceDefinitionRegistries,
+                        injectServiceDefinitionRegistry,
+                        parentImpl);
+            } else if (!planned) {
+                container = buildUnplanned(createServiceDefinitionRegistry(
+                        serviceDefinitionRegistries,
+                        injectServiceDefinitionRegistry));
+            } else {
+                container = buildPlanned(createServiceDefinitionRegistry(
+                        serviceDefinitionRegistries,
+                        injectServiceDefinitionRegistry));
+            }
+
+            writeSnapshot();
+
+            if (eagerExecutor != null) {
+                container.createAllPlannedServices(eagerExecutor);
+            }
+
+            return container;
+        }
+
+        /**
+         * Walks the dependency graph of the container without creating any services, if it is
+         * validated by the graph rather than the plan or a new snapshot is filled.
+         * <p>
+         * The plan is the dependency graph unless the container has a parent, as the plan then
+         * finds the services of the parent rather than their service definitions. Without a plan,
+         * the graph is only walked to validate it or to fill a new snapshot.
+         *
+         * @throws ContainerValidationException if the container is validated and problems were
+         * found.
+         */
+        private void walkDependencyGraph(
+                final List<ServiceDefinitionRegistry> serviceDefinitionRegistries,
+                final ServiceDefinitionRegistry injectServiceDefinitionRegistry,
+                final boolean planned) {
+
+            assert serviceDefinitionRegistries != null;
+            assert injectServiceDefinitionRegistry != null;
+
+            if (validate && (!planned || parent != null) ||
+                    !planned && serviceIndex != null && !serviceIndex.hasSnapshotEntries()) {
+                final ResolutionPlan dependencyGraph = compileDependencyGraph(
+                        serviceDefinitionRegistries,
+                        injectServiceDefinitionRegistry);
+
+                if (validate) {
+                    validate(dependencyGraph);
+                }
+            }
+        }
+
+        /**
+         * Builds a container that is not planned and shares the caches of its parent.
+         * <p>
+         * Concrete classes are looked up in the parent first, so the child only falls back to them
+         * for classes the parent cannot create.
+         */
+        private ContainerImpl buildWithParent(
+                final List<ServiceDefinitionRegistry> serviceDefinitionRegistries,
+                final ServiceDefinitionRegistry injectServiceDefinitionRegistry,
+                final ContainerImpl parent) {
+
+            assert serviceDefinitionRegistries != null;
+            assert injectServiceDefinitionRegistry != null;
+            assert parent != null;
+
+            return new ContainerImpl(
+                    new ServiceDefinitionRegistryComposite(serviceDefinitionRegistries),
+                    null,
+                    scopes,
+                    parent,
+                    injectServiceDefinitionRegistry,
+                    constructionListener,
+                    metrics,
+                    indexSupertypes);
+        }
+
+        /**
+         * Creates the registry of every service definition of a container that does not share the
+         * caches of its parent, which finds the services of the parent as singletons.
+         */
+        private ServiceDefinitionRegistry createServiceDefinitionRegistry(
+                final List<ServiceDefinitionRegistry> serviceDefinitionRegistries,
+                final ServiceDefinitionRegistry injectServiceDefinitionRegistry) {
+
+            assert serviceDefinitionRegistries != null;
+            assert injectServiceDefinitionRegistry != null;
+
             if (parent != null) {
                 serviceDefinitionRegistries.add(new ServiceFinderServiceDefinitionRegistry(parent));
             }
 
+            return new FallbackServiceDefinitionRegistry(
+                    new ServiceDefinitionRegistryComposite(serviceDefinitionRegistries),
+                    injectServiceDefinitionRegistry);
+        }
+
+        /**
+         * Builds a container that finds its services lazily, without a resolution plan.
+         */
+        private ContainerImpl buildUnplanned(
+                final ServiceDefinitionRegistry serviceDefinitionRegistry) {
+
+            assert serviceDefinitionRegistry != null;
+
+            return new ContainerImpl(
+                    serviceDefinitionRegistry,
+                    null,
+                    scopes,
+                    null,
+                    null,
+                    constructionListener,
+                    metrics,
+                    indexSupertypes);
+        }
+
+        /**
+         * Builds a container with a resolution plan of the services added to this builder, which
+         * is validated unless the container has a parent.
+         *
+         * @throws ContainerValidationException if the container is validated and problems were
+         * found.
+         */
+        private ContainerImpl buildPlanned(
+                final ServiceDefinitionRegistry serviceDefinitionRegistry) {
+
+            assert serviceDefinitionRegistry != null;
+
+            final ResolutionPlan plan =
+                    ResolutionPlan.compile(serviceDefinitionRegistry, findRootServiceTypes());
+
+            if (validate && parent == null) {
+                validate(plan);
+            }
+
             return new ContainerImpl(
+                    serviceDefinitionRegistry,
+                    plan,
+                    scopes,
+                    null,
+                    null,
+                    constructionListener,
+                    metrics,
+                    indexSupertypes);
+        }
+
+        /**
+         * Creates the registry of service definitions for concrete classes.
+         */
+        private ServiceDefinitionRegistry createInjectServiceDefinitionRegistry() {
+
+            if (serviceIndex == null) {
+                return generateConstructorAccessors
+                        ? GeneratingInjectServiceDefinitionRegistry.INSTANCE
+                        : INJECT_SERVICE_DEFINITION_REGISTRY;
+            }
+
+            final ConstructorAccessorFactory constructorAccessorFactory =
+                    new MethodHandleConstructorAccessorFactory();
+
+            // Not shared, as only this builder's snapshot should record the constructors it finds
+            return new CachingServiceDefinitionRegistry(new InjectServiceDefinitionRegistry(
+                    new InjectServiceDefinitionFactoryImpl(
+                            PARAMETER_RESOLVER,
+                            generateConstructorAccessors
+                                    ? new HiddenClassConstructorAccessorFactory(
+                                            constructorAccessorFactory)
+                                    : constructorAccessorFactory,
+                            serviceIndex)));
+        }
+
+        /**
+         * Compiles the whole dependency graph of the container without creating any services.
+         * <p>
+         * The parent is consulted as a service definition registry, so none of its services are
+         * created either.
+         */
+        private ResolutionPlan compileDependencyGraph(
+                final List<ServiceDefinitionRegistry> serviceDefinitionRegistries,
+                final ServiceDefinitionRegistry injectServiceDefinitionRegistry) {
+
+            assert serviceDefinitionRegistries != null;
+            assert injectServiceDefinitionRegistry != null;
+
+            final List<ServiceDefinitionRegistry> registries =
+                    new ArrayList<>(serviceDefinitionRegistries);
+
+            if (parent != null) {
+                registries.add(parent);
+            }
+
+            return ResolutionPlan.compile(
                     new FallbackServiceDefinitionRegistry(
-                            new ServiceDefinitionRegistryComposite(serviceDefinitionRegistries),
-                            new InjectServiceDefinitionRegistry(
-                                    new InjectServiceDefinitionFactoryImpl(parameterResolver)
-                            )
-                    )
-            );
+                            new ServiceDefinitionRegistryComposite(registries),
+                            injectServiceDefinitionRegistry),
+                    findRootServiceTypes());
+        }
+
+        /**
+         * Throws if the specified dependency graph has any problems.
+         *
+         * @throws ContainerValidationException if the dependency graph has problems.
+         */
+        private static void validate(final ResolutionPlan dependencyGraph) {
+
+            assert dependencyGraph != null;
+
+            final List<String> problems = dependencyGraph.findProblems();
+            if (!problems.isEmpty()) {
+                throw new ContainerValidationException(problems);
+            }
+        }
+
+        /**
+         * Writes the service index to the snapshot file, unless the container does not use a
+         * snapshot or nothing has changed since it was read.
+         * <p>
+         * The snapshot is only a cache, so the container is still built if it cannot be written,
+         * and the failure is logged as a warning instead.
+         */
+        private void writeSnapshot() {
+
+            if (snapshot == null || serviceIndex == null || !serviceIndex.isModified()) {
+                return;
+            }
+
+            try {
+                serviceIndex.write(snapshot);
+            } catch (final IOException e) {
+                // Discovered again by the next container using the snapshot
+                LOGGER.log(System.Logger.Level.WARNING, "Unable to write snapshot " + snapshot, e);
+            }
+        }
+
+        /**
+         * Finds the types of the services added to this builder, including the services of
+         * factories.
+         * <p>
+         * Services of service definition registries and the parent are only known once something
+         * depends on them.
+         */
+        private Set<Class<?>> findRootServiceTypes() {
+
+            final Set<Class<?>> serviceTypes = new LinkedHashSet<>();
+
+            for (final ServiceDefinition<?> serviceDefinition : rootServiceDefinitions) {
+                serviceTypes.add(serviceDefinition.getServiceType());
+            }
+
+            for (final Object factory : factories) {
+                final List<Method> serviceMethods = serviceIndex == null
+                        ? FactoryServiceDefinitionRegistryFactoryImpl
+                                .findServiceMethods(factory.getClass())
+                        : serviceIndex.findServiceMethods(factory.getClass());
+                for (final Method method : serviceMethods) {
+                    serviceTypes.add(method.getReturnType());
+                }
+            }
+
+            return serviceTypes;
         }
     }
 }
@@ -0,0 +1,121 @@
+package dev.nebulamc.inject.internal;
+
+import dev.nebulamc.inject.ContainerStatistics;
+import dev.nebulamc.inject.ServiceDefinition;
+import dev.nebulamc.inject.internal.util.Preconditions;
+import org.jspecify.annotations.NullMarked;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The default implementation of {@link ContainerStatistics}, used by
+ * {@link ContainerStatistics#create()}.
+ * <p>
+ * Totals are kept in {@link LongAdder LongAdders}, which are striped across cells when they are
+ * contended, so threads finding services concurrently rarely contend on the same counter.
+ *
+ * @author Sparky983
+ */
+@NullMarked
+public final class ContainerStatisticsImpl implements ContainerStatistics {
+
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder creations = new LongAdder();
+    private final LongAdder creationTimeNanos = new LongAdder();
+    private final LongAdder singletons = new LongAdder();
+    private final LatencyHistogram creationTimes = new LatencyHistogram();
+
+    @Override
+    public void servicesFound(final Class<?> serviceType, final boolean cached) {
+
+        Preconditions.requireNonNull(serviceType, "serviceType");
+
+        lookups.increment();
+
+        if (cached) {
+            cacheHits.increment();
+        }
+    }
+
+    @Override
+    public void serviceCreated(final ServiceDefinition<?> serviceDefinition,
+                               final long durationNanos) {
+
+        Preconditions.requireNonNull(serviceDefinition, "serviceDefinition");
+
+        creations.increment();
+        creationTimeNanos.add(durationNanos);
+        creationTimes.record(durationNanos);
+    }
+
+    @Override
+    public void singletonsCached(final Class<?> serviceType, final int count) {
+
+        Preconditions.requireNonNull(serviceType, "serviceType");
+
+        singletons.add(count);
+    }
+
+    @Override
+    public long getLookupCount() {
+
+        return lookups.sum();
+    }
+
+    @Override
+    public long getCacheHitCount() {
+
+        return cacheHits.sum();
+    }
+
+    @Override
+    public double getCacheHitRatio() {
+
+        // Hits are read first, so a lookup recorded concurrently can only lower the ratio
+        final long cacheHits = this.cacheHits.sum();
+        final long lookups = this.lookups.sum();
+
+        return lookups == 0 ? 0 : Math.min(1, (double) cacheHits / lookups);
+    }
+
+    @Override
+    public long getCreationCount() {
+
+        return creations.sum();
+    }
+
+    @Override
+    public Duration getTotalCreationTime() {
+
+        return Duration.ofNanos(creationTimeNanos.sum());
+    }
+
+    @Override
+    public Duration getCreationTime(final double quantile) {
+
+        if (!(quantile >= 0 && quantile <= 1)) {
+            throw new IllegalArgumentException("quantile must be between 0 and 1");
+        }
+
+        return Duration.ofNanos(creationTimes.getValueAtQuantile(quantile));
+    }
+
+    @Override
+    public long getSingletonCount() {
+
+        return singletons.sum();
+    }
+
+    @Override
+    public String toString() {
+
+        return "ContainerStatistics[" +
+                "lookups=" + getLookupCount() +
+                ", cacheHits=" + getCacheHitCount() +
+                ", creations=" + getCreationCount() +
+                ", singletons=" + getSingletonCount() +
+                "]";
+    }
+}
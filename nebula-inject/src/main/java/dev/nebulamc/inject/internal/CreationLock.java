@@ -0,0 +1,214 @@
+package dev.nebulamc.inject.internal;
+
+import dev.nebulamc.inject.ServiceDefinition;
+import dev.nebulamc.inject.ServiceException;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A reentrant lock guarding the creation of the services of a type or service definition.
+ * <p>
+ * Locks are held while the dependencies of a service are being created, so they are acquired in
+ * dependency order. Threads entering a cycle of dependencies from different ends would each hold a
+ * lock the other is waiting for, so before waiting, a thread follows the locks that the owners of
+ * its lock are waiting for. If the chain leads back to the thread, the dependencies are cyclic and
+ * it fails with a {@link ServiceException} rather than waiting forever. Threads record the lock
+ * they are waiting for before looking for a cycle, so the last thread to close a cycle always sees
+ * the others waiting. Cycles spanning threads are therefore detected on entry, like the cycles of a
+ * single thread are detected by {@link ResolutionPath}, and waiting threads sleep until the lock
+ * is released rather than checking again periodically.
+ *
+ * @author Sparky983
+ */
+@NullMarked
+final class CreationLock {
+
+    /**
+     * A map of thread to the lock it is waiting for.
+     */
+    private static final Map<Thread, CreationLock> WAITING = new ConcurrentHashMap<>();
+
+    /**
+     * The type or service definition whose services are guarded by this lock.
+     */
+    private final Object subject;
+
+    /**
+     * The thread holding this lock, or {@code null} if it is not held.
+     * <p>
+     * Only changed while holding this object's monitor, but read without it when looking for
+     * cycles.
+     */
+    private volatile @Nullable Thread owner;
+
+    /**
+     * The number of times the {@link #owner} has acquired this lock without releasing it.
+     */
+    private int holds;
+
+    /**
+     * Constructs a new {@link CreationLock} guarding the creation of the services of the specified
+     * type.
+     *
+     * @param serviceType the service type
+     */
+    CreationLock(final Class<?> serviceType) {
+
+        assert serviceType != null;
+
+        this.subject = serviceType;
+    }
+
+    /**
+     * Constructs a new {@link CreationLock} guarding the creation of the service of the specified
+     * service definition.
+     *
+     * @param serviceDefinition the service definition
+     */
+    CreationLock(final ServiceDefinition<?> serviceDefinition) {
+
+        assert serviceDefinition != null;
+
+        this.subject = serviceDefinition;
+    }
+
+    /**
+     * Acquires this lock, waiting until it is released by the thread holding it.
+     *
+     * @throws ServiceException if the thread holding this lock is, directly or through other
+     * threads, waiting for a lock held by the current thread.
+     */
+    void lock() {
+
+        final Thread thread = Thread.currentThread();
+
+        if (tryLock(thread)) {
+            return;
+        }
+
+        boolean interrupted = false;
+        WAITING.put(thread, this);
+
+        try {
+            while (true) {
+                final String cycle = findCycle(thread);
+                if (cycle != null) {
+                    throw new ServiceException(cycle);
+                }
+
+                synchronized (this) {
+                    if (owner == null) {
+                        owner = thread;
+                        holds = 1;
+                        return;
+                    }
+                    try {
+                        // Woken by unlock(), after which the chain is followed again
+                        wait();
+                    } catch (final InterruptedException e) {
+                        // Not interruptible, like the monitors this lock replaces
+                        interrupted = true;
+                    }
+                }
+            }
+        } finally {
+            WAITING.remove(thread);
+            if (interrupted) {
+                thread.interrupt();
+            }
+        }
+    }
+
+    private synchronized boolean tryLock(final Thread thread) {
+
+        assert thread != null;
+
+        if (owner == null) {
+            owner = thread;
+            holds = 1;
+            return true;
+        }
+
+        if (owner == thread) {
+            holds++;
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Releases this lock, which must be held by the current thread.
+     * <p>
+     * Every waiting thread is woken, as a woken thread may fail with a cycle instead of acquiring
+     * the lock.
+     */
+    synchronized void unlock() {
+
+        assert owner == Thread.currentThread();
+
+        if (--holds == 0) {
+            owner = null;
+            notifyAll();
+        }
+    }
+
+    /**
+     * Follows the owners of the locks being waited for, starting at this lock, returning a
+     * description of the cycle if the chain leads back to the specified thread.
+     */
+    private @Nullable String findCycle(final Thread thread) {
+
+        assert thread != null;
+
+        final List<CreationLock> chain = new ArrayList<>();
+        CreationLock lock = this;
+
+        // Bounded, as the chain may change while it is followed
+        for (int i = 0; i <= WAITING.size(); i++) {
+            chain.add(lock);
+
+            final Thread owner = lock.owner;
+            if (owner == null) {
+                return null;
+            }
+            if (owner == thread) {
+                return describeCycle(chain);
+            }
+
+            lock = WAITING.get(owner);
+            if (lock == null) {
+                return null;
+            }
+        }
+
+        return null;
+    }
+
+    private static String describeCycle(final List<CreationLock> chain) {
+
+        assert chain != null;
+
+        final StringBuilder cycle = new StringBuilder("Cyclic dependency: ");
+
+        for (final CreationLock lock : chain) {
+            cycle.append(lock.getSubjectName()).append(" -> ");
+        }
+
+        return cycle.append(chain.get(0).getSubjectName()).toString();
+    }
+
+    private String getSubjectName() {
+
+        if (subject instanceof final Class<?> serviceType) {
+            return serviceType.getName();
+        }
+
+        return ((ServiceDefinition<?>) subject).getServiceType().getName();
+    }
+}
@@ -0,0 +1,441 @@
+package dev.nebulamc.inject.internal;
+
+import dev.nebulamc.inject.Named;
+import dev.nebulamc.inject.NoUniqueServiceException;
+import dev.nebulamc.inject.ServiceException;
+import dev.nebulamc.inject.ServiceFinder;
+import dev.nebulamc.inject.TypeToken;
+import dev.nebulamc.inject.internal.util.Preconditions;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Array;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * A dependency of a {@link DependentServiceDefinition}, resolved from a {@link Parameter} the same
+ * way as {@link ParameterResolverImpl}.
+ * <p>
+ * The parameter's type is only analysed once, when the dependency is created, so resolving a
+ * dependency does not use reflection.
+ * <p>
+ * {@link Supplier} dependencies are lazy. They are resolved to a supplier that finds the service
+ * when it is first called, rather than when the dependent service is created.
+ * <p>
+ * Parameters annotated with {@link Named} depend on the service with that name, which is found by
+ * {@link ServiceFinder#findService(Class, String)} without creating the other services of its
+ * type.
+ * <p>
+ * Parameters of a parameterized type whose type arguments are classes or parameterized types, such
+ * as {@code Cache<Player>}, and suppliers of them depend on the services of that
+ * {@link TypeToken}, which are found by {@link ServiceFinder#findGenericService(TypeToken)}. The
+ * element types of collections and arrays are always erased.
+ *
+ * @author Sparky983
+ */
+@NullMarked
+final class Dependency {
+
+    private final Kind kind;
+    private final Class<?> serviceType;
+    private final @Nullable String name;
+
+    /**
+     * The parameterized type of the service, or {@code null} if the service is found by its
+     * {@link #serviceType} alone.
+     */
+    private final @Nullable TypeToken<?> genericType;
+
+    /**
+     * An empty array of the service type for array dependencies, used as the type of the arrays
+     * created by {@link List#toArray(Object[])}, or {@code null} for other dependencies.
+     */
+    private final Object @Nullable [] emptyArray;
+
+    private Dependency(final Kind kind,
+                       final Class<?> serviceType,
+                       final @Nullable String name) {
+
+        this(kind, serviceType, name, null);
+    }
+
+    private Dependency(final Kind kind,
+                       final Class<?> serviceType,
+                       final @Nullable String name,
+                       final @Nullable TypeToken<?> genericType) {
+
+        assert kind != null;
+        assert serviceType != null;
+
+        this.kind = kind;
+        this.serviceType = serviceType;
+        this.name = name;
+        this.genericType = genericType;
+        this.emptyArray = kind == Kind.ARRAY && !serviceType.isPrimitive()
+                ? (Object[]) Array.newInstance(serviceType, 0)
+                : null;
+    }
+
+    /**
+     * Creates the dependency of the given {@link Parameter}.
+     *
+     * @param parameter the parameter
+     * @return the dependency
+     * @throws NullPointerException if {@code parameter} is {@code null}.
+     * @throws ServiceException if the parameter is annotated with {@link Named} but is a collection
+     * or array.
+     */
+    static Dependency of(final Parameter parameter) {
+
+        Preconditions.requireNonNull(parameter, "parameter");
+
+        final Dependency dependency = of(parameter, getName(parameter));
+
+        if (dependency.name != null && dependency.kind != Kind.SERVICE &&
+                dependency.kind != Kind.SUPPLIER) {
+            throw new ServiceException("Parameter " + parameter + " of " +
+                    parameter.getDeclaringExecutable() + " is annotated with @" +
+                    Named.class.getName() + " but is a collection or array");
+        }
+
+        return dependency;
+    }
+
+    /**
+     * Creates a lazy dependency on the service of the given type, as if it was the type argument
+     * of a {@link Supplier} parameter.
+     *
+     * @param serviceType the type of the service
+     * @return the dependency
+     * @throws NullPointerException if {@code serviceType} is {@code null}.
+     */
+    static Dependency lazy(final TypeToken<?> serviceType) {
+
+        Preconditions.requireNonNull(serviceType, "serviceType");
+
+        return new Dependency(
+                Kind.SUPPLIER,
+                serviceType.getRawType(),
+                null,
+                serviceType.isParameterized() ? serviceType : null);
+    }
+
+    /**
+     * Creates a lazy dependency on the service of the given type with the given name, as if it
+     * was the type argument of a {@link Named} {@link Supplier} parameter.
+     *
+     * @param serviceType the type of the service
+     * @param name the name of the service
+     * @return the dependency
+     * @throws NullPointerException if {@code serviceType} or {@code name} are {@code null}.
+     */
+    static Dependency lazy(final Class<?> serviceType, final String name) {
+
+        Preconditions.requireNonNull(serviceType, "serviceType");
+        Preconditions.requireNonNull(name, "name");
+
+        return new Dependency(Kind.SUPPLIER, serviceType, name);
+    }
+
+    private static Dependency of(final Parameter parameter, final @Nullable String name) {
+
+        assert parameter != null;
+
+        final Type type = parameter.getParameterizedType();
+
+        if (type instanceof final ParameterizedType parameterizedType) {
+            final Type rawType = parameterizedType.getRawType();
+            final Type[] typeArguments = parameterizedType.getActualTypeArguments();
+
+            if (rawType.equals(Supplier.class) &&
+                    typeArguments[0] instanceof final ParameterizedType elementType) {
+                final TypeToken<?> genericType = genericTypeOf(elementType);
+                if (genericType != null) {
+                    return new Dependency(
+                            Kind.SUPPLIER,
+                            genericType.getRawType(),
+                            name,
+                            genericType);
+                }
+            } else if (typeArguments[0] instanceof final Class<?> elementClass) {
+                if (rawType.equals(Iterable.class) ||
+                        rawType.equals(Collection.class) ||
+                        rawType.equals(List.class)) {
+                    return new Dependency(Kind.LIST, elementClass, name);
+                } else if (rawType.equals(Set.class)) {
+                    return new Dependency(Kind.SET, elementClass, name);
+                } else if (rawType.equals(Supplier.class)) {
+                    return new Dependency(Kind.SUPPLIER, elementClass, name);
+                }
+            }
+        } else if (type instanceof final Class<?> cls && cls.isArray()) {
+            return new Dependency(Kind.ARRAY, cls.componentType(), name);
+        }
+
+        return new Dependency(Kind.SERVICE, parameter.getType(), name, genericTypeOf(type));
+    }
+
+    private static @Nullable TypeToken<?> genericTypeOf(final Type type) {
+
+        assert type != null;
+
+        if (!(type instanceof ParameterizedType)) {
+            return null;
+        }
+
+        final Type canonicalType = Types.canonicalizeOrNull(type);
+
+        return canonicalType == null ? null : TypeToken.of(canonicalType);
+    }
+
+    /**
+     * Gets the name of the {@link Named} annotation of the given element.
+     *
+     * @param element the parameter, service method or class
+     * @return the name, or {@code null} if the element is not annotated with {@link Named}
+     * @throws NullPointerException if {@code element} is {@code null}.
+     */
+    static @Nullable String getName(final AnnotatedElement element) {
+
+        Preconditions.requireNonNull(element, "element");
+
+        final Named named = element.getAnnotation(Named.class);
+
+        return named == null ? null : named.value();
+    }
+
+    /**
+     * Gets the type of the services this dependency is resolved from.
+     * <p>
+     * This is the element type of collection and array dependencies.
+     *
+     * @return the service type
+     */
+    Class<?> getServiceType() {
+
+        return serviceType;
+    }
+
+    /**
+     * Gets the name of the service this dependency is resolved from.
+     *
+     * @return the name, or {@code null} if this dependency is resolved from the services of its
+     * service type regardless of their names
+     */
+    @Nullable String getName() {
+
+        return name;
+    }
+
+    /**
+     * Gets the parameterized type of the service this dependency is resolved from.
+     *
+     * @return the parameterized type, or {@code null} if this dependency is resolved from the
+     * services of its service type regardless of their type arguments
+     */
+    @Nullable TypeToken<?> getGenericType() {
+
+        return genericType;
+    }
+
+    /**
+     * Checks whether this dependency requires exactly one service, rather than all services of its
+     * service type.
+     *
+     * @return {@code true} if this dependency requires exactly one service, otherwise
+     * {@code false}
+     */
+    boolean isSingle() {
+
+        return kind == Kind.SERVICE;
+    }
+
+    /**
+     * Checks whether this dependency is resolved lazily, by a {@link Supplier} that finds the
+     * service when it is first called.
+     *
+     * @return {@code true} if this dependency is resolved lazily, otherwise {@code false}
+     */
+    boolean isLazy() {
+
+        return kind == Kind.SUPPLIER;
+    }
+
+    /**
+     * Resolves this dependency using the given service finder.
+     *
+     * @param serviceFinder the service finder
+     * @return the resolved value
+     * @throws NoUniqueServiceException if this dependency requires a single service, but there were
+     * none or multiple.
+     * @throws NullPointerException if {@code serviceFinder} is {@code null}.
+     */
+    Object resolve(final ServiceFinder serviceFinder) {
+
+        Preconditions.requireNonNull(serviceFinder, "serviceFinder");
+
+        if (kind == Kind.SERVICE) {
+            return findService(serviceFinder);
+        }
+
+        if (kind == Kind.SUPPLIER) {
+            return new LazyService(serviceFinder, this);
+        }
+
+        return resolve(serviceFinder.findServices(serviceType));
+    }
+
+    private Object findService(final ServiceFinder serviceFinder) {
+
+        assert serviceFinder != null;
+
+        if (name != null) {
+            return serviceFinder.findService(serviceType, name);
+        }
+
+        if (genericType != null) {
+            return serviceFinder.findGenericService(genericType);
+        }
+
+        return serviceFinder.findService(serviceType);
+    }
+
+    /**
+     * Resolves this dependency from all services of its service type.
+     * <p>
+     * Lazy dependencies are resolved to a {@link Supplier} of the already found service. Named and
+     * parameterized dependencies must not be resolved this way, as the services are not filtered
+     * by name or type arguments.
+     *
+     * @param services the services
+     * @return the resolved value
+     * @throws NoUniqueServiceException if this dependency requires a single service, but there were
+     * none or multiple.
+     * @throws NullPointerException if {@code services} is {@code null}.
+     */
+    Object resolve(final List<?> services) {
+
+        Preconditions.requireNonNull(services, "services");
+        assert name == null;
+        assert genericType == null;
+
+        return switch (kind) {
+            case SERVICE -> requireSingle(services);
+            case SUPPLIER -> {
+                final Object service = requireSingle(services);
+                yield (Supplier<?>) () -> service;
+            }
+            case LIST -> services;
+            case SET -> Set.copyOf(services);
+            case ARRAY -> {
+                if (emptyArray != null) {
+                    yield services.toArray(emptyArray);
+                }
+                // Arrays of primitives cannot be created by toArray
+                final Object array = Array.newInstance(serviceType, services.size());
+                for (int i = 0; i < services.size(); i++) {
+                    Array.set(array, i, services.get(i));
+                }
+                yield array;
+            }
+        };
+    }
+
+    private Object requireSingle(final List<?> services) {
+
+        assert services != null;
+
+        if (services.size() != 1) {
+            throw new NoUniqueServiceException(
+                    "Expected a single service of type \"" + serviceType.getName() +
+                            "\" but found " + services.size());
+        }
+
+        return services.get(0);
+    }
+
+    @Override
+    public String toString() {
+
+        return "Dependency[kind=" + kind +
+                ", serviceType=" + serviceType.getName() +
+                (name == null ? "" : ", name=" + name) +
+                (genericType == null ? "" : ", genericType=" + genericType) +
+                "]";
+    }
+
+    private enum Kind {
+
+        SERVICE,
+        LIST,
+        SET,
+        ARRAY,
+        SUPPLIER
+    }
+
+    /**
+     * A {@link Supplier} that finds a service when it is called.
+     * <p>
+     * If every service of the type is a singleton in the service finder, the found service is
+     * cached as the same service would be found again. The cache is not guarded by a lock as every
+     * thread that finds the service before it is cached finds the same service. Otherwise, the
+     * service is found every time, so that each call sees the service of the current scope.
+     */
+    private static final class LazyService implements Supplier<Object> {
+
+        private final ServiceFinder serviceFinder;
+        private final Dependency dependency;
+        private volatile @Nullable Object service;
+
+        /**
+         * Whether the service was found not to be a singleton, so it must not be cached.
+         */
+        private volatile boolean scoped;
+
+        private LazyService(final ServiceFinder serviceFinder, final Dependency dependency) {
+
+            assert serviceFinder != null;
+            assert dependency != null;
+
+            this.serviceFinder = serviceFinder;
+            this.dependency = dependency;
+        }
+
+        @Override
+        public Object get() {
+
+            Object service = this.service;
+
+            if (service != null) {
+                return service;
+            }
+
+            service = dependency.findService(serviceFinder);
+
+            if (!scoped) {
+                // Checked after finding the service, as finding it determines its scope
+                if (!(serviceFinder instanceof final ScopedServiceFinder scopedServiceFinder) ||
+                        scopedServiceFinder.isSingleton(dependency.serviceType)) {
+                    this.service = service;
+                } else {
+                    scoped = true;
+                }
+            }
+
+            return service;
+        }
+
+        @Override
+        public String toString() {
+
+            return "LazyService[serviceType=" + dependency.serviceType.getName() + "]";
+        }
+    }
+}
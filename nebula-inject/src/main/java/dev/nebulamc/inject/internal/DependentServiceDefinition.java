@@ -0,0 +1,37 @@
+package dev.nebulamc.inject.internal;
+
+import dev.nebulamc.inject.ServiceDefinition;
+import dev.nebulamc.inject.ServiceException;
+import org.jspecify.annotations.NullMarked;
+
+import java.util.List;
+
+/**
+ * A {@link ServiceDefinition} whose dependencies are known before the service is created, allowing
+ * a {@link ResolutionPlan} to resolve them.
+ *
+ * @author Sparky983
+ * @param <T> the type of the service
+ */
+@NullMarked
+interface DependentServiceDefinition<T> extends ServiceDefinition<T> {
+
+    /**
+     * Gets the dependencies of this service definition, in the order they are passed to
+     * {@link #createService(Object[])}.
+     *
+     * @return an unmodifiable list of the dependencies
+     */
+    List<Dependency> getDependencies();
+
+    /**
+     * Creates a new object for this definition from its already resolved dependencies.
+     *
+     * @param arguments the resolved dependencies, in the same order as
+     * {@link #getDependencies()}
+     * @return the created object
+     * @throws NullPointerException if {@code arguments} is {@code null}.
+     * @throws ServiceException if an exception occurred while creating the service object.
+     */
+    T createService(Object[] arguments);
+}
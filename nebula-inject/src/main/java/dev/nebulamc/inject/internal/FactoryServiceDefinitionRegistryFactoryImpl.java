@@ -5,8 +5,12 @@ import dev.nebulamc.inject.Service;
 import dev.nebulamc.inject.ServiceDefinitionRegistry;
 import dev.nebulamc.inject.internal.util.Preconditions;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * The main implementation of {@link FactoryServiceDefinitionRegistryFactory}.
@@ -19,6 +23,11 @@ public final class FactoryServiceDefinitionRegistryFactoryImpl
 
     private final ServiceServiceDefinitionFactory serviceServiceDefinitionFactory;
 
+    /**
+     * The index the service methods are found in, or {@code null} if they are always discovered.
+     */
+    private final @Nullable ServiceIndex serviceIndex;
+
     /**
      * Constructs a new {@link FactoryServiceDefinitionRegistryFactoryImpl} using the given {@link
      * ServiceServiceDefinitionFactory} as the factory to create service definitions for methods
@@ -30,10 +39,50 @@ public final class FactoryServiceDefinitionRegistryFactoryImpl
     public FactoryServiceDefinitionRegistryFactoryImpl(
             final ServiceServiceDefinitionFactory serviceServiceDefinitionFactory) {
 
+        this(serviceServiceDefinitionFactory, null);
+    }
+
+    /**
+     * Constructs a new {@link FactoryServiceDefinitionRegistryFactoryImpl} using the given {@link
+     * ServiceServiceDefinitionFactory} as the factory to create service definitions for methods
+     * annotated with {@link Service @Service}, which are found in the given index if one is
+     * specified.
+     *
+     * @param serviceServiceDefinitionFactory the service service definition factory to use
+     * @param serviceIndex the index to find service methods in
+     * @throws NullPointerException if {@code serviceServiceDefinitionFactory} is {@code null}.
+     */
+    FactoryServiceDefinitionRegistryFactoryImpl(
+            final ServiceServiceDefinitionFactory serviceServiceDefinitionFactory,
+            final @Nullable ServiceIndex serviceIndex) {
+
         Preconditions.requireNonNull(
                 serviceServiceDefinitionFactory, "serviceServiceDefinitionFactory");
 
         this.serviceServiceDefinitionFactory = serviceServiceDefinitionFactory;
+        this.serviceIndex = serviceIndex;
+    }
+
+    /**
+     * Finds the methods of the specified factory class annotated with {@link Service @Service}.
+     *
+     * @param factoryClass the factory class
+     * @return an unmodifiable list of the service methods
+     * @throws NullPointerException if {@code factoryClass} is {@code null}.
+     */
+    static List<Method> findServiceMethods(final Class<?> factoryClass) {
+
+        Preconditions.requireNonNull(factoryClass, "factoryClass");
+
+        final List<Method> serviceMethods = new ArrayList<>();
+
+        for (final Method method : factoryClass.getDeclaredMethods()) {
+            if (method.isAnnotationPresent(Service.class)) {
+                serviceMethods.add(method);
+            }
+        }
+
+        return Collections.unmodifiableList(serviceMethods);
     }
 
     @Override
@@ -49,11 +98,13 @@ public final class FactoryServiceDefinitionRegistryFactoryImpl
                     Factory.class.getName());
         }
 
-        for (final Method method : factory.getClass().getDeclaredMethods()) {
-            if (method.isAnnotationPresent(Service.class)) {
-                builder.serviceDefinition(
-                        serviceServiceDefinitionFactory.createServiceDefinition(factory, method));
-            }
+        final List<Method> serviceMethods = serviceIndex == null
+                ? findServiceMethods(factory.getClass())
+                : serviceIndex.findServiceMethods(factory.getClass());
+
+        for (final Method method : serviceMethods) {
+            builder.serviceDefinition(
+                    serviceServiceDefinitionFactory.createServiceDefinition(factory, method));
         }
 
         return builder.build();
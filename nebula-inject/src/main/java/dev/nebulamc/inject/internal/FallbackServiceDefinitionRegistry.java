@@ -1,10 +1,11 @@
 package dev.nebulamc.inject.internal;
 
-import dev.nebulamc.inject.NoUniqueServiceException;
 import dev.nebulamc.inject.ServiceDefinition;
 import dev.nebulamc.inject.ServiceDefinitionRegistry;
+import dev.nebulamc.inject.TypeToken;
 import dev.nebulamc.inject.internal.util.Preconditions;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 
 import java.util.List;
 
@@ -51,11 +52,30 @@ public final class FallbackServiceDefinitionRegistry implements ServiceDefinitio
 
         Preconditions.requireNonNull(type, "type");
 
-        try {
-            return serviceDefinitionRegistry.findServiceDefinition(type);
-        } catch (final NoUniqueServiceException e) {
-            return fallback.findServiceDefinition(type);
+        final ServiceDefinition<T> serviceDefinition =
+                serviceDefinitionRegistry.findServiceDefinitionOrNull(type);
+
+        if (serviceDefinition != null) {
+            return serviceDefinition;
         }
+
+        // The exception is only created if the fallback does not have a service definition either
+        return fallback.findServiceDefinition(type);
+    }
+
+    @Override
+    public <T> @Nullable ServiceDefinition<T> findServiceDefinitionOrNull(final Class<T> type) {
+
+        Preconditions.requireNonNull(type, "type");
+
+        final ServiceDefinition<T> serviceDefinition =
+                serviceDefinitionRegistry.findServiceDefinitionOrNull(type);
+
+        if (serviceDefinition != null) {
+            return serviceDefinition;
+        }
+
+        return fallback.findServiceDefinitionOrNull(type);
     }
 
     @Override
@@ -72,4 +92,40 @@ public final class FallbackServiceDefinitionRegistry implements ServiceDefinitio
 
         return fallback.findServiceDefinitions(type);
     }
+
+    @Override
+    public <T> List<ServiceDefinition<T>> findServiceDefinitions(final Class<T> type,
+                                                                 final String name) {
+
+        Preconditions.requireNonNull(type, "type");
+        Preconditions.requireNonNull(name, "name");
+
+        final List<ServiceDefinition<T>> serviceDefinitions =
+                serviceDefinitionRegistry.findServiceDefinitions(type, name);
+
+        if (!serviceDefinitions.isEmpty() ||
+                !serviceDefinitionRegistry.findServiceDefinitions(type).isEmpty()) {
+            // Like unnamed lookups, the fallback is only used if there are no service definitions
+            // of the type
+            return serviceDefinitions;
+        }
+
+        return fallback.findServiceDefinitions(type, name);
+    }
+
+    @Override
+    public <T> List<ServiceDefinition<T>> findGenericServiceDefinitions(final TypeToken<T> type) {
+
+        Preconditions.requireNonNull(type, "type");
+
+        final List<ServiceDefinition<T>> serviceDefinitions =
+                serviceDefinitionRegistry.findGenericServiceDefinitions(type);
+
+        if (!serviceDefinitions.isEmpty() ||
+                !serviceDefinitionRegistry.findServiceDefinitions(type.getRawType()).isEmpty()) {
+            return serviceDefinitions;
+        }
+
+        return fallback.findGenericServiceDefinitions(type);
+    }
 }
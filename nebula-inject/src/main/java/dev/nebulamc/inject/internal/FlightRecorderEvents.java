@@ -0,0 +1,125 @@
+package dev.nebulamc.inject.internal;
+
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.lang.reflect.Executable;
+
+/**
+ * Records the Java Flight Recorder events of containers, if the {@code jdk.jfr} module is present.
+ * <p>
+ * The module is optional, so this is the only class outside the events themselves that refers to
+ * it. Events are passed around as {@link Object Objects}, and the event classes are only loaded
+ * once the module is known to be present. Events are only created while a recording has them
+ * enabled, so finding and creating services allocates nothing for them otherwise.
+ *
+ * @author Sparky983
+ */
+@NullMarked
+final class FlightRecorderEvents {
+
+    /**
+     * Whether the {@code jdk.jfr} module is present and readable.
+     */
+    private static final boolean AVAILABLE = isAvailable();
+
+    private FlightRecorderEvents() {
+
+    }
+
+    private static boolean isAvailable() {
+
+        final Module module = FlightRecorderEvents.class.getModule();
+        // Classes on the class path are in the unnamed module, which has no layer
+        final ModuleLayer layer =
+                module.getLayer() == null ? ModuleLayer.boot() : module.getLayer();
+
+        return layer.findModule("jdk.jfr").filter(module::canRead).isPresent();
+    }
+
+    /**
+     * Begins a {@link ServiceResolutionEvent} for the specified service type, if it is enabled.
+     *
+     * @param serviceType the type of the services being found
+     * @return the event, or {@code null} if it is not enabled
+     */
+    static @Nullable Object beginServiceResolution(final Class<?> serviceType) {
+
+        assert serviceType != null;
+
+        if (!AVAILABLE || !FlightRecorder.isInitialized() || !EventTypes.RESOLUTION.isEnabled()) {
+            return null;
+        }
+
+        final ServiceResolutionEvent event = new ServiceResolutionEvent(serviceType);
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Commits the specified {@link ServiceResolutionEvent}.
+     *
+     * @param event the event returned by {@link #beginServiceResolution(Class)}
+     * @param cacheHit whether the services were found in the container's singleton cache
+     * @param parent whether the services were found by the parent container
+     */
+    static void commitServiceResolution(final Object event,
+                                        final boolean cacheHit,
+                                        final boolean parent) {
+
+        assert event != null;
+
+        final ServiceResolutionEvent resolutionEvent = (ServiceResolutionEvent) event;
+        resolutionEvent.cacheHit = cacheHit;
+        resolutionEvent.parent = parent;
+        resolutionEvent.commit();
+    }
+
+    /**
+     * Begins a {@link ServiceCreationEvent}, if it is enabled.
+     *
+     * @return the event, or {@code null} if it is not enabled
+     */
+    static @Nullable Object beginServiceCreation() {
+
+        if (!AVAILABLE || !FlightRecorder.isInitialized() || !EventTypes.CREATION.isEnabled()) {
+            return null;
+        }
+
+        final ServiceCreationEvent event = new ServiceCreationEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Commits the specified {@link ServiceCreationEvent}.
+     *
+     * @param event the event returned by {@link #beginServiceCreation()}
+     * @param serviceType the type of the service
+     * @param source the injectable constructor or service method that created the service
+     * @param factory the factory class that supplied the service method, or {@code null} if the
+     * service was created by an injectable constructor
+     * @see ServiceCreationEvent#commit(Class, Executable, Class)
+     */
+    static void commitServiceCreation(final Object event,
+                                      final Class<?> serviceType,
+                                      final Executable source,
+                                      final @Nullable Class<?> factory) {
+
+        assert event != null;
+
+        ((ServiceCreationEvent) event).commit(serviceType, source, factory);
+    }
+
+    /**
+     * The types of the events, only loaded once Flight Recorder has been initialized, as looking
+     * them up registers them.
+     */
+    private static final class EventTypes {
+
+        static final EventType RESOLUTION = EventType.getEventType(ServiceResolutionEvent.class);
+        static final EventType CREATION = EventType.getEventType(ServiceCreationEvent.class);
+    }
+}
@@ -0,0 +1,459 @@
+package dev.nebulamc.inject.internal;
+
+import dev.nebulamc.inject.internal.util.Preconditions;
+import org.jspecify.annotations.NullMarked;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A {@link ConstructorAccessorFactory} that generates a
+ * {@linkplain MethodHandles.Lookup#defineHiddenClass(byte[], boolean,
+ * MethodHandles.Lookup.ClassOption...) hidden class} per constructor, which invokes the constructor
+ * directly.
+ * <p>
+ * The generated class is equivalent to:
+ * <pre>{@code
+ * final class Service$$ConstructorAccessor implements Function<Object[], Object> {
+ *
+ *     public Object apply(Object arguments) {
+ *
+ *         final Object[] array = (Object[]) arguments;
+ *         return new Service((Dependency1) array[0], ((Integer) array[1]).intValue(), ...);
+ *     }
+ * }
+ * }</pre>
+ * Unlike a {@link MethodHandle} stored in a field, the JIT compiler can inline the constructor
+ * into the accessor.
+ * <p>
+ * The hidden class is defined in the package and nest of the constructor's class, so it can call
+ * private constructors. If Nebula Inject is not allowed to define classes there, such as when the
+ * package is not open to Nebula Inject's module, accessors are created by the fallback factory
+ * instead.
+ *
+ * @author Sparky983
+ */
+@NullMarked
+public final class HiddenClassConstructorAccessorFactory implements ConstructorAccessorFactory {
+
+    /**
+     * The class file version of Java 17.
+     */
+    private static final int CLASS_FILE_VERSION = 61;
+
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+    private static final int ACC_SYNTHETIC = 0x1000;
+
+    private static final int ICONST_0 = 0x03;
+    private static final int BIPUSH = 0x10;
+    private static final int SIPUSH = 0x11;
+    private static final int ALOAD_0 = 0x2A;
+    private static final int ALOAD_1 = 0x2B;
+    private static final int ALOAD_2 = 0x2C;
+    private static final int AALOAD = 0x32;
+    private static final int ASTORE_2 = 0x4D;
+    private static final int DUP = 0x59;
+    private static final int ARETURN = 0xB0;
+    private static final int RETURN = 0xB1;
+    private static final int INVOKEVIRTUAL = 0xB6;
+    private static final int INVOKESPECIAL = 0xB7;
+    private static final int NEW = 0xBB;
+    private static final int CHECKCAST = 0xC0;
+
+    private final ConstructorAccessorFactory fallback;
+
+    /**
+     * Constructs a new {@link HiddenClassConstructorAccessorFactory}.
+     *
+     * @param fallback the factory used for constructors whose accessor cannot be generated
+     * @throws NullPointerException if {@code fallback} is {@code null}.
+     */
+    public HiddenClassConstructorAccessorFactory(final ConstructorAccessorFactory fallback) {
+
+        Preconditions.requireNonNull(fallback, "fallback");
+
+        this.fallback = fallback;
+    }
+
+    @Override
+    public ConstructorAccessor createConstructorAccessor(final Constructor<?> constructor) {
+
+        Preconditions.requireNonNull(constructor, "constructor");
+
+        final Class<?> declaringClass = constructor.getDeclaringClass();
+
+        // Hidden classes cannot be referred to by name from another class
+        if (declaringClass.isHidden()) {
+            return fallback.createConstructorAccessor(constructor);
+        }
+
+        final Function<Object[], Object> accessor;
+
+        try {
+            HiddenClassConstructorAccessorFactory.class.getModule()
+                    .addReads(declaringClass.getModule());
+            final MethodHandles.Lookup accessorLookup = MethodHandles
+                    .privateLookupIn(declaringClass, MethodHandles.lookup())
+                    .defineHiddenClass(
+                            generateAccessorClass(constructor),
+                            true,
+                            MethodHandles.Lookup.ClassOption.NESTMATE);
+            accessor = newAccessor(accessorLookup);
+        } catch (final ReflectiveOperationException | LinkageError | RuntimeException e) {
+            // The package is not open to this module, or the class could not be defined
+            return fallback.createConstructorAccessor(constructor);
+        }
+
+        return accessor::apply;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object[], Object> newAccessor(
+            final MethodHandles.Lookup accessorLookup) throws ReflectiveOperationException {
+
+        assert accessorLookup != null;
+
+        final MethodHandle accessorConstructor = accessorLookup.findConstructor(
+                accessorLookup.lookupClass(),
+                MethodType.methodType(void.class));
+
+        try {
+            return (Function<Object[], Object>) accessorConstructor.invoke();
+        } catch (final Throwable e) {
+            // The generated constructor only calls Object's constructor
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * Generates the class file of the accessor of the specified constructor.
+     */
+    private static byte[] generateAccessorClass(final Constructor<?> constructor) {
+
+        assert constructor != null;
+
+        final Class<?> declaringClass = constructor.getDeclaringClass();
+        final Class<?>[] parameterTypes = constructor.getParameterTypes();
+        final ConstantPool constantPool = new ConstantPool();
+
+        final int thisClass =
+                constantPool.classInfo(internalName(declaringClass) + "$$ConstructorAccessor");
+        final int superClass = constantPool.classInfo("java/lang/Object");
+        final int functionInterface = constantPool.classInfo("java/util/function/Function");
+        final int codeAttribute = constantPool.utf8("Code");
+
+        final ByteVector initCode = new ByteVector();
+        initCode.putByte(ALOAD_0);
+        initCode.putByte(INVOKESPECIAL);
+        initCode.putShort(constantPool.methodRef("java/lang/Object", "<init>", "()V"));
+        initCode.putByte(RETURN);
+
+        final ByteVector applyCode = new ByteVector();
+        applyCode.putByte(ALOAD_1);
+        applyCode.putByte(CHECKCAST);
+        applyCode.putShort(constantPool.classInfo(internalName(Object[].class)));
+        applyCode.putByte(ASTORE_2);
+        applyCode.putByte(NEW);
+        applyCode.putShort(constantPool.classInfo(internalName(declaringClass)));
+        applyCode.putByte(DUP);
+
+        // The new object, its duplicate, and the array and index of the argument being loaded
+        int maxStack = 4;
+
+        for (int i = 0; i < parameterTypes.length; i++) {
+            applyCode.putByte(ALOAD_2);
+            putInt(applyCode, i);
+            applyCode.putByte(AALOAD);
+            putConversion(applyCode, constantPool, parameterTypes[i]);
+            maxStack += parameterTypes[i] == long.class || parameterTypes[i] == double.class
+                    ? 2
+                    : 1;
+        }
+
+        applyCode.putByte(INVOKESPECIAL);
+        applyCode.putShort(constantPool.methodRef(
+                internalName(declaringClass),
+                "<init>",
+                MethodType.methodType(void.class, parameterTypes).toMethodDescriptorString()));
+        applyCode.putByte(ARETURN);
+
+        final ByteVector classFile = new ByteVector();
+        classFile.putInt(0xCAFEBABE);
+        classFile.putShort(0);
+        classFile.putShort(CLASS_FILE_VERSION);
+        final int initName = constantPool.utf8("<init>");
+        final int initDescriptor = constantPool.utf8("()V");
+        final int applyName = constantPool.utf8("apply");
+        final int applyDescriptor = constantPool.utf8("(Ljava/lang/Object;)Ljava/lang/Object;");
+        constantPool.putTo(classFile);
+        classFile.putShort(ACC_FINAL | ACC_SUPER | ACC_SYNTHETIC);
+        classFile.putShort(thisClass);
+        classFile.putShort(superClass);
+        classFile.putShort(1);
+        classFile.putShort(functionInterface);
+        classFile.putShort(0);
+        classFile.putShort(2);
+        putMethod(classFile, initName, initDescriptor, codeAttribute, 1, 1, initCode);
+        putMethod(classFile, applyName, applyDescriptor, codeAttribute, maxStack, 3, applyCode);
+        classFile.putShort(0);
+
+        return classFile.toByteArray();
+    }
+
+    private static void putMethod(final ByteVector classFile,
+                                  final int name,
+                                  final int descriptor,
+                                  final int codeAttribute,
+                                  final int maxStack,
+                                  final int maxLocals,
+                                  final ByteVector code) {
+
+        assert classFile != null;
+        assert code != null;
+
+        classFile.putShort(ACC_PUBLIC);
+        classFile.putShort(name);
+        classFile.putShort(descriptor);
+        classFile.putShort(1);
+        classFile.putShort(codeAttribute);
+        classFile.putInt(12 + code.size());
+        classFile.putShort(maxStack);
+        classFile.putShort(maxLocals);
+        classFile.putInt(code.size());
+        classFile.putBytes(code);
+        classFile.putShort(0);
+        classFile.putShort(0);
+    }
+
+    private static void putInt(final ByteVector code, final int value) {
+
+        assert code != null;
+
+        if (value <= 5) {
+            code.putByte(ICONST_0 + value);
+        } else if (value <= Byte.MAX_VALUE) {
+            code.putByte(BIPUSH);
+            code.putByte(value);
+        } else {
+            code.putByte(SIPUSH);
+            code.putShort(value);
+        }
+    }
+
+    /**
+     * Converts the {@code Object} on top of the stack to the specified type, unboxing it if the
+     * type is primitive.
+     */
+    private static void putConversion(final ByteVector code,
+                                      final ConstantPool constantPool,
+                                      final Class<?> type) {
+
+        assert code != null;
+        assert constantPool != null;
+        assert type != null;
+
+        if (type.isPrimitive()) {
+            final Class<?> wrapper = MethodType.methodType(type).wrap().returnType();
+            code.putByte(CHECKCAST);
+            code.putShort(constantPool.classInfo(internalName(wrapper)));
+            code.putByte(INVOKEVIRTUAL);
+            code.putShort(constantPool.methodRef(
+                    internalName(wrapper),
+                    type.getName() + "Value",
+                    MethodType.methodType(type).toMethodDescriptorString()));
+        } else if (type != Object.class) {
+            code.putByte(CHECKCAST);
+            code.putShort(constantPool.classInfo(internalName(type)));
+        }
+    }
+
+    private static String internalName(final Class<?> type) {
+
+        assert type != null;
+
+        return type.isArray() ? type.descriptorString() : type.getName().replace('.', '/');
+    }
+
+    /**
+     * The constant pool of a class file, which reuses equal constants.
+     */
+    private static final class ConstantPool {
+
+        private static final int CONSTANT_UTF8 = 1;
+        private static final int CONSTANT_CLASS = 7;
+        private static final int CONSTANT_METHODREF = 10;
+        private static final int CONSTANT_NAME_AND_TYPE = 12;
+
+        private final ByteVector constants = new ByteVector();
+
+        /**
+         * A map of constant to its index, keyed by its tag and contents.
+         */
+        private final Map<String, Integer> indices = new HashMap<>();
+
+        int utf8(final String value) {
+
+            final String key = CONSTANT_UTF8 + ":" + value;
+            final Integer index = indices.get(key);
+
+            if (index != null) {
+                return index;
+            }
+
+            constants.putByte(CONSTANT_UTF8);
+            constants.putUtf8(value);
+            return register(key);
+        }
+
+        int classInfo(final String internalName) {
+
+            final String key = CONSTANT_CLASS + ":" + internalName;
+            final Integer index = indices.get(key);
+
+            if (index != null) {
+                return index;
+            }
+
+            final int name = utf8(internalName);
+            constants.putByte(CONSTANT_CLASS);
+            constants.putShort(name);
+            return register(key);
+        }
+
+        int methodRef(final String owner, final String name, final String descriptor) {
+
+            final String key = CONSTANT_METHODREF + ":" + owner + "." + name + descriptor;
+            final Integer index = indices.get(key);
+
+            if (index != null) {
+                return index;
+            }
+
+            final int ownerClass = classInfo(owner);
+            final int nameAndType = nameAndType(name, descriptor);
+            constants.putByte(CONSTANT_METHODREF);
+            constants.putShort(ownerClass);
+            constants.putShort(nameAndType);
+            return register(key);
+        }
+
+        private int nameAndType(final String name, final String descriptor) {
+
+            final String key = CONSTANT_NAME_AND_TYPE + ":" + name + descriptor;
+            final Integer index = indices.get(key);
+
+            if (index != null) {
+                return index;
+            }
+
+            final int nameIndex = utf8(name);
+            final int descriptorIndex = utf8(descriptor);
+            constants.putByte(CONSTANT_NAME_AND_TYPE);
+            constants.putShort(nameIndex);
+            constants.putShort(descriptorIndex);
+            return register(key);
+        }
+
+        private int register(final String key) {
+
+            // Indices start at 1
+            final int index = indices.size() + 1;
+            indices.put(key, index);
+            return index;
+        }
+
+        void putTo(final ByteVector classFile) {
+
+            classFile.putShort(indices.size() + 1);
+            classFile.putBytes(constants);
+        }
+    }
+
+    /**
+     * A growable array of bytes, written in big-endian order as required by the class file format.
+     */
+    private static final class ByteVector {
+
+        private byte[] bytes = new byte[256];
+        private int size;
+
+        void putByte(final int value) {
+
+            ensureCapacity(1);
+            bytes[size++] = (byte) value;
+        }
+
+        void putShort(final int value) {
+
+            ensureCapacity(2);
+            bytes[size++] = (byte) (value >>> 8);
+            bytes[size++] = (byte) value;
+        }
+
+        void putInt(final int value) {
+
+            putShort(value >>> 16);
+            putShort(value);
+        }
+
+        void putBytes(final ByteVector vector) {
+
+            ensureCapacity(vector.size);
+            System.arraycopy(vector.bytes, 0, bytes, size, vector.size);
+            size += vector.size;
+        }
+
+        /**
+         * Puts the length and the modified UTF-8 encoding of the specified string, like
+         * {@link java.io.DataOutput#writeUTF(String)}.
+         */
+        void putUtf8(final String value) {
+
+            final int lengthPosition = size;
+            putShort(0);
+
+            for (int i = 0; i < value.length(); i++) {
+                final char c = value.charAt(i);
+                if (c != 0 && c < 0x80) {
+                    putByte(c);
+                } else if (c < 0x800) {
+                    putByte(0xC0 | (c >>> 6));
+                    putByte(0x80 | (c & 0x3F));
+                } else {
+                    putByte(0xE0 | (c >>> 12));
+                    putByte(0x80 | ((c >>> 6) & 0x3F));
+                    putByte(0x80 | (c & 0x3F));
+                }
+            }
+
+            final int length = size - lengthPosition - 2;
+            bytes[lengthPosition] = (byte) (length >>> 8);
+            bytes[lengthPosition + 1] = (byte) length;
+        }
+
+        int size() {
+
+            return size;
+        }
+
+        byte[] toByteArray() {
+
+            return Arrays.copyOf(bytes, size);
+        }
+
+        private void ensureCapacity(final int additional) {
+
+            if (size + additional > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + additional));
+            }
+        }
+    }
+}
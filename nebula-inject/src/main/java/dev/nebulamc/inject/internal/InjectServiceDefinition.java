@@ -6,22 +6,29 @@ import dev.nebulamc.inject.ServiceException;
 import dev.nebulamc.inject.ServiceFinder;
 import dev.nebulamc.inject.internal.util.Preconditions;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 
 import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Parameter;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * A {@link ServiceDefinition} for concrete classes with an
  * <a href="package-summary.html#injectable-constructors">injectable constructor</a>.
+ * <p>
+ * The injectable constructor is resolved to a {@link ConstructorAccessor} once, when the
+ * definition is created, so constructing a service performs no access checks and never mutates the
+ * shared {@link Constructor}.
  *
  * @author Sparky983
  * @param <T> the type of the service
  */
 @NullMarked
-final class InjectServiceDefinition<T> implements ServiceDefinition<T> {
+final class InjectServiceDefinition<T> implements DependentServiceDefinition<T> {
 
     /**
      * Cached method parameters so a new array doesn't need to be allocated by
@@ -29,13 +36,30 @@ final class InjectServiceDefinition<T> implements ServiceDefinition<T> {
      */
     private final Parameter[] parameters;
 
+    private final ConstructorAccessor constructorAccessor;
+
+    private final List<Dependency> dependencies;
     private final Class<T> serviceType;
     private final Constructor<? extends T> injectableConstructor;
     private final ParameterResolver parameterResolver;
+    private final @Nullable String name;
+
+    /**
+     * The generic type of the service type implemented by the implementation, resolved once as it
+     * walks the implementation's supertypes.
+     */
+    private final Type genericType;
+
+    /**
+     * Whether the parameters are resolved by their {@link #dependencies} rather than the
+     * {@link #parameterResolver}, which is only possible for {@link ParameterResolverImpl} as it
+     * resolves parameters the same way.
+     */
+    private final boolean resolvesDependencies;
 
     /**
      * Constructs a new {@link InjectServiceDefinition} for the given service type and
-     * implementation.
+     * implementation, whose constructor is invoked through a {@link java.lang.invoke.MethodHandle}.
      *
      * @param serviceType the type of the service
      * @param implementation the implementation of the service
@@ -44,26 +68,99 @@ final class InjectServiceDefinition<T> implements ServiceDefinition<T> {
      * <a href="package-summary.html#injectable-constructors">injectable constructor</a>.
      * @throws NullPointerException if the service type, implementation class or parameter resolver
      * are {@code null}.
+     * @throws ServiceException if the injectable constructor is not accessible to Nebula Inject or
+     * has a {@link dev.nebulamc.inject.Named Named} collection or array parameter.
      */
     InjectServiceDefinition(final Class<T> serviceType,
                             final Class<? extends T> implementation,
                             final ParameterResolver parameterResolver) {
 
+        this(serviceType,
+                implementation,
+                parameterResolver,
+                new MethodHandleConstructorAccessorFactory());
+    }
+
+    /**
+     * Constructs a new {@link InjectServiceDefinition} for the given service type and
+     * implementation, whose constructor is invoked through an accessor created by the given
+     * factory.
+     *
+     * @param serviceType the type of the service
+     * @param implementation the implementation of the service
+     * @param parameterResolver the parameter resolver to use
+     * @param constructorAccessorFactory the factory of the accessor of the injectable constructor
+     * @throws IllegalArgumentException if the implementation does not have an
+     * <a href="package-summary.html#injectable-constructors">injectable constructor</a>.
+     * @throws NullPointerException if the service type, implementation class, parameter resolver
+     * or constructor accessor factory are {@code null}.
+     * @throws ServiceException if the injectable constructor is not accessible to Nebula Inject or
+     * has a {@link dev.nebulamc.inject.Named Named} collection or array parameter.
+     */
+    InjectServiceDefinition(final Class<T> serviceType,
+                            final Class<? extends T> implementation,
+                            final ParameterResolver parameterResolver,
+                            final ConstructorAccessorFactory constructorAccessorFactory) {
+
+        this(serviceType,
+                findInjectableConstructor(implementation),
+                parameterResolver,
+                constructorAccessorFactory);
+    }
+
+    /**
+     * Constructs a new {@link InjectServiceDefinition} for the given service type and already found
+     * injectable constructor, which is invoked through an accessor created by the given factory.
+     *
+     * @param serviceType the type of the service
+     * @param injectableConstructor the injectable constructor of the implementation of the service
+     * @param parameterResolver the parameter resolver to use
+     * @param constructorAccessorFactory the factory of the accessor of the injectable constructor
+     * @throws NullPointerException if the service type, injectable constructor, parameter resolver
+     * or constructor accessor factory are {@code null}.
+     * @throws ServiceException if the injectable constructor is not accessible to Nebula Inject or
+     * has a {@link dev.nebulamc.inject.Named Named} collection or array parameter.
+     * @see ServiceIndex
+     */
+    InjectServiceDefinition(final Class<T> serviceType,
+                            final Constructor<? extends T> injectableConstructor,
+                            final ParameterResolver parameterResolver,
+                            final ConstructorAccessorFactory constructorAccessorFactory) {
+
         Preconditions.requireNonNull(serviceType, "serviceType");
-        Preconditions.requireNonNull(implementation, "implementation");
+        Preconditions.requireNonNull(injectableConstructor, "injectableConstructor");
         Preconditions.requireNonNull(parameterResolver, "parameterResolver");
+        Preconditions.requireNonNull(constructorAccessorFactory, "constructorAccessorFactory");
 
         this.serviceType = serviceType;
-        this.injectableConstructor = findInjectableConstructor(implementation);
+        this.injectableConstructor = injectableConstructor;
         this.parameterResolver = parameterResolver;
+        this.name = Dependency.getName(injectableConstructor.getDeclaringClass());
+        this.genericType = Types.getGenericSupertype(
+                serviceType,
+                injectableConstructor.getDeclaringClass());
         this.parameters = injectableConstructor.getParameters();
+        this.dependencies = Arrays.stream(parameters).map(Dependency::of).toList();
+        this.resolvesDependencies = parameterResolver instanceof ParameterResolverImpl;
+        this.constructorAccessor =
+                constructorAccessorFactory.createConstructorAccessor(injectableConstructor);
     }
 
+    /**
+     * Finds the <a href="package-summary.html#injectable-constructors">injectable constructor</a>
+     * of the specified class.
+     *
+     * @param implementation the class
+     * @return the injectable constructor
+     * @param <T> the type of the class
+     * @throws IllegalArgumentException if the class does not have an injectable constructor.
+     * @throws NullPointerException if {@code implementation} is {@code null}.
+     */
     @SuppressWarnings("unchecked")
-    private Constructor<? extends T> findInjectableConstructor(
+    static <T> Constructor<? extends T> findInjectableConstructor(
             final Class<? extends T> implementation) {
 
-        assert implementation != null;
+        Preconditions.requireNonNull(implementation, "implementation");
 
         if (Modifier.isAbstract(implementation.getModifiers())) {
             throw new IllegalArgumentException(
@@ -107,29 +204,62 @@ final class InjectServiceDefinition<T> implements ServiceDefinition<T> {
         return serviceType;
     }
 
+    @Override
+    public Type getGenericType() {
+
+        return genericType;
+    }
+
+    @Override
+    public @Nullable String getName() {
+
+        return name;
+    }
+
+    @Override
+    public List<Dependency> getDependencies() {
+
+        return dependencies;
+    }
+
     @Override
     public T createService(final ServiceFinder serviceFinder) {
 
         Preconditions.requireNonNull(serviceFinder, "serviceFinder");
 
-        final Object[] arguments = new Object[injectableConstructor.getParameterCount()];
+        final Object[] arguments = new Object[parameters.length];
 
         for (int i = 0; i < arguments.length; i++) {
-            arguments[i] = parameterResolver.resolveParameter(parameters[i], serviceFinder);
+            arguments[i] = resolvesDependencies
+                    ? dependencies.get(i).resolve(serviceFinder)
+                    : parameterResolver.resolveParameter(parameters[i], serviceFinder);
         }
 
-        injectableConstructor.setAccessible(true);
+        return createService(arguments);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T createService(final Object[] arguments) {
+
+        Preconditions.requireNonNull(arguments, "arguments");
+
+        final Object event = FlightRecorderEvents.beginServiceCreation();
 
         try {
-            return injectableConstructor.newInstance(arguments);
-        } catch (final InvocationTargetException e) {
+            return (T) constructorAccessor.newInstance(arguments);
+        } catch (final Throwable e) {
             throw new ServiceException("Exception while constructing " +
                     injectableConstructor.getDeclaringClass(),
-                    e.getCause());
-        } catch (final IllegalAccessException | InstantiationException e) {
-            throw new AssertionError(e);
+                    e);
         } finally {
-            injectableConstructor.setAccessible(false);
+            if (event != null) {
+                FlightRecorderEvents.commitServiceCreation(
+                        event,
+                        serviceType,
+                        injectableConstructor,
+                        null);
+            }
         }
     }
 }
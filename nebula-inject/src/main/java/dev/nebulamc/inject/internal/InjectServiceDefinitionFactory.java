@@ -2,6 +2,7 @@ package dev.nebulamc.inject.internal;
 
 import org.jspecify.annotations.NullMarked;
 import dev.nebulamc.inject.ServiceDefinition;
+import dev.nebulamc.inject.ServiceException;
 
 /**
  * A factory for creating {@link ServiceDefinition ServiceDefinitions} for classes with
@@ -22,6 +23,8 @@ public interface InjectServiceDefinitionFactory {
      * @throws IllegalArgumentException if the implementation does not have an
      * <a href="package-summary.html#injectable-constructors">injectable constructor</a>.
      * @throws NullPointerException if the service type or implementation classes are {@code null}.
+     * @throws ServiceException if the injectable constructor is not accessible to Nebula Inject or
+     * has a {@link dev.nebulamc.inject.Named Named} collection or array parameter.
      */
     <T> ServiceDefinition<T> createServiceDefinition(Class<T> type,
                                                      Class<? extends T> implementation);
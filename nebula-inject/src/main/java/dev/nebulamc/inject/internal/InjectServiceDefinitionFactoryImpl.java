@@ -3,6 +3,7 @@ package dev.nebulamc.inject.internal;
 import dev.nebulamc.inject.ServiceDefinition;
 import dev.nebulamc.inject.internal.util.Preconditions;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 
 /**
  * A factory for creating {@link InjectServiceDefinition InjectServiceDefinitions}.
@@ -14,12 +15,37 @@ import org.jspecify.annotations.NullMarked;
 public final class InjectServiceDefinitionFactoryImpl implements InjectServiceDefinitionFactory {
 
     private final ParameterResolver parameterResolver;
+    private final ConstructorAccessorFactory constructorAccessorFactory;
+
+    /**
+     * The index the injectable constructors are found in, or {@code null} if they are always
+     * discovered.
+     */
+    private final @Nullable ServiceIndex serviceIndex;
 
     public InjectServiceDefinitionFactoryImpl(final ParameterResolver parameterResolver) {
 
+        this(parameterResolver, new MethodHandleConstructorAccessorFactory());
+    }
+
+    public InjectServiceDefinitionFactoryImpl(
+            final ParameterResolver parameterResolver,
+            final ConstructorAccessorFactory constructorAccessorFactory) {
+
+        this(parameterResolver, constructorAccessorFactory, null);
+    }
+
+    InjectServiceDefinitionFactoryImpl(
+            final ParameterResolver parameterResolver,
+            final ConstructorAccessorFactory constructorAccessorFactory,
+            final @Nullable ServiceIndex serviceIndex) {
+
         Preconditions.requireNonNull(parameterResolver, "parameterResolver");
+        Preconditions.requireNonNull(constructorAccessorFactory, "constructorAccessorFactory");
 
         this.parameterResolver = parameterResolver;
+        this.constructorAccessorFactory = constructorAccessorFactory;
+        this.serviceIndex = serviceIndex;
     }
 
     @Override
@@ -30,6 +56,18 @@ public final class InjectServiceDefinitionFactoryImpl implements InjectServiceDe
         Preconditions.requireNonNull(type, "implementation");
         Preconditions.requireNonNull(implementation, "implementation");
 
-        return new InjectServiceDefinition<>(type, implementation, parameterResolver);
+        if (serviceIndex != null) {
+            return new InjectServiceDefinition<>(
+                    type,
+                    serviceIndex.findInjectableConstructor(implementation),
+                    parameterResolver,
+                    constructorAccessorFactory);
+        }
+
+        return new InjectServiceDefinition<>(
+                type,
+                implementation,
+                parameterResolver,
+                constructorAccessorFactory);
     }
 }
@@ -5,12 +5,16 @@ import dev.nebulamc.inject.ServiceDefinition;
 import dev.nebulamc.inject.ServiceDefinitionRegistry;
 import dev.nebulamc.inject.internal.util.Preconditions;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 
+import java.lang.reflect.Modifier;
 import java.util.List;
 
 /**
  * A {@link ServiceDefinitionRegistry} for {@link InjectServiceDefinition ServiceDefinitions} of
  * concrete classes.
+ * <p>
+ * Primitive, array and abstract types, including interfaces, have no service definitions.
  *
  * @author Sparky983
  */
@@ -31,18 +35,28 @@ public final class InjectServiceDefinitionRegistry implements ServiceDefinitionR
 
         Preconditions.requireNonNull(type, "type");
 
-        final List<ServiceDefinition<T>> serviceDefinitions = findServiceDefinitions(type);
-
-        assert serviceDefinitions.size() <= 1;
+        final ServiceDefinition<T> serviceDefinition = findServiceDefinitionOrNull(type);
 
-        if (serviceDefinitions.isEmpty()) {
+        if (serviceDefinition == null) {
             throw new NoUniqueServiceException("Unable to find service definition of type \"" +
                     type.getName() +
                     "\"" +
                     ". Probable cause: type has no injectable constructor.");
         }
 
-        return serviceDefinitions.get(0);
+        return serviceDefinition;
+    }
+
+    @Override
+    public <T> @Nullable ServiceDefinition<T> findServiceDefinitionOrNull(final Class<T> type) {
+
+        Preconditions.requireNonNull(type, "type");
+
+        final List<ServiceDefinition<T>> serviceDefinitions = findServiceDefinitions(type);
+
+        assert serviceDefinitions.size() <= 1;
+
+        return serviceDefinitions.isEmpty() ? null : serviceDefinitions.get(0);
     }
 
     @Override
@@ -50,9 +64,15 @@ public final class InjectServiceDefinitionRegistry implements ServiceDefinitionR
 
         Preconditions.requireNonNull(type, "type");
 
+        if (type.isPrimitive() || type.isArray() || Modifier.isAbstract(type.getModifiers())) {
+            return List.of();
+        }
+
         try {
             return List.of(serviceDefinitionFactory.createServiceDefinition(type, type));
         } catch (final IllegalArgumentException e) {
+            // The type has no injectable constructor. Other failures, such as an inaccessible
+            // constructor or a misused @Named parameter, are thrown as ServiceExceptions
             return List.of();
         }
     }
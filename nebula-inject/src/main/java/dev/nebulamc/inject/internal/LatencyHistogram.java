@@ -0,0 +1,190 @@
+package dev.nebulamc.inject.internal;
+
+import org.jspecify.annotations.NullMarked;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of non-negative values, such as latencies in nanoseconds.
+ * <p>
+ * Like an HdrHistogram, values are counted in buckets whose width doubles with each power of two,
+ * with each power of two split into {@value #SUB_BUCKETS} equal sub-buckets. Values below
+ * {@code 2 * SUB_BUCKETS} are counted exactly, and larger values are counted to within
+ * {@code 1 / SUB_BUCKETS} of their magnitude, so every {@code long} fits in a few hundred buckets.
+ * <p>
+ * Threads recording similar values would all increment the same bucket, so like a
+ * {@link java.util.concurrent.atomic.LongAdder}, the buckets are striped across a few copies
+ * chosen by thread, which are summed when the histogram is read.
+ *
+ * @author Sparky983
+ */
+@NullMarked
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+
+    /**
+     * The number of buckets each power of two is split into.
+     */
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * The number of buckets needed to count every non-negative {@code long}.
+     */
+    static final int BUCKETS = bucketOf(Long.MAX_VALUE) + 1;
+
+    /**
+     * The number of copies of the buckets, a power of two of at most the number of processors.
+     * <p>
+     * Capped, as each copy takes several kilobytes.
+     */
+    private static final int STRIPES =
+            Integer.highestOneBit(Math.min(Runtime.getRuntime().availableProcessors(), 8));
+
+    /**
+     * The distance between the stripes in {@link #counts}, padded by 128 bytes so the buckets of
+     * different stripes never share a cache line, even when adjacent lines are fetched together.
+     */
+    private static final int STRIPE_LENGTH = BUCKETS + 16;
+
+    /**
+     * The counts of each bucket, with the buckets of each stripe next to each other.
+     */
+    private final AtomicLongArray counts = new AtomicLongArray(STRIPES * STRIPE_LENGTH);
+
+    /**
+     * Counts the specified value, treating negative values as {@code 0}.
+     *
+     * @param value the value
+     */
+    void record(final long value) {
+
+        // Thread IDs are sequential, so concurrent threads are spread across the stripes
+        final int stripe = (int) Thread.currentThread().getId() & (STRIPES - 1);
+
+        counts.incrementAndGet(stripe * STRIPE_LENGTH + bucketOf(Math.max(value, 0)));
+    }
+
+    /**
+     * Gets the number of values counted.
+     *
+     * @return the number of values
+     */
+    long getCount() {
+
+        long count = 0;
+
+        for (int i = 0; i < counts.length(); i++) {
+            count += counts.get(i);
+        }
+
+        return count;
+    }
+
+    /**
+     * Gets the number of values counted by the bucket at the specified index, across every
+     * stripe.
+     */
+    private long getCount(final int index) {
+
+        assert index >= 0 && index < BUCKETS;
+
+        long count = 0;
+
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            count += counts.get(stripe * STRIPE_LENGTH + index);
+        }
+
+        return count;
+    }
+
+    /**
+     * Gets the highest value that the specified quantile of values are at most, to within the
+     * accuracy of the buckets.
+     *
+     * @param quantile the quantile between {@code 0} and {@code 1}
+     * @return the value, or {@code 0} if no values have been counted
+     */
+    long getValueAtQuantile(final double quantile) {
+
+        assert quantile >= 0 && quantile <= 1;
+
+        // Copied so values counted concurrently cannot push the rank past the last bucket
+        final long[] counts = new long[BUCKETS];
+        long count = 0;
+
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = getCount(i);
+            count += counts[i];
+        }
+
+        if (count == 0) {
+            return 0;
+        }
+
+        final long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return getHighestValue(i);
+            }
+        }
+
+        throw new AssertionError();
+    }
+
+    /**
+     * Gets the index of the bucket that counts the specified value.
+     *
+     * @param value the non-negative value
+     * @return the index of the bucket
+     */
+    static int bucketOf(final long value) {
+
+        assert value >= 0;
+
+        if (value < 2 * SUB_BUCKETS) {
+            return (int) value;
+        }
+
+        final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        final int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Gets the lowest value counted by the bucket at the specified index.
+     *
+     * @param index the index of the bucket
+     * @return the lowest value
+     */
+    static long getLowestValue(final int index) {
+
+        assert index >= 0 && index < BUCKETS;
+
+        if (index < 2 * SUB_BUCKETS) {
+            return index;
+        }
+
+        final int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        final int subBucket = index % SUB_BUCKETS;
+
+        return (long) (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+    }
+
+    /**
+     * Gets the highest value counted by the bucket at the specified index.
+     *
+     * @param index the index of the bucket
+     * @return the highest value
+     */
+    static long getHighestValue(final int index) {
+
+        assert index >= 0 && index < BUCKETS;
+
+        return index == BUCKETS - 1 ? Long.MAX_VALUE : getLowestValue(index + 1) - 1;
+    }
+}
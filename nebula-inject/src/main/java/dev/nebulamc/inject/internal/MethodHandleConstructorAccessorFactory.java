@@ -0,0 +1,50 @@
+package dev.nebulamc.inject.internal;
+
+import dev.nebulamc.inject.ServiceException;
+import dev.nebulamc.inject.internal.util.Preconditions;
+import org.jspecify.annotations.NullMarked;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+
+/**
+ * A {@link ConstructorAccessorFactory} that invokes constructors through a {@link MethodHandle}.
+ * <p>
+ * The constructor is resolved to a method handle once, when the accessor is created, so
+ * constructing an object performs no access checks and never mutates the shared
+ * {@link Constructor}.
+ *
+ * @author Sparky983
+ */
+@NullMarked
+public final class MethodHandleConstructorAccessorFactory implements ConstructorAccessorFactory {
+
+    @Override
+    public ConstructorAccessor createConstructorAccessor(final Constructor<?> constructor) {
+
+        Preconditions.requireNonNull(constructor, "constructor");
+
+        final MethodHandle constructorHandle;
+
+        try {
+            // Only affects this copy of the constructor, and is never reset so there is no race
+            // between threads constructing services
+            constructor.setAccessible(true);
+            // Adapted to take its arguments as an Object[] and return an Object
+            constructorHandle = MethodHandles.lookup()
+                    .unreflectConstructor(constructor)
+                    .asSpreader(Object[].class, constructor.getParameterCount())
+                    .asType(MethodType.methodType(Object.class, Object[].class));
+        } catch (final RuntimeException e) {
+            // InaccessibleObjectException or SecurityException
+            throw new ServiceException("Unable to access injectable constructor of " +
+                    constructor.getDeclaringClass().getName(), e);
+        } catch (final IllegalAccessException e) {
+            throw new AssertionError(e);
+        }
+
+        return (arguments) -> (Object) constructorHandle.invokeExact(arguments);
+    }
+}
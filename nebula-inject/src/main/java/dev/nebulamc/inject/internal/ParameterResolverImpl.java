@@ -3,13 +3,11 @@ package dev.nebulamc.inject.internal;
 import dev.nebulamc.inject.ServiceFinder;
 import org.jspecify.annotations.NullMarked;
 
-import java.lang.reflect.Array;
 import java.lang.reflect.Parameter;
-import java.lang.reflect.ParameterizedType;
-import java.lang.reflect.Type;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * The main implementation of {@link ParameterResolver}.
@@ -22,6 +20,12 @@ import java.util.Set;
  *     <li>{@link Set}</li>
  *     <li>Array</li>
  * </ul>
+ * <p>
+ * {@link Supplier} parameters are resolved lazily, to a supplier that finds the service when it
+ * is first called.
+ * <p>
+ * Service definitions created with this resolver do not use it, and instead resolve the
+ * {@link Dependency Dependencies} compiled from their parameters when they are created.
  *
  * @author Sparky983
  */
@@ -31,30 +35,6 @@ public final class ParameterResolverImpl implements ParameterResolver {
     @Override
     public Object resolveParameter(final Parameter parameter, final ServiceFinder serviceFinder) {
 
-        final Type type = parameter.getParameterizedType();
-
-        if (type instanceof final ParameterizedType parameterizedType) {
-            final Type rawType = parameterizedType.getRawType();
-            final Type[] typeArguments = parameterizedType.getActualTypeArguments();
-
-            if (typeArguments[0] instanceof final Class<?> elementClass) {
-                if (rawType.equals(Iterable.class) ||
-                        rawType.equals(Collection.class) ||
-                        rawType.equals(List.class)) {
-                        return serviceFinder.findServices(elementClass);
-                } else if (rawType.equals(Set.class)) {
-                    return Set.copyOf(serviceFinder.findServices(elementClass));
-                }
-            }
-        } else if (type instanceof final Class<?> cls && cls.isArray()) {
-            final List<?> services = serviceFinder.findServices(cls.componentType());
-            final Object array = Array.newInstance(cls.componentType(), services.size());
-            for (int i = 0; i < services.size(); i++) {
-                Array.set(array, i, services.get(i));
-            }
-            return array;
-        }
-
-        return serviceFinder.findService(parameter.getType());
+        return Dependency.of(parameter).resolve(serviceFinder);
     }
 }
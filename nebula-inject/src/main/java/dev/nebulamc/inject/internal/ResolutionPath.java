@@ -0,0 +1,112 @@
+package dev.nebulamc.inject.internal;
+
+import dev.nebulamc.inject.ServiceException;
+import org.jspecify.annotations.NullMarked;
+
+import java.util.Arrays;
+
+/**
+ * The service types whose services are being created by the current thread, from the first
+ * requested type to the type currently being created.
+ * <p>
+ * A type being created again before its services have been created means its dependencies are
+ * cyclic, so the path is used to fail fast with the cycle rather than recursing until the stack
+ * overflows. Types are only added when their services are actually created, so cached services
+ * never touch the path.
+ * <p>
+ * Each type is paired with the container creating it, as a child container may create a type
+ * while its parent creates a different service of the same type.
+ * <p>
+ * The path only knows the types of the current thread. A cycle entered by several threads from
+ * different ends instead makes each thread wait for a type another thread is creating, which is
+ * detected by the {@link CreationLock} of the type before the thread waits.
+ *
+ * @author Sparky983
+ */
+@NullMarked
+final class ResolutionPath {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private static final ThreadLocal<ResolutionPath> CURRENT =
+            ThreadLocal.withInitial(ResolutionPath::new);
+
+    private Object[] containers = new Object[INITIAL_CAPACITY];
+    private Class<?>[] serviceTypes = new Class<?>[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Gets the resolution path of the current thread.
+     *
+     * @return the resolution path
+     */
+    static ResolutionPath current() {
+
+        return CURRENT.get();
+    }
+
+    /**
+     * Adds the specified type to the end of the path, as its services are about to be created by
+     * the specified container.
+     * <p>
+     * Every call that returns normally must be followed by a call to {@link #pop()} once the
+     * services have been created, even if creating them failed.
+     *
+     * @param container the container creating the services
+     * @param serviceType the type of the services
+     * @throws ServiceException if the container is already creating services of the type.
+     */
+    void push(final Object container, final Class<?> serviceType) {
+
+        assert container != null;
+        assert serviceType != null;
+
+        for (int i = size - 1; i >= 0; i--) {
+            if (serviceTypes[i] == serviceType && containers[i] == container) {
+                throw new ServiceException(describeCycle(i));
+            }
+        }
+
+        if (size == serviceTypes.length) {
+            containers = Arrays.copyOf(containers, size * 2);
+            serviceTypes = Arrays.copyOf(serviceTypes, size * 2);
+        }
+
+        containers[size] = container;
+        serviceTypes[size] = serviceType;
+        size++;
+    }
+
+    /**
+     * Removes the last type from the path.
+     */
+    void pop() {
+
+        assert size > 0;
+
+        size--;
+        containers[size] = null;
+        serviceTypes[size] = null;
+    }
+
+    /**
+     * Gets the number of types in the path.
+     *
+     * @return the number of types
+     */
+    int size() {
+
+        return size;
+    }
+
+    private String describeCycle(final int start) {
+
+        final StringBuilder cycle = new StringBuilder("Cyclic dependency: ");
+
+        for (int i = start; i < size; i++) {
+            cycle.append(serviceTypes[i].getName()).append(" -> ");
+        }
+
+        return cycle.append(serviceTypes[start].getName()).toString();
+    }
+}
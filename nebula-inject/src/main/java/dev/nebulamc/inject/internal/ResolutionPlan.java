@@ -0,0 +1,378 @@
+package dev.nebulamc.inject.internal;
+
+import dev.nebulamc.inject.Container;
+import dev.nebulamc.inject.ServiceDefinition;
+import dev.nebulamc.inject.ServiceDefinitionRegistry;
+import dev.nebulamc.inject.TypeToken;
+import dev.nebulamc.inject.internal.util.Preconditions;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A precompiled dependency graph of service types, used by {@link ContainerImpl} to create
+ * services without looking up service definitions.
+ * <p>
+ * Each planned service type is assigned an index. The plan stores the service definitions of each
+ * index, and for each {@link DependentServiceDefinition}, the index of each of its dependencies.
+ * <p>
+ * Types that are not planned, such as types that are only known to definitions without known
+ * dependencies, or types whose service definitions could not be found, are resolved lazily.
+ * <p>
+ * As the plan knows the dependencies of every planned service definition, it is also used to
+ * {@linkplain #findProblems() validate} the dependency graph without creating any services.
+ *
+ * @author Sparky983
+ * @see Container.Builder#precompile(boolean)
+ */
+@NullMarked
+final class ResolutionPlan {
+
+    /**
+     * The index of types that are not planned.
+     */
+    static final int UNPLANNED = -1;
+
+    /**
+     * The states of planned types while {@linkplain #findProblems() finding cycles}.
+     */
+    private static final byte UNVISITED = 0;
+    private static final byte VISITING = 1;
+    private static final byte VISITED = 2;
+
+    private final Map<Class<?>, Integer> indices;
+    private final Class<?>[] serviceTypes;
+    private final ServiceDefinition<?>[][] serviceDefinitions;
+
+    /**
+     * The indices of the dependencies of each service definition, or {@code null} for service
+     * definitions that are not a {@link DependentServiceDefinition}.
+     */
+    private final int[][][] dependencyIndices;
+
+    /**
+     * A map of service type to the exception thrown while finding its service definitions, for
+     * types that are not planned because of it.
+     */
+    private final Map<Class<?>, RuntimeException> failures;
+
+    private ResolutionPlan(final Map<Class<?>, Integer> indices,
+                           final Class<?>[] serviceTypes,
+                           final ServiceDefinition<?>[][] serviceDefinitions,
+                           final int[][][] dependencyIndices,
+                           final Map<Class<?>, RuntimeException> failures) {
+
+        this.indices = indices;
+        this.serviceTypes = serviceTypes;
+        this.serviceDefinitions = serviceDefinitions;
+        this.dependencyIndices = dependencyIndices;
+        this.failures = failures;
+    }
+
+    /**
+     * Compiles a plan for the specified service types, and all service types they transitively
+     * depend on.
+     *
+     * @param serviceDefinitionRegistry the service definition registry to find service definitions
+     * in
+     * @param serviceTypes the service types to plan
+     * @return the plan
+     * @throws NullPointerException if {@code serviceDefinitionRegistry} or {@code serviceTypes} are
+     * {@code null}.
+     */
+    static ResolutionPlan compile(final ServiceDefinitionRegistry serviceDefinitionRegistry,
+                                  final Collection<Class<?>> serviceTypes) {
+
+        Preconditions.requireNonNull(serviceDefinitionRegistry, "serviceDefinitionRegistry");
+        Preconditions.requireNonNull(serviceTypes, "serviceTypes");
+
+        final Map<Class<?>, Integer> indices = new HashMap<>();
+        final List<Class<?>> plannedTypes = new ArrayList<>();
+        final List<ServiceDefinition<?>[]> plannedServiceDefinitions = new ArrayList<>();
+        final Map<Class<?>, RuntimeException> failures = new HashMap<>();
+
+        final Set<Class<?>> visited = new HashSet<>();
+        final Deque<Class<?>> pending = new ArrayDeque<>(serviceTypes);
+
+        while (!pending.isEmpty()) {
+            final Class<?> type = pending.poll();
+
+            // The container is always resolved by the container itself
+            if (type.equals(Container.class) || !visited.add(type)) {
+                continue;
+            }
+
+            final ServiceDefinition<?>[] definitions;
+
+            try {
+                definitions = serviceDefinitionRegistry.findServiceDefinitions(type)
+                        .toArray(new ServiceDefinition<?>[0]);
+            } catch (final RuntimeException e) {
+                // Left to be resolved lazily, which reports the exception if the type is requested
+                failures.put(type, e);
+                continue;
+            }
+
+            indices.put(type, plannedTypes.size());
+            plannedTypes.add(type);
+            plannedServiceDefinitions.add(definitions);
+
+            for (final ServiceDefinition<?> definition : definitions) {
+                if (definition instanceof final DependentServiceDefinition<?> dependent) {
+                    for (final Dependency dependency : dependent.getDependencies()) {
+                        pending.add(dependency.getServiceType());
+                    }
+                }
+            }
+        }
+
+        final int[][][] dependencyIndices = new int[plannedTypes.size()][][];
+
+        for (int i = 0; i < dependencyIndices.length; i++) {
+            final ServiceDefinition<?>[] definitions = plannedServiceDefinitions.get(i);
+            dependencyIndices[i] = new int[definitions.length][];
+
+            for (int j = 0; j < definitions.length; j++) {
+                if (definitions[j] instanceof final DependentServiceDefinition<?> dependent) {
+                    // Lazy dependencies are still planned so they are fast to find, but must
+                    // not be created before the services that depend on them. Named and
+                    // parameterized dependencies are found on their own so that the other
+                    // services of their type are not created
+                    dependencyIndices[i][j] = dependent.getDependencies()
+                            .stream()
+                            .mapToInt((dependency) -> dependency.isLazy() ||
+                                    dependency.getName() != null ||
+                                    dependency.getGenericType() != null
+                                    ? UNPLANNED
+                                    : indices.getOrDefault(dependency.getServiceType(), UNPLANNED))
+                            .toArray();
+                }
+            }
+        }
+
+        return new ResolutionPlan(
+                Map.copyOf(indices),
+                plannedTypes.toArray(new Class<?>[0]),
+                plannedServiceDefinitions.toArray(new ServiceDefinition<?>[0][]),
+                dependencyIndices,
+                Map.copyOf(failures));
+    }
+
+    /**
+     * Finds the problems that would prevent planned services from being created, without creating
+     * any services.
+     * <p>
+     * A problem is a dependency on a single service (including a lazy one) of a type that does
+     * not have exactly one service definition (with the dependency's name or type arguments, if it
+     * is named or parameterized), a dependency on a type whose service definitions could not be
+     * found, or a cycle of dependencies that are neither lazy, named nor parameterized. Only the
+     * dependencies of
+     * {@link DependentServiceDefinition DependentServiceDefinitions} are known, so other service
+     * definitions cannot be checked.
+     *
+     * @return an unmodifiable list of descriptions of each problem, which is empty if there are no
+     * problems
+     */
+    List<String> findProblems() {
+
+        final Set<String> problems = new LinkedHashSet<>();
+
+        for (int i = 0; i < serviceTypes.length; i++) {
+            for (final ServiceDefinition<?> definition : serviceDefinitions[i]) {
+                if (definition instanceof final DependentServiceDefinition<?> dependent) {
+                    for (final Dependency dependency : dependent.getDependencies()) {
+                        findProblem(serviceTypes[i], dependency, problems);
+                    }
+                }
+            }
+        }
+
+        final byte[] states = new byte[serviceTypes.length];
+
+        for (int i = 0; i < serviceTypes.length; i++) {
+            if (states[i] == UNVISITED) {
+                findCycles(i, states, new ArrayList<>(), problems);
+            }
+        }
+
+        return List.copyOf(problems);
+    }
+
+    private void findProblem(final Class<?> serviceType,
+                             final Dependency dependency,
+                             final Set<String> problems) {
+
+        assert serviceType != null;
+        assert dependency != null;
+        assert problems != null;
+
+        final Class<?> dependencyType = dependency.getServiceType();
+
+        if (dependencyType.equals(Container.class)) {
+            return;
+        }
+
+        final int index = indexOf(dependencyType);
+
+        if (index == UNPLANNED) {
+            problems.add("Service of type " + serviceType.getName() +
+                    " requires services of type " + dependencyType.getName() +
+                    " but their service definitions could not be found: " +
+                    failures.get(dependencyType));
+            return;
+        }
+
+        if (!dependency.isSingle() && !dependency.isLazy()) {
+            return;
+        }
+
+        final String name = dependency.getName();
+        final TypeToken<?> genericType = dependency.getGenericType();
+        int found = 0;
+
+        for (final ServiceDefinition<?> serviceDefinition : serviceDefinitions[index]) {
+            if (name != null
+                    ? name.equals(serviceDefinition.getName())
+                    : genericType == null || Types.isServiceOf(serviceDefinition, genericType)) {
+                found++;
+            }
+        }
+
+        if (found != 1) {
+            problems.add("Service of type " + serviceType.getName() +
+                    " requires a service of type " +
+                    (name != null || genericType == null
+                            ? dependencyType.getName()
+                            : genericType.toString()) +
+                    (name == null ? "" : " named \"" + name + "\"") +
+                    " but " + (found == 0 ? "none were" : found + " were") + " found");
+        }
+    }
+
+    /**
+     * Finds the cycles reachable from the planned type at the specified index with a depth-first
+     * search, where {@code path} contains the indices of the types being visited.
+     */
+    private void findCycles(final int index,
+                            final byte[] states,
+                            final List<Integer> path,
+                            final Set<String> problems) {
+
+        assert states != null;
+        assert path != null;
+        assert problems != null;
+
+        states[index] = VISITING;
+        path.add(index);
+
+        for (final int[] definitionDependencyIndices : dependencyIndices[index]) {
+            if (definitionDependencyIndices == null) {
+                continue;
+            }
+
+            // Lazy dependencies are unplanned, so cycles through them are allowed. Named and
+            // parameterized dependencies are also unplanned, so cycles through them are found
+            // when created
+            for (final int dependencyIndex : definitionDependencyIndices) {
+                if (dependencyIndex == UNPLANNED || states[dependencyIndex] == VISITED) {
+                    continue;
+                }
+
+                if (states[dependencyIndex] == VISITING) {
+                    final StringBuilder cycle = new StringBuilder("Cyclic dependency: ");
+                    for (int i = path.indexOf(dependencyIndex); i < path.size(); i++) {
+                        cycle.append(serviceTypes[path.get(i)].getName()).append(" -> ");
+                    }
+                    problems.add(cycle.append(serviceTypes[dependencyIndex].getName()).toString());
+                    continue;
+                }
+
+                findCycles(dependencyIndex, states, path, problems);
+            }
+        }
+
+        path.remove(path.size() - 1);
+        states[index] = VISITED;
+    }
+
+    /**
+     * Gets the number of planned service types.
+     *
+     * @return the number of planned service types
+     */
+    int size() {
+
+        return serviceTypes.length;
+    }
+
+    /**
+     * Gets the index of the specified service type.
+     *
+     * @param serviceType the service type
+     * @return the index of the service type, or {@link #UNPLANNED} if it is not planned
+     */
+    int indexOf(final Class<?> serviceType) {
+
+        assert serviceType != null;
+
+        final Integer index = indices.get(serviceType);
+
+        return index == null ? UNPLANNED : index;
+    }
+
+    /**
+     * Gets the service type at the specified index.
+     *
+     * @param index the index
+     * @return the service type
+     * @throws ArrayIndexOutOfBoundsException if the index is out of bounds.
+     */
+    Class<?> getServiceType(final int index) {
+
+        return serviceTypes[index];
+    }
+
+    /**
+     * Gets the service definitions of the service type at the specified index.
+     * <p>
+     * The returned array must not be modified.
+     *
+     * @param index the index
+     * @return the service definitions
+     * @throws ArrayIndexOutOfBoundsException if the index is out of bounds.
+     */
+    ServiceDefinition<?>[] getServiceDefinitions(final int index) {
+
+        return serviceDefinitions[index];
+    }
+
+    /**
+     * Gets the indices of the dependencies of a service definition, in the same order as
+     * {@link DependentServiceDefinition#getDependencies()}.
+     * <p>
+     * The returned array must not be modified.
+     *
+     * @param index the index of the service type
+     * @param serviceDefinition the index of the service definition within
+     * {@link #getServiceDefinitions(int)}
+     * @return the indices of the dependencies, each of which may be {@link #UNPLANNED} (which is
+     * always the case for {@link Dependency#isLazy() lazy} and {@link Dependency#getName() named}
+     * dependencies), or {@code null} if the service definition is not a
+     * {@link DependentServiceDefinition}.
+     * @throws ArrayIndexOutOfBoundsException if either index is out of bounds.
+     */
+    int @Nullable [] getDependencyIndices(final int index, final int serviceDefinition) {
+
+        return dependencyIndices[index][serviceDefinition];
+    }
+}
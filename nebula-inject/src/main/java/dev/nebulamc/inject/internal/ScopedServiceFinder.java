@@ -0,0 +1,25 @@
+package dev.nebulamc.inject.internal;
+
+import dev.nebulamc.inject.ServiceFinder;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * A {@link ServiceFinder} that knows the scopes of the services it finds.
+ * <p>
+ * Service finders that are not scoped only find singletons.
+ *
+ * @author Sparky983
+ */
+@NullMarked
+interface ScopedServiceFinder extends ServiceFinder {
+
+    /**
+     * Determines whether every service of the specified type is a singleton, so the same services
+     * are found every time they are requested.
+     *
+     * @param serviceType the type of the services
+     * @return {@code true} if every service of the type is a singleton, otherwise {@code false}
+     * @throws NullPointerException if the service type is {@code null}.
+     */
+    boolean isSingleton(Class<?> serviceType);
+}
@@ -0,0 +1,67 @@
+package dev.nebulamc.inject.internal;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.lang.reflect.Executable;
+
+/**
+ * A Java Flight Recorder event recorded by {@link InjectServiceDefinition} and
+ * {@link ServiceServiceDefinition}, spanning the time taken to invoke the injectable constructor
+ * or service method of a service, once its dependencies have been resolved.
+ * <p>
+ * Events are only created by {@link FlightRecorderEvents} while a recording has the event enabled,
+ * so creating services allocates nothing for them otherwise.
+ *
+ * @author Sparky983
+ */
+@NullMarked
+@Name("dev.nebulamc.inject.ServiceCreation")
+@Label("Service Creation")
+@Category("Nebula Inject")
+@Description("A service being created by its injectable constructor or service method")
+@StackTrace(false)
+final class ServiceCreationEvent extends Event {
+
+    @Label("Service Type")
+    @Nullable Class<?> serviceType;
+
+    @Label("Source")
+    @Description("The injectable constructor or service method that created the service")
+    @Nullable String source;
+
+    @Label("Factory")
+    @Description("The factory class that supplied the service method, if any")
+    @Nullable Class<?> factory;
+
+    /**
+     * Commits this event for a service of the specified type, if the event is enabled and its
+     * threshold has been exceeded.
+     *
+     * @param serviceType the type of the service
+     * @param source the injectable constructor or service method that created the service
+     * @param factory the factory class that supplied the service method, or {@code null} if the
+     * service was created by an injectable constructor
+     */
+    void commit(final Class<?> serviceType,
+                final Executable source,
+                final @Nullable Class<?> factory) {
+
+        assert serviceType != null;
+        assert source != null;
+
+        // The source is only formatted for events that are recorded
+        if (shouldCommit()) {
+            this.serviceType = serviceType;
+            this.source = source.toString();
+            this.factory = factory;
+            commit();
+        }
+    }
+}
@@ -2,20 +2,51 @@ package dev.nebulamc.inject.internal;
 
 import dev.nebulamc.inject.ServiceDefinition;
 import dev.nebulamc.inject.ServiceDefinitionRegistry;
+import dev.nebulamc.inject.TypeToken;
 import dev.nebulamc.inject.internal.util.Preconditions;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 
 /**
  * A composite of multiple {@link ServiceDefinitionRegistry ServiceDefinitionRegistries}.
+ * <p>
+ * The service definitions of registries built by {@link ServiceDefinitionRegistry#builder()} never
+ * change, so adjacent ones (including those of nested composites) are merged into a single index
+ * when the composite is constructed. Those that are not adjacent cannot be merged without
+ * reordering the service definitions, so instead the registries to query for each of their types
+ * are indexed, skipping the ones without service definitions of the type. Other registries are
+ * queried on every lookup.
  *
  * @author Sparky983
  */
 @NullMarked
 public final class ServiceDefinitionRegistryComposite extends AbstractServiceDefinitionRegistry {
 
-    private final List<ServiceDefinitionRegistry> serviceDefinitionRegistries;
+    /**
+     * The flattened registries, in which no two {@link ServiceDefinitionRegistryImpl} are adjacent.
+     */
+    private final ServiceDefinitionRegistry[] serviceDefinitionRegistries;
+
+    /**
+     * A map of each type with service definitions in a {@link ServiceDefinitionRegistryImpl} to
+     * the registries that may have service definitions of the type, in order.
+     */
+    private final Map<Class<?>, ServiceDefinitionRegistry[]> registriesByType;
+
+    /**
+     * The registries that are not {@link ServiceDefinitionRegistryImpl}, which may have service
+     * definitions of any type, in order.
+     */
+    private final ServiceDefinitionRegistry[] otherRegistries;
 
     /**
      * Constructs a new {@link ServiceDefinitionRegistryComposite} from the given list of
@@ -31,7 +62,112 @@ public final class ServiceDefinitionRegistryComposite extends AbstractServiceDef
 
         Preconditions.requireNonNull(serviceDefinitionRegistries, "serviceDefinitionRegistries");
 
-        this.serviceDefinitionRegistries = List.copyOf(serviceDefinitionRegistries);
+        final List<ServiceDefinitionRegistry> flattened = new ArrayList<>();
+        final List<ServiceDefinitionRegistryImpl> adjacent = new ArrayList<>();
+
+        for (final ServiceDefinitionRegistry registry : List.copyOf(serviceDefinitionRegistries)) {
+            if (registry instanceof final ServiceDefinitionRegistryComposite composite) {
+                for (final ServiceDefinitionRegistry child :
+                        composite.serviceDefinitionRegistries) {
+                    flatten(child, flattened, adjacent);
+                }
+            } else {
+                flatten(registry, flattened, adjacent);
+            }
+        }
+
+        if (!adjacent.isEmpty()) {
+            flattened.add(ServiceDefinitionRegistryImpl.merge(adjacent));
+        }
+
+        this.serviceDefinitionRegistries = flattened.toArray(new ServiceDefinitionRegistry[0]);
+        this.otherRegistries = flattened.stream()
+                .filter((registry) -> !(registry instanceof ServiceDefinitionRegistryImpl))
+                .toArray(ServiceDefinitionRegistry[]::new);
+        this.registriesByType = indexRegistriesByType(this.serviceDefinitionRegistries);
+    }
+
+    private static Map<Class<?>, ServiceDefinitionRegistry[]> indexRegistriesByType(
+            final ServiceDefinitionRegistry[] serviceDefinitionRegistries) {
+
+        assert serviceDefinitionRegistries != null;
+
+        final Set<Class<?>> types = new HashSet<>();
+
+        for (final ServiceDefinitionRegistry registry : serviceDefinitionRegistries) {
+            if (registry instanceof final ServiceDefinitionRegistryImpl impl) {
+                types.addAll(impl.getTypes());
+            }
+        }
+
+        final Map<Class<?>, ServiceDefinitionRegistry[]> registriesByType = new HashMap<>();
+
+        for (final Class<?> type : types) {
+            final List<ServiceDefinitionRegistry> registries = new ArrayList<>();
+            for (final ServiceDefinitionRegistry registry : serviceDefinitionRegistries) {
+                if (!(registry instanceof final ServiceDefinitionRegistryImpl impl) ||
+                        impl.hasServiceDefinitions(type)) {
+                    registries.add(registry);
+                }
+            }
+            registriesByType.put(type, registries.toArray(new ServiceDefinitionRegistry[0]));
+        }
+
+        return Map.copyOf(registriesByType);
+    }
+
+    /**
+     * Gets the registries that may have service definitions of the specified type, in order.
+     */
+    private ServiceDefinitionRegistry[] getRegistries(final Class<?> type) {
+
+        assert type != null;
+
+        final ServiceDefinitionRegistry[] registries = registriesByType.get(type);
+
+        return registries == null ? otherRegistries : registries;
+    }
+
+    private static void flatten(final ServiceDefinitionRegistry registry,
+                                final List<ServiceDefinitionRegistry> flattened,
+                                final List<ServiceDefinitionRegistryImpl> adjacent) {
+
+        if (registry instanceof final ServiceDefinitionRegistryImpl impl) {
+            adjacent.add(impl);
+            return;
+        }
+
+        if (!adjacent.isEmpty()) {
+            flattened.add(ServiceDefinitionRegistryImpl.merge(adjacent));
+            adjacent.clear();
+        }
+
+        flattened.add(registry);
+    }
+
+    @Override
+    public <T> ServiceDefinition<T> findServiceDefinition(final Class<T> type) {
+
+        Preconditions.requireNonNull(type, "type");
+
+        if (serviceDefinitionRegistries.length == 1 &&
+                serviceDefinitionRegistries[0] instanceof ServiceDefinitionRegistryImpl) {
+            return serviceDefinitionRegistries[0].findServiceDefinition(type);
+        }
+
+        return super.findServiceDefinition(type);
+    }
+
+    @Override
+    public <T> @Nullable ServiceDefinition<T> findServiceDefinitionOrNull(final Class<T> type) {
+
+        Preconditions.requireNonNull(type, "type");
+
+        if (serviceDefinitionRegistries.length == 1) {
+            return serviceDefinitionRegistries[0].findServiceDefinitionOrNull(type);
+        }
+
+        return super.findServiceDefinitionOrNull(type);
     }
 
     @Override
@@ -39,9 +175,68 @@ public final class ServiceDefinitionRegistryComposite extends AbstractServiceDef
 
         Preconditions.requireNonNull(type, "type");
 
-        return serviceDefinitionRegistries
-                .stream()
-                .flatMap((registry) -> registry.findServiceDefinitions(type).stream())
-                .toList();
+        return findAllServiceDefinitions(
+                getRegistries(type),
+                (registry) -> registry.findServiceDefinitions(type));
+    }
+
+    @Override
+    public <T> List<ServiceDefinition<T>> findServiceDefinitions(final Class<T> type,
+                                                                 final String name) {
+
+        Preconditions.requireNonNull(type, "type");
+        Preconditions.requireNonNull(name, "name");
+
+        return findAllServiceDefinitions(
+                getRegistries(type),
+                (registry) -> registry.findServiceDefinitions(type, name));
+    }
+
+    @Override
+    public <T> List<ServiceDefinition<T>> findGenericServiceDefinitions(final TypeToken<T> type) {
+
+        Preconditions.requireNonNull(type, "type");
+
+        // Service definitions of parameterized types are indexed by their raw type
+        return findAllServiceDefinitions(
+                getRegistries(type.getRawType()),
+                (registry) -> registry.findGenericServiceDefinitions(type));
+    }
+
+    /**
+     * Merges the service definitions found by the specified lookup in each of the specified
+     * registries, in order.
+     */
+    private static <T> List<ServiceDefinition<T>> findAllServiceDefinitions(
+            final ServiceDefinitionRegistry[] registries,
+            final Function<ServiceDefinitionRegistry, List<ServiceDefinition<T>>> lookup) {
+
+        assert registries != null;
+        assert lookup != null;
+
+        List<ServiceDefinition<T>> found = List.of();
+        List<ServiceDefinition<T>> merged = null;
+
+        for (final ServiceDefinitionRegistry registry : registries) {
+            final List<ServiceDefinition<T>> serviceDefinitions = lookup.apply(registry);
+
+            if (serviceDefinitions.isEmpty()) {
+                continue;
+            }
+
+            if (found.isEmpty()) {
+                // Already unmodifiable, so if only one registry has the type, no copy is required
+                found = serviceDefinitions;
+                continue;
+            }
+
+            if (merged == null) {
+                merged = new ArrayList<>(found);
+            }
+
+            merged.addAll(serviceDefinitions);
+        }
+
+        return merged == null ? found : Collections.unmodifiableList(merged);
     }
 }
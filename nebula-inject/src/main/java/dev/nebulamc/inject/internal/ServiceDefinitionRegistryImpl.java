@@ -2,13 +2,22 @@ package dev.nebulamc.inject.internal;
 
 import dev.nebulamc.inject.ServiceDefinition;
 import dev.nebulamc.inject.ServiceDefinitionRegistry;
+import dev.nebulamc.inject.TypeToken;
+import dev.nebulamc.inject.internal.util.ImmutableMultimap;
 import dev.nebulamc.inject.internal.util.Multimap;
 import dev.nebulamc.inject.internal.util.Preconditions;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 
+import java.lang.reflect.Type;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * The default implementation of {@link ServiceDefinitionRegistry}, used by
@@ -19,7 +28,28 @@ import java.util.List;
 @NullMarked
 public final class ServiceDefinitionRegistryImpl extends AbstractServiceDefinitionRegistry {
 
-    private final Multimap<Class<?>, ServiceDefinition<?>> serviceDefinitions;
+    private final ImmutableMultimap<Class<?>, ServiceDefinition<?>> serviceDefinitions;
+
+    /**
+     * The {@linkplain ServiceDefinition#getName() named} service definitions, indexed by both
+     * their type and name, or {@code null} if the registry has not been looked up by name yet.
+     * <p>
+     * Indexed on the first lookup by name, so registries that are only looked up by type never
+     * ask for names. Indexing is idempotent, so threads racing to index it are harmless.
+     */
+    private volatile @Nullable ImmutableMultimap<ServiceKey, ServiceDefinition<?>>
+            namedServiceDefinitions;
+
+    /**
+     * The service definitions of each parameterized type that a service definition has as its
+     * {@linkplain ServiceDefinition#getGenericType() generic type}, including the service
+     * definitions of the raw type that are not parameterized, or {@code null} if the registry has
+     * not been looked up by parameterized type yet.
+     * <p>
+     * Indexed on the first lookup by parameterized type, like {@link #namedServiceDefinitions}.
+     */
+    private volatile @Nullable ImmutableMultimap<Type, ServiceDefinition<?>>
+            genericServiceDefinitions;
 
     /**
      * Constructs a new {@link ServiceDefinitionRegistryImpl} using the given service definitions.
@@ -32,7 +62,136 @@ public final class ServiceDefinitionRegistryImpl extends AbstractServiceDefiniti
 
         Preconditions.requireNonNull(serviceDefinitions, "serviceDefinitions");
 
-        this.serviceDefinitions = new Multimap<>(serviceDefinitions);
+        this.serviceDefinitions = ImmutableMultimap.copyOf(serviceDefinitions);
+    }
+
+    private ImmutableMultimap<ServiceKey, ServiceDefinition<?>> indexNamedServiceDefinitions() {
+
+        final Multimap<ServiceKey, ServiceDefinition<?>> namedServiceDefinitions = new Multimap<>();
+
+        for (final Class<?> type : serviceDefinitions.keySet()) {
+            for (final ServiceDefinition<?> serviceDefinition : serviceDefinitions.get(type)) {
+                final String name = serviceDefinition.getName();
+                if (name != null) {
+                    namedServiceDefinitions.add(new ServiceKey(type, name), serviceDefinition);
+                }
+            }
+        }
+
+        return ImmutableMultimap.copyOf(namedServiceDefinitions);
+    }
+
+    private ImmutableMultimap<Type, ServiceDefinition<?>> indexGenericServiceDefinitions() {
+
+        final Multimap<Type, ServiceDefinition<?>> genericServiceDefinitions = new Multimap<>();
+
+        for (final Class<?> type : serviceDefinitions.keySet()) {
+            final List<ServiceDefinition<?>> definitions = serviceDefinitions.get(type);
+            final Type[] genericTypes = new Type[definitions.size()];
+            final Set<Type> parameterizedTypes = new LinkedHashSet<>();
+
+            for (int i = 0; i < genericTypes.length; i++) {
+                // The service definitions of a type may include those of its subtypes
+                genericTypes[i] = Types.getGenericType(definitions.get(i), type);
+                if (genericTypes[i] != type) {
+                    parameterizedTypes.add(genericTypes[i]);
+                }
+            }
+
+            for (int i = 0; i < genericTypes.length; i++) {
+                if (genericTypes[i] != type) {
+                    genericServiceDefinitions.add(genericTypes[i], definitions.get(i));
+                    continue;
+                }
+                // Not parameterized, so a service definition of every parameterized type
+                for (final Type parameterizedType : parameterizedTypes) {
+                    genericServiceDefinitions.add(parameterizedType, definitions.get(i));
+                }
+            }
+        }
+
+        return ImmutableMultimap.copyOf(genericServiceDefinitions);
+    }
+
+    /**
+     * Merges the given registries into a single registry.
+     * <p>
+     * The service definitions of each type are in the same order as the registries.
+     *
+     * @param serviceDefinitionRegistries the registries to merge
+     * @return the merged registry
+     */
+    static ServiceDefinitionRegistryImpl merge(
+            final List<ServiceDefinitionRegistryImpl> serviceDefinitionRegistries) {
+
+        assert serviceDefinitionRegistries != null;
+
+        if (serviceDefinitionRegistries.size() == 1) {
+            return serviceDefinitionRegistries.get(0);
+        }
+
+        final Multimap<Class<?>, ServiceDefinition<?>> serviceDefinitions = new Multimap<>();
+
+        for (final ServiceDefinitionRegistryImpl registry : serviceDefinitionRegistries) {
+            for (final Class<?> type : registry.serviceDefinitions.keySet()) {
+                for (final ServiceDefinition<?> serviceDefinition :
+                        registry.serviceDefinitions.get(type)) {
+                    serviceDefinitions.add(type, serviceDefinition);
+                }
+            }
+        }
+
+        return new ServiceDefinitionRegistryImpl(serviceDefinitions);
+    }
+
+    /**
+     * Gets the types that this registry has service definitions of.
+     *
+     * @return an unmodifiable set of the types
+     */
+    Set<Class<?>> getTypes() {
+
+        return serviceDefinitions.keySet();
+    }
+
+    /**
+     * Determines whether this registry has service definitions of the specified type.
+     *
+     * @param type the type
+     * @return {@code true} if this registry has service definitions of the type, otherwise
+     * {@code false}
+     */
+    boolean hasServiceDefinitions(final Class<?> type) {
+
+        assert type != null;
+
+        return serviceDefinitions.keySet().contains(type);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> ServiceDefinition<T> findServiceDefinition(final Class<T> type) {
+
+        Preconditions.requireNonNull(type, "type");
+
+        final ServiceDefinition<T> serviceDefinition =
+                (ServiceDefinition<T>) serviceDefinitions.getOnly(type);
+
+        if (serviceDefinition != null) {
+            return serviceDefinition;
+        }
+
+        // Throws the exception for no or multiple service definitions
+        return super.findServiceDefinition(type);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> @Nullable ServiceDefinition<T> findServiceDefinitionOrNull(final Class<T> type) {
+
+        Preconditions.requireNonNull(type, "type");
+
+        return (ServiceDefinition<T>) serviceDefinitions.getOnly(type);
     }
 
     @SuppressWarnings({"unchecked", "rawtypes"})
@@ -41,10 +200,59 @@ public final class ServiceDefinitionRegistryImpl extends AbstractServiceDefiniti
 
         Preconditions.requireNonNull(type, "type");
 
-        // More performant than List.copyOf() and List.of() due to not requiring a copy of the list
-        // And Collections.emptyList() is optimized by Collections.unmodifiableList()
-        return (List) Collections.unmodifiableList(
-                serviceDefinitions.getOrDefault(type, Collections.emptyList()));
+        // Already unmodifiable, so no copy is required
+        return (List) serviceDefinitions.get(type);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @Override
+    public <T> List<ServiceDefinition<T>> findServiceDefinitions(final Class<T> type,
+                                                                 final String name) {
+
+        Preconditions.requireNonNull(type, "type");
+        Preconditions.requireNonNull(name, "name");
+
+        ImmutableMultimap<ServiceKey, ServiceDefinition<?>> namedServiceDefinitions =
+                this.namedServiceDefinitions;
+
+        if (namedServiceDefinitions == null) {
+            namedServiceDefinitions = indexNamedServiceDefinitions();
+            this.namedServiceDefinitions = namedServiceDefinitions;
+        }
+
+        return (List) namedServiceDefinitions.get(new ServiceKey(type, name));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @Override
+    public <T> List<ServiceDefinition<T>> findGenericServiceDefinitions(final TypeToken<T> type) {
+
+        Preconditions.requireNonNull(type, "type");
+
+        if (!type.isParameterized()) {
+            return (List) serviceDefinitions.get(type.getRawType());
+        }
+
+        ImmutableMultimap<Type, ServiceDefinition<?>> genericServiceDefinitions =
+                this.genericServiceDefinitions;
+
+        if (genericServiceDefinitions == null) {
+            genericServiceDefinitions = indexGenericServiceDefinitions();
+            this.genericServiceDefinitions = genericServiceDefinitions;
+        }
+
+        final List<ServiceDefinition<?>> parameterizedServiceDefinitions =
+                genericServiceDefinitions.get(type.getType());
+
+        if (!parameterizedServiceDefinitions.isEmpty()) {
+            return (List) parameterizedServiceDefinitions;
+        }
+
+        // No service definitions of the parameterized type, but there may be ones of its raw type
+        return (List) serviceDefinitions.get(type.getRawType())
+                .stream()
+                .filter((serviceDefinition) -> Types.isServiceOf(serviceDefinition, type))
+                .toList();
     }
 
     /**
@@ -53,17 +261,21 @@ public final class ServiceDefinitionRegistryImpl extends AbstractServiceDefiniti
      */
     public static final class BuilderImpl implements Builder {
 
-        private final Multimap<Class<?>, ServiceDefinition<?>> serviceDefinitions =
-                new Multimap<>();
+        /**
+         * The service definitions added to this builder, in the order they were added.
+         */
+        private final List<ServiceDefinition<?>> serviceDefinitions = new ArrayList<>();
         private final List<ServiceDefinitionRegistry> serviceDefinitionRegistries =
                 new ArrayList<>();
 
+        private boolean indexSupertypes;
+
         @Override
         public Builder serviceDefinition(final ServiceDefinition<?> serviceDefinition) {
 
             Preconditions.requireNonNull(serviceDefinition, "serviceDefinition");
 
-            serviceDefinitions.add(serviceDefinition.getServiceType(), serviceDefinition);
+            serviceDefinitions.add(serviceDefinition);
 
             return this;
         }
@@ -79,15 +291,80 @@ public final class ServiceDefinitionRegistryImpl extends AbstractServiceDefiniti
             return this;
         }
 
+        @Override
+        public Builder indexSupertypes(final boolean indexSupertypes) {
+
+            this.indexSupertypes = indexSupertypes;
+
+            return this;
+        }
+
         @Override
         public ServiceDefinitionRegistry build() {
 
             final List<ServiceDefinitionRegistry> serviceDefinitionRegistries =
                     new ArrayList<>(this.serviceDefinitionRegistries);
 
-            serviceDefinitionRegistries.add(new ServiceDefinitionRegistryImpl(serviceDefinitions));
+            serviceDefinitionRegistries.add(new ServiceDefinitionRegistryImpl(
+                    indexSupertypes ? indexBySupertypes() : indexByType()));
 
             return new ServiceDefinitionRegistryComposite(serviceDefinitionRegistries);
         }
+
+        private Multimap<Class<?>, ServiceDefinition<?>> indexByType() {
+
+            final Multimap<Class<?>, ServiceDefinition<?>> serviceDefinitions = new Multimap<>();
+
+            for (final ServiceDefinition<?> serviceDefinition : this.serviceDefinitions) {
+                serviceDefinitions.add(serviceDefinition.getServiceType(), serviceDefinition);
+            }
+
+            return serviceDefinitions;
+        }
+
+        private Multimap<Class<?>, ServiceDefinition<?>> indexBySupertypes() {
+
+            final Multimap<Class<?>, ServiceDefinition<?>> serviceDefinitions = new Multimap<>();
+            // Service definitions of the same type share their supertypes
+            final Map<Class<?>, Set<Class<?>>> supertypes = new HashMap<>();
+
+            for (final ServiceDefinition<?> serviceDefinition : this.serviceDefinitions) {
+                final Set<Class<?>> types = supertypes.computeIfAbsent(
+                        serviceDefinition.getServiceType(),
+                        BuilderImpl::findSupertypes);
+                for (final Class<?> type : types) {
+                    serviceDefinitions.add(type, serviceDefinition);
+                }
+            }
+
+            return serviceDefinitions;
+        }
+
+        /**
+         * Finds the specified type and all of its superclasses and interfaces, other than
+         * {@link Object}.
+         */
+        private static Set<Class<?>> findSupertypes(final Class<?> type) {
+
+            assert type != null;
+
+            final Set<Class<?>> supertypes = new LinkedHashSet<>();
+            final Deque<Class<?>> remaining = new ArrayDeque<>();
+            remaining.add(type);
+
+            while (!remaining.isEmpty()) {
+                final Class<?> supertype = remaining.poll();
+                if (supertype == Object.class || !supertypes.add(supertype)) {
+                    continue;
+                }
+                final Class<?> superclass = supertype.getSuperclass();
+                if (superclass != null) {
+                    remaining.add(superclass);
+                }
+                remaining.addAll(List.of(supertype.getInterfaces()));
+            }
+
+            return supertypes;
+        }
     }
 }
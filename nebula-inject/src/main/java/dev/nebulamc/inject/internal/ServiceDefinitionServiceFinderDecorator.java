@@ -4,10 +4,12 @@ import org.jspecify.annotations.NullMarked;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import dev.nebulamc.inject.NoUniqueServiceException;
 import dev.nebulamc.inject.ServiceDefinition;
 import dev.nebulamc.inject.ServiceFinder;
+import dev.nebulamc.inject.TypeToken;
 import dev.nebulamc.inject.internal.util.Preconditions;
 
 /**
@@ -17,7 +19,7 @@ import dev.nebulamc.inject.internal.util.Preconditions;
  * @author Sparky983
  */
 @NullMarked
-final class ServiceDefinitionServiceFinderDecorator implements ServiceFinder {
+final class ServiceDefinitionServiceFinderDecorator implements ScopedServiceFinder {
 
     private final ServiceFinder serviceFinder;
     private final ServiceDefinition<?> serviceDefinition;
@@ -47,6 +49,57 @@ final class ServiceDefinitionServiceFinderDecorator implements ServiceFinder {
         }
     }
 
+    @Override
+    public <T> T findService(final Class<T> serviceType, final String name) {
+
+        Preconditions.requireNonNull(serviceType, "serviceType");
+        Preconditions.requireNonNull(name, "name");
+
+        try {
+            return serviceFinder.findService(serviceType, name);
+        } catch (final NoUniqueServiceException e) {
+            throw new NoUniqueServiceException(
+                    "Service of type " + serviceDefinition.getServiceType() +
+                            " required a service of type " + serviceType +
+                            " named \"" + name + "\" but there were either none or multiple", e);
+        }
+    }
+
+    @Override
+    public <T> T findGenericService(final TypeToken<T> serviceType) {
+
+        Preconditions.requireNonNull(serviceType, "serviceType");
+
+        try {
+            return serviceFinder.findGenericService(serviceType);
+        } catch (final NoUniqueServiceException e) {
+            throw new NoUniqueServiceException(
+                    "Service of type " + serviceDefinition.getServiceType() +
+                            " required a service of type " + serviceType +
+                            " but there were either none or multiple", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> Supplier<T> findLazyService(final TypeToken<T> serviceType) {
+
+        Preconditions.requireNonNull(serviceType, "serviceType");
+
+        // Found through this decorator, so the supplier's exceptions are specific too
+        return (Supplier<T>) Dependency.lazy(serviceType).resolve(this);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> Supplier<T> findLazyService(final Class<T> serviceType, final String name) {
+
+        Preconditions.requireNonNull(serviceType, "serviceType");
+        Preconditions.requireNonNull(name, "name");
+
+        return (Supplier<T>) Dependency.lazy(serviceType, name).resolve(this);
+    }
+
     @Override
     public <T> Optional<T> findOptionalService(final Class<T> serviceType) {
 
@@ -55,6 +108,15 @@ final class ServiceDefinitionServiceFinderDecorator implements ServiceFinder {
         return serviceFinder.findOptionalService(serviceType);
     }
 
+    @Override
+    public <T> Optional<T> findOptionalService(final Class<T> serviceType, final String name) {
+
+        Preconditions.requireNonNull(serviceType, "serviceType");
+        Preconditions.requireNonNull(name, "name");
+
+        return serviceFinder.findOptionalService(serviceType, name);
+    }
+
     @Override
     public <T> List<T> findServices(final Class<T> serviceType) {
 
@@ -62,4 +124,21 @@ final class ServiceDefinitionServiceFinderDecorator implements ServiceFinder {
 
         return serviceFinder.findServices(serviceType);
     }
+
+    @Override
+    public <T> List<T> findGenericServices(final TypeToken<T> serviceType) {
+
+        Preconditions.requireNonNull(serviceType, "serviceType");
+
+        return serviceFinder.findGenericServices(serviceType);
+    }
+
+    @Override
+    public boolean isSingleton(final Class<?> serviceType) {
+
+        Preconditions.requireNonNull(serviceType, "serviceType");
+
+        return !(serviceFinder instanceof final ScopedServiceFinder scopedServiceFinder) ||
+                scopedServiceFinder.isSingleton(serviceType);
+    }
 }
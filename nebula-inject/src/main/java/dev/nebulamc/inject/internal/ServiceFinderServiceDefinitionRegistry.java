@@ -7,8 +7,10 @@ import dev.nebulamc.inject.ServiceException;
 import dev.nebulamc.inject.ServiceFinder;
 import dev.nebulamc.inject.internal.util.Preconditions;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * A {@link ServiceDefinitionRegistry} of services found using another {@link ServiceFinder}.
@@ -39,11 +41,36 @@ public final class ServiceFinderServiceDefinitionRegistry implements ServiceDefi
 
         Preconditions.requireNonNull(type, "type");
 
+        final Optional<T> service;
+
         try {
-            return new SingletonServiceDefinition<>(type, serviceFinder.findService(type));
+            service = serviceFinder.findOptionalService(type);
         } catch (final ServiceException e) {
             throw new NoUniqueServiceException(e);
         }
+
+        if (service.isEmpty()) {
+            throw new NoUniqueServiceException(
+                    "No unique service of type \"" + type.getName() + "\" found");
+        }
+
+        return new SingletonServiceDefinition<>(type, service.get());
+    }
+
+    @Override
+    public <T> @Nullable ServiceDefinition<T> findServiceDefinitionOrNull(final Class<T> type) {
+
+        Preconditions.requireNonNull(type, "type");
+
+        final Optional<T> service;
+
+        try {
+            service = serviceFinder.findOptionalService(type);
+        } catch (final ServiceException e) {
+            return null;
+        }
+
+        return service.isEmpty() ? null : new SingletonServiceDefinition<>(type, service.get());
     }
 
     @Override
@@ -61,4 +88,19 @@ public final class ServiceFinderServiceDefinitionRegistry implements ServiceDefi
             return List.of();
         }
     }
+
+    @Override
+    public <T> List<ServiceDefinition<T>> findServiceDefinitions(final Class<T> type,
+                                                                 final String name) {
+
+        Preconditions.requireNonNull(type, "type");
+        Preconditions.requireNonNull(name, "name");
+
+        // Only an absent service is turned into no service definitions, so that exceptions while
+        // creating the service are not mistaken for it being absent
+        return serviceFinder.findOptionalService(type, name)
+                .<List<ServiceDefinition<T>>>map((service) ->
+                        List.of(new SingletonServiceDefinition<>(type, name, service)))
+                .orElse(List.of());
+    }
 }
@@ -0,0 +1,522 @@
+package dev.nebulamc.inject.internal;
+
+import dev.nebulamc.inject.Container;
+import dev.nebulamc.inject.Factory;
+import dev.nebulamc.inject.Service;
+import dev.nebulamc.inject.internal.util.Preconditions;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToLongFunction;
+import java.util.jar.JarEntry;
+import java.util.zip.CRC32;
+
+/**
+ * An index of the injectable constructors of concrete classes and the {@link Service @Service}
+ * methods of {@link Factory factories}, which can be written to and read from a snapshot file so
+ * they are not discovered again on the next start.
+ * <p>
+ * Each entry is stored with a fingerprint of its class file, so any change to a class invalidates
+ * its entry and its members are discovered again. Class files are not read to fingerprint them:
+ * the fingerprint of a class file in a directory is its size and modification time, and the
+ * fingerprint of a class file in a jar file is the CRC-32 stored in the jar's central directory.
+ * Classes without class files, such as hidden classes, are never indexed.
+ * <p>
+ * Only the entries used since the index was read are written, so entries of classes that are no
+ * longer used are removed.
+ * <p>
+ * The snapshot is a big-endian binary file of the following format, where strings are UTF-8
+ * prefixed by their length as an unsigned short:
+ * <pre>
+ * int     magic ("NIDX")
+ * short   version
+ * int     entry count
+ * entries {
+ *     string class name
+ *     long   fingerprint
+ *     byte   kind (constructor or service methods)
+ *     short  member count
+ *     members {
+ *         string name ("&lt;init&gt;" for constructors)
+ *         short  parameter count
+ *         string[] parameter type names
+ *     }
+ * }
+ * </pre>
+ *
+ * @author Sparky983
+ * @see Container#builder(Path)
+ */
+@NullMarked
+final class ServiceIndex {
+
+    /**
+     * The fingerprint of classes whose class files could not be found.
+     */
+    static final long NO_FINGERPRINT = -1;
+
+    private static final int MAGIC = 0x4E494458;
+    private static final short VERSION = 1;
+
+    private static final byte CONSTRUCTOR = 0;
+    private static final byte SERVICE_METHODS = 1;
+
+    private static final String CONSTRUCTOR_NAME = "<init>";
+
+    /**
+     * A map of class name to the entries read from the snapshot.
+     */
+    private final Map<String, Entry> snapshotEntries;
+
+    /**
+     * A map of class name to the entries used since the snapshot was read.
+     */
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final ToLongFunction<Class<?>> fingerprinter;
+
+    /**
+     * Whether an entry was discovered since the snapshot was read.
+     */
+    private volatile boolean discovered;
+
+    private ServiceIndex(final Map<String, Entry> snapshotEntries,
+                         final ToLongFunction<Class<?>> fingerprinter) {
+
+        this.snapshotEntries = snapshotEntries;
+        this.fingerprinter = fingerprinter;
+    }
+
+    /**
+     * Reads the index from the specified snapshot file by memory-mapping it.
+     * <p>
+     * The index is empty if the file does not exist, cannot be read or is not a snapshot of this
+     * version, as the snapshot is only used to skip discovery.
+     *
+     * @param snapshot the snapshot file
+     * @return the index
+     * @throws NullPointerException if {@code snapshot} is {@code null}.
+     */
+    static ServiceIndex read(final Path snapshot) {
+
+        return read(snapshot, ServiceIndex::fingerprint);
+    }
+
+    /**
+     * Reads the index from the specified snapshot file by memory-mapping it, using the specified
+     * function to fingerprint classes.
+     *
+     * @param snapshot the snapshot file
+     * @param fingerprinter the function that fingerprints classes, returning
+     * {@link #NO_FINGERPRINT} for classes that cannot be fingerprinted
+     * @return the index
+     * @throws NullPointerException if {@code snapshot} or {@code fingerprinter} are {@code null}.
+     * @see #read(Path)
+     */
+    static ServiceIndex read(final Path snapshot, final ToLongFunction<Class<?>> fingerprinter) {
+
+        Preconditions.requireNonNull(snapshot, "snapshot");
+        Preconditions.requireNonNull(fingerprinter, "fingerprinter");
+
+        if (!Files.isRegularFile(snapshot)) {
+            return new ServiceIndex(Map.of(), fingerprinter);
+        }
+
+        try (final FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            final ByteBuffer buffer =
+                    channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new ServiceIndex(readEntries(buffer), fingerprinter);
+        } catch (final IOException | RuntimeException e) {
+            // BufferUnderflowException or IllegalArgumentException if the snapshot is corrupt
+            return new ServiceIndex(Map.of(), fingerprinter);
+        }
+    }
+
+    private static Map<String, Entry> readEntries(final ByteBuffer buffer) {
+
+        assert buffer != null;
+
+        if (buffer.getInt() != MAGIC || buffer.getShort() != VERSION) {
+            return Map.of();
+        }
+
+        final int entryCount = buffer.getInt();
+        final Map<String, Entry> entries = new HashMap<>();
+
+        for (int i = 0; i < entryCount; i++) {
+            final String className = readString(buffer);
+            final long fingerprint = buffer.getLong();
+            final byte kind = buffer.get();
+            final String[][] members = new String[Short.toUnsignedInt(buffer.getShort())][];
+
+            for (int j = 0; j < members.length; j++) {
+                final String name = readString(buffer);
+                members[j] = new String[Short.toUnsignedInt(buffer.getShort()) + 1];
+                members[j][0] = name;
+                for (int k = 1; k < members[j].length; k++) {
+                    members[j][k] = readString(buffer);
+                }
+            }
+
+            entries.put(className, new Entry(fingerprint, kind, members));
+        }
+
+        return Map.copyOf(entries);
+    }
+
+    private static String readString(final ByteBuffer buffer) {
+
+        assert buffer != null;
+
+        final byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Fingerprints the specified class by the size and modification time of its class file, or the
+     * CRC-32 of the class file if it is in a jar file.
+     * <p>
+     * Class files that are neither in a directory nor a jar file are read to compute their CRC-32.
+     *
+     * @param type the class
+     * @return the fingerprint, or {@link #NO_FINGERPRINT} if the class file could not be found
+     */
+    static long fingerprint(final Class<?> type) {
+
+        assert type != null;
+
+        if (type.isHidden()) {
+            return NO_FINGERPRINT;
+        }
+
+        final String name = type.getName();
+        final URL classFile =
+                type.getResource(name.substring(name.lastIndexOf('.') + 1) + ".class");
+
+        if (classFile == null) {
+            return NO_FINGERPRINT;
+        }
+
+        try {
+            if (classFile.getProtocol().equals("file")) {
+                final BasicFileAttributes attributes =
+                        Files.readAttributes(Path.of(classFile.toURI()), BasicFileAttributes.class);
+                return 31 * attributes.lastModifiedTime().toMillis() + attributes.size();
+            }
+
+            final URLConnection connection = classFile.openConnection();
+
+            if (connection instanceof final JarURLConnection jarConnection) {
+                final JarEntry entry = jarConnection.getJarEntry();
+                if (entry.getCrc() != -1) {
+                    return entry.getCrc();
+                }
+            }
+
+            try (final InputStream inputStream = connection.getInputStream()) {
+                final CRC32 crc = new CRC32();
+                crc.update(inputStream.readAllBytes());
+                return crc.getValue();
+            }
+        } catch (final IOException | URISyntaxException | IllegalArgumentException e) {
+            return NO_FINGERPRINT;
+        }
+    }
+
+    /**
+     * Finds the injectable constructor of the specified class, using the index if the class has
+     * not changed since it was indexed.
+     *
+     * @param implementation the class
+     * @return the injectable constructor
+     * @throws IllegalArgumentException if the class does not have an
+     * <a href="package-summary.html#injectable-constructors">injectable constructor</a>.
+     * @throws NullPointerException if {@code implementation} is {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    <T> Constructor<? extends T> findInjectableConstructor(
+            final Class<? extends T> implementation) {
+
+        Preconditions.requireNonNull(implementation, "implementation");
+
+        final long fingerprint = fingerprinter.applyAsLong(implementation);
+        final String[][] members = findMembers(implementation, fingerprint, CONSTRUCTOR);
+
+        if (members != null && members.length == 1) {
+            try {
+                return (Constructor<? extends T>) implementation.getDeclaredConstructor(
+                        loadParameterTypes(members[0], implementation.getClassLoader()));
+            } catch (final ReflectiveOperationException | LinkageError e) {
+                // Discovered again below
+            }
+        }
+
+        final Constructor<? extends T> constructor =
+                InjectServiceDefinition.findInjectableConstructor(implementation);
+        index(implementation, fingerprint, CONSTRUCTOR, List.of(constructor));
+        return constructor;
+    }
+
+    /**
+     * Finds the {@link Service @Service} methods of the specified factory class, using the index
+     * if the class has not changed since it was indexed.
+     *
+     * @param factoryClass the factory class
+     * @return an unmodifiable list of the service methods
+     * @throws NullPointerException if {@code factoryClass} is {@code null}.
+     */
+    List<Method> findServiceMethods(final Class<?> factoryClass) {
+
+        Preconditions.requireNonNull(factoryClass, "factoryClass");
+
+        final long fingerprint = fingerprinter.applyAsLong(factoryClass);
+        final String[][] members = findMembers(factoryClass, fingerprint, SERVICE_METHODS);
+
+        if (members != null) {
+            try {
+                final Method[] methods = new Method[members.length];
+                for (int i = 0; i < methods.length; i++) {
+                    methods[i] = factoryClass.getDeclaredMethod(
+                            members[i][0],
+                            loadParameterTypes(members[i], factoryClass.getClassLoader()));
+                }
+                return List.of(methods);
+            } catch (final ReflectiveOperationException | LinkageError e) {
+                // Discovered again below
+            }
+        }
+
+        final List<Method> methods =
+                FactoryServiceDefinitionRegistryFactoryImpl.findServiceMethods(factoryClass);
+        index(factoryClass, fingerprint, SERVICE_METHODS, methods);
+        return methods;
+    }
+
+    /**
+     * Finds the members of the entry of the specified class read from the snapshot, and marks the
+     * entry as used.
+     *
+     * @return the members, or {@code null} if there is no entry of the specified kind or the class
+     * has changed since it was indexed
+     */
+    private String @Nullable [][] findMembers(final Class<?> type,
+                                              final long fingerprint,
+                                              final byte kind) {
+
+        assert type != null;
+
+        final Entry entry = snapshotEntries.get(type.getName());
+
+        if (entry == null ||
+                entry.kind != kind ||
+                fingerprint == NO_FINGERPRINT ||
+                entry.fingerprint != fingerprint) {
+            return null;
+        }
+
+        entries.put(type.getName(), entry);
+        return entry.members;
+    }
+
+    private void index(final Class<?> type,
+                       final long fingerprint,
+                       final byte kind,
+                       final List<? extends Executable> executables) {
+
+        assert type != null;
+        assert executables != null;
+
+        if (fingerprint == NO_FINGERPRINT) {
+            return;
+        }
+
+        final String[][] members = new String[executables.size()][];
+
+        for (int i = 0; i < members.length; i++) {
+            final Executable executable = executables.get(i);
+            final Class<?>[] parameterTypes = executable.getParameterTypes();
+            members[i] = new String[parameterTypes.length + 1];
+            members[i][0] = executable instanceof Constructor<?>
+                    ? CONSTRUCTOR_NAME
+                    : executable.getName();
+            for (int j = 0; j < parameterTypes.length; j++) {
+                members[i][j + 1] = parameterTypes[j].getName();
+            }
+        }
+
+        entries.put(type.getName(), new Entry(fingerprint, kind, members));
+        discovered = true;
+    }
+
+    private static Class<?>[] loadParameterTypes(final String[] member,
+                                                 final @Nullable ClassLoader classLoader)
+            throws ClassNotFoundException {
+
+        assert member != null;
+
+        final Class<?>[] parameterTypes = new Class<?>[member.length - 1];
+
+        for (int i = 0; i < parameterTypes.length; i++) {
+            parameterTypes[i] = loadClass(member[i + 1], classLoader);
+        }
+
+        return parameterTypes;
+    }
+
+    private static Class<?> loadClass(final String name, final @Nullable ClassLoader classLoader)
+            throws ClassNotFoundException {
+
+        assert name != null;
+
+        return switch (name) {
+            case "boolean" -> boolean.class;
+            case "byte" -> byte.class;
+            case "short" -> short.class;
+            case "char" -> char.class;
+            case "int" -> int.class;
+            case "long" -> long.class;
+            case "float" -> float.class;
+            case "double" -> double.class;
+            default -> Class.forName(name, false, classLoader);
+        };
+    }
+
+    /**
+     * Determines whether any entries were read from the snapshot.
+     *
+     * @return {@code true} if the snapshot had entries, otherwise {@code false}
+     */
+    boolean hasSnapshotEntries() {
+
+        return !snapshotEntries.isEmpty();
+    }
+
+    /**
+     * Determines whether the index has changed since the snapshot was read, because an entry was
+     * discovered, or an entry of the snapshot was invalidated or not used.
+     *
+     * @return {@code true} if the index should be written, otherwise {@code false}
+     */
+    boolean isModified() {
+
+        return discovered || !entries.keySet().equals(snapshotEntries.keySet());
+    }
+
+    /**
+     * Writes the entries used since the snapshot was read to the specified snapshot file.
+     * <p>
+     * The snapshot is written to a temporary file that then replaces the snapshot, so a snapshot
+     * is never partially written.
+     *
+     * @param snapshot the snapshot file
+     * @throws IOException if an I/O error occurred.
+     * @throws NullPointerException if {@code snapshot} is {@code null}.
+     */
+    void write(final Path snapshot) throws IOException {
+
+        Preconditions.requireNonNull(snapshot, "snapshot");
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream output = new DataOutputStream(bytes);
+        final Map<String, Entry> entries = Map.copyOf(this.entries);
+
+        output.writeInt(MAGIC);
+        output.writeShort(VERSION);
+        output.writeInt(entries.size());
+
+        for (final Map.Entry<String, Entry> entry : entries.entrySet()) {
+            writeString(output, entry.getKey());
+            output.writeLong(entry.getValue().fingerprint);
+            output.writeByte(entry.getValue().kind);
+            output.writeShort(entry.getValue().members.length);
+
+            for (final String[] member : entry.getValue().members) {
+                writeString(output, member[0]);
+                output.writeShort(member.length - 1);
+                for (int i = 1; i < member.length; i++) {
+                    writeString(output, member[i]);
+                }
+            }
+        }
+
+        final Path absoluteSnapshot = snapshot.toAbsolutePath();
+        final Path temporary = Files.createTempFile(
+                absoluteSnapshot.getParent(),
+                absoluteSnapshot.getFileName().toString(),
+                ".tmp");
+
+        try {
+            Files.write(temporary, bytes.toByteArray());
+            try {
+                Files.move(temporary, absoluteSnapshot,
+                        StandardCopyOption.ATOMIC_MOVE,
+                        StandardCopyOption.REPLACE_EXISTING);
+            } catch (final AtomicMoveNotSupportedException e) {
+                Files.move(temporary, absoluteSnapshot, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private static void writeString(final DataOutputStream output, final String string)
+            throws IOException {
+
+        assert output != null;
+        assert string != null;
+
+        final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        output.writeShort(bytes.length);
+        output.write(bytes);
+    }
+
+    /**
+     * An indexed class.
+     */
+    private static final class Entry {
+
+        /**
+         * The fingerprint of the class when it was indexed.
+         */
+        final long fingerprint;
+
+        final byte kind;
+
+        /**
+         * The name followed by the parameter type names of each member.
+         */
+        final String[][] members;
+
+        Entry(final long fingerprint, final byte kind, final String[][] members) {
+
+            this.fingerprint = fingerprint;
+            this.kind = kind;
+            this.members = members;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package dev.nebulamc.inject.internal;
+
+import dev.nebulamc.inject.ServiceDefinition;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * The key of a {@linkplain ServiceDefinition#getName() named} service definition, used to index
+ * service definitions by both their type and name.
+ *
+ * @author Sparky983
+ */
+@NullMarked
+final class ServiceKey {
+
+    private final Class<?> serviceType;
+    private final String name;
+
+    /**
+     * Constructs a new {@link ServiceKey} for the specified service type and name.
+     *
+     * @param serviceType the service type
+     * @param name the name of the service
+     */
+    ServiceKey(final Class<?> serviceType, final String name) {
+
+        assert serviceType != null;
+        assert name != null;
+
+        this.serviceType = serviceType;
+        this.name = name;
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object obj) {
+
+        if (this == obj) {
+            return true;
+        }
+
+        return obj instanceof final ServiceKey key &&
+                serviceType.equals(key.serviceType) &&
+                name.equals(key.name);
+    }
+
+    @Override
+    public int hashCode() {
+
+        return 31 * serviceType.hashCode() + name.hashCode();
+    }
+
+    @Override
+    public String toString() {
+
+        return "ServiceKey[serviceType=" + serviceType.getName() + ", name=" + name + "]";
+    }
+}
@@ -0,0 +1,51 @@
+package dev.nebulamc.inject.internal;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * A Java Flight Recorder event recorded by {@link ContainerImpl#findServices(Class)}, spanning
+ * the time taken to find the services of a type, including creating them if they have not been
+ * cached.
+ * <p>
+ * Events are only created by {@link FlightRecorderEvents} while a recording has the event enabled,
+ * so finding services allocates nothing for them otherwise.
+ *
+ * @author Sparky983
+ */
+@NullMarked
+@Name("dev.nebulamc.inject.ServiceResolution")
+@Label("Service Resolution")
+@Category("Nebula Inject")
+@Description("Services of a type being found by a container")
+@StackTrace(false)
+final class ServiceResolutionEvent extends Event {
+
+    @Label("Service Type")
+    final Class<?> serviceType;
+
+    @Label("Cache Hit")
+    @Description("Whether the services were found in the container's singleton cache")
+    boolean cacheHit;
+
+    @Label("Delegated to Parent")
+    @Description("Whether the services were found by the parent container")
+    boolean parent;
+
+    /**
+     * Constructs a new {@link ServiceResolutionEvent} for the specified service type.
+     *
+     * @param serviceType the type of the services being found
+     */
+    ServiceResolutionEvent(final Class<?> serviceType) {
+
+        assert serviceType != null;
+
+        this.serviceType = serviceType;
+    }
+}
@@ -2,24 +2,34 @@ package dev.nebulamc.inject.internal;
 
 import dev.nebulamc.inject.NoUniqueServiceException;
 import dev.nebulamc.inject.Service;
-import dev.nebulamc.inject.ServiceDefinition;
 import dev.nebulamc.inject.ServiceException;
 import dev.nebulamc.inject.ServiceFinder;
 import dev.nebulamc.inject.internal.util.Preconditions;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.Parameter;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * A service definition for a {@link Service} method.
+ * <p>
+ * The service method is resolved to a {@link MethodHandle} bound to the factory once, when the
+ * definition is created, so creating a service performs no access checks and never mutates the
+ * shared {@link Method}.
  *
  * @author Sparky983
  * @param <T> the service type
  */
 @NullMarked
-final class ServiceServiceDefinition<T> implements ServiceDefinition<T> {
+final class ServiceServiceDefinition<T> implements DependentServiceDefinition<T> {
 
     /**
      * Cached method parameters so a new array doesn't need to be allocated by
@@ -27,9 +37,23 @@ final class ServiceServiceDefinition<T> implements ServiceDefinition<T> {
      */
     private final Parameter[] parameters;
 
-    private final Object factory;
+    /**
+     * The service method bound to the factory, adapted to take its arguments as an
+     * {@code Object[]} and return an {@code Object}.
+     */
+    private final MethodHandle serviceMethodHandle;
+
+    private final List<Dependency> dependencies;
     private final Method serviceMethod;
     private final ParameterResolver parameterResolver;
+    private final @Nullable String name;
+
+    /**
+     * Whether the parameters are resolved by their {@link #dependencies} rather than the
+     * {@link #parameterResolver}, which is only possible for {@link ParameterResolverImpl} as it
+     * resolves parameters the same way.
+     */
+    private final boolean resolvesDependencies;
 
     /**
      * Constructs a new {@link ServiceServiceDefinition} for the specified {@link Service} method.
@@ -40,6 +64,8 @@ final class ServiceServiceDefinition<T> implements ServiceDefinition<T> {
      * @throws ClassCastException if the service method is not a member of the factory's class.
      * @throws NullPointerException if the factory, service method or parameter resolver are
      * {@code null}.
+     * @throws ServiceException if the service method is not accessible to Nebula Inject or has a
+     * {@link dev.nebulamc.inject.Named Named} collection or array parameter.
      */
     ServiceServiceDefinition(final Object factory,
                              final Method serviceMethod,
@@ -54,10 +80,39 @@ final class ServiceServiceDefinition<T> implements ServiceDefinition<T> {
                     "The service method is not a member of the factory's class.");
         }
 
-        this.factory = factory;
         this.serviceMethod = serviceMethod;
         this.parameterResolver = parameterResolver;
+        this.name = Dependency.getName(serviceMethod);
         this.parameters = serviceMethod.getParameters();
+        this.dependencies = Arrays.stream(parameters).map(Dependency::of).toList();
+        this.resolvesDependencies = parameterResolver instanceof ParameterResolverImpl;
+        this.serviceMethodHandle = createServiceMethodHandle(factory, serviceMethod);
+    }
+
+    private static MethodHandle createServiceMethodHandle(final Object factory,
+                                                          final Method serviceMethod) {
+
+        assert factory != null;
+        assert serviceMethod != null;
+
+        try {
+            // Made accessible on a copy so the caller's Method is never mutated
+            final Method method = serviceMethod.getDeclaringClass()
+                    .getDeclaredMethod(serviceMethod.getName(), serviceMethod.getParameterTypes());
+            method.setAccessible(true);
+            MethodHandle handle = MethodHandles.lookup().unreflect(method);
+            if (!Modifier.isStatic(method.getModifiers())) {
+                handle = handle.bindTo(factory);
+            }
+            return handle
+                    .asSpreader(Object[].class, method.getParameterCount())
+                    .asType(MethodType.methodType(Object.class, Object[].class));
+        } catch (final RuntimeException e) {
+            // InaccessibleObjectException or SecurityException
+            throw new ServiceException("Unable to access service method " + serviceMethod, e);
+        } catch (final NoSuchMethodException | IllegalAccessException e) {
+            throw new AssertionError(e);
+        }
     }
 
     @SuppressWarnings("unchecked")
@@ -67,7 +122,24 @@ final class ServiceServiceDefinition<T> implements ServiceDefinition<T> {
         return (Class<T>) serviceMethod.getReturnType();
     }
 
-    @SuppressWarnings("unchecked")
+    @Override
+    public Type getGenericType() {
+
+        return serviceMethod.getGenericReturnType();
+    }
+
+    @Override
+    public @Nullable String getName() {
+
+        return name;
+    }
+
+    @Override
+    public List<Dependency> getDependencies() {
+
+        return dependencies;
+    }
+
     @Override
     public T createService(final ServiceFinder serviceFinder) {
 
@@ -76,26 +148,44 @@ final class ServiceServiceDefinition<T> implements ServiceDefinition<T> {
         final Object[] arguments = new Object[parameters.length];
 
         for (int i = 0; i < arguments.length; i++) {
-            arguments[i] = parameterResolver.resolveParameter(parameters[i], serviceFinder);
+            arguments[i] = resolvesDependencies
+                    ? dependencies.get(i).resolve(serviceFinder)
+                    : parameterResolver.resolveParameter(parameters[i], serviceFinder);
         }
 
-        serviceMethod.setAccessible(true);
+        return createService(arguments);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T createService(final Object[] arguments) {
+
+        Preconditions.requireNonNull(arguments, "arguments");
+
+        final Object event = FlightRecorderEvents.beginServiceCreation();
+
+        final T t;
 
         try {
-            final T t = (T) serviceMethod.invoke(factory, arguments);
-            if (t == null) {
-                throw new ServiceException("Service method " + serviceMethod + " returned null");
-            }
-            return t;
-        } catch (final InvocationTargetException e) {
-            if (e.getCause() instanceof final NoUniqueServiceException cause) {
-                throw cause;
-            }
-            throw new ServiceException(serviceMethod + " threw an exception", e.getCause());
-        } catch (final IllegalAccessException e) {
-            throw new AssertionError(e);
+            t = (T) (Object) serviceMethodHandle.invokeExact(arguments);
+        } catch (final NoUniqueServiceException e) {
+            throw e;
+        } catch (final Throwable e) {
+            throw new ServiceException(serviceMethod + " threw an exception", e);
         } finally {
-            serviceMethod.setAccessible(false);
+            if (event != null) {
+                FlightRecorderEvents.commitServiceCreation(
+                        event,
+                        serviceMethod.getReturnType(),
+                        serviceMethod,
+                        serviceMethod.getDeclaringClass());
+            }
         }
+
+        if (t == null) {
+            throw new ServiceException("Service method " + serviceMethod + " returned null");
+        }
+
+        return t;
     }
 }
@@ -4,9 +4,16 @@ import dev.nebulamc.inject.ServiceDefinition;
 import dev.nebulamc.inject.ServiceFinder;
 import dev.nebulamc.inject.internal.util.Preconditions;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.Objects;
 
 /**
  * A service definition for a singleton object.
+ * <p>
+ * Service definitions of the same object with the same type and name are equal, as they always
+ * provide the same service. This lets services found by name in a parent that is not a container
+ * implementation be cached once, even though each lookup creates a new service definition.
  *
  * @author Sparky983
  * @param <T> the service type
@@ -16,6 +23,7 @@ import org.jspecify.annotations.NullMarked;
 final class SingletonServiceDefinition<T> implements ServiceDefinition<T> {
 
     private final Class<T> serviceType;
+    private final @Nullable String name;
     private final T singleton;
 
     /**
@@ -27,10 +35,27 @@ final class SingletonServiceDefinition<T> implements ServiceDefinition<T> {
      */
     SingletonServiceDefinition(final Class<T> serviceType, final T singleton) {
 
+        this(serviceType, null, singleton);
+    }
+
+    /**
+     * Constructs a new {@link SingletonServiceDefinition} for the specified singleton object with
+     * the specified name.
+     *
+     * @param serviceType the service type
+     * @param name the name of the service, or {@code null} if the service is not named
+     * @param singleton the singleton object
+     * @throws NullPointerException if {@code singleton} or {@code serviceType} are {@code null}.
+     */
+    SingletonServiceDefinition(final Class<T> serviceType,
+                               final @Nullable String name,
+                               final T singleton) {
+
         Preconditions.requireNonNull(serviceType, "type");
         Preconditions.requireNonNull(singleton, "singleton");
 
         this.serviceType = serviceType;
+        this.name = name;
         this.singleton = singleton;
     }
 
@@ -40,6 +65,12 @@ final class SingletonServiceDefinition<T> implements ServiceDefinition<T> {
         return serviceType;
     }
 
+    @Override
+    public @Nullable String getName() {
+
+        return name;
+    }
+
     @Override
     public T createService(final ServiceFinder serviceFinder) {
 
@@ -47,4 +78,23 @@ final class SingletonServiceDefinition<T> implements ServiceDefinition<T> {
 
         return singleton;
     }
+
+    @Override
+    public boolean equals(final @Nullable Object obj) {
+
+        if (this == obj) {
+            return true;
+        }
+
+        return obj instanceof final SingletonServiceDefinition<?> serviceDefinition &&
+                singleton == serviceDefinition.singleton &&
+                serviceType.equals(serviceDefinition.serviceType) &&
+                Objects.equals(name, serviceDefinition.name);
+    }
+
+    @Override
+    public int hashCode() {
+
+        return 31 * serviceType.hashCode() + System.identityHashCode(singleton);
+    }
 }
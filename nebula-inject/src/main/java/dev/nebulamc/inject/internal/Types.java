@@ -0,0 +1,415 @@
+package dev.nebulamc.inject.internal;
+
+import dev.nebulamc.inject.ServiceDefinition;
+import dev.nebulamc.inject.TypeToken;
+import dev.nebulamc.inject.internal.util.Preconditions;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Utilities for the generic types of services.
+ * <p>
+ * Service types are either classes or parameterized types whose type arguments are also service
+ * types. Parameterized types are canonicalized to a single interned instance, so equal service
+ * types are usually the same instance and are compared by identity before their type arguments.
+ *
+ * @author Sparky983
+ */
+@NullMarked
+public final class Types {
+
+    /**
+     * The canonical instance of each parameterized type that has been canonicalized.
+     */
+    private static final Map<ParameterizedType, ParameterizedType> CANONICAL_TYPES =
+            new ConcurrentHashMap<>();
+
+    private Types() {
+
+    }
+
+    /**
+     * Canonicalizes the specified service type.
+     *
+     * @param type the service type
+     * @return the class, or the canonical instance of the parameterized type
+     * @throws IllegalArgumentException if the type is not a class or a parameterized type whose
+     * type arguments are service types, such as a type variable or a wildcard.
+     * @throws NullPointerException if {@code type} is {@code null}.
+     */
+    public static Type canonicalize(final Type type) {
+
+        Preconditions.requireNonNull(type, "type");
+
+        final Type canonicalType = canonicalizeOrNull(type);
+
+        if (canonicalType == null) {
+            throw new IllegalArgumentException("Type " + type.getTypeName() +
+                    " is not a class or a parameterized type of classes");
+        }
+
+        return canonicalType;
+    }
+
+    /**
+     * Canonicalizes the specified service type, or returns {@code null} if it is not a service
+     * type.
+     *
+     * @param type the type
+     * @return the class, the canonical instance of the parameterized type, or {@code null} if the
+     * type is not a class or a parameterized type whose type arguments are service types
+     */
+    static @Nullable Type canonicalizeOrNull(final Type type) {
+
+        assert type != null;
+
+        if (type instanceof Class<?>) {
+            return type;
+        }
+
+        if (!(type instanceof final ParameterizedType parameterizedType) ||
+                !(parameterizedType.getRawType() instanceof final Class<?> rawType)) {
+            return null;
+        }
+
+        final Type ownerType = parameterizedType.getOwnerType();
+        final Type canonicalOwnerType;
+        if (ownerType == null) {
+            canonicalOwnerType = null;
+        } else {
+            canonicalOwnerType = canonicalizeOrNull(ownerType);
+            if (canonicalOwnerType == null) {
+                return null;
+            }
+        }
+
+        final Type[] typeArguments = parameterizedType.getActualTypeArguments().clone();
+        for (int i = 0; i < typeArguments.length; i++) {
+            typeArguments[i] = canonicalizeOrNull(typeArguments[i]);
+            if (typeArguments[i] == null) {
+                return null;
+            }
+        }
+
+        final ParameterizedType canonicalType =
+                new ParameterizedTypeImpl(canonicalOwnerType, rawType, typeArguments);
+        final ParameterizedType existingType =
+                CANONICAL_TYPES.putIfAbsent(canonicalType, canonicalType);
+
+        return existingType == null ? canonicalType : existingType;
+    }
+
+    /**
+     * Gets the class of the specified service type.
+     *
+     * @param type the service type
+     * @return the class, or the raw type of the parameterized type
+     * @throws IllegalArgumentException if the type is not a class or a parameterized type.
+     */
+    public static Class<?> getRawType(final Type type) {
+
+        Preconditions.requireNonNull(type, "type");
+
+        if (type instanceof final Class<?> cls) {
+            return cls;
+        }
+
+        if (type instanceof final ParameterizedType parameterizedType &&
+                parameterizedType.getRawType() instanceof final Class<?> rawType) {
+            return rawType;
+        }
+
+        throw new IllegalArgumentException("Type " + type.getTypeName() +
+                " is not a class or a parameterized type");
+    }
+
+    /**
+     * Finds the generic type of the specified service type that the specified implementation
+     * extends or implements, with the type variables of its type arguments resolved where the
+     * implementation binds them.
+     *
+     * @param serviceType the service type
+     * @param implementation the implementation of the service type, which is either a class or a
+     * parameterized type
+     * @return the generic type, or the service type if it is not parameterized by the
+     * implementation
+     */
+    static Type getGenericSupertype(final Class<?> serviceType, final Type implementation) {
+
+        assert serviceType != null;
+        assert implementation != null;
+
+        if (serviceType == implementation || serviceType.getTypeParameters().length == 0) {
+            return serviceType;
+        }
+
+        final Type genericType = findGenericSupertype(serviceType, implementation, Map.of());
+
+        return genericType == null ? serviceType : genericType;
+    }
+
+    private static @Nullable Type findGenericSupertype(
+            final Class<?> serviceType,
+            final Type type,
+            final Map<TypeVariable<?>, Type> typeArguments) {
+
+        assert serviceType != null;
+        assert type != null;
+        assert typeArguments != null;
+
+        final Class<?> rawType;
+        final Map<TypeVariable<?>, Type> resolvedTypeArguments;
+
+        if (type instanceof final Class<?> cls) {
+            rawType = cls;
+            resolvedTypeArguments = Map.of();
+        } else if (type instanceof final ParameterizedType parameterizedType &&
+                parameterizedType.getRawType() instanceof final Class<?> cls) {
+            rawType = cls;
+            resolvedTypeArguments = new HashMap<>();
+            final TypeVariable<?>[] typeParameters = cls.getTypeParameters();
+            final Type[] actualTypeArguments = parameterizedType.getActualTypeArguments();
+            for (int i = 0; i < typeParameters.length; i++) {
+                final Type typeArgument = actualTypeArguments[i];
+                resolvedTypeArguments.put(
+                        typeParameters[i],
+                        typeArguments.getOrDefault(typeArgument, typeArgument));
+            }
+        } else {
+            return null;
+        }
+
+        if (rawType == serviceType) {
+            return type instanceof Class<?> ? null : resolve(type, resolvedTypeArguments);
+        }
+
+        if (!serviceType.isAssignableFrom(rawType)) {
+            return null;
+        }
+
+        final Type superclass = rawType.getGenericSuperclass();
+        if (superclass != null) {
+            final Type genericType =
+                    findGenericSupertype(serviceType, superclass, resolvedTypeArguments);
+            if (genericType != null) {
+                return genericType;
+            }
+        }
+
+        for (final Type genericInterface : rawType.getGenericInterfaces()) {
+            final Type genericType =
+                    findGenericSupertype(serviceType, genericInterface, resolvedTypeArguments);
+            if (genericType != null) {
+                return genericType;
+            }
+        }
+
+        return null;
+    }
+
+    private static @Nullable Type resolve(final Type type,
+                                          final Map<TypeVariable<?>, Type> typeArguments) {
+
+        assert type != null;
+        assert typeArguments != null;
+
+        if (!(type instanceof final ParameterizedType parameterizedType) ||
+                !(parameterizedType.getRawType() instanceof final Class<?> rawType)) {
+            return null;
+        }
+
+        final TypeVariable<?>[] typeParameters = rawType.getTypeParameters();
+        final Type[] resolvedTypeArguments = new Type[typeParameters.length];
+        for (int i = 0; i < typeParameters.length; i++) {
+            resolvedTypeArguments[i] = typeArguments.get(typeParameters[i]);
+        }
+
+        return canonicalizeOrNull(new ParameterizedTypeImpl(
+                parameterizedType.getOwnerType(),
+                rawType,
+                resolvedTypeArguments));
+    }
+
+    /**
+     * Gets the canonical generic type of the specified service definition, as the specified type,
+     * which is either its service type or a supertype of it.
+     *
+     * @param serviceDefinition the service definition
+     * @param type the service type or supertype
+     * @return the canonical generic type, or the type if it is not parameterized by the service
+     * definition
+     */
+    static Type getGenericType(final ServiceDefinition<?> serviceDefinition, final Class<?> type) {
+
+        assert serviceDefinition != null;
+        assert type != null;
+
+        final Type genericType = getGenericType(serviceDefinition);
+
+        if (getRawType(genericType) == type) {
+            return genericType;
+        }
+
+        return getGenericSupertype(type, genericType);
+    }
+
+    /**
+     * Gets the canonical generic type of the specified service definition.
+     *
+     * @param serviceDefinition the service definition
+     * @return the canonical generic type, or the service type if the generic type is not a
+     * parameterization of the service type
+     */
+    static Type getGenericType(final ServiceDefinition<?> serviceDefinition) {
+
+        assert serviceDefinition != null;
+
+        final Class<?> serviceType = serviceDefinition.getServiceType();
+        final Type genericType = serviceDefinition.getGenericType();
+
+        if (genericType == serviceType || !(genericType instanceof ParameterizedType)) {
+            return serviceType;
+        }
+
+        final Type canonicalType = canonicalizeOrNull(genericType);
+
+        if (canonicalType == null || getRawType(canonicalType) != serviceType) {
+            return serviceType;
+        }
+
+        return canonicalType;
+    }
+
+    /**
+     * Determines whether the services of the specified service definition are of the specified
+     * type.
+     * <p>
+     * Service definitions whose generic type is only a class, such as those of singletons, are
+     * services of every parameterization of the class, just like raw types. Service definitions
+     * of a subtype of the type are services of the parameterization it extends or implements.
+     *
+     * @param serviceDefinition the service definition
+     * @param type the type
+     * @return {@code true} if the service definition provides services of the type, otherwise
+     * {@code false}
+     */
+    public static boolean isServiceOf(final ServiceDefinition<?> serviceDefinition,
+                               final TypeToken<?> type) {
+
+        assert serviceDefinition != null;
+        assert type != null;
+
+        if (!type.getRawType().isAssignableFrom(serviceDefinition.getServiceType())) {
+            return false;
+        }
+
+        final Type genericType = getGenericType(serviceDefinition, type.getRawType());
+
+        return genericType instanceof Class<?>
+                ? genericType == type.getRawType()
+                : genericType.equals(type.getType());
+    }
+
+    /**
+     * A parameterized type that is equal to other implementations of {@link ParameterizedType}
+     * with the same raw type, owner type and type arguments.
+     */
+    private static final class ParameterizedTypeImpl implements ParameterizedType {
+
+        private final @Nullable Type ownerType;
+        private final Class<?> rawType;
+        private final Type[] typeArguments;
+        private final int hashCode;
+
+        ParameterizedTypeImpl(final @Nullable Type ownerType,
+                              final Class<?> rawType,
+                              final Type[] typeArguments) {
+
+            assert rawType != null;
+            assert typeArguments != null;
+
+            this.ownerType = ownerType;
+            this.rawType = rawType;
+            this.typeArguments = typeArguments;
+            // The same hash code as the JDK's implementation
+            this.hashCode = Arrays.hashCode(typeArguments) ^
+                    Objects.hashCode(ownerType) ^
+                    rawType.hashCode();
+        }
+
+        @Override
+        public Type[] getActualTypeArguments() {
+
+            return typeArguments.clone();
+        }
+
+        @Override
+        public Type getRawType() {
+
+            return rawType;
+        }
+
+        @Override
+        public @Nullable Type getOwnerType() {
+
+            return ownerType;
+        }
+
+        @Override
+        public boolean equals(final @Nullable Object obj) {
+
+            if (this == obj) {
+                return true;
+            }
+
+            if (obj instanceof final ParameterizedTypeImpl type) {
+                return hashCode == type.hashCode &&
+                        rawType == type.rawType &&
+                        Objects.equals(ownerType, type.ownerType) &&
+                        Arrays.equals(typeArguments, type.typeArguments);
+            }
+
+            return obj instanceof final ParameterizedType type &&
+                    rawType == type.getRawType() &&
+                    Objects.equals(ownerType, type.getOwnerType()) &&
+                    Arrays.equals(typeArguments, type.getActualTypeArguments());
+        }
+
+        @Override
+        public int hashCode() {
+
+            return hashCode;
+        }
+
+        @Override
+        public String toString() {
+
+            final StringBuilder name = new StringBuilder();
+
+            if (ownerType != null) {
+                name.append(ownerType.getTypeName()).append('$').append(rawType.getSimpleName());
+            } else {
+                name.append(rawType.getName());
+            }
+
+            name.append('<');
+            for (int i = 0; i < typeArguments.length; i++) {
+                if (i > 0) {
+                    name.append(", ");
+                }
+                name.append(typeArguments[i].getTypeName());
+            }
+
+            return name.append('>').toString();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package dev.nebulamc.inject.internal.util;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An internal, compact, immutable multi-map.
+ * <p>
+ * The values of each key are stored in an unmodifiable list, built once by
+ * {@link #copyOf(Map)} and returned by {@link #get(Object)} without copying, so getting the values
+ * of a key never allocates. Keys with a single value use a one-element list rather than an
+ * array-backed one.
+ * <p>
+ * Neither keys nor values may be {@code null}.
+ *
+ * @author Sparky983
+ * @param <K> the key type
+ * @param <V> the values type
+ */
+@NullMarked
+public final class ImmutableMultimap<K, V> {
+
+    private static final ImmutableMultimap<?, ?> EMPTY = new ImmutableMultimap<>(Map.of());
+
+    /**
+     * A map of key to its values, which are never empty.
+     */
+    private final Map<K, List<V>> map;
+
+    private ImmutableMultimap(final Map<K, List<V>> map) {
+
+        this.map = map;
+    }
+
+    /**
+     * Gets an empty multimap.
+     *
+     * @return the empty multimap
+     * @param <K> the key type
+     * @param <V> the values type
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> ImmutableMultimap<K, V> of() {
+
+        return (ImmutableMultimap<K, V>) EMPTY;
+    }
+
+    /**
+     * Creates an immutable copy of the given multimap.
+     * <p>
+     * Keys without values are not copied.
+     *
+     * @param multimap the multimap to copy
+     * @return the copy
+     * @param <K> the key type
+     * @param <V> the values type
+     * @throws NullPointerException if {@code multimap} is {@code null}, or contains a {@code null}
+     * key or value.
+     */
+    public static <K, V> ImmutableMultimap<K, V> copyOf(final Map<K, List<V>> multimap) {
+
+        Preconditions.requireNonNull(multimap, "multimap");
+
+        if (multimap.isEmpty()) {
+            return of();
+        }
+
+        final Map<K, List<V>> map = new HashMap<>(multimap.size());
+
+        multimap.forEach((key, values) -> {
+            if (!values.isEmpty()) {
+                map.put(key, List.copyOf(values));
+            }
+        });
+
+        // Map.copyOf() is backed by a single array rather than an entry per key, and rejects null
+        // keys and values
+        return new ImmutableMultimap<>(Map.copyOf(map));
+    }
+
+    /**
+     * Gets the values of the given key.
+     *
+     * @param key the key
+     * @return an unmodifiable list of the values of the key, which is empty if the key has no
+     * values
+     * @throws NullPointerException if {@code key} is {@code null}.
+     */
+    public List<V> get(final Object key) {
+
+        return map.getOrDefault(key, List.of());
+    }
+
+    /**
+     * Gets the value of the given key, if it has exactly one value.
+     *
+     * @param key the key
+     * @return the only value of the key, or {@code null} if the key has no values or multiple values
+     * @throws NullPointerException if {@code key} is {@code null}.
+     */
+    public @Nullable V getOnly(final Object key) {
+
+        final List<V> values = map.get(key);
+
+        if (values == null || values.size() != 1) {
+            return null;
+        }
+
+        return values.get(0);
+    }
+
+    /**
+     * Gets the keys with at least one value.
+     *
+     * @return an unmodifiable set of the keys
+     */
+    public Set<K> keySet() {
+
+        return map.keySet();
+    }
+}
@@ -3,9 +3,9 @@ package dev.nebulamc.inject.internal.util;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -44,7 +44,7 @@ public final class Multimap<K extends @Nullable Object, V extends @Nullable Obje
 
         this.map = new HashMap<>(multimap);
 
-        map.entrySet().forEach((entry) -> entry.setValue(new LinkedList<>(entry.getValue())));
+        map.entrySet().forEach((entry) -> entry.setValue(new ArrayList<>(entry.getValue())));
     }
 
     /**
@@ -55,7 +55,7 @@ public final class Multimap<K extends @Nullable Object, V extends @Nullable Obje
      */
     public void add(final K key, final V value) {
 
-        map.computeIfAbsent(key, (k) -> new LinkedList<>()).add(value);
+        map.computeIfAbsent(key, (k) -> new ArrayList<>()).add(value);
     }
 
     @Override
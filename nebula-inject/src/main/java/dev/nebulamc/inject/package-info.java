@@ -9,6 +9,17 @@
  * constructors annotated with {@link dev.nebulamc.inject.Inject} (called "inject constructors") are
  * also injectable.
  *
+ * <h2><a id="lazy-injection">Lazy Injection</a></h2>
+ * A parameter of type {@link java.util.function.Supplier Supplier&lt;T&gt;} is injected with a
+ * supplier that finds the service of type {@code T} when it is first called, rather than when the
+ * client object is created. This defers the creation of services that are expensive to create but
+ * rarely used.
+ * <h2><a id="scopes">Scopes</a></h2>
+ * Services are singletons by default. A service may instead be created every time it is requested,
+ * or stored in a custom {@link dev.nebulamc.inject.Scope Scope} such as one per request, by
+ * implementing {@link dev.nebulamc.inject.ScopedServiceDefinition ScopedServiceDefinition} or with
+ * {@link dev.nebulamc.inject.Container.Builder#scope(Class, dev.nebulamc.inject.Scope)}.
+ *
  * @see dev.nebulamc.inject.Container
  * @since 0.1
  */
@@ -6,6 +6,7 @@
  */
 module dev.nebulamc.inject {
     requires static org.jspecify;
+    requires static jdk.jfr;
 
     exports dev.nebulamc.inject;
     exports dev.nebulamc.inject.internal.util to dev.nebulamc.inject.test;
@@ -4,23 +4,308 @@ import dev.nebulamc.inject.car.Car;
 import dev.nebulamc.inject.car.CarFactory;
 import dev.nebulamc.inject.car.Engine;
 import dev.nebulamc.inject.car.Sedan;
+import dev.nebulamc.inject.car.V12Engine;
 import dev.nebulamc.inject.car.V8Engine;
 import dev.nebulamc.inject.car.Wheels;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 class ContainerTest {
 
+    static class LazyEngine {
+
+        final Supplier<Engine> engine;
+
+        @Inject
+        LazyEngine(final Supplier<Engine> engine) {
+
+            this.engine = engine;
+        }
+    }
+
+    static class Chicken {
+
+        final Supplier<Egg> egg;
+
+        @Inject
+        Chicken(final Supplier<Egg> egg) {
+
+            this.egg = egg;
+        }
+    }
+
+    @Factory
+    static class ChickenFactory {
+
+        @Service
+        Chicken chicken(final Supplier<Egg> egg) {
+
+            return new Chicken(egg);
+        }
+    }
+
+    static class Egg {
+
+        final Chicken chicken;
+
+        @Inject
+        Egg(final Chicken chicken) {
+
+            this.chicken = chicken;
+        }
+    }
+
+    static class Yin {
+
+        @Inject
+        Yin(final Yang yang) {
+
+        }
+    }
+
+    static class Yang {
+
+        @Inject
+        Yang(final Yin yin) {
+
+        }
+    }
+
+    static class Ouroboros {
+
+    }
+
+    @Factory
+    static class OuroborosFactory {
+
+        @Service
+        Ouroboros ouroboros(final Ouroboros ouroboros) {
+
+            return ouroboros;
+        }
+    }
+
+    static class Left {
+
+    }
+
+    static class Right {
+
+    }
+
+    /**
+     * Creates a left and a right that depend on each other, waiting until both are being created so
+     * that each is created by a different thread.
+     */
+    @Factory
+    static class LeftRightFactory {
+
+        final CountDownLatch creating = new CountDownLatch(2);
+
+        @Service
+        Left left(final Container container) throws InterruptedException {
+
+            creating.countDown();
+            assertTrue(creating.await(5, TimeUnit.SECONDS));
+            container.findService(Right.class);
+            return new Left();
+        }
+
+        @Service
+        Right right(final Container container) throws InterruptedException {
+
+            creating.countDown();
+            assertTrue(creating.await(5, TimeUnit.SECONDS));
+            container.findService(Left.class);
+            return new Right();
+        }
+    }
+
+    @Factory
+    static class NamedEngineFactory {
+
+        int v8Engines;
+        int v12Engines;
+
+        @Service
+        @Named("v8")
+        Engine v8Engine() {
+
+            v8Engines++;
+            return new V8Engine();
+        }
+
+        @Service
+        @Named("v12")
+        Engine v12Engine() {
+
+            v12Engines++;
+            return new V12Engine();
+        }
+    }
+
+    static class RaceCar {
+
+        final Engine engine;
+
+        @Inject
+        RaceCar(@Named("v12") final Engine engine) {
+
+            this.engine = engine;
+        }
+    }
+
+    static class Garage {
+
+        @Inject
+        Garage(@Named("v12") final List<Engine> engines) {
+
+        }
+    }
+
+    static class Box<T> {
+
+        final T value;
+
+        Box(final T value) {
+
+            this.value = value;
+        }
+    }
+
+    @Factory
+    static class BoxFactory {
+
+        int stringBoxes;
+
+        @Service
+        Box<String> stringBox() {
+
+            stringBoxes++;
+            return new Box<>("string");
+        }
+
+        @Service
+        Box<Integer> integerBox() {
+
+            return new Box<>(1);
+        }
+    }
+
+    static class StringBox extends Box<String> {
+
+        StringBox() {
+
+            super("string");
+        }
+    }
+
+    static class BoxedString {
+
+        final Box<String> box;
+
+        @Inject
+        BoxedString(final Box<String> box) {
+
+            this.box = box;
+        }
+    }
+
+    @TempDir
+    Path directory;
+
+    @SuppressWarnings("DataFlowIssue")
+    @Test
+    void testBuilderWhenSnapshotIsNull() {
+
+        assertThrows(NullPointerException.class, () -> Container.builder(null));
+    }
+
+    @Test
+    void testBuilderWithSnapshot() {
+
+        final Engine engine = new V8Engine();
+        final Path snapshot = directory.resolve("snapshot.bin");
+
+        Container.builder(snapshot)
+                .singleton(Engine.class, engine)
+                .factory(new CarFactory())
+                .build();
+
+        assertTrue(Files.isRegularFile(snapshot));
+
+        final Container container = Container.builder(snapshot)
+                .singleton(Engine.class, engine)
+                .factory(new CarFactory())
+                .build();
+
+        assertEquals(engine, container.findService(Car.class).getEngine());
+        assertEquals(engine, container.findService(Sedan.class).getEngine());
+    }
+
+    @Test
+    void testBuilderWithSnapshotWhenPrecompiled() {
+
+        final Engine engine = new V8Engine();
+        final Path snapshot = directory.resolve("snapshot.bin");
+
+        final Container container = Container.builder(snapshot)
+                .singleton(Engine.class, engine)
+                .factory(new CarFactory())
+                .precompile(true)
+                .validate(true)
+                .build();
+
+        assertTrue(Files.isRegularFile(snapshot));
+        assertEquals(engine, container.findService(Sedan.class).getEngine());
+    }
+
+    @Test
+    void testBuilderWithSnapshotWhenSnapshotCannotBeWritten() {
+
+        final Engine engine = new V8Engine();
+        final Path snapshot = directory.resolve("missing").resolve("snapshot.bin");
+
+        final Container container = Container.builder(snapshot)
+                .singleton(Engine.class, engine)
+                .factory(new CarFactory())
+                .build();
+
+        assertFalse(Files.exists(snapshot));
+        assertEquals(engine, container.findService(Sedan.class).getEngine());
+    }
+
     @SuppressWarnings("ConstantConditions")
     @Test
     void testParentWhenParentIsNull() {
@@ -193,6 +478,62 @@ class ContainerTest {
         assertEquals(wheels, child.findService(Wheels.class));
     }
 
+    @Test
+    void testFindConcreteServiceWithParentWhenDependencyIsInChild() {
+
+        final Engine engine = new V8Engine();
+        final Wheels wheels = new Wheels();
+        final Container parent = Container.builder()
+                .singleton(Wheels.class, wheels)
+                .build();
+        final Container child = Container.builder()
+                .parent(parent)
+                .singleton(Engine.class, engine)
+                .build();
+
+        final Sedan sedan = child.findService(Sedan.class);
+
+        assertSame(engine, sedan.getEngine());
+        assertSame(wheels, sedan.getWheels());
+        assertSame(sedan, child.findService(Sedan.class));
+    }
+
+    @Test
+    void testFindConcreteServiceWithParentWhenParentCannotCreateService() {
+
+        final ContainerMetrics parentMetrics = mock();
+        final Container parent = Container.builder()
+                .singleton(Wheels.class, new Wheels())
+                .metrics(parentMetrics)
+                .build();
+        final Container child = Container.builder()
+                .parent(parent)
+                .singleton(Engine.class, new V8Engine())
+                .build();
+
+        child.findService(Sedan.class);
+
+        // The parent has no engine, so it is never asked to create the sedan, and its engines
+        // are only found once to be added to the child's engine
+        verify(parentMetrics, never()).servicesFound(eq(Sedan.class), anyBoolean());
+        verify(parentMetrics).servicesFound(eq(Engine.class), anyBoolean());
+    }
+
+    @Test
+    void testFindConcreteServiceWithParentWhenDependenciesAreInParent() {
+
+        final Container parent = Container.builder()
+                .singleton(Engine.class, new V8Engine())
+                .singleton(Wheels.class, new Wheels())
+                .build();
+        final Container child = Container.builder()
+                .parent(parent)
+                .build();
+
+        // The parent can create the service, so it is shared rather than created by the child
+        assertSame(parent.findService(Sedan.class), child.findService(Sedan.class));
+    }
+
     @Test
     void testFindServiceWhenServiceIsNotRegistered() {
 
@@ -208,4 +549,1044 @@ class ContainerTest {
 
         assertEquals(container, container.findService(Container.class));
     }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void testFindServiceWhenDependencyIsLazy() {
+
+        final Engine engine = new V8Engine();
+        final ServiceDefinition<Engine> serviceDefinition = mock();
+        when(serviceDefinition.getServiceType()).thenReturn(Engine.class);
+        when(serviceDefinition.createService(any())).thenReturn(engine);
+
+        final Container container = Container.builder()
+                .serviceDefinition(serviceDefinition)
+                .build();
+
+        final LazyEngine lazyEngine = container.findService(LazyEngine.class);
+
+        verify(serviceDefinition, never()).createService(any());
+        assertEquals(engine, lazyEngine.engine.get());
+        assertEquals(engine, lazyEngine.engine.get());
+        verify(serviceDefinition).createService(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void testFindServiceWhenLazyDependencyIsPrototype() {
+
+        final ServiceDefinition<Engine> serviceDefinition = mock();
+        when(serviceDefinition.getServiceType()).thenReturn(Engine.class);
+        when(serviceDefinition.createService(any())).thenAnswer((invocation) -> new V8Engine());
+
+        final Container container = Container.builder()
+                .serviceDefinition(serviceDefinition)
+                .scope(Engine.class, Scope.prototype())
+                .build();
+
+        final LazyEngine lazyEngine = container.findService(LazyEngine.class);
+
+        verify(serviceDefinition, never()).createService(any());
+        assertNotSame(lazyEngine.engine.get(), lazyEngine.engine.get());
+        verify(serviceDefinition, times(2)).createService(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void testFindServiceWhenLazyDependencyIsScoped() {
+
+        final Scope.Bounded scope = Scope.bounded(1);
+        final ServiceDefinition<Engine> serviceDefinition = mock();
+        when(serviceDefinition.getServiceType()).thenReturn(Engine.class);
+        when(serviceDefinition.createService(any())).thenAnswer((invocation) -> new V8Engine());
+
+        final Container container = Container.builder()
+                .serviceDefinition(serviceDefinition)
+                .scope(Engine.class, scope)
+                .build();
+
+        final LazyEngine lazyEngine = container.findService(LazyEngine.class);
+        final Engine engine = lazyEngine.engine.get();
+
+        assertSame(engine, lazyEngine.engine.get());
+        scope.evict(serviceDefinition);
+        assertNotSame(engine, lazyEngine.engine.get());
+        assertSame(container.findService(Engine.class), lazyEngine.engine.get());
+        verify(serviceDefinition, times(2)).createService(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void testFindLazyService() {
+
+        final ServiceDefinition<Engine> serviceDefinition = mock();
+        when(serviceDefinition.getServiceType()).thenReturn(Engine.class);
+        when(serviceDefinition.createService(any())).thenAnswer((invocation) -> new V8Engine());
+
+        final Container container = Container.builder()
+                .serviceDefinition(serviceDefinition)
+                .build();
+
+        final Supplier<Engine> engine = container.findLazyService(TypeToken.of(Engine.class));
+
+        verify(serviceDefinition, never()).createService(any());
+        assertSame(container.findService(Engine.class), engine.get());
+        assertSame(engine.get(), engine.get());
+        verify(serviceDefinition).createService(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void testFindLazyServiceWhenPrototype() {
+
+        final ServiceDefinition<Engine> serviceDefinition = mock();
+        when(serviceDefinition.getServiceType()).thenReturn(Engine.class);
+        when(serviceDefinition.createService(any())).thenAnswer((invocation) -> new V8Engine());
+
+        final Container container = Container.builder()
+                .serviceDefinition(serviceDefinition)
+                .scope(Engine.class, Scope.prototype())
+                .build();
+
+        final Supplier<Engine> engine = container.findLazyService(TypeToken.of(Engine.class));
+
+        assertNotSame(engine.get(), engine.get());
+        verify(serviceDefinition, times(2)).createService(any());
+    }
+
+    @Test
+    void testFindLazyServiceByName() {
+
+        final NamedEngineFactory factory = new NamedEngineFactory();
+        final Container container = Container.builder()
+                .factory(factory)
+                .build();
+
+        final Supplier<Engine> engine = container.findLazyService(Engine.class, "v12");
+
+        assertEquals(0, factory.v12Engines);
+        assertInstanceOf(V12Engine.class, engine.get());
+        assertSame(engine.get(), engine.get());
+        assertEquals(1, factory.v12Engines);
+        assertEquals(0, factory.v8Engines);
+    }
+
+    @Test
+    void testFindLazyServiceWhenTypeIsNull() {
+
+        final Container container = Container.builder().build();
+
+        assertThrows(NullPointerException.class, () -> container.findLazyService(null));
+    }
+
+    @Test
+    void testFindServiceWhenLazyDependencyIsNotRegistered() {
+
+        final Container container = Container.builder().build();
+
+        final LazyEngine lazyEngine = container.findService(LazyEngine.class);
+
+        assertThrows(NoUniqueServiceException.class, lazyEngine.engine::get);
+    }
+
+    @Test
+    void testFindServiceWhenLazyDependencyIsCyclic() {
+
+        final Container container = Container.builder().build();
+
+        final Chicken chicken = container.findService(Chicken.class);
+
+        assertEquals(chicken, chicken.egg.get().chicken);
+    }
+
+    @Test
+    void testFindServiceWhenDependencyIsCyclic() {
+
+        final Container container = Container.builder().build();
+
+        final ServiceException e =
+                assertThrows(ServiceException.class, () -> container.findService(Yin.class));
+
+        assertEquals("Cyclic dependency: " + Yin.class.getName() + " -> " +
+                Yang.class.getName() + " -> " + Yin.class.getName(), e.getMessage());
+    }
+
+    @Test
+    void testFindServiceWhenPrototypeDependencyIsCyclic() {
+
+        final Container container = Container.builder()
+                .scope(Yang.class, Scope.prototype())
+                .build();
+
+        final ServiceException e =
+                assertThrows(ServiceException.class, () -> container.findService(Yang.class));
+
+        assertEquals("Cyclic dependency: " + Yang.class.getName() + " -> " +
+                Yin.class.getName() + " -> " + Yang.class.getName(), e.getMessage());
+    }
+
+    @Test
+    void testFindServiceWhenDependencyIsCyclicAcrossThreads() throws InterruptedException {
+
+        final Container container = Container.builder()
+                .factory(new LeftRightFactory())
+                .build();
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final Future<Left> left = executor.submit(() -> container.findService(Left.class));
+            final Future<Right> right = executor.submit(() -> container.findService(Right.class));
+
+            // both threads fail rather than waiting for each other forever
+            final ExecutionException leftException =
+                    assertThrows(ExecutionException.class, () -> left.get(5, TimeUnit.SECONDS));
+            final ExecutionException rightException =
+                    assertThrows(ExecutionException.class, () -> right.get(5, TimeUnit.SECONDS));
+
+            assertInstanceOf(ServiceException.class, leftException.getCause());
+            assertInstanceOf(ServiceException.class, rightException.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @SuppressWarnings("DataFlowIssue")
+    @Test
+    void testFindNamedServiceWhenNameIsNull() {
+
+        final Container container = Container.builder().build();
+
+        assertThrows(NullPointerException.class, () -> container.findService(Engine.class, null));
+    }
+
+    @Test
+    void testFindNamedService() {
+
+        final NamedEngineFactory factory = new NamedEngineFactory();
+        final Container container = Container.builder()
+                .factory(factory)
+                .build();
+
+        final Engine engine = container.findService(Engine.class, "v12");
+
+        assertTrue(engine instanceof V12Engine);
+        assertSame(engine, container.findService(Engine.class, "v12"));
+        assertEquals(0, factory.v8Engines);
+        assertEquals(1, factory.v12Engines);
+        assertTrue(container.findServices(Engine.class).contains(engine));
+        assertEquals(1, factory.v8Engines);
+        assertEquals(1, factory.v12Engines);
+    }
+
+    @Test
+    void testFindNamedServiceAfterFindServices() {
+
+        final NamedEngineFactory factory = new NamedEngineFactory();
+        final Container container = Container.builder()
+                .factory(factory)
+                .precompile(true)
+                .build();
+
+        final List<Engine> engines = container.findServices(Engine.class);
+
+        assertTrue(engines.contains(container.findService(Engine.class, "v8")));
+        assertTrue(engines.contains(container.findService(Engine.class, "v12")));
+        assertEquals(1, factory.v8Engines);
+        assertEquals(1, factory.v12Engines);
+    }
+
+    @Test
+    void testFindNamedServiceWhenServiceIsNotRegistered() {
+
+        final Container container = Container.builder()
+                .factory(new NamedEngineFactory())
+                .build();
+
+        final NoUniqueServiceException e = assertThrows(
+                NoUniqueServiceException.class,
+                () -> container.findService(Engine.class, "v6"));
+
+        assertEquals("No services named \"v6\" of type \"" + Engine.class.getName() +
+                "\" found", e.getMessage());
+    }
+
+    @Test
+    void testFindOptionalNamedService() {
+
+        final NamedEngineFactory factory = new NamedEngineFactory();
+        final Container container = Container.builder()
+                .factory(factory)
+                .build();
+
+        assertEquals(
+                Optional.of(container.findService(Engine.class, "v8")),
+                container.findOptionalService(Engine.class, "v8"));
+        assertEquals(Optional.empty(), container.findOptionalService(Engine.class, "v6"));
+        assertEquals(1, factory.v8Engines);
+        assertEquals(0, factory.v12Engines);
+    }
+
+    @Test
+    void testFindNamedServiceWithParent() {
+
+        final NamedEngineFactory factory = new NamedEngineFactory();
+        final Container parent = Container.builder()
+                .factory(factory)
+                .build();
+        final Container container = Container.builder()
+                .parent(parent)
+                .build();
+
+        assertSame(
+                parent.findService(Engine.class, "v8"),
+                container.findService(Engine.class, "v8"));
+        assertEquals(1, factory.v8Engines);
+        assertEquals(0, factory.v12Engines);
+    }
+
+    @Test
+    void testFindServiceWhenDependencyIsNamed() {
+
+        final NamedEngineFactory factory = new NamedEngineFactory();
+        final Container container = Container.builder()
+                .factory(factory)
+                .precompile(true)
+                .build();
+
+        final RaceCar raceCar = container.findService(RaceCar.class);
+
+        assertSame(container.findService(Engine.class, "v12"), raceCar.engine);
+        assertEquals(0, factory.v8Engines);
+        assertEquals(1, factory.v12Engines);
+    }
+
+    @Test
+    void testFindServiceWhenNamedDependencyIsCollection() {
+
+        final Container container = Container.builder()
+                .factory(new NamedEngineFactory())
+                .build();
+
+        final ServiceException exception = assertThrows(ServiceException.class, () ->
+                container.findService(Garage.class));
+
+        assertTrue(exception.getMessage().contains(Garage.class.getName()));
+    }
+
+    @SuppressWarnings("DataFlowIssue")
+    @Test
+    void testFindGenericServiceWhenTypeIsNull() {
+
+        final Container container = Container.builder().build();
+
+        assertThrows(NullPointerException.class, () -> container.findGenericService(null));
+    }
+
+    @Test
+    void testFindGenericService() {
+
+        final BoxFactory factory = new BoxFactory();
+        final Container container = Container.builder()
+                .factory(factory)
+                .build();
+
+        final Box<String> stringBox = container.findGenericService(new TypeToken<>() {});
+        final Box<Integer> integerBox = container.findGenericService(new TypeToken<>() {});
+
+        assertEquals("string", stringBox.value);
+        assertEquals(1, integerBox.value);
+        assertSame(stringBox, container.findGenericService(new TypeToken<Box<String>>() {}));
+        assertEquals(
+                Set.of(stringBox, integerBox),
+                Set.copyOf(container.findServices(Box.class)));
+        assertEquals(1, factory.stringBoxes);
+    }
+
+    @Test
+    void testFindGenericServiceWhenServiceIsNotRegistered() {
+
+        final Container container = Container.builder()
+                .factory(new BoxFactory())
+                .build();
+
+        final TypeToken<Box<Long>> type = new TypeToken<>() {};
+        final NoUniqueServiceException e = assertThrows(
+                NoUniqueServiceException.class,
+                () -> container.findGenericService(type));
+
+        assertEquals("No services of type \"" + Box.class.getName() + "<java.lang.Long>\" found",
+                e.getMessage());
+    }
+
+    @Test
+    void testFindGenericServiceWhenServiceIsSingleton() {
+
+        // singletons are registered by class, so they are services of every parameterization
+        final Box<String> box = new Box<>("string");
+        final Container container = Container.builder()
+                .singleton(Box.class, box)
+                .build();
+
+        assertSame(box, container.findGenericService(new TypeToken<Box<String>>() {}));
+        assertSame(box, container.findGenericService(new TypeToken<Box<Integer>>() {}));
+    }
+
+    @Test
+    void testFindGenericServiceWithParent() {
+
+        final BoxFactory factory = new BoxFactory();
+        final Container parent = Container.builder()
+                .factory(factory)
+                .build();
+        final Container container = Container.builder()
+                .parent(parent)
+                .build();
+
+        assertSame(
+                parent.findGenericService(new TypeToken<Box<String>>() {}),
+                container.findGenericService(new TypeToken<Box<String>>() {}));
+        assertEquals(1, factory.stringBoxes);
+    }
+
+    @Test
+    void testFindServiceWhenDependencyIsParameterized() {
+
+        final BoxFactory factory = new BoxFactory();
+        final Container container = Container.builder()
+                .factory(factory)
+                .precompile(true)
+                .build();
+
+        final BoxedString boxedString = container.findService(BoxedString.class);
+
+        assertSame(container.findGenericService(new TypeToken<Box<String>>() {}), boxedString.box);
+        assertEquals(1, factory.stringBoxes);
+    }
+
+    @Test
+    void testIndexSupertypes() {
+
+        final V8Engine engine = new V8Engine();
+        final ServiceDefinition<V8Engine> serviceDefinition = mock();
+        when(serviceDefinition.getServiceType()).thenReturn(V8Engine.class);
+        when(serviceDefinition.createService(any())).thenReturn(engine);
+
+        final Container container = Container.builder()
+                .serviceDefinition(serviceDefinition)
+                .indexSupertypes(true)
+                .build();
+
+        assertSame(engine, container.findService(Engine.class));
+        assertSame(engine, container.findService(V8Engine.class));
+        verify(serviceDefinition).createService(any());
+    }
+
+    @Test
+    void testIndexSupertypesWhenPrecompiled() {
+
+        final V8Engine engine = new V8Engine();
+        final Wheels wheels = new Wheels();
+        final ServiceDefinition<V8Engine> serviceDefinition = mock();
+        when(serviceDefinition.getServiceType()).thenReturn(V8Engine.class);
+        when(serviceDefinition.createService(any())).thenReturn(engine);
+
+        final Container container = Container.builder()
+                .serviceDefinition(serviceDefinition)
+                .singleton(Wheels.class, wheels)
+                .factory(new CarFactory())
+                .indexSupertypes(true)
+                .precompile(true)
+                .build();
+
+        assertSame(engine, container.findService(Car.class).getEngine());
+        assertSame(engine, container.findService(V8Engine.class));
+        verify(serviceDefinition).createService(any());
+    }
+
+    @Test
+    void testIndexSupertypesWhenDisabled() {
+
+        final Container container = Container.builder()
+                .singleton(V8Engine.class, new V8Engine())
+                .build();
+
+        assertThrows(NoUniqueServiceException.class, () -> container.findService(Engine.class));
+    }
+
+    @Test
+    void testFindGenericServiceWhenSupertypesAreIndexed() {
+
+        final StringBox box = new StringBox();
+        final Container container = Container.builder()
+                .singleton(StringBox.class, box)
+                .indexSupertypes(true)
+                .build();
+
+        assertSame(box, container.findGenericService(new TypeToken<Box<String>>() {}));
+        assertEquals(
+                List.of(),
+                container.findGenericServices(new TypeToken<Box<Integer>>() {}));
+    }
+
+    @Test
+    void testPrecompileWhenDependencyIsCyclic() {
+
+        final Container container = Container.builder()
+                .factory(new OuroborosFactory())
+                .precompile(true)
+                .build();
+
+        final ServiceException e = assertThrows(
+                ServiceException.class,
+                () -> container.findService(Ouroboros.class));
+
+        assertEquals("Cyclic dependency: " + Ouroboros.class.getName() + " -> " +
+                Ouroboros.class.getName(), e.getMessage());
+    }
+
+    @Test
+    void testEagerWhenDependencyIsCyclic() {
+
+        final Container.Builder builder = Container.builder()
+                .factory(new OuroborosFactory())
+                .eager(Runnable::run);
+
+        final ServiceException e = assertThrows(ServiceException.class, builder::build);
+
+        assertEquals("Cyclic dependency: " + Ouroboros.class.getName() + " -> " +
+                Ouroboros.class.getName(), e.getMessage());
+    }
+
+    @Test
+    void testEagerWhenLazyDependencyIsCyclic() {
+
+        final Container container = Container.builder()
+                .factory(new ChickenFactory())
+                .eager(Runnable::run)
+                .build();
+
+        final Chicken chicken = container.findService(Chicken.class);
+
+        assertEquals(chicken, chicken.egg.get().chicken);
+    }
+
+    @Test
+    void testPrecompile() {
+
+        final Engine engine = new V8Engine();
+        final Wheels wheels = new Wheels();
+
+        final Container container = Container.builder()
+                .singleton(Engine.class, engine)
+                .singleton(Wheels.class, wheels)
+                .factory(new CarFactory())
+                .precompile(true)
+                .build();
+
+        final Car car = container.findService(Car.class);
+
+        assertEquals(engine, car.getEngine());
+        assertEquals(wheels, car.getWheels());
+        assertEquals(car, container.findService(Car.class));
+        // Not planned, so resolved lazily
+        assertEquals(engine, container.findService(Sedan.class).getEngine());
+    }
+
+    @Test
+    void testPrecompileWithParent() {
+
+        final Engine engine = new V8Engine();
+        final Wheels wheels = new Wheels();
+        final Container parent = Container.builder()
+                .singleton(Wheels.class, wheels)
+                .build();
+
+        final Container child = Container.builder()
+                .parent(parent)
+                .singleton(Engine.class, engine)
+                .factory(new CarFactory())
+                .precompile(true)
+                .build();
+
+        final Car car = child.findService(Car.class);
+
+        assertEquals(engine, car.getEngine());
+        assertEquals(wheels, car.getWheels());
+    }
+
+    @Test
+    void testPrecompileWhenRequiredServiceIsNotRegistered() {
+
+        final Container container = Container.builder()
+                .factory(new CarFactory())
+                .precompile(true)
+                .build();
+
+        assertThrows(ServiceException.class, () -> container.findService(Car.class));
+    }
+
+    @Test
+    void testValidate() {
+
+        final Engine engine = new V8Engine();
+        final ServiceDefinition<Engine> serviceDefinition = mock();
+        when(serviceDefinition.getServiceType()).thenReturn(Engine.class);
+
+        final Container container = Container.builder()
+                .serviceDefinition(serviceDefinition)
+                .factory(new CarFactory())
+                .validate(true)
+                .build();
+
+        verify(serviceDefinition, never()).createService(any());
+
+        when(serviceDefinition.createService(any())).thenReturn(engine);
+
+        assertEquals(engine, container.findService(Car.class).getEngine());
+    }
+
+    @Test
+    void testValidateWithParent() {
+
+        final Engine engine = new V8Engine();
+        final Container parent = Container.builder()
+                .singleton(Engine.class, engine)
+                .build();
+
+        final Container child = Container.builder()
+                .parent(parent)
+                .factory(new CarFactory())
+                .validate(true)
+                .build();
+
+        assertEquals(engine, child.findService(Car.class).getEngine());
+    }
+
+    @Test
+    void testValidateWhenThereAreProblems() {
+
+        final Container.Builder builder = Container.builder()
+                .factory(new CarFactory())
+                .factory(new OuroborosFactory())
+                .validate(true);
+
+        final ContainerValidationException e =
+                assertThrows(ContainerValidationException.class, builder::build);
+
+        assertEquals(2, e.getProblems().size());
+        assertTrue(e.getProblems().get(0).contains(Engine.class.getName()));
+        assertEquals("Cyclic dependency: " + Ouroboros.class.getName() +
+                " -> " + Ouroboros.class.getName(), e.getProblems().get(1));
+    }
+
+    @Test
+    void testValidateWhenLazyDependencyIsCyclic() {
+
+        final Container container = Container.builder()
+                .factory(new ChickenFactory())
+                .validate(true)
+                .build();
+
+        final Chicken chicken = container.findService(Chicken.class);
+
+        assertEquals(chicken, chicken.egg.get().chicken);
+    }
+
+    @Test
+    void testGenerateConstructorAccessors() {
+
+        final Engine engine = new V8Engine();
+        final Wheels wheels = new Wheels();
+        final Container container = Container.builder()
+                .singleton(Engine.class, engine)
+                .singleton(Wheels.class, wheels)
+                .generateConstructorAccessors(true)
+                .build();
+
+        final Car car = container.findService(Sedan.class);
+
+        assertEquals(engine, car.getEngine());
+        assertEquals(wheels, car.getWheels());
+    }
+
+    @SuppressWarnings("DataFlowIssue")
+    @Test
+    void testConstructionListenerWhenConstructionListenerIsNull() {
+
+        final Container.Builder builder = Container.builder();
+
+        assertThrows(NullPointerException.class, () -> builder.constructionListener(null));
+    }
+
+    @Test
+    void testConstructionListener() {
+
+        final ConstructionReport report = ConstructionReport.create();
+        final Container container = Container.builder()
+                .singleton(Engine.class, new V8Engine())
+                .singleton(Wheels.class, new Wheels())
+                .constructionListener(report)
+                .build();
+
+        container.findService(Sedan.class);
+        container.findService(Sedan.class);
+
+        final ConstructionReport.Entry sedan =
+                report.getEntry(container.findServiceDefinition(Sedan.class));
+        final ConstructionReport.Entry engine =
+                report.getEntry(container.findServiceDefinition(Engine.class));
+
+        assertEquals(3, report.getEntries().size());
+        assertEquals(1, sedan.getCount());
+        assertEquals(2, sedan.getDependencyCount());
+        assertEquals(0, sedan.getMaxDepth());
+        assertTrue(sedan.getWallTime().compareTo(sedan.getSelfTime()) >= 0);
+        assertEquals(1, engine.getCount());
+        assertEquals(0, engine.getDependencyCount());
+        assertEquals(1, engine.getMaxDepth());
+    }
+
+    @Test
+    void testConstructionListenerWithPrototype() {
+
+        final ConstructionListener constructionListener = mock();
+        final Container container = Container.builder()
+                .scope(Wheels.class, Scope.prototype())
+                .constructionListener(constructionListener)
+                .build();
+
+        container.findService(Wheels.class);
+        container.findService(Wheels.class);
+
+        verify(constructionListener, times(2)).serviceCreated(
+                eq(container.findServiceDefinition(Wheels.class)),
+                anyLong(),
+                anyLong(),
+                eq(0),
+                eq(0));
+        verifyNoMoreInteractions(constructionListener);
+    }
+
+    @SuppressWarnings("DataFlowIssue")
+    @Test
+    void testMetricsWhenMetricsIsNull() {
+
+        final Container.Builder builder = Container.builder();
+
+        assertThrows(NullPointerException.class, () -> builder.metrics(null));
+    }
+
+    @Test
+    void testMetrics() {
+
+        final ContainerStatistics statistics = ContainerStatistics.create();
+        final Container container = Container.builder()
+                .singleton(Engine.class, new V8Engine())
+                .singleton(Wheels.class, new Wheels())
+                .metrics(statistics)
+                .build();
+
+        container.findService(Sedan.class);
+        container.findService(Sedan.class);
+
+        assertEquals(4L, statistics.getLookupCount());
+        assertEquals(1L, statistics.getCacheHitCount());
+        assertEquals(0.25, statistics.getCacheHitRatio());
+        assertEquals(3L, statistics.getCreationCount());
+        assertEquals(3L, statistics.getSingletonCount());
+    }
+
+    @Test
+    void testMetricsWithPrototype() {
+
+        final ContainerMetrics metrics = mock();
+        final Container container = Container.builder()
+                .scope(Wheels.class, Scope.prototype())
+                .metrics(metrics)
+                .build();
+
+        container.findService(Wheels.class);
+        container.findService(Wheels.class);
+
+        verify(metrics, times(2)).servicesFound(Wheels.class, false);
+        verify(metrics, times(2)).serviceCreated(
+                eq(container.findServiceDefinition(Wheels.class)),
+                anyLong());
+        verifyNoMoreInteractions(metrics);
+    }
+
+    @SuppressWarnings("DataFlowIssue")
+    @Test
+    void testEagerWhenExecutorIsNull() {
+
+        final Container.Builder builder = Container.builder();
+
+        assertThrows(NullPointerException.class, () -> builder.eager(null));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void testEager() {
+
+        final Engine engine = new V8Engine();
+        final ServiceDefinition<Engine> serviceDefinition = mock();
+        when(serviceDefinition.getServiceType()).thenReturn(Engine.class);
+        when(serviceDefinition.createService(any())).thenReturn(engine);
+
+        final Container container = Container.builder()
+                .serviceDefinition(serviceDefinition)
+                .singleton(Wheels.class, new Wheels())
+                .factory(new CarFactory())
+                .eager(Runnable::run)
+                .build();
+
+        verify(serviceDefinition).createService(any());
+        assertEquals(engine, container.findService(Car.class).getEngine());
+        verify(serviceDefinition).createService(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void testEagerCreatesIndependentServicesConcurrently() throws InterruptedException {
+
+        // Each service waits for the other to start being created, so they can only be created
+        // if they are created concurrently
+        final CountDownLatch started = new CountDownLatch(2);
+        final ServiceDefinition<Engine> engineServiceDefinition = mock();
+        when(engineServiceDefinition.getServiceType()).thenReturn(Engine.class);
+        when(engineServiceDefinition.createService(any())).thenAnswer((invocation) -> {
+            started.countDown();
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            return new V8Engine();
+        });
+        final ServiceDefinition<Wheels> wheelsServiceDefinition = mock();
+        when(wheelsServiceDefinition.getServiceType()).thenReturn(Wheels.class);
+        when(wheelsServiceDefinition.createService(any())).thenAnswer((invocation) -> {
+            started.countDown();
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            return new Wheels();
+        });
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final Container container = Container.builder()
+                    .serviceDefinition(engineServiceDefinition)
+                    .serviceDefinition(wheelsServiceDefinition)
+                    .factory(new CarFactory())
+                    .eager(executor)
+                    .build();
+
+            final Car car = container.findService(Car.class);
+
+            assertEquals(container.findService(Engine.class), car.getEngine());
+            assertEquals(container.findService(Wheels.class), car.getWheels());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testEagerWhenRequiredServiceIsNotRegistered() {
+
+        final Container.Builder builder = Container.builder()
+                .factory(new CarFactory())
+                .eager(Runnable::run);
+
+        assertThrows(ServiceException.class, builder::build);
+    }
+
+    @SuppressWarnings("DataFlowIssue")
+    @Test
+    void testScopeWhenTypeIsNull() {
+
+        final Container.Builder builder = Container.builder();
+
+        assertThrows(NullPointerException.class, () -> builder.scope(null, Scope.prototype()));
+    }
+
+    @SuppressWarnings("DataFlowIssue")
+    @Test
+    void testScopeWhenScopeIsNull() {
+
+        final Container.Builder builder = Container.builder();
+
+        assertThrows(NullPointerException.class, () -> builder.scope(Wheels.class, null));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void testPrototypeServiceDefinition() {
+
+        final ScopedServiceDefinition<Wheels> serviceDefinition = mock();
+        when(serviceDefinition.getServiceType()).thenReturn(Wheels.class);
+        when(serviceDefinition.getScope()).thenReturn(Scope.prototype());
+        when(serviceDefinition.createService(any())).thenAnswer((invocation) -> new Wheels());
+
+        final Container container = Container.builder()
+                .serviceDefinition(serviceDefinition)
+                .build();
+
+        assertNotSame(container.findService(Wheels.class), container.findService(Wheels.class));
+        verify(serviceDefinition, times(2)).createService(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void testScopeOverridesServiceDefinitionScope() {
+
+        final ScopedServiceDefinition<Wheels> serviceDefinition = mock();
+        when(serviceDefinition.getServiceType()).thenReturn(Wheels.class);
+        when(serviceDefinition.getScope()).thenReturn(Scope.prototype());
+        when(serviceDefinition.createService(any())).thenAnswer((invocation) -> new Wheels());
+
+        final Container container = Container.builder()
+                .serviceDefinition(serviceDefinition)
+                .scope(Wheels.class, Scope.singleton())
+                .build();
+
+        assertSame(container.findService(Wheels.class), container.findService(Wheels.class));
+        verify(serviceDefinition).createService(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void testScopeDelegatingToSingletonScope() {
+
+        final ServiceDefinition<Wheels> serviceDefinition = mock();
+        when(serviceDefinition.getServiceType()).thenReturn(Wheels.class);
+        when(serviceDefinition.createService(any())).thenAnswer((invocation) -> new Wheels());
+        final Scope scope = new Scope() {
+            @Override
+            public <T> T getService(final Container container,
+                                    final ServiceDefinition<T> serviceDefinition,
+                                    final Supplier<? extends T> factory) {
+
+                return Scope.singleton().getService(container, serviceDefinition, factory);
+            }
+        };
+
+        final Container container = Container.builder()
+                .serviceDefinition(serviceDefinition)
+                .scope(Wheels.class, scope)
+                .build();
+
+        assertSame(container.findService(Wheels.class), container.findService(Wheels.class));
+        verify(serviceDefinition).createService(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void testSingletonScopeWhenContainerIsNotBuilt() {
+
+        final Container container = mock();
+        final ServiceDefinition<Wheels> serviceDefinition = mock();
+
+        assertThrows(IllegalArgumentException.class, () ->
+                Scope.singleton().getService(container, serviceDefinition, Wheels::new));
+    }
+
+    @Test
+    void testPrototypeDependency() {
+
+        final Container container = Container.builder()
+                .singleton(Engine.class, new V8Engine())
+                .factory(new CarFactory())
+                .scope(Wheels.class, Scope.prototype())
+                .scope(Car.class, Scope.prototype())
+                .serviceDefinition(new ServiceDefinition<Wheels>() {
+                    @Override
+                    public Class<Wheels> getServiceType() {
+
+                        return Wheels.class;
+                    }
+
+                    @Override
+                    public Wheels createService(final ServiceFinder serviceFinder) {
+
+                        return new Wheels();
+                    }
+                })
+                .build();
+
+        final Car car1 = container.findService(Car.class);
+        final Car car2 = container.findService(Car.class);
+
+        assertNotSame(car1, car2);
+        assertNotSame(car1.getWheels(), car2.getWheels());
+        assertSame(car1.getEngine(), car2.getEngine());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void testBoundedScope() {
+
+        final Scope.Bounded scope = Scope.bounded(1);
+        final ServiceDefinition<Wheels> serviceDefinition = mock();
+        when(serviceDefinition.getServiceType()).thenReturn(Wheels.class);
+        when(serviceDefinition.createService(any())).thenAnswer((invocation) -> new Wheels());
+
+        final Container container = Container.builder()
+                .serviceDefinition(serviceDefinition)
+                .scope(Wheels.class, scope)
+                .build();
+
+        final Wheels wheels = container.findService(Wheels.class);
+
+        assertSame(wheels, container.findService(Wheels.class));
+        scope.evict(serviceDefinition);
+        assertNotSame(wheels, container.findService(Wheels.class));
+        verify(serviceDefinition, times(2)).createService(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void testBoundedScopeWhenContainersShareServiceDefinitions() {
+
+        final Scope.Bounded scope = Scope.bounded(2);
+        final ServiceDefinition<Wheels> serviceDefinition = mock();
+        when(serviceDefinition.getServiceType()).thenReturn(Wheels.class);
+        when(serviceDefinition.createService(any())).thenAnswer((invocation) -> new Wheels());
+        final ServiceDefinitionRegistry registry = ServiceDefinitionRegistry.builder()
+                .serviceDefinition(serviceDefinition)
+                .build();
+
+        final Container container1 = Container.builder()
+                .serviceDefinitionRegistry(registry)
+                .scope(Wheels.class, scope)
+                .build();
+        final Container container2 = Container.builder()
+                .serviceDefinitionRegistry(registry)
+                .scope(Wheels.class, scope)
+                .build();
+
+        final Wheels wheels = container1.findService(Wheels.class);
+
+        assertNotSame(wheels, container2.findService(Wheels.class));
+        assertSame(wheels, container1.findService(Wheels.class));
+        verify(serviceDefinition, times(2)).createService(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void testEagerDoesNotCreateScopedServices() {
+
+        final ServiceDefinition<Engine> serviceDefinition = mock();
+        when(serviceDefinition.getServiceType()).thenReturn(Engine.class);
+        when(serviceDefinition.createService(any())).thenAnswer((invocation) -> new V8Engine());
+
+        final Container container = Container.builder()
+                .serviceDefinition(serviceDefinition)
+                .singleton(Wheels.class, new Wheels())
+                .factory(new CarFactory())
+                .scope(Car.class, Scope.prototype())
+                .eager(Runnable::run)
+                .build();
+
+        verify(serviceDefinition).createService(any());
+        assertNotSame(container.findService(Car.class), container.findService(Car.class));
+        assertSame(
+                container.findService(Car.class).getEngine(),
+                container.findService(Engine.class));
+        verify(serviceDefinition).createService(any());
+    }
 }
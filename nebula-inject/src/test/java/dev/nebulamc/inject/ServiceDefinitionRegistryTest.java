@@ -7,6 +7,7 @@ import org.junit.jupiter.api.Test;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
@@ -23,6 +24,7 @@ class ServiceDefinitionRegistryTest {
         assertEquals(List.of(), registry.findServiceDefinitions(Engine.class));
         assertThrows(NoUniqueServiceException.class, () ->
                 registry.findServiceDefinition(Engine.class));
+        assertNull(registry.findServiceDefinitionOrNull(Engine.class));
     }
 
     @SuppressWarnings("ConstantConditions")
@@ -55,6 +57,42 @@ class ServiceDefinitionRegistryTest {
                 .build();
 
         assertEquals(serviceDefinition, registry.findServiceDefinition(Engine.class));
+        assertEquals(serviceDefinition, registry.findServiceDefinitionOrNull(Engine.class));
+    }
+
+    @SuppressWarnings("ConstantConditions")
+    @Test
+    void testFindServiceDefinitionOrNullWhenTypeIsNull() {
+
+        final ServiceDefinitionRegistry registry = ServiceDefinitionRegistry.builder()
+                .build();
+
+        assertThrows(NullPointerException.class, () -> registry.findServiceDefinitionOrNull(null));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void testFindServiceDefinitionOrNullWhenRegistryIsNotBuilt() {
+
+        final ServiceDefinition<Engine> serviceDefinition = mock();
+        final ServiceDefinitionRegistry registry = new ServiceDefinitionRegistry() {
+            @Override
+            public <T> ServiceDefinition<T> findServiceDefinition(final Class<T> type) {
+
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public <T> List<ServiceDefinition<T>> findServiceDefinitions(final Class<T> type) {
+
+                return type == Engine.class
+                        ? List.of((ServiceDefinition<T>) serviceDefinition)
+                        : List.of();
+            }
+        };
+
+        assertEquals(serviceDefinition, registry.findServiceDefinitionOrNull(Engine.class));
+        assertNull(registry.findServiceDefinitionOrNull(V8Engine.class));
     }
 
     @SuppressWarnings("DataFlowIssue")
@@ -110,5 +148,132 @@ class ServiceDefinitionRegistryTest {
                 registry.findServiceDefinitions(Engine.class));
         assertThrows(NoUniqueServiceException.class, () ->
                 registry.findServiceDefinition(Engine.class));
+        assertNull(registry.findServiceDefinitionOrNull(Engine.class));
+    }
+
+    @SuppressWarnings("ConstantConditions")
+    @Test
+    void testFindNamedServiceDefinitionsWhenNameIsNull() {
+
+        final ServiceDefinitionRegistry registry = ServiceDefinitionRegistry.builder()
+                .build();
+
+        assertThrows(NullPointerException.class, () ->
+                registry.findServiceDefinitions(Engine.class, null));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void testFindNamedServiceDefinitions() {
+
+        final ServiceDefinition<Engine> v8ServiceDefinition = mock();
+        when(v8ServiceDefinition.getServiceType()).thenReturn(Engine.class);
+        when(v8ServiceDefinition.getName()).thenReturn("v8");
+        final ServiceDefinition<Engine> v12ServiceDefinition = mock();
+        when(v12ServiceDefinition.getServiceType()).thenReturn(Engine.class);
+        when(v12ServiceDefinition.getName()).thenReturn("v12");
+        final ServiceDefinition<Engine> serviceDefinition = mock();
+        when(serviceDefinition.getServiceType()).thenReturn(Engine.class);
+
+        final ServiceDefinitionRegistry registry = ServiceDefinitionRegistry.builder()
+                .serviceDefinition(v8ServiceDefinition)
+                .serviceDefinition(v12ServiceDefinition)
+                .serviceDefinition(serviceDefinition)
+                .build();
+
+        assertEquals(List.of(v12ServiceDefinition),
+                registry.findServiceDefinitions(Engine.class, "v12"));
+        assertEquals(v8ServiceDefinition, registry.findServiceDefinition(Engine.class, "v8"));
+        assertEquals(List.of(), registry.findServiceDefinitions(Engine.class, "v6"));
+        assertThrows(NoUniqueServiceException.class, () ->
+                registry.findServiceDefinition(Engine.class, "v6"));
+    }
+
+    @SuppressWarnings("ConstantConditions")
+    @Test
+    void testFindGenericServiceDefinitionsWhenTypeIsNull() {
+
+        final ServiceDefinitionRegistry registry = ServiceDefinitionRegistry.builder()
+                .build();
+
+        assertThrows(NullPointerException.class, () ->
+                registry.findGenericServiceDefinitions(null));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @Test
+    void testFindGenericServiceDefinitions() {
+
+        final TypeToken<List<String>> stringListType = new TypeToken<>() {};
+        final TypeToken<List<Integer>> integerListType = new TypeToken<>() {};
+        final ServiceDefinition<List> stringListServiceDefinition = mock();
+        when(stringListServiceDefinition.getServiceType()).thenReturn(List.class);
+        when(stringListServiceDefinition.getGenericType()).thenReturn(stringListType.getType());
+        final ServiceDefinition<List> integerListServiceDefinition = mock();
+        when(integerListServiceDefinition.getServiceType()).thenReturn(List.class);
+        when(integerListServiceDefinition.getGenericType()).thenReturn(integerListType.getType());
+        final ServiceDefinition<List> rawListServiceDefinition = mock();
+        when(rawListServiceDefinition.getServiceType()).thenReturn(List.class);
+        when(rawListServiceDefinition.getGenericType()).thenReturn(List.class);
+
+        final ServiceDefinitionRegistry registry = ServiceDefinitionRegistry.builder()
+                .serviceDefinition(stringListServiceDefinition)
+                .serviceDefinition(integerListServiceDefinition)
+                .serviceDefinition(rawListServiceDefinition)
+                .build();
+
+        // services of the raw type are services of every parameterization
+        assertEquals(List.of(stringListServiceDefinition, rawListServiceDefinition),
+                registry.findGenericServiceDefinitions(stringListType));
+        assertEquals(List.of(integerListServiceDefinition, rawListServiceDefinition),
+                registry.findGenericServiceDefinitions(integerListType));
+        assertEquals(List.of(rawListServiceDefinition),
+                registry.findGenericServiceDefinitions(new TypeToken<List<Long>>() {}));
+        assertEquals(registry.findServiceDefinitions(List.class),
+                registry.findGenericServiceDefinitions(TypeToken.of(List.class)));
+    }
+
+    @Test
+    void testIndexSupertypes() {
+
+        final ServiceDefinition<V8Engine> v8ServiceDefinition = mock();
+        when(v8ServiceDefinition.getServiceType()).thenReturn(V8Engine.class);
+        final ServiceDefinition<Engine> serviceDefinition = mock();
+        when(serviceDefinition.getServiceType()).thenReturn(Engine.class);
+        final ServiceDefinition<V8Engine> otherV8ServiceDefinition = mock();
+        when(otherV8ServiceDefinition.getServiceType()).thenReturn(V8Engine.class);
+
+        final ServiceDefinitionRegistry registry = ServiceDefinitionRegistry.builder()
+                .serviceDefinition(v8ServiceDefinition)
+                .serviceDefinition(serviceDefinition)
+                .serviceDefinition(otherV8ServiceDefinition)
+                .indexSupertypes(true)
+                .build();
+
+        // in the order they were added
+        assertEquals(
+                List.of(v8ServiceDefinition, serviceDefinition, otherV8ServiceDefinition),
+                registry.findServiceDefinitions(Engine.class));
+        assertEquals(
+                List.of(v8ServiceDefinition, otherV8ServiceDefinition),
+                registry.findServiceDefinitions(V8Engine.class));
+        assertEquals(List.of(), registry.findServiceDefinitions(Object.class));
+    }
+
+    @Test
+    void testIndexSupertypesWhenDisabled() {
+
+        final ServiceDefinition<V8Engine> serviceDefinition = mock();
+        when(serviceDefinition.getServiceType()).thenReturn(V8Engine.class);
+
+        final ServiceDefinitionRegistry registry = ServiceDefinitionRegistry.builder()
+                .serviceDefinition(serviceDefinition)
+                .indexSupertypes(false)
+                .build();
+
+        assertEquals(List.of(), registry.findServiceDefinitions(Engine.class));
+        assertEquals(
+                List.of(serviceDefinition),
+                registry.findServiceDefinitions(V8Engine.class));
     }
 }
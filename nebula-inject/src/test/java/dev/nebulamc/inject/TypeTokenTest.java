@@ -0,0 +1,119 @@
+package dev.nebulamc.inject;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TypeTokenTest {
+
+    static class StringListTypeToken extends TypeToken<List<String>> {
+
+    }
+
+    static class IndirectTypeToken extends StringListTypeToken {
+
+    }
+
+    List<String> stringList;
+
+    @Test
+    void testInit() {
+
+        final TypeToken<Map<String, List<Integer>>> type = new TypeToken<>() {};
+
+        assertEquals(Map.class, type.getRawType());
+        assertTrue(type.isParameterized());
+        assertEquals("java.util.Map<java.lang.String, java.util.List<java.lang.Integer>>",
+                type.toString());
+    }
+
+    @Test
+    void testInitWhenTypeArgumentIsWildcard() {
+
+        assertThrows(IllegalArgumentException.class, () -> new TypeToken<List<?>>() {});
+    }
+
+    @Test
+    void testInitWhenTypeTokenIsNotDirectSubclass() {
+
+        assertThrows(IllegalArgumentException.class, IndirectTypeToken::new);
+    }
+
+    @SuppressWarnings("ConstantConditions")
+    @Test
+    void testOfClassWhenClassIsNull() {
+
+        assertThrows(NullPointerException.class, () -> TypeToken.of((Class<?>) null));
+    }
+
+    @Test
+    void testOfClass() {
+
+        final TypeToken<String> type = TypeToken.of(String.class);
+
+        assertSame(String.class, type.getType());
+        assertSame(String.class, type.getRawType());
+        assertFalse(type.isParameterized());
+        assertEquals("java.lang.String", type.toString());
+    }
+
+    @SuppressWarnings("ConstantConditions")
+    @Test
+    void testOfTypeWhenTypeIsNull() {
+
+        assertThrows(NullPointerException.class, () -> TypeToken.of((Type) null));
+    }
+
+    @Test
+    void testOfType() throws NoSuchFieldException {
+
+        final Type type = TypeTokenTest.class.getDeclaredField("stringList").getGenericType();
+
+        final TypeToken<?> typeToken = TypeToken.of(type);
+
+        // canonicalized, so the same instance as the type of equal type tokens
+        assertSame(new TypeToken<List<String>>() {}.getType(), typeToken.getType());
+        assertEquals(type, typeToken.getType());
+        assertEquals(List.class, typeToken.getRawType());
+    }
+
+    @Test
+    void testOfTypeWhenTypeIsTypeVariable() {
+
+        final Type type = List.class.getTypeParameters()[0];
+
+        assertThrows(IllegalArgumentException.class, () -> TypeToken.of(type));
+    }
+
+    @Test
+    void testGetTypeArguments() {
+
+        final ParameterizedType type =
+                (ParameterizedType) new TypeToken<Map<String, Integer>>() {}.getType();
+
+        assertEquals(Map.class, type.getRawType());
+        assertEquals(List.of(String.class, Integer.class), List.of(type.getActualTypeArguments()));
+    }
+
+    @Test
+    void testEquals() {
+
+        assertEquals(new TypeToken<List<String>>() {}, new TypeToken<List<String>>() {});
+        assertEquals(
+                new TypeToken<List<String>>() {}.hashCode(),
+                new TypeToken<List<String>>() {}.hashCode());
+        assertEquals(TypeToken.of(String.class), new TypeToken<String>() {});
+        assertNotEquals(new TypeToken<List<String>>() {}, new TypeToken<List<Integer>>() {});
+        assertNotEquals(new TypeToken<List<String>>() {}, TypeToken.of(List.class));
+    }
+}
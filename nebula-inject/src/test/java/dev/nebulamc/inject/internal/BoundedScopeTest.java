@@ -0,0 +1,191 @@
+package dev.nebulamc.inject.internal;
+
+import dev.nebulamc.inject.Container;
+import dev.nebulamc.inject.ServiceDefinition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+class BoundedScopeTest {
+
+    BoundedScope scope;
+
+    Container container1;
+    Container container2;
+    ServiceDefinition<Object> serviceDefinition1;
+    ServiceDefinition<Object> serviceDefinition2;
+
+    @SuppressWarnings("unchecked")
+    @BeforeEach
+    void setUp() {
+
+        scope = new BoundedScope(1);
+        container1 = mock();
+        container2 = mock();
+        serviceDefinition1 = mock();
+        serviceDefinition2 = mock();
+    }
+
+    @DisplayName("<init>(int)")
+    @Nested
+    class Init {
+
+        @Test
+        void testInitWhenMaximumSizeIsZero() {
+
+            assertThrows(IllegalArgumentException.class, () -> new BoundedScope(0));
+        }
+    }
+
+    @DisplayName("getService(Container, ServiceDefinition<T>, Supplier<? extends T>)")
+    @Nested
+    class GetService {
+
+        @SuppressWarnings("DataFlowIssue")
+        @Test
+        void testGetServiceWhenContainerIsNull() {
+
+            assertThrows(
+                    NullPointerException.class,
+                    () -> scope.getService(null, serviceDefinition1, Object::new));
+        }
+
+        @SuppressWarnings("DataFlowIssue")
+        @Test
+        void testGetServiceWhenServiceDefinitionIsNull() {
+
+            assertThrows(
+                    NullPointerException.class,
+                    () -> scope.getService(container1, null, Object::new));
+        }
+
+        @SuppressWarnings("DataFlowIssue")
+        @Test
+        void testGetServiceWhenFactoryIsNull() {
+
+            assertThrows(
+                    NullPointerException.class,
+                    () -> scope.getService(container1, serviceDefinition1, null));
+        }
+
+        @Test
+        void testGetServiceWhenFactoryReturnsNull() {
+
+            assertThrows(
+                    NullPointerException.class,
+                    () -> scope.getService(container1, serviceDefinition1, () -> null));
+        }
+
+        @Test
+        void testGetService() {
+
+            final Object service = scope.getService(container1, serviceDefinition1, Object::new);
+
+            assertSame(service, scope.getService(container1, serviceDefinition1, Object::new));
+        }
+
+        @Test
+        void testGetServiceWhenContainersAreDifferent() {
+
+            final Object service = scope.getService(container1, serviceDefinition1, Object::new);
+
+            assertNotSame(service, scope.getService(container2, serviceDefinition1, Object::new));
+        }
+
+        @Test
+        void testGetServiceWhenFull() {
+
+            scope.getService(container1, serviceDefinition1, Object::new);
+            scope.getService(container2, serviceDefinition1, Object::new);
+
+            final Object service = new Object();
+
+            assertSame(service, scope.getService(container1, serviceDefinition1, () -> service));
+        }
+
+        @Test
+        void testGetServiceWhenOtherServiceDefinitionIsFull() {
+
+            final Object service = scope.getService(container1, serviceDefinition1, Object::new);
+            scope.getService(container1, serviceDefinition2, Object::new);
+            scope.getService(container2, serviceDefinition2, Object::new);
+
+            assertSame(service, scope.getService(container1, serviceDefinition1, Object::new));
+        }
+
+        @Test
+        void testGetServiceEvictsLeastRecentlyUsed() {
+
+            final BoundedScope scope = new BoundedScope(2);
+            final Container container3 = mock();
+            final Object service1 = scope.getService(container1, serviceDefinition1, Object::new);
+            final Object service2 = scope.getService(container2, serviceDefinition1, Object::new);
+            scope.getService(container1, serviceDefinition1, Object::new);
+            scope.getService(container3, serviceDefinition1, Object::new);
+
+            assertSame(service1, scope.getService(container1, serviceDefinition1, Object::new));
+            assertNotSame(service2, scope.getService(container2, serviceDefinition1, Object::new));
+        }
+    }
+
+    @DisplayName("evict(ServiceDefinition<?>)")
+    @Nested
+    class Evict {
+
+        @SuppressWarnings("DataFlowIssue")
+        @Test
+        void testEvictWhenServiceDefinitionIsNull() {
+
+            assertThrows(NullPointerException.class, () -> scope.evict(null));
+        }
+
+        @Test
+        void testEvict() {
+
+            scope.getService(container1, serviceDefinition1, Object::new);
+            scope.getService(container2, serviceDefinition1, Object::new);
+            scope.evict(serviceDefinition1);
+
+            final Object service1 = new Object();
+            final Object service2 = new Object();
+
+            assertSame(service1, scope.getService(container1, serviceDefinition1, () -> service1));
+            assertSame(service2, scope.getService(container2, serviceDefinition1, () -> service2));
+        }
+
+        @Test
+        void testEvictDoesNotEvictOtherServiceDefinitions() {
+
+            final Object service = scope.getService(container1, serviceDefinition1, Object::new);
+            scope.getService(container1, serviceDefinition2, Object::new);
+            scope.evict(serviceDefinition2);
+
+            assertSame(service, scope.getService(container1, serviceDefinition1, Object::new));
+        }
+    }
+
+    @DisplayName("clear()")
+    @Nested
+    class Clear {
+
+        @Test
+        void testClear() {
+
+            scope.getService(container1, serviceDefinition1, Object::new);
+            scope.getService(container1, serviceDefinition2, Object::new);
+            scope.clear();
+
+            final Object service1 = new Object();
+            final Object service2 = new Object();
+
+            assertSame(service1, scope.getService(container1, serviceDefinition1, () -> service1));
+            assertSame(service2, scope.getService(container1, serviceDefinition2, () -> service2));
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package dev.nebulamc.inject.internal;
+
+import dev.nebulamc.inject.NoUniqueServiceException;
+import dev.nebulamc.inject.ServiceDefinition;
+import dev.nebulamc.inject.ServiceDefinitionRegistry;
+import dev.nebulamc.inject.car.Car;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+class CachingServiceDefinitionRegistryTest {
+
+    ServiceDefinitionRegistry serviceDefinitionRegistry;
+    ServiceDefinitionRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+
+        serviceDefinitionRegistry = mock();
+        registry = new CachingServiceDefinitionRegistry(serviceDefinitionRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+
+        verifyNoMoreInteractions(serviceDefinitionRegistry);
+    }
+
+    @DisplayName("<init>(ServiceDefinitionRegistry)")
+    @Nested
+    class Init {
+
+        @SuppressWarnings("ConstantConditions")
+        @Test
+        void testInitWhenServiceDefinitionRegistryIsNull() {
+
+            assertThrows(NullPointerException.class,
+                    () -> new CachingServiceDefinitionRegistry(null));
+        }
+    }
+
+    @DisplayName("findServiceDefinition(Class<T>)")
+    @Nested
+    class FindServiceDefinition {
+
+        @SuppressWarnings("ConstantConditions")
+        @Test
+        void testFindServiceDefinitionWhenTypeIsNull() {
+
+            assertThrows(NullPointerException.class, () -> registry.findServiceDefinition(null));
+        }
+
+        @SuppressWarnings("unchecked")
+        @Test
+        void testFindServiceDefinitionWhenCalledTwice() {
+
+            final ServiceDefinition<Car> serviceDefinition = mock();
+            when(serviceDefinitionRegistry.findServiceDefinitions(Car.class))
+                    .thenReturn(List.of(serviceDefinition));
+
+            final ServiceDefinition<Car> result1 = registry.findServiceDefinition(Car.class);
+            final ServiceDefinition<Car> result2 = registry.findServiceDefinition(Car.class);
+
+            assertEquals(serviceDefinition, result1);
+            assertEquals(serviceDefinition, result2);
+            verify(serviceDefinitionRegistry).findServiceDefinitions(Car.class);
+            verifyNoMoreInteractions(serviceDefinition);
+        }
+
+        @Test
+        void testFindServiceDefinitionWhenNotFound() {
+
+            when(serviceDefinitionRegistry.findServiceDefinitions(Car.class))
+                    .thenReturn(List.of());
+            when(serviceDefinitionRegistry.findServiceDefinition(Car.class))
+                    .thenThrow(NoUniqueServiceException.class);
+
+            assertThrows(NoUniqueServiceException.class,
+                    () -> registry.findServiceDefinition(Car.class));
+            verify(serviceDefinitionRegistry).findServiceDefinitions(Car.class);
+            verify(serviceDefinitionRegistry).findServiceDefinition(Car.class);
+        }
+    }
+
+    @DisplayName("findServiceDefinitionOrNull(Class<T>)")
+    @Nested
+    class FindServiceDefinitionOrNull {
+
+        @SuppressWarnings("ConstantConditions")
+        @Test
+        void testFindServiceDefinitionOrNullWhenTypeIsNull() {
+
+            assertThrows(NullPointerException.class,
+                    () -> registry.findServiceDefinitionOrNull(null));
+        }
+
+        @SuppressWarnings("unchecked")
+        @Test
+        void testFindServiceDefinitionOrNullWhenCalledTwice() {
+
+            final ServiceDefinition<Car> serviceDefinition = mock();
+            when(serviceDefinitionRegistry.findServiceDefinitions(Car.class))
+                    .thenReturn(List.of(serviceDefinition));
+
+            final ServiceDefinition<Car> result1 = registry.findServiceDefinitionOrNull(Car.class);
+            final ServiceDefinition<Car> result2 = registry.findServiceDefinitionOrNull(Car.class);
+
+            assertEquals(serviceDefinition, result1);
+            assertEquals(serviceDefinition, result2);
+            verify(serviceDefinitionRegistry).findServiceDefinitions(Car.class);
+            verifyNoMoreInteractions(serviceDefinition);
+        }
+
+        @Test
+        void testFindServiceDefinitionOrNullWhenNotFoundCalledTwice() {
+
+            when(serviceDefinitionRegistry.findServiceDefinitions(Car.class))
+                    .thenReturn(List.of());
+
+            assertNull(registry.findServiceDefinitionOrNull(Car.class));
+            assertNull(registry.findServiceDefinitionOrNull(Car.class));
+            verify(serviceDefinitionRegistry).findServiceDefinitions(Car.class);
+        }
+    }
+
+    @DisplayName("findServiceDefinitions(Class<T>)")
+    @Nested
+    class FindServiceDefinitions {
+
+        @SuppressWarnings("ConstantConditions")
+        @Test
+        void testFindServiceDefinitionsWhenTypeIsNull() {
+
+            assertThrows(NullPointerException.class, () -> registry.findServiceDefinitions(null));
+        }
+
+        @SuppressWarnings("unchecked")
+        @Test
+        void testFindServiceDefinitionsWhenCalledTwice() {
+
+            final ServiceDefinition<Car> serviceDefinition = mock();
+            when(serviceDefinitionRegistry.findServiceDefinitions(Car.class))
+                    .thenReturn(List.of(serviceDefinition));
+
+            final List<ServiceDefinition<Car>> result1 = registry.findServiceDefinitions(Car.class);
+            final List<ServiceDefinition<Car>> result2 = registry.findServiceDefinitions(Car.class);
+
+            assertEquals(List.of(serviceDefinition), result1);
+            assertEquals(List.of(serviceDefinition), result2);
+            verify(serviceDefinitionRegistry).findServiceDefinitions(Car.class);
+            verifyNoMoreInteractions(serviceDefinition);
+        }
+
+        @Test
+        void testFindServiceDefinitionsWhenNotFoundCalledTwice() {
+
+            when(serviceDefinitionRegistry.findServiceDefinitions(Car.class))
+                    .thenReturn(List.of());
+
+            final List<ServiceDefinition<Car>> result1 = registry.findServiceDefinitions(Car.class);
+            final List<ServiceDefinition<Car>> result2 = registry.findServiceDefinitions(Car.class);
+
+            assertEquals(List.of(), result1);
+            assertEquals(List.of(), result2);
+            verify(serviceDefinitionRegistry).findServiceDefinitions(Car.class);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package dev.nebulamc.inject.internal;
+
+import dev.nebulamc.inject.ConstructionReport;
+import dev.nebulamc.inject.ServiceDefinition;
+import dev.nebulamc.inject.car.Engine;
+import dev.nebulamc.inject.car.V8Engine;
+import dev.nebulamc.inject.car.Wheels;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConstructionReportImplTest {
+
+    ServiceDefinition<Engine> engineServiceDefinition;
+    ServiceDefinition<Wheels> wheelsServiceDefinition;
+    ConstructionReport report;
+
+    @BeforeEach
+    void setUp() {
+
+        engineServiceDefinition = new SingletonServiceDefinition<>(Engine.class, new V8Engine());
+        wheelsServiceDefinition = new SingletonServiceDefinition<>(Wheels.class, new Wheels());
+        report = new ConstructionReportImpl();
+    }
+
+    @DisplayName("serviceCreated(ServiceDefinition<?>, long, long, int, int)")
+    @Nested
+    class ServiceCreated {
+
+        @SuppressWarnings("DataFlowIssue")
+        @Test
+        void testServiceCreatedWhenServiceDefinitionIsNull() {
+
+            assertThrows(NullPointerException.class, () -> report.serviceCreated(null, 0, 0, 0, 0));
+        }
+
+        @Test
+        void testServiceCreated() {
+
+            report.serviceCreated(engineServiceDefinition, 30, 10, 2, 1);
+            report.serviceCreated(engineServiceDefinition, 20, 20, 0, 3);
+
+            final ConstructionReport.Entry entry = report.getEntry(engineServiceDefinition);
+
+            assertEquals(engineServiceDefinition, entry.getServiceDefinition());
+            assertEquals(2, entry.getCount());
+            assertEquals(Duration.ofNanos(50), entry.getWallTime());
+            assertEquals(Duration.ofNanos(30), entry.getSelfTime());
+            assertEquals(2, entry.getDependencyCount());
+            assertEquals(3, entry.getMaxDepth());
+        }
+    }
+
+    @DisplayName("getEntries()")
+    @Nested
+    class GetEntries {
+
+        @Test
+        void testGetEntries() {
+
+            report.serviceCreated(engineServiceDefinition, 30, 10, 1, 0);
+            report.serviceCreated(wheelsServiceDefinition, 20, 20, 0, 1);
+
+            final List<ConstructionReport.Entry> entries = report.getEntries();
+
+            assertEquals(2, entries.size());
+            assertEquals(wheelsServiceDefinition, entries.get(0).getServiceDefinition());
+            assertEquals(engineServiceDefinition, entries.get(1).getServiceDefinition());
+        }
+    }
+
+    @DisplayName("getEntry(ServiceDefinition<?>)")
+    @Nested
+    class GetEntry {
+
+        @SuppressWarnings("DataFlowIssue")
+        @Test
+        void testGetEntryWhenServiceDefinitionIsNull() {
+
+            assertThrows(NullPointerException.class, () -> report.getEntry(null));
+        }
+
+        @Test
+        void testGetEntryWhenNoServicesWereCreated() {
+
+            assertNull(report.getEntry(engineServiceDefinition));
+        }
+    }
+
+    @DisplayName("format()")
+    @Nested
+    class Format {
+
+        @Test
+        void testFormat() {
+
+            report.serviceCreated(engineServiceDefinition, 3_000_000, 1_000_000, 1, 0);
+            report.serviceCreated(wheelsServiceDefinition, 2_000_000, 2_000_000, 0, 1);
+
+            final String[] lines = report.format().split(System.lineSeparator());
+
+            assertEquals(3, lines.length);
+            assertTrue(lines[0].contains("Self (ms)"));
+            assertTrue(lines[1].endsWith(Wheels.class.getName()));
+            assertTrue(lines[1].contains("2.000"));
+            assertTrue(lines[2].endsWith(Engine.class.getName()));
+            assertTrue(lines[2].contains("3.000"));
+        }
+    }
+}
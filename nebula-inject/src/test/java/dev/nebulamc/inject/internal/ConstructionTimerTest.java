@@ -0,0 +1,80 @@
+package dev.nebulamc.inject.internal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ConstructionTimerTest {
+
+    ConstructionTimer constructionTimer;
+
+    @BeforeEach
+    void setUp() {
+
+        constructionTimer = ConstructionTimer.current();
+    }
+
+    @DisplayName("current()")
+    @Nested
+    class Current {
+
+        @Test
+        void testCurrent() {
+
+            assertSame(constructionTimer, ConstructionTimer.current());
+        }
+    }
+
+    @DisplayName("start()")
+    @Nested
+    class Start {
+
+        @Test
+        void testStart() {
+
+            assertEquals(0, constructionTimer.start());
+            assertEquals(1, constructionTimer.start());
+            assertEquals(0L, constructionTimer.getDependencyTimeNanos());
+            assertEquals(0, constructionTimer.getDependencyCount());
+
+            constructionTimer.stop(0);
+            constructionTimer.stop(0);
+        }
+
+        @Test
+        void testStartWhenFull() {
+
+            for (int i = 0; i < 32; i++) {
+                assertEquals(i, constructionTimer.start());
+            }
+
+            for (int i = 0; i < 32; i++) {
+                constructionTimer.stop(0);
+            }
+        }
+    }
+
+    @DisplayName("stop(long)")
+    @Nested
+    class Stop {
+
+        @Test
+        void testStop() {
+
+            constructionTimer.start();
+            constructionTimer.start();
+            constructionTimer.stop(10);
+            constructionTimer.start();
+            constructionTimer.stop(20);
+
+            assertEquals(30L, constructionTimer.getDependencyTimeNanos());
+            assertEquals(2, constructionTimer.getDependencyCount());
+
+            constructionTimer.stop(40);
+        }
+    }
+}
@@ -7,23 +7,44 @@ import dev.nebulamc.inject.ServiceDefinitionRegistry;
 import dev.nebulamc.inject.ServiceException;
 import dev.nebulamc.inject.car.Car;
 import dev.nebulamc.inject.car.Engine;
+import dev.nebulamc.inject.car.Sedan;
 import dev.nebulamc.inject.car.V8Engine;
+import dev.nebulamc.inject.car.Wheels;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -46,6 +67,26 @@ class ContainerImplTest {
         verifyNoMoreInteractions(serviceDefinitionRegistry);
     }
 
+    /**
+     * Records the Nebula Inject events committed while running the specified action.
+     */
+    static List<RecordedEvent> record(final Runnable action) throws IOException {
+
+        final Path dump = Files.createTempFile("nebula-inject", ".jfr");
+
+        try (final Recording recording = new Recording()) {
+            recording.enable(ServiceResolutionEvent.class).withoutThreshold();
+            recording.enable(ServiceCreationEvent.class).withoutThreshold();
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(dump);
+            return RecordingFile.readAllEvents(dump);
+        } finally {
+            Files.delete(dump);
+        }
+    }
+
     @DisplayName("findServiceDefinition(Class<T>)")
     @Nested
     class FindServiceDefinition {
@@ -360,5 +401,392 @@ class ContainerImplTest {
             verify(serviceDefinitionRegistry).findServiceDefinitions(Engine.class);
             verifyNoMoreInteractions(serviceDefinition);
         }
+
+        @Test
+        void testFindServicesRecordsEvents() throws IOException {
+
+            final ServiceDefinition<Engine> serviceDefinition =
+                    new InjectServiceDefinitionFactoryImpl(new ParameterResolverImpl())
+                            .createServiceDefinition(Engine.class, V8Engine.class);
+            when(serviceDefinitionRegistry.findServiceDefinitions(Engine.class))
+                    .thenReturn(List.of(serviceDefinition));
+
+            final List<RecordedEvent> events = record(() -> {
+                container.findServices(Engine.class);
+                container.findServices(Engine.class);
+            });
+
+            final List<RecordedEvent> resolutionEvents = events.stream()
+                    .filter((event) -> event.getEventType().getName()
+                            .equals("dev.nebulamc.inject.ServiceResolution"))
+                    .toList();
+            final List<RecordedEvent> creationEvents = events.stream()
+                    .filter((event) -> event.getEventType().getName()
+                            .equals("dev.nebulamc.inject.ServiceCreation"))
+                    .toList();
+
+            assertEquals(2, resolutionEvents.size());
+            assertEquals(
+                    Engine.class.getName(),
+                    resolutionEvents.get(0).getClass("serviceType").getName());
+            assertFalse(resolutionEvents.get(0).getBoolean("cacheHit"));
+            assertTrue(resolutionEvents.get(1).getBoolean("cacheHit"));
+            assertEquals(1, creationEvents.size());
+            assertEquals(
+                    Engine.class.getName(),
+                    creationEvents.get(0).getClass("serviceType").getName());
+            assertNull(creationEvents.get(0).getClass("factory"));
+            verify(serviceDefinitionRegistry).findServiceDefinitions(Engine.class);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Test
+        void testFindServicesWhenCalledConcurrently() throws Exception {
+
+            final int threads = 16;
+            final AtomicInteger constructions = new AtomicInteger();
+            final ServiceDefinition<Engine> serviceDefinition = mock();
+            when(serviceDefinition.createService(any())).thenAnswer((invocation) -> {
+                constructions.incrementAndGet();
+                Thread.sleep(50); // widen the window for racing threads
+                return new V8Engine();
+            });
+
+            when(serviceDefinitionRegistry.findServiceDefinitions(Engine.class))
+                    .thenReturn(List.of(serviceDefinition));
+
+            final ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                final CountDownLatch start = new CountDownLatch(1);
+                final List<Future<List<Engine>>> results = new ArrayList<>();
+                for (int i = 0; i < threads; i++) {
+                    results.add(executor.submit(() -> {
+                        start.await();
+                        return container.findServices(Engine.class);
+                    }));
+                }
+                start.countDown();
+
+                final Engine engine = results.get(0).get(5, TimeUnit.SECONDS).get(0);
+                for (final Future<List<Engine>> result : results) {
+                    assertSame(engine, result.get(5, TimeUnit.SECONDS).get(0));
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+
+            assertEquals(1, constructions.get());
+            verify(serviceDefinition, times(1)).createService(any());
+            verify(serviceDefinitionRegistry).findServiceDefinitions(Engine.class);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Test
+        void testFindServicesWhenUnrelatedServiceIsBeingCreated() throws Exception {
+
+            final CountDownLatch engineCreationStarted = new CountDownLatch(1);
+            final CountDownLatch engineCreationReleased = new CountDownLatch(1);
+            final ServiceDefinition<Engine> engineDefinition = mock();
+            when(engineDefinition.createService(any())).thenAnswer((invocation) -> {
+                engineCreationStarted.countDown();
+                engineCreationReleased.await();
+                return new V8Engine();
+            });
+            final ServiceDefinition<Wheels> wheelsDefinition = mock();
+            when(wheelsDefinition.createService(any())).thenReturn(new Wheels());
+
+            when(serviceDefinitionRegistry.findServiceDefinitions(Engine.class))
+                    .thenReturn(List.of(engineDefinition));
+            when(serviceDefinitionRegistry.findServiceDefinitions(Wheels.class))
+                    .thenReturn(List.of(wheelsDefinition));
+
+            final ExecutorService executor = Executors.newSingleThreadExecutor();
+            try {
+                final Future<Engine> engine =
+                        executor.submit(() -> container.findService(Engine.class));
+                engineCreationStarted.await();
+
+                // Wheels must not wait for the slow engine to be constructed
+                final Wheels wheels = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                        () -> container.findService(Wheels.class));
+
+                engineCreationReleased.countDown();
+
+                assertInstanceOf(Wheels.class, wheels);
+                assertInstanceOf(V8Engine.class, engine.get(5, TimeUnit.SECONDS));
+            } finally {
+                engineCreationReleased.countDown();
+                executor.shutdownNow();
+            }
+
+            verify(serviceDefinitionRegistry).findServiceDefinitions(Engine.class);
+            verify(serviceDefinitionRegistry).findServiceDefinitions(Wheels.class);
+        }
+    }
+
+    @DisplayName("findServices(Class<T>) with a resolution plan")
+    @Nested
+    class FindServicesPrecompiled {
+
+        ServiceDefinition<Engine> engineServiceDefinition;
+        ServiceDefinition<Car> carServiceDefinition;
+
+        @SuppressWarnings("unchecked")
+        @BeforeEach
+        void setUp() {
+
+            engineServiceDefinition = mock();
+            when(engineServiceDefinition.createService(any())).thenReturn(new V8Engine());
+            carServiceDefinition =
+                    new InjectServiceDefinitionFactoryImpl(new ParameterResolverImpl())
+                            .createServiceDefinition(Car.class, Sedan.class);
+
+            when(serviceDefinitionRegistry.findServiceDefinitions(Car.class))
+                    .thenReturn(List.of(carServiceDefinition));
+            when(serviceDefinitionRegistry.findServiceDefinitions(Engine.class))
+                    .thenReturn(List.of(engineServiceDefinition));
+            when(serviceDefinitionRegistry.findServiceDefinitions(Wheels.class))
+                    .thenReturn(List.of(
+                            new SingletonServiceDefinition<>(Wheels.class, new Wheels())));
+
+            container = new ContainerImpl(
+                    serviceDefinitionRegistry,
+                    ResolutionPlan.compile(serviceDefinitionRegistry, List.of(Car.class)));
+
+            verify(serviceDefinitionRegistry).findServiceDefinitions(Car.class);
+            verify(serviceDefinitionRegistry).findServiceDefinitions(Engine.class);
+            verify(serviceDefinitionRegistry).findServiceDefinitions(Wheels.class);
+        }
+
+        @Test
+        void testFindServices() {
+
+            final Car car = container.findService(Car.class);
+
+            // Resolved through the plan, so the registry is not used again
+            assertSame(car, container.findService(Car.class));
+            assertSame(container.findService(Engine.class), car.getEngine());
+            assertSame(container.findService(Wheels.class), car.getWheels());
+            verify(engineServiceDefinition).createService(any());
+        }
+
+        @SuppressWarnings("unchecked")
+        @Test
+        void testFindServicesWhenRequiredServiceNotFound() {
+
+            when(engineServiceDefinition.createService(any()))
+                    .thenThrow(NoUniqueServiceException.class);
+
+            assertThrows(ServiceException.class, () -> container.findService(Car.class));
+        }
+
+        @Test
+        void testFindServicesWhenUnplanned() {
+
+            when(serviceDefinitionRegistry.findServiceDefinitions(V8Engine.class))
+                    .thenReturn(List.of());
+
+            assertEquals(List.of(), container.findServices(V8Engine.class));
+            verify(serviceDefinitionRegistry).findServiceDefinitions(V8Engine.class);
+        }
+
+        @Test
+        void testFindServicesWhenCalledConcurrently() throws Exception {
+
+            final int threads = 16;
+            final ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                final CountDownLatch start = new CountDownLatch(1);
+                final List<Future<Car>> results = new ArrayList<>();
+                for (int i = 0; i < threads; i++) {
+                    results.add(executor.submit(() -> {
+                        start.await();
+                        return container.findService(Car.class);
+                    }));
+                }
+                start.countDown();
+
+                final Car car = results.get(0).get(5, TimeUnit.SECONDS);
+                for (final Future<Car> result : results) {
+                    assertSame(car, result.get(5, TimeUnit.SECONDS));
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+
+            verify(engineServiceDefinition, times(1)).createService(any());
+        }
+    }
+
+    @DisplayName("findServices(Class<T>) with a parent")
+    @Nested
+    class FindServicesWithParent {
+
+        ServiceDefinitionRegistry parentServiceDefinitionRegistry;
+        ContainerImpl parent;
+
+        @BeforeEach
+        void setUp() {
+
+            parentServiceDefinitionRegistry = mock();
+            parent = new ContainerImpl(parentServiceDefinitionRegistry);
+            container = new ContainerImpl(
+                    serviceDefinitionRegistry,
+                    null,
+                    Map.of(),
+                    parent,
+                    null,
+                    null,
+                    null,
+                    false);
+        }
+
+        @Test
+        void testFindServicesWhenOnlyParentHasServices() {
+
+            when(serviceDefinitionRegistry.findServiceDefinitions(Engine.class))
+                    .thenReturn(List.of());
+            when(parentServiceDefinitionRegistry.findServiceDefinitions(Engine.class))
+                    .thenReturn(List.of(
+                            new SingletonServiceDefinition<>(Engine.class, new V8Engine())));
+
+            final List<Engine> engines = container.findServices(Engine.class);
+
+            // The parent's cached services are shared rather than copied
+            assertSame(parent.findServices(Engine.class), engines);
+            assertSame(engines, container.findServices(Engine.class));
+            // Only looked up once, as the type is remembered to be found in the parent
+            verify(serviceDefinitionRegistry).findServiceDefinitions(Engine.class);
+            verify(parentServiceDefinitionRegistry).findServiceDefinitions(Engine.class);
+        }
+
+        @Test
+        void testFindServicesWhenBothHaveServices() {
+
+            final Engine engine = new V8Engine();
+            final Engine parentEngine = new V8Engine();
+            when(serviceDefinitionRegistry.findServiceDefinitions(Engine.class))
+                    .thenReturn(List.of(new SingletonServiceDefinition<>(Engine.class, engine)));
+            when(parentServiceDefinitionRegistry.findServiceDefinitions(Engine.class))
+                    .thenReturn(List.of(
+                            new SingletonServiceDefinition<>(Engine.class, parentEngine)));
+
+            final List<Engine> engines = container.findServices(Engine.class);
+
+            assertEquals(List.of(engine, parentEngine), engines);
+            assertSame(engines, container.findServices(Engine.class));
+            verify(serviceDefinitionRegistry, times(2)).findServiceDefinitions(Engine.class);
+            verify(parentServiceDefinitionRegistry).findServiceDefinitions(Engine.class);
+        }
+
+        @Test
+        void testFindServicesWhenDependencyIsInParent() {
+
+            final Engine engine = new V8Engine();
+            final Wheels wheels = new Wheels();
+            final ServiceDefinition<Car> carServiceDefinition =
+                    new InjectServiceDefinitionFactoryImpl(new ParameterResolverImpl())
+                            .createServiceDefinition(Car.class, Sedan.class);
+            when(serviceDefinitionRegistry.findServiceDefinitions(Car.class))
+                    .thenReturn(List.of(carServiceDefinition));
+            when(serviceDefinitionRegistry.findServiceDefinitions(Engine.class))
+                    .thenReturn(List.of());
+            when(serviceDefinitionRegistry.findServiceDefinitions(Wheels.class))
+                    .thenReturn(List.of(new SingletonServiceDefinition<>(Wheels.class, wheels)));
+            when(parentServiceDefinitionRegistry.findServiceDefinitions(Engine.class))
+                    .thenReturn(List.of(new SingletonServiceDefinition<>(Engine.class, engine)));
+            when(parentServiceDefinitionRegistry.findServiceDefinitions(Car.class))
+                    .thenReturn(List.of());
+            when(parentServiceDefinitionRegistry.findServiceDefinitions(Wheels.class))
+                    .thenReturn(List.of());
+
+            final Car car = container.findService(Car.class);
+
+            assertSame(engine, car.getEngine());
+            assertSame(wheels, car.getWheels());
+            assertEquals(List.of(), parent.findServices(Car.class));
+            verify(serviceDefinitionRegistry, times(2)).findServiceDefinitions(Car.class);
+            verify(serviceDefinitionRegistry).findServiceDefinitions(Engine.class);
+            verify(serviceDefinitionRegistry, times(2)).findServiceDefinitions(Wheels.class);
+        }
+
+        @Test
+        void testFindServiceDefinitions() {
+
+            final ServiceDefinition<Engine> serviceDefinition =
+                    new SingletonServiceDefinition<>(Engine.class, new V8Engine());
+            final ServiceDefinition<Engine> parentServiceDefinition =
+                    new SingletonServiceDefinition<>(Engine.class, new V8Engine());
+            when(serviceDefinitionRegistry.findServiceDefinitions(Engine.class))
+                    .thenReturn(List.of(serviceDefinition));
+            when(parentServiceDefinitionRegistry.findServiceDefinitions(Engine.class))
+                    .thenReturn(List.of(parentServiceDefinition));
+
+            assertEquals(
+                    List.of(serviceDefinition, parentServiceDefinition),
+                    container.findServiceDefinitions(Engine.class));
+            verify(serviceDefinitionRegistry).findServiceDefinitions(Engine.class);
+        }
+    }
+
+    @DisplayName("createAllPlannedServices(Executor)")
+    @Nested
+    class CreateAllPlannedServices {
+
+        @SuppressWarnings("DataFlowIssue")
+        @Test
+        void testCreateAllPlannedServicesWhenExecutorIsNull() {
+
+            final ContainerImpl container = new ContainerImpl(serviceDefinitionRegistry);
+
+            assertThrows(NullPointerException.class,
+                    () -> container.createAllPlannedServices(null));
+        }
+
+        @Test
+        void testCreateAllPlannedServicesWhenNotPlanned() {
+
+            final ContainerImpl container = new ContainerImpl(serviceDefinitionRegistry);
+
+            assertThrows(IllegalStateException.class,
+                    () -> container.createAllPlannedServices(Runnable::run));
+        }
+
+        @SuppressWarnings("unchecked")
+        @Test
+        void testCreateAllPlannedServices() {
+
+            final ServiceDefinition<Engine> serviceDefinition = mock();
+            when(serviceDefinition.createService(any())).thenReturn(new V8Engine());
+            when(serviceDefinitionRegistry.findServiceDefinitions(Engine.class))
+                    .thenReturn(List.of(serviceDefinition));
+            final ContainerImpl container = new ContainerImpl(
+                    serviceDefinitionRegistry,
+                    ResolutionPlan.compile(serviceDefinitionRegistry, List.of(Engine.class)));
+
+            container.createAllPlannedServices(Runnable::run);
+
+            verify(serviceDefinition).createService(any());
+            assertInstanceOf(V8Engine.class, container.findService(Engine.class));
+            verify(serviceDefinitionRegistry).findServiceDefinitions(Engine.class);
+            verifyNoMoreInteractions(serviceDefinition);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Test
+        void testCreateAllPlannedServicesWhenServiceException() {
+
+            final ServiceDefinition<Engine> serviceDefinition = mock();
+            when(serviceDefinition.createService(any())).thenThrow(ServiceException.class);
+            when(serviceDefinitionRegistry.findServiceDefinitions(Engine.class))
+                    .thenReturn(List.of(serviceDefinition));
+            final ContainerImpl container = new ContainerImpl(
+                    serviceDefinitionRegistry,
+                    ResolutionPlan.compile(serviceDefinitionRegistry, List.of(Engine.class)));
+
+            assertThrows(ServiceException.class,
+                    () -> container.createAllPlannedServices(Runnable::run));
+            verify(serviceDefinitionRegistry).findServiceDefinitions(Engine.class);
+        }
     }
 }
@@ -0,0 +1,128 @@
+package dev.nebulamc.inject.internal;
+
+import dev.nebulamc.inject.ContainerStatistics;
+import dev.nebulamc.inject.ServiceDefinition;
+import dev.nebulamc.inject.car.Engine;
+import dev.nebulamc.inject.car.V8Engine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ContainerStatisticsImplTest {
+
+    ServiceDefinition<Engine> serviceDefinition;
+    ContainerStatistics statistics;
+
+    @BeforeEach
+    void setUp() {
+
+        serviceDefinition = new SingletonServiceDefinition<>(Engine.class, new V8Engine());
+        statistics = new ContainerStatisticsImpl();
+    }
+
+    @DisplayName("servicesFound(Class<?>, boolean)")
+    @Nested
+    class ServicesFound {
+
+        @SuppressWarnings("DataFlowIssue")
+        @Test
+        void testServicesFoundWhenServiceTypeIsNull() {
+
+            assertThrows(NullPointerException.class, () -> statistics.servicesFound(null, true));
+        }
+
+        @Test
+        void testServicesFound() {
+
+            statistics.servicesFound(Engine.class, false);
+            statistics.servicesFound(Engine.class, true);
+            statistics.servicesFound(Engine.class, true);
+            statistics.servicesFound(Engine.class, true);
+
+            assertEquals(4L, statistics.getLookupCount());
+            assertEquals(3L, statistics.getCacheHitCount());
+            assertEquals(0.75, statistics.getCacheHitRatio());
+        }
+    }
+
+    @DisplayName("serviceCreated(ServiceDefinition<?>, long)")
+    @Nested
+    class ServiceCreated {
+
+        @SuppressWarnings("DataFlowIssue")
+        @Test
+        void testServiceCreatedWhenServiceDefinitionIsNull() {
+
+            assertThrows(NullPointerException.class, () -> statistics.serviceCreated(null, 0));
+        }
+
+        @Test
+        void testServiceCreated() {
+
+            statistics.serviceCreated(serviceDefinition, 10);
+            statistics.serviceCreated(serviceDefinition, 20);
+
+            assertEquals(2L, statistics.getCreationCount());
+            assertEquals(Duration.ofNanos(30), statistics.getTotalCreationTime());
+            assertEquals(Duration.ofNanos(10), statistics.getCreationTime(0.5));
+            assertEquals(Duration.ofNanos(20), statistics.getCreationTime(1));
+        }
+    }
+
+    @DisplayName("singletonsCached(Class<?>, int)")
+    @Nested
+    class SingletonsCached {
+
+        @SuppressWarnings("DataFlowIssue")
+        @Test
+        void testSingletonsCachedWhenServiceTypeIsNull() {
+
+            assertThrows(NullPointerException.class, () -> statistics.singletonsCached(null, 1));
+        }
+
+        @Test
+        void testSingletonsCached() {
+
+            statistics.singletonsCached(Engine.class, 2);
+
+            assertEquals(2L, statistics.getSingletonCount());
+        }
+    }
+
+    @DisplayName("getCacheHitRatio()")
+    @Nested
+    class GetCacheHitRatio {
+
+        @Test
+        void testGetCacheHitRatioWhenNoServicesFound() {
+
+            assertEquals(0.0, statistics.getCacheHitRatio());
+        }
+    }
+
+    @DisplayName("getCreationTime(double)")
+    @Nested
+    class GetCreationTime {
+
+        @Test
+        void testGetCreationTimeWhenQuantileIsOutOfRange() {
+
+            assertThrows(IllegalArgumentException.class, () -> statistics.getCreationTime(-0.1));
+            assertThrows(IllegalArgumentException.class, () -> statistics.getCreationTime(1.1));
+            assertThrows(IllegalArgumentException.class,
+                    () -> statistics.getCreationTime(Double.NaN));
+        }
+
+        @Test
+        void testGetCreationTimeWhenNoServicesCreated() {
+
+            assertEquals(Duration.ZERO, statistics.getCreationTime(0.5));
+        }
+    }
+}
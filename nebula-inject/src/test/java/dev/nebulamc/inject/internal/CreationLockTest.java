@@ -0,0 +1,160 @@
+package dev.nebulamc.inject.internal;
+
+import dev.nebulamc.inject.ServiceException;
+import dev.nebulamc.inject.car.Car;
+import dev.nebulamc.inject.car.Engine;
+import dev.nebulamc.inject.car.Wheels;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CreationLockTest {
+
+    CreationLock carLock;
+    CreationLock engineLock;
+
+    @BeforeEach
+    void setUp() {
+
+        carLock = new CreationLock(Car.class);
+        engineLock = new CreationLock(Engine.class);
+    }
+
+    @DisplayName("lock()")
+    @Nested
+    class Lock {
+
+        @Test
+        void testLockIsReentrant() {
+
+            carLock.lock();
+            carLock.lock();
+            carLock.unlock();
+            carLock.unlock();
+        }
+
+        @Test
+        void testLockWhenHeldByOtherThread() throws Exception {
+
+            final CountDownLatch locked = new CountDownLatch(1);
+            final CountDownLatch unlock = new CountDownLatch(1);
+
+            final ExecutorService executor = Executors.newSingleThreadExecutor();
+            try {
+                final Future<?> owner = executor.submit(() -> {
+                    carLock.lock();
+                    try {
+                        locked.countDown();
+                        assertTrue(unlock.await(5, TimeUnit.SECONDS));
+                    } finally {
+                        carLock.unlock();
+                    }
+                    return null;
+                });
+
+                assertTrue(locked.await(5, TimeUnit.SECONDS));
+                unlock.countDown();
+                carLock.lock();
+                carLock.unlock();
+                owner.get(5, TimeUnit.SECONDS);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        @Test
+        void testLockWhenThreadsWaitForEachOther() throws Exception {
+
+            // each thread holds the lock the other is waiting for, so one of them must fail
+            // rather than both waiting forever
+
+            final CountDownLatch locked = new CountDownLatch(2);
+
+            final ExecutorService executor = Executors.newFixedThreadPool(2);
+            try {
+                final Future<String> car = executor.submit(() ->
+                        lockBoth(carLock, engineLock, locked));
+                final Future<String> engine = executor.submit(() ->
+                        lockBoth(engineLock, carLock, locked));
+
+                final String carCycle = car.get(5, TimeUnit.SECONDS);
+                final String engineCycle = engine.get(5, TimeUnit.SECONDS);
+
+                assertFalse(carCycle == null && engineCycle == null);
+                if (carCycle != null) {
+                    assertEquals("Cyclic dependency: " + Engine.class.getName() + " -> " +
+                            Car.class.getName() + " -> " + Engine.class.getName(), carCycle);
+                }
+                if (engineCycle != null) {
+                    assertEquals("Cyclic dependency: " + Car.class.getName() + " -> " +
+                            Engine.class.getName() + " -> " + Car.class.getName(), engineCycle);
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        @Test
+        void testLockWhenThreeThreadsWaitForEachOther() throws Exception {
+
+            // waiting threads are not woken until a lock is released, so the cycle must be
+            // found by the thread that closes it
+
+            final CreationLock wheelsLock = new CreationLock(Wheels.class);
+            final CountDownLatch locked = new CountDownLatch(3);
+
+            final ExecutorService executor = Executors.newFixedThreadPool(3);
+            try {
+                final Future<String> car = executor.submit(() ->
+                        lockBoth(carLock, engineLock, locked));
+                final Future<String> engine = executor.submit(() ->
+                        lockBoth(engineLock, wheelsLock, locked));
+                final Future<String> wheels = executor.submit(() ->
+                        lockBoth(wheelsLock, carLock, locked));
+
+                final String carCycle = car.get(5, TimeUnit.SECONDS);
+                final String engineCycle = engine.get(5, TimeUnit.SECONDS);
+                final String wheelsCycle = wheels.get(5, TimeUnit.SECONDS);
+
+                assertFalse(carCycle == null && engineCycle == null && wheelsCycle == null);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        /**
+         * Locks the first lock and then the second, once every thread has locked its first lock.
+         *
+         * @return the message of the exception describing the cycle, or {@code null} if both
+         * locks were acquired
+         */
+        private static String lockBoth(final CreationLock first,
+                                       final CreationLock second,
+                                       final CountDownLatch locked) throws InterruptedException {
+
+            first.lock();
+            try {
+                locked.countDown();
+                assertTrue(locked.await(5, TimeUnit.SECONDS));
+                second.lock();
+                second.unlock();
+                return null;
+            } catch (final ServiceException e) {
+                return e.getMessage();
+            } finally {
+                first.unlock();
+            }
+        }
+    }
+}
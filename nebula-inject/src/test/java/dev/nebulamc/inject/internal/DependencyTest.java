@@ -0,0 +1,379 @@
+package dev.nebulamc.inject.internal;
+
+import dev.nebulamc.inject.Named;
+import dev.nebulamc.inject.NoUniqueServiceException;
+import dev.nebulamc.inject.ServiceException;
+import dev.nebulamc.inject.ServiceFinder;
+import dev.nebulamc.inject.TypeToken;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Parameter;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DependencyTest {
+
+    static class Parameters {
+
+        public Parameters(final String string,
+                          final Iterable<String> iterable,
+                          final Collection<String> collection,
+                          final List<String> list,
+                          final Set<String> set,
+                          final String[] array,
+                          final List<List<String>> genericElement,
+                          final Supplier<String> supplier) {
+
+        }
+    }
+
+    static class NamedParameters {
+
+        public NamedParameters(@Named("name") final String string,
+                               @Named("name") final Supplier<String> supplier,
+                               @Named("name") final List<String> list) {
+
+        }
+    }
+
+    Parameter[] parameters;
+    Parameter[] namedParameters;
+
+    @BeforeEach
+    void setUp() {
+
+        parameters = Parameters.class.getDeclaredConstructors()[0].getParameters();
+        namedParameters = NamedParameters.class.getDeclaredConstructors()[0].getParameters();
+    }
+
+    @DisplayName("of(Parameter)")
+    @Nested
+    class Of {
+
+        @SuppressWarnings("DataFlowIssue")
+        @Test
+        void testOfWhenParameterIsNull() {
+
+            assertThrows(NullPointerException.class, () -> Dependency.of(null));
+        }
+
+        @Test
+        void testOfWhenParameterIsNotCollection() {
+
+            final Dependency dependency = Dependency.of(parameters[0]);
+
+            assertEquals(String.class, dependency.getServiceType());
+            assertTrue(dependency.isSingle());
+        }
+
+        @Test
+        void testOfWhenParameterIsCollection() {
+
+            for (int i = 1; i <= 5; i++) {
+                final Dependency dependency = Dependency.of(parameters[i]);
+
+                assertEquals(String.class, dependency.getServiceType());
+                assertFalse(dependency.isSingle());
+            }
+        }
+
+        @Test
+        void testOfWhenParameterIsCollectionWithGenericElementType() {
+
+            // the same as ParameterResolverImpl, services of the erasure of the collection type
+            // should be resolved (e.g. List<List<String>> -> List)
+
+            final Dependency dependency = Dependency.of(parameters[6]);
+
+            assertEquals(List.class, dependency.getServiceType());
+            assertTrue(dependency.isSingle());
+        }
+
+        @Test
+        void testOfWhenParameterIsParameterized() {
+
+            final Dependency dependency = Dependency.of(parameters[6]);
+
+            assertEquals(new TypeToken<List<List<String>>>() {}, dependency.getGenericType());
+        }
+
+        @Test
+        void testOfWhenParameterIsNotParameterized() {
+
+            assertNull(Dependency.of(parameters[0]).getGenericType());
+            // the element types of collections are erased
+            assertNull(Dependency.of(parameters[3]).getGenericType());
+        }
+
+        @Test
+        void testOfWhenParameterIsSupplier() {
+
+            final Dependency dependency = Dependency.of(parameters[7]);
+
+            assertEquals(String.class, dependency.getServiceType());
+            assertFalse(dependency.isSingle());
+            assertTrue(dependency.isLazy());
+        }
+
+        @Test
+        void testOfWhenParameterIsNotNamed() {
+
+            assertNull(Dependency.of(parameters[0]).getName());
+        }
+
+        @Test
+        void testOfWhenParameterIsNamed() {
+
+            final Dependency dependency = Dependency.of(namedParameters[0]);
+
+            assertEquals(String.class, dependency.getServiceType());
+            assertEquals("name", dependency.getName());
+            assertTrue(dependency.isSingle());
+        }
+
+        @Test
+        void testOfWhenNamedParameterIsSupplier() {
+
+            final Dependency dependency = Dependency.of(namedParameters[1]);
+
+            assertEquals("name", dependency.getName());
+            assertTrue(dependency.isLazy());
+        }
+
+        @Test
+        void testOfWhenNamedParameterIsCollection() {
+
+            assertThrows(ServiceException.class, () -> Dependency.of(namedParameters[2]));
+        }
+    }
+
+    @DisplayName("resolve(ServiceFinder)")
+    @Nested
+    class ResolveServiceFinder {
+
+        ServiceFinder serviceFinder;
+
+        @BeforeEach
+        void setUp() {
+
+            serviceFinder = mock();
+        }
+
+        @SuppressWarnings("DataFlowIssue")
+        @Test
+        void testResolveWhenServiceFinderIsNull() {
+
+            final Dependency dependency = Dependency.of(parameters[0]);
+
+            assertThrows(NullPointerException.class,
+                    () -> dependency.resolve((ServiceFinder) null));
+        }
+
+        @Test
+        void testResolveWhenSingle() {
+
+            when(serviceFinder.findService(String.class)).thenReturn("service");
+
+            assertEquals("service", Dependency.of(parameters[0]).resolve(serviceFinder));
+        }
+
+        @Test
+        void testResolveWhenSet() {
+
+            when(serviceFinder.findServices(String.class))
+                    .thenReturn(List.of("service 1", "service 2"));
+
+            assertEquals(
+                    Set.of("service 1", "service 2"),
+                    Dependency.of(parameters[4]).resolve(serviceFinder));
+        }
+
+        @Test
+        void testResolveWhenSupplier() {
+
+            when(serviceFinder.findService(String.class)).thenReturn("service");
+
+            final Supplier<?> supplier =
+                    (Supplier<?>) Dependency.of(parameters[7]).resolve(serviceFinder);
+
+            verify(serviceFinder, never()).findService(String.class);
+            assertEquals("service", supplier.get());
+            assertEquals("service", supplier.get());
+            verify(serviceFinder).findService(String.class);
+        }
+
+        @Test
+        void testResolveWhenSupplierOfSingleton() {
+
+            final ScopedServiceFinder serviceFinder = mock();
+            when(serviceFinder.findService(String.class)).thenReturn("service");
+            when(serviceFinder.isSingleton(String.class)).thenReturn(true);
+
+            final Supplier<?> supplier =
+                    (Supplier<?>) Dependency.of(parameters[7]).resolve(serviceFinder);
+
+            assertEquals("service", supplier.get());
+            assertEquals("service", supplier.get());
+            verify(serviceFinder, times(1)).findService(String.class);
+        }
+
+        @Test
+        void testResolveWhenSupplierOfScopedService() {
+
+            final ScopedServiceFinder serviceFinder = mock();
+            when(serviceFinder.findService(String.class)).thenReturn("service 1", "service 2");
+            when(serviceFinder.isSingleton(String.class)).thenReturn(false);
+
+            final Supplier<?> supplier =
+                    (Supplier<?>) Dependency.of(parameters[7]).resolve(serviceFinder);
+
+            assertEquals("service 1", supplier.get());
+            assertEquals("service 2", supplier.get());
+            verify(serviceFinder, times(2)).findService(String.class);
+        }
+
+        @Test
+        void testResolveWhenParameterized() {
+
+            final TypeToken<List<List<String>>> type = new TypeToken<>() {};
+            when(serviceFinder.findGenericService(type)).thenReturn(List.of(List.of("service")));
+
+            assertEquals(
+                    List.of(List.of("service")),
+                    Dependency.of(parameters[6]).resolve(serviceFinder));
+            verify(serviceFinder, never()).findService(List.class);
+        }
+
+        @Test
+        void testResolveWhenNamed() {
+
+            when(serviceFinder.findService(String.class, "name")).thenReturn("service");
+
+            assertEquals("service", Dependency.of(namedParameters[0]).resolve(serviceFinder));
+            verify(serviceFinder, never()).findService(String.class);
+        }
+
+        @Test
+        void testResolveWhenNamedSupplier() {
+
+            when(serviceFinder.findService(String.class, "name")).thenReturn("service");
+
+            final Supplier<?> supplier =
+                    (Supplier<?>) Dependency.of(namedParameters[1]).resolve(serviceFinder);
+
+            verify(serviceFinder, never()).findService(String.class, "name");
+            assertEquals("service", supplier.get());
+            verify(serviceFinder).findService(String.class, "name");
+        }
+    }
+
+    @DisplayName("resolve(List<?>)")
+    @Nested
+    class ResolveList {
+
+        @SuppressWarnings("DataFlowIssue")
+        @Test
+        void testResolveWhenServicesIsNull() {
+
+            final Dependency dependency = Dependency.of(parameters[0]);
+
+            assertThrows(NullPointerException.class, () -> dependency.resolve((List<?>) null));
+        }
+
+        @Test
+        void testResolveWhenSingle() {
+
+            assertEquals("service", Dependency.of(parameters[0]).resolve(List.of("service")));
+        }
+
+        @Test
+        void testResolveWhenSingleAndNotUnique() {
+
+            final Dependency dependency = Dependency.of(parameters[0]);
+
+            assertThrows(NoUniqueServiceException.class, () -> dependency.resolve(List.of()));
+            assertThrows(NoUniqueServiceException.class,
+                    () -> dependency.resolve(List.of("service 1", "service 2")));
+        }
+
+        @Test
+        void testResolveWhenList() {
+
+            assertEquals(
+                    List.of("service 1", "service 2"),
+                    Dependency.of(parameters[3]).resolve(List.of("service 1", "service 2")));
+        }
+
+        @Test
+        void testResolveWhenSet() {
+
+            assertEquals(
+                    Set.of("service 1", "service 2"),
+                    Dependency.of(parameters[4]).resolve(List.of("service 1", "service 2")));
+        }
+
+        @Test
+        void testResolveWhenArray() {
+
+            assertArrayEquals(
+                    new String[]{"service 1", "service 2"},
+                    (String[]) Dependency.of(parameters[5])
+                            .resolve(List.of("service 1", "service 2")));
+        }
+
+        @Test
+        void testResolveWhenArrayAndCalledTwice() {
+
+            final Dependency dependency = Dependency.of(parameters[5]);
+
+            final String[] array1 = (String[]) dependency.resolve(List.of("service"));
+            final String[] array2 = (String[]) dependency.resolve(List.of("service"));
+
+            assertNotSame(array1, array2);
+            assertArrayEquals(new String[]{"service"}, array1);
+            assertArrayEquals(new String[]{"service"}, array2);
+        }
+
+        @Test
+        void testResolveWhenSupplier() {
+
+            final Supplier<?> supplier =
+                    (Supplier<?>) Dependency.of(parameters[7]).resolve(List.of("service"));
+
+            assertEquals("service", supplier.get());
+        }
+
+        @Test
+        void testResolveWhenSupplierAndNotUnique() {
+
+            final Dependency dependency = Dependency.of(parameters[7]);
+
+            assertThrows(NoUniqueServiceException.class, () -> dependency.resolve(List.of()));
+        }
+
+        @Test
+        void testResolveWhenArrayIsEmpty() {
+
+            assertArrayEquals(new String[0], (String[]) Dependency.of(parameters[5])
+                    .resolve(List.of()));
+        }
+    }
+}
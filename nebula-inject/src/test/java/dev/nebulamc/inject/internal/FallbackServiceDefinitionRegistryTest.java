@@ -13,6 +13,7 @@ import org.junit.jupiter.api.Test;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -81,14 +82,14 @@ class FallbackServiceDefinitionRegistryTest {
         void testFindServiceDefinitionWhenServiceDefinitionRegistryHasService() {
 
             final ServiceDefinition<Engine> serviceDefinition = mock();
-            when(serviceDefinitionRegistry.findServiceDefinition(Engine.class))
+            when(serviceDefinitionRegistry.findServiceDefinitionOrNull(Engine.class))
                     .thenReturn(serviceDefinition);
 
             final ServiceDefinition<Engine> result = fallbackServiceDefinitionRegistry
                     .findServiceDefinition(Engine.class);
 
             assertEquals(serviceDefinition, result);
-            verify(serviceDefinitionRegistry).findServiceDefinition(Engine.class);
+            verify(serviceDefinitionRegistry).findServiceDefinitionOrNull(Engine.class);
         }
 
         @SuppressWarnings("unchecked")
@@ -97,8 +98,8 @@ class FallbackServiceDefinitionRegistryTest {
 
             final ServiceDefinition<Engine> serviceDefinition = mock();
 
-            when(serviceDefinitionRegistry.findServiceDefinition(Engine.class))
-                    .thenThrow(NoUniqueServiceException.class);
+            when(serviceDefinitionRegistry.findServiceDefinitionOrNull(Engine.class))
+                    .thenReturn(null);
             when(fallback.findServiceDefinition(Engine.class))
                     .thenReturn(serviceDefinition);
 
@@ -106,7 +107,7 @@ class FallbackServiceDefinitionRegistryTest {
                     .findServiceDefinition(Engine.class);
 
             assertEquals(serviceDefinition, result);
-            verify(serviceDefinitionRegistry).findServiceDefinition(Engine.class);
+            verify(serviceDefinitionRegistry).findServiceDefinitionOrNull(Engine.class);
             verify(fallback).findServiceDefinition(Engine.class);
         }
 
@@ -114,18 +115,78 @@ class FallbackServiceDefinitionRegistryTest {
         @Test
         void testFindServiceDefinitionWhenServiceDefinitionRegistryAndFallbackDoesNotHaveService() {
 
-            when(serviceDefinitionRegistry.findServiceDefinition(Engine.class))
-                    .thenThrow(NoUniqueServiceException.class);
+            when(serviceDefinitionRegistry.findServiceDefinitionOrNull(Engine.class))
+                    .thenReturn(null);
             when(fallback.findServiceDefinition(Engine.class))
                     .thenThrow(NoUniqueServiceException.class);
 
             assertThrows(NoUniqueServiceException.class,
                     () -> fallbackServiceDefinitionRegistry.findServiceDefinition(Engine.class));
-            verify(serviceDefinitionRegistry).findServiceDefinition(Engine.class);
+            verify(serviceDefinitionRegistry).findServiceDefinitionOrNull(Engine.class);
             verify(fallback).findServiceDefinition(Engine.class);
         }
     }
 
+    @DisplayName("findServiceDefinitionOrNull(Class<T>)")
+    @Nested
+    class FindServiceDefinitionOrNull {
+
+        @SuppressWarnings("ConstantConditions")
+        @Test
+        void testFindServiceDefinitionOrNullWhenTypeIsNull() {
+
+            assertThrows(NullPointerException.class,
+                    () -> fallbackServiceDefinitionRegistry.findServiceDefinitionOrNull(null));
+        }
+
+        @SuppressWarnings("unchecked")
+        @Test
+        void testFindServiceDefinitionOrNullWhenServiceDefinitionRegistryHasService() {
+
+            final ServiceDefinition<Engine> serviceDefinition = mock();
+            when(serviceDefinitionRegistry.findServiceDefinitionOrNull(Engine.class))
+                    .thenReturn(serviceDefinition);
+
+            final ServiceDefinition<Engine> result = fallbackServiceDefinitionRegistry
+                    .findServiceDefinitionOrNull(Engine.class);
+
+            assertEquals(serviceDefinition, result);
+            verify(serviceDefinitionRegistry).findServiceDefinitionOrNull(Engine.class);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Test
+        void testFindServiceDefinitionOrNullWhenServiceDefinitionRegistryDoesNotHaveService() {
+
+            final ServiceDefinition<Engine> serviceDefinition = mock();
+
+            when(serviceDefinitionRegistry.findServiceDefinitionOrNull(Engine.class))
+                    .thenReturn(null);
+            when(fallback.findServiceDefinitionOrNull(Engine.class))
+                    .thenReturn(serviceDefinition);
+
+            final ServiceDefinition<Engine> result = fallbackServiceDefinitionRegistry
+                    .findServiceDefinitionOrNull(Engine.class);
+
+            assertEquals(serviceDefinition, result);
+            verify(serviceDefinitionRegistry).findServiceDefinitionOrNull(Engine.class);
+            verify(fallback).findServiceDefinitionOrNull(Engine.class);
+        }
+
+        @Test
+        void testFindServiceDefinitionOrNullWhenNeitherRegistryHasService() {
+
+            when(serviceDefinitionRegistry.findServiceDefinitionOrNull(Engine.class))
+                    .thenReturn(null);
+            when(fallback.findServiceDefinitionOrNull(Engine.class))
+                    .thenReturn(null);
+
+            assertNull(fallbackServiceDefinitionRegistry.findServiceDefinitionOrNull(Engine.class));
+            verify(serviceDefinitionRegistry).findServiceDefinitionOrNull(Engine.class);
+            verify(fallback).findServiceDefinitionOrNull(Engine.class);
+        }
+    }
+
     @DisplayName("findServiceDefinitions(Class<T>)")
     @Nested
     class FindServiceDefinitions {
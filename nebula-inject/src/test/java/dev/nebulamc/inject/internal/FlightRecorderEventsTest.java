@@ -0,0 +1,62 @@
+package dev.nebulamc.inject.internal;
+
+import dev.nebulamc.inject.car.Engine;
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class FlightRecorderEventsTest {
+
+    @DisplayName("beginServiceResolution(Class<?>)")
+    @Nested
+    class BeginServiceResolution {
+
+        @Test
+        void testBeginServiceResolutionWhenNotRecorded() {
+
+            assertNull(FlightRecorderEvents.beginServiceResolution(Engine.class));
+        }
+
+        @Test
+        void testBeginServiceResolution() {
+
+            try (final Recording recording = new Recording()) {
+                recording.enable(ServiceResolutionEvent.class).withoutThreshold();
+                recording.start();
+
+                final Object event = FlightRecorderEvents.beginServiceResolution(Engine.class);
+
+                assertInstanceOf(ServiceResolutionEvent.class, event);
+                FlightRecorderEvents.commitServiceResolution(event, false, false);
+            }
+        }
+    }
+
+    @DisplayName("beginServiceCreation()")
+    @Nested
+    class BeginServiceCreation {
+
+        @Test
+        void testBeginServiceCreationWhenNotRecorded() {
+
+            assertNull(FlightRecorderEvents.beginServiceCreation());
+        }
+
+        @Test
+        void testBeginServiceCreation() {
+
+            try (final Recording recording = new Recording()) {
+                recording.enable(ServiceCreationEvent.class).withoutThreshold();
+                recording.start();
+
+                assertInstanceOf(
+                        ServiceCreationEvent.class,
+                        FlightRecorderEvents.beginServiceCreation());
+            }
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package dev.nebulamc.inject.internal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Constructor;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class HiddenClassConstructorAccessorFactoryTest {
+
+    static final class Service {
+
+        final String string;
+        final int i;
+        final long l;
+        final double d;
+        final boolean b;
+        final Object object;
+        final String[] strings;
+
+        private Service(final String string,
+                        final int i,
+                        final long l,
+                        final double d,
+                        final boolean b,
+                        final Object object,
+                        final String[] strings) {
+
+            this.string = string;
+            this.i = i;
+            this.l = l;
+            this.d = d;
+            this.b = b;
+            this.object = object;
+            this.strings = strings;
+        }
+    }
+
+    static final class ThrowingService {
+
+        static final IllegalStateException EXCEPTION = new IllegalStateException();
+
+        ThrowingService() {
+
+            throw EXCEPTION;
+        }
+    }
+
+    ConstructorAccessorFactory fallback;
+    ConstructorAccessorFactory constructorAccessorFactory;
+
+    @BeforeEach
+    void setUp() {
+
+        fallback = mock();
+        constructorAccessorFactory = new HiddenClassConstructorAccessorFactory(fallback);
+    }
+
+    @DisplayName("<init>(ConstructorAccessorFactory)")
+    @Nested
+    class Init {
+
+        @SuppressWarnings("ConstantConditions")
+        @Test
+        void testInitWhenFallbackIsNull() {
+
+            assertThrows(NullPointerException.class,
+                    () -> new HiddenClassConstructorAccessorFactory(null));
+        }
+    }
+
+    @DisplayName("createConstructorAccessor(Constructor<?>)")
+    @Nested
+    class CreateConstructorAccessor {
+
+        @SuppressWarnings("DataFlowIssue")
+        @Test
+        void testCreateConstructorAccessorWhenConstructorIsNull() {
+
+            assertThrows(
+                    NullPointerException.class,
+                    () -> constructorAccessorFactory.createConstructorAccessor(null));
+        }
+
+        @Test
+        void testCreateConstructorAccessor() throws Throwable {
+
+            final Object object = new Object();
+            final String[] strings = {"string"};
+            final ConstructorAccessor constructorAccessor = constructorAccessorFactory
+                    .createConstructorAccessor(Service.class.getDeclaredConstructor(
+                            String.class,
+                            int.class,
+                            long.class,
+                            double.class,
+                            boolean.class,
+                            Object.class,
+                            String[].class));
+
+            final Service service = (Service) constructorAccessor.newInstance(
+                    new Object[]{"string", 1, 2L, 3.0, true, object, strings});
+
+            assertEquals("string", service.string);
+            assertEquals(1, service.i);
+            assertEquals(2L, service.l);
+            assertEquals(3.0, service.d);
+            assertEquals(true, service.b);
+            assertSame(object, service.object);
+            assertArrayEquals(strings, service.strings);
+            verifyNoInteractions(fallback);
+        }
+
+        @Test
+        void testCreateConstructorAccessorWhenArgumentHasWrongType() throws Exception {
+
+            final ConstructorAccessor constructorAccessor = constructorAccessorFactory
+                    .createConstructorAccessor(Service.class.getDeclaredConstructor(
+                            String.class,
+                            int.class,
+                            long.class,
+                            double.class,
+                            boolean.class,
+                            Object.class,
+                            String[].class));
+
+            assertThrows(
+                    ClassCastException.class,
+                    () -> constructorAccessor.newInstance(
+                            new Object[]{1, 1, 2L, 3.0, true, "", new String[0]}));
+        }
+
+        @Test
+        void testCreateConstructorAccessorWhenConstructorThrows() throws Exception {
+
+            final ConstructorAccessor constructorAccessor = constructorAccessorFactory
+                    .createConstructorAccessor(ThrowingService.class.getDeclaredConstructor());
+
+            final IllegalStateException e = assertThrows(
+                    IllegalStateException.class,
+                    () -> constructorAccessor.newInstance(new Object[0]));
+
+            assertSame(ThrowingService.EXCEPTION, e);
+        }
+
+        @Test
+        void testCreateConstructorAccessorWhenPackageIsNotOpen() throws Throwable {
+
+            final Constructor<Object> constructor = Object.class.getConstructor();
+            final ConstructorAccessor fallbackConstructorAccessor = (arguments) -> new Object();
+            when(fallback.createConstructorAccessor(constructor))
+                    .thenReturn(fallbackConstructorAccessor);
+
+            final ConstructorAccessor constructorAccessor =
+                    constructorAccessorFactory.createConstructorAccessor(constructor);
+
+            assertSame(fallbackConstructorAccessor, constructorAccessor);
+            verify(fallback).createConstructorAccessor(constructor);
+            assertInstanceOf(Object.class, constructorAccessor.newInstance(new Object[0]));
+        }
+    }
+}
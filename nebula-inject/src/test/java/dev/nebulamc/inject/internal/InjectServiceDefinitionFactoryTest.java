@@ -21,6 +21,7 @@ import java.lang.reflect.Parameter;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -76,6 +77,14 @@ class InjectServiceDefinitionFactoryTest {
         }
     }
 
+    static class PrivateConstructor {
+
+        @Inject
+        private PrivateConstructor() {
+
+        }
+    }
+
     @DisplayName("createServiceDefinition(Class<T>, Class<? extends T>)")
     @Nested
     class CreateServiceDefinition {
@@ -209,8 +218,23 @@ class InjectServiceDefinitionFactoryTest {
             final ServiceDefinition<ThrowingConstructor> serviceDefinition =
                     serviceDefinitionFactory.createServiceDefinition(ThrowingConstructor.class, ThrowingConstructor.class);
 
-            assertThrows(ServiceException.class,
+            final ServiceException e = assertThrows(ServiceException.class,
                     () -> serviceDefinition.createService(serviceFinder));
+            assertInstanceOf(RuntimeException.class, e.getCause());
+        }
+
+        @Test
+        void testCreateServiceWhenConstructorIsPrivate() {
+
+            final ServiceDefinition<PrivateConstructor> serviceDefinition =
+                    serviceDefinitionFactory.createServiceDefinition(PrivateConstructor.class, PrivateConstructor.class);
+
+            final PrivateConstructor service1 = serviceDefinition.createService(serviceFinder);
+            final PrivateConstructor service2 = serviceDefinition.createService(serviceFinder);
+
+            assertInstanceOf(PrivateConstructor.class, service1);
+            assertInstanceOf(PrivateConstructor.class, service2);
+            assertNotSame(service1, service2);
         }
 
         @Test
@@ -3,7 +3,10 @@ package dev.nebulamc.inject.internal;
 import dev.nebulamc.inject.NoUniqueServiceException;
 import dev.nebulamc.inject.ServiceDefinition;
 import dev.nebulamc.inject.ServiceDefinitionRegistry;
+import dev.nebulamc.inject.ServiceException;
 import dev.nebulamc.inject.car.Car;
+import dev.nebulamc.inject.car.Engine;
+import dev.nebulamc.inject.car.Sedan;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,6 +16,7 @@ import org.junit.jupiter.api.Test;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -63,27 +67,63 @@ class InjectServiceDefinitionRegistryTest {
         @Test
         void testFindServiceDefinitionWhenTypeIsInjectable() {
 
-            final ServiceDefinition<Car> serviceDefinition = mock();
-            when(serviceDefinitionFactory.createServiceDefinition(Car.class, Car.class))
+            final ServiceDefinition<Sedan> serviceDefinition = mock();
+            when(serviceDefinitionFactory.createServiceDefinition(Sedan.class, Sedan.class))
                     .thenReturn(serviceDefinition);
 
-            final ServiceDefinition<Car> result = registry.findServiceDefinition(Car.class);
+            final ServiceDefinition<Sedan> result = registry.findServiceDefinition(Sedan.class);
 
             assertEquals(serviceDefinition, result);
 
-            verify(serviceDefinitionFactory).createServiceDefinition(Car.class, Car.class);
+            verify(serviceDefinitionFactory).createServiceDefinition(Sedan.class, Sedan.class);
             verifyNoMoreInteractions(serviceDefinition);
         }
 
         @Test
         void testFindServiceDefinitionWhenTypeIsNotInjectable() {
 
-            when(serviceDefinitionFactory.createServiceDefinition(Car.class, Car.class))
+            when(serviceDefinitionFactory.createServiceDefinition(Sedan.class, Sedan.class))
                     .thenThrow(IllegalArgumentException.class);
 
             assertThrows(NoUniqueServiceException.class, () ->
-                    registry.findServiceDefinition(Car.class));
-            verify(serviceDefinitionFactory).createServiceDefinition(Car.class, Car.class);
+                    registry.findServiceDefinition(Sedan.class));
+            verify(serviceDefinitionFactory).createServiceDefinition(Sedan.class, Sedan.class);
+        }
+    }
+
+    @DisplayName("findServiceDefinitionOrNull(Class<T>)")
+    @Nested
+    class FindServiceDefinitionOrNull {
+
+        @SuppressWarnings("ConstantConditions")
+        @Test
+        void testFindServiceDefinitionOrNullWhenTypeIsNull() {
+
+            assertThrows(NullPointerException.class,
+                    () -> registry.findServiceDefinitionOrNull(null));
+        }
+
+        @SuppressWarnings("unchecked")
+        @Test
+        void testFindServiceDefinitionOrNullWhenTypeIsInjectable() {
+
+            final ServiceDefinition<Sedan> serviceDefinition = mock();
+            when(serviceDefinitionFactory.createServiceDefinition(Sedan.class, Sedan.class))
+                    .thenReturn(serviceDefinition);
+
+            assertEquals(serviceDefinition, registry.findServiceDefinitionOrNull(Sedan.class));
+            verify(serviceDefinitionFactory).createServiceDefinition(Sedan.class, Sedan.class);
+            verifyNoMoreInteractions(serviceDefinition);
+        }
+
+        @Test
+        void testFindServiceDefinitionOrNullWhenTypeIsNotInjectable() {
+
+            when(serviceDefinitionFactory.createServiceDefinition(Sedan.class, Sedan.class))
+                    .thenThrow(IllegalArgumentException.class);
+
+            assertNull(registry.findServiceDefinitionOrNull(Sedan.class));
+            verify(serviceDefinitionFactory).createServiceDefinition(Sedan.class, Sedan.class);
         }
     }
 
@@ -102,29 +142,49 @@ class InjectServiceDefinitionRegistryTest {
         @Test
         void testFindServiceDefinitionsWhenTypeIsInjectable() {
 
-            final ServiceDefinition<Car> serviceDefinition = mock();
-            when(serviceDefinitionFactory.createServiceDefinition(Car.class, Car.class))
+            final ServiceDefinition<Sedan> serviceDefinition = mock();
+            when(serviceDefinitionFactory.createServiceDefinition(Sedan.class, Sedan.class))
                     .thenReturn(serviceDefinition);
 
-            final List<ServiceDefinition<Car>> result = registry.findServiceDefinitions(Car.class);
+            final List<ServiceDefinition<Sedan>> result =
+                    registry.findServiceDefinitions(Sedan.class);
 
             assertEquals(List.of(serviceDefinition), result);
 
-            verify(serviceDefinitionFactory).createServiceDefinition(Car.class, Car.class);
+            verify(serviceDefinitionFactory).createServiceDefinition(Sedan.class, Sedan.class);
             verifyNoMoreInteractions(serviceDefinition);
         }
 
         @Test
         void testFindServiceDefinitionsWhenTypeIsNotInjectable() {
 
-            when(serviceDefinitionFactory.createServiceDefinition(Car.class, Car.class))
+            when(serviceDefinitionFactory.createServiceDefinition(Sedan.class, Sedan.class))
                     .thenThrow(IllegalArgumentException.class);
 
-            final List<ServiceDefinition<Car>> serviceDefinitions =
-                    registry.findServiceDefinitions(Car.class);
+            final List<ServiceDefinition<Sedan>> serviceDefinitions =
+                    registry.findServiceDefinitions(Sedan.class);
 
             assertEquals(List.of(), serviceDefinitions);
-            verify(serviceDefinitionFactory).createServiceDefinition(Car.class, Car.class);
+            verify(serviceDefinitionFactory).createServiceDefinition(Sedan.class, Sedan.class);
+        }
+
+        @Test
+        void testFindServiceDefinitionsWhenTypeIsAbstract() {
+
+            assertEquals(List.of(), registry.findServiceDefinitions(Engine.class));
+            assertEquals(List.of(), registry.findServiceDefinitions(int.class));
+            assertEquals(List.of(), registry.findServiceDefinitions(Car[].class));
+        }
+
+        @Test
+        void testFindServiceDefinitionsWhenServiceDefinitionIsInvalid() {
+
+            when(serviceDefinitionFactory.createServiceDefinition(Sedan.class, Sedan.class))
+                    .thenThrow(ServiceException.class);
+
+            assertThrows(ServiceException.class, () ->
+                    registry.findServiceDefinitions(Sedan.class));
+            verify(serviceDefinitionFactory).createServiceDefinition(Sedan.class, Sedan.class);
         }
     }
 }
@@ -0,0 +1,142 @@
+package dev.nebulamc.inject.internal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+
+    LatencyHistogram histogram;
+
+    @BeforeEach
+    void setUp() {
+
+        histogram = new LatencyHistogram();
+    }
+
+    @DisplayName("record(long)")
+    @Nested
+    class Record {
+
+        @Test
+        void testRecord() {
+
+            histogram.record(1);
+            histogram.record(1_000_000);
+
+            assertEquals(2L, histogram.getCount());
+        }
+
+        @Test
+        void testRecordWhenValueIsNegative() {
+
+            histogram.record(-1);
+
+            assertEquals(1L, histogram.getCount());
+            assertEquals(0L, histogram.getValueAtQuantile(1));
+        }
+
+        @Test
+        void testRecordWhenCalledConcurrently() throws Exception {
+
+            final int threads = 8;
+            final ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                final List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < threads; i++) {
+                    futures.add(executor.submit(() -> {
+                        for (int j = 0; j < 1000; j++) {
+                            histogram.record(100);
+                        }
+                    }));
+                }
+                for (final Future<?> future : futures) {
+                    future.get(5, TimeUnit.SECONDS);
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+
+            assertEquals(8000L, histogram.getCount());
+            assertEquals(
+                    LatencyHistogram.getHighestValue(LatencyHistogram.bucketOf(100)),
+                    histogram.getValueAtQuantile(1));
+        }
+
+        @Test
+        void testRecordWhenValueIsMaximum() {
+
+            histogram.record(Long.MAX_VALUE);
+
+            assertEquals(Long.MAX_VALUE, histogram.getValueAtQuantile(1));
+        }
+    }
+
+    @DisplayName("getValueAtQuantile(double)")
+    @Nested
+    class GetValueAtQuantile {
+
+        @Test
+        void testGetValueAtQuantileWhenEmpty() {
+
+            assertEquals(0L, histogram.getValueAtQuantile(0.5));
+        }
+
+        @Test
+        void testGetValueAtQuantileWhenExact() {
+
+            for (int i = 1; i <= 10; i++) {
+                histogram.record(i);
+            }
+
+            assertEquals(1L, histogram.getValueAtQuantile(0));
+            assertEquals(5L, histogram.getValueAtQuantile(0.5));
+            assertEquals(9L, histogram.getValueAtQuantile(0.9));
+            assertEquals(10L, histogram.getValueAtQuantile(1));
+        }
+
+        @Test
+        void testGetValueAtQuantile() {
+
+            for (int i = 1; i <= 1000; i++) {
+                histogram.record(i * 1_000L);
+            }
+
+            final long median = histogram.getValueAtQuantile(0.5);
+            final long p99 = histogram.getValueAtQuantile(0.99);
+
+            assertTrue(median >= 500_000 && median <= 500_000 * 17 / 16, "median " + median);
+            assertTrue(p99 >= 990_000 && p99 <= 990_000 * 17 / 16, "p99 " + p99);
+        }
+    }
+
+    @DisplayName("bucketOf(long)")
+    @Nested
+    class BucketOf {
+
+        @Test
+        void testBucketOf() {
+
+            for (int i = 0; i < LatencyHistogram.BUCKETS; i++) {
+                final long lowestValue = LatencyHistogram.getLowestValue(i);
+                final long highestValue = LatencyHistogram.getHighestValue(i);
+                final long width = highestValue - lowestValue;
+
+                assertEquals(i, LatencyHistogram.bucketOf(lowestValue));
+                assertEquals(i, LatencyHistogram.bucketOf(highestValue));
+                assertTrue(width <= lowestValue / LatencyHistogram.SUB_BUCKETS);
+            }
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package dev.nebulamc.inject.internal;
 
 import dev.nebulamc.inject.ServiceFinder;
+import dev.nebulamc.inject.TypeToken;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -145,6 +146,24 @@ class ParameterResolverImplTest {
                     parameterResolver.resolveParameter(parameter, serviceFinder));
         }
 
+        @Test
+        void testResolveParameterWhenResolvedAgain() throws NoSuchMethodException {
+
+            final Parameter parameter = IterableParameter.class
+                    .getDeclaredConstructor(Iterable.class)
+                    .getParameters()[0];
+
+            when(serviceFinder.findServices(String.class))
+                    .thenReturn(List.of("service 1"), List.of("service 2"));
+
+            assertEquals(
+                    List.of("service 1"),
+                    parameterResolver.resolveParameter(parameter, serviceFinder));
+            assertEquals(
+                    List.of("service 2"),
+                    parameterResolver.resolveParameter(parameter, serviceFinder));
+        }
+
         @Test
         void testResolveParameterWhenParameterIsCollection() throws NoSuchMethodException {
 
@@ -190,7 +209,7 @@ class ParameterResolverImplTest {
                     parameterResolver.resolveParameter(parameter, serviceFinder));
         }
 
-        @SuppressWarnings("rawtypes")
+        @SuppressWarnings({"rawtypes", "unchecked"})
         @Test
         void testResolveParameterWhenParameterIsGenericButNotCollection() throws NoSuchMethodException {
 
@@ -198,8 +217,8 @@ class ParameterResolverImplTest {
                     .getDeclaredConstructor(Stream.class)
                     .getParameters()[0];
 
-            when(serviceFinder.findService(Stream.class))
-                    .thenReturn(Stream.of(1, 2));
+            final TypeToken type = TypeToken.of(parameter.getParameterizedType());
+            when(serviceFinder.findGenericService(type)).thenReturn(Stream.of(1, 2));
 
             assertEquals(
                     Stream.of(1, 2).toList(),
@@ -240,19 +259,20 @@ class ParameterResolverImplTest {
                     (List[]) parameterResolver.resolveParameter(parameter, serviceFinder));
         }
 
+        @SuppressWarnings({"rawtypes", "unchecked"})
         @Test
         void testResolveParameterWhenParameterIsCollectionWithGenericElementType()
                 throws NoSuchMethodException {
 
-            // when the type parameter of a collection is generic, services of the erasure of the
-            // collection type should be returned (e.g. List<List<String>> -> List)
+            // when the type parameter of a collection is generic, the service of the parameterized
+            // collection type should be returned (e.g. List<List<String>>)
 
             final Parameter parameter = GenericElementParameter.class
                     .getDeclaredConstructor(List.class)
                     .getParameters()[0];
 
-            when(serviceFinder.findService(List.class))
-                    .thenReturn(List.of(List.of(1, 2)));
+            final TypeToken type = TypeToken.of(parameter.getParameterizedType());
+            when(serviceFinder.findGenericService(type)).thenReturn(List.of(List.of(1, 2)));
 
             assertEquals(
                     List.of(List.of(1, 2)),
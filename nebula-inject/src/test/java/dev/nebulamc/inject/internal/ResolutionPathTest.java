@@ -0,0 +1,116 @@
+package dev.nebulamc.inject.internal;
+
+import dev.nebulamc.inject.ServiceException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ResolutionPathTest {
+
+    Object container;
+    ResolutionPath resolutionPath;
+
+    @BeforeEach
+    void setUp() {
+
+        container = new Object();
+        resolutionPath = ResolutionPath.current();
+    }
+
+    @AfterEach
+    void tearDown() {
+
+        while (resolutionPath.size() > 0) {
+            resolutionPath.pop();
+        }
+    }
+
+    @DisplayName("current()")
+    @Nested
+    class Current {
+
+        @Test
+        void testCurrent() {
+
+            assertSame(resolutionPath, ResolutionPath.current());
+        }
+    }
+
+    @DisplayName("push(Object, Class<?>)")
+    @Nested
+    class Push {
+
+        @Test
+        void testPush() {
+
+            resolutionPath.push(container, String.class);
+            resolutionPath.push(container, Integer.class);
+
+            assertEquals(2, resolutionPath.size());
+        }
+
+        @Test
+        void testPushWhenTypeIsBeingCreated() {
+
+            resolutionPath.push(container, String.class);
+            resolutionPath.push(container, Integer.class);
+
+            final ServiceException e = assertThrows(
+                    ServiceException.class,
+                    () -> resolutionPath.push(container, String.class));
+
+            assertEquals("Cyclic dependency: java.lang.String -> java.lang.Integer -> " +
+                    "java.lang.String", e.getMessage());
+            assertEquals(2, resolutionPath.size());
+        }
+
+        @Test
+        void testPushWhenTypeIsBeingCreatedByAnotherContainer() {
+
+            resolutionPath.push(container, String.class);
+            resolutionPath.push(new Object(), String.class);
+
+            assertEquals(2, resolutionPath.size());
+        }
+
+        @Test
+        void testPushWhenFull() {
+
+            final Class<?>[] serviceTypes = {
+                    Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class,
+                    Character.class, Boolean.class, String.class, Object.class, Number.class,
+                    Void.class, Class.class, Enum.class, Record.class, Thread.class, Runnable.class
+            };
+
+            for (final Class<?> serviceType : serviceTypes) {
+                resolutionPath.push(container, serviceType);
+            }
+
+            assertEquals(serviceTypes.length, resolutionPath.size());
+            assertThrows(
+                    ServiceException.class,
+                    () -> resolutionPath.push(container, Runnable.class));
+        }
+    }
+
+    @DisplayName("pop()")
+    @Nested
+    class Pop {
+
+        @Test
+        void testPop() {
+
+            resolutionPath.push(container, String.class);
+            resolutionPath.pop();
+
+            assertEquals(0, resolutionPath.size());
+            resolutionPath.push(container, String.class);
+        }
+    }
+}
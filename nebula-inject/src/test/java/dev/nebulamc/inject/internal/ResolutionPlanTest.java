@@ -0,0 +1,447 @@
+package dev.nebulamc.inject.internal;
+
+import dev.nebulamc.inject.Container;
+import dev.nebulamc.inject.Inject;
+import dev.nebulamc.inject.Named;
+import dev.nebulamc.inject.ServiceDefinition;
+import dev.nebulamc.inject.ServiceDefinitionRegistry;
+import dev.nebulamc.inject.ServiceException;
+import dev.nebulamc.inject.car.Car;
+import dev.nebulamc.inject.car.Engine;
+import dev.nebulamc.inject.car.Sedan;
+import dev.nebulamc.inject.car.V8Engine;
+import dev.nebulamc.inject.car.Wheels;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ResolutionPlanTest {
+
+    ServiceDefinition<Engine> engineServiceDefinition;
+    ServiceDefinition<Car> carServiceDefinition;
+    ServiceDefinitionRegistry serviceDefinitionRegistry;
+
+    @BeforeEach
+    void setUp() {
+
+        engineServiceDefinition = new SingletonServiceDefinition<>(Engine.class, new V8Engine());
+        carServiceDefinition = new InjectServiceDefinitionFactoryImpl(new ParameterResolverImpl())
+                .createServiceDefinition(Car.class, Sedan.class);
+        serviceDefinitionRegistry = ServiceDefinitionRegistry.builder()
+                .serviceDefinition(engineServiceDefinition)
+                .serviceDefinition(carServiceDefinition)
+                .build();
+    }
+
+    static class LazyDependency {
+
+        @Inject
+        LazyDependency(final Supplier<Engine> engine) {
+
+        }
+    }
+
+    static class NamedDependency {
+
+        @Inject
+        NamedDependency(@Named("v8") final Engine engine) {
+
+        }
+    }
+
+    static class GenericDependency {
+
+        @Inject
+        GenericDependency(final Comparator<Engine> comparator) {
+
+        }
+    }
+
+    static class ContainerDependency {
+
+        @Inject
+        ContainerDependency(final Container container) {
+
+        }
+    }
+
+    static class CyclicDependency {
+
+        @Inject
+        CyclicDependency(final CyclicDependent dependent) {
+
+        }
+    }
+
+    static class CyclicDependent {
+
+        @Inject
+        CyclicDependent(final CyclicDependency dependency) {
+
+        }
+    }
+
+    static class LazyCyclicDependency {
+
+        @Inject
+        LazyCyclicDependency(final Supplier<LazyCyclicDependent> dependent) {
+
+        }
+    }
+
+    static class LazyCyclicDependent {
+
+        @Inject
+        LazyCyclicDependent(final LazyCyclicDependency dependency) {
+
+        }
+    }
+
+    @DisplayName("compile(ServiceDefinitionRegistry, Collection<Class<?>>)")
+    @Nested
+    class Compile {
+
+        @SuppressWarnings("DataFlowIssue")
+        @Test
+        void testCompileWhenServiceDefinitionRegistryIsNull() {
+
+            assertThrows(NullPointerException.class,
+                    () -> ResolutionPlan.compile(null, List.of()));
+        }
+
+        @SuppressWarnings("DataFlowIssue")
+        @Test
+        void testCompileWhenServiceTypesIsNull() {
+
+            assertThrows(NullPointerException.class,
+                    () -> ResolutionPlan.compile(serviceDefinitionRegistry, null));
+        }
+
+        @Test
+        void testCompile() {
+
+            final ResolutionPlan plan =
+                    ResolutionPlan.compile(serviceDefinitionRegistry, List.of(Car.class));
+
+            final int car = plan.indexOf(Car.class);
+            final int engine = plan.indexOf(Engine.class);
+            final int wheels = plan.indexOf(Wheels.class);
+
+            assertEquals(3, plan.size());
+            assertEquals(Car.class, plan.getServiceType(car));
+            assertArrayEquals(new ServiceDefinition<?>[]{carServiceDefinition},
+                    plan.getServiceDefinitions(car));
+            assertArrayEquals(new int[]{engine, wheels}, plan.getDependencyIndices(car, 0));
+            assertArrayEquals(new ServiceDefinition<?>[]{engineServiceDefinition},
+                    plan.getServiceDefinitions(engine));
+            assertNull(plan.getDependencyIndices(engine, 0));
+            assertArrayEquals(new ServiceDefinition<?>[0], plan.getServiceDefinitions(wheels));
+        }
+
+        @Test
+        void testCompileWhenTypeIsNotPlanned() {
+
+            final ResolutionPlan plan =
+                    ResolutionPlan.compile(serviceDefinitionRegistry, List.of(Engine.class));
+
+            assertEquals(ResolutionPlan.UNPLANNED, plan.indexOf(Car.class));
+        }
+
+        @Test
+        void testCompileWhenDependencyIsContainer() {
+
+            final ServiceDefinition<ContainerDependency> serviceDefinition =
+                    new InjectServiceDefinitionFactoryImpl(new ParameterResolverImpl())
+                            .createServiceDefinition(
+                                    ContainerDependency.class,
+                                    ContainerDependency.class);
+            final ServiceDefinitionRegistry serviceDefinitionRegistry =
+                    ServiceDefinitionRegistry.builder()
+                            .serviceDefinition(serviceDefinition)
+                            .build();
+
+            final ResolutionPlan plan = ResolutionPlan.compile(
+                    serviceDefinitionRegistry,
+                    List.of(ContainerDependency.class));
+
+            assertEquals(1, plan.size());
+            assertEquals(ResolutionPlan.UNPLANNED, plan.indexOf(Container.class));
+            assertArrayEquals(new int[]{ResolutionPlan.UNPLANNED},
+                    plan.getDependencyIndices(0, 0));
+        }
+
+        @Test
+        void testCompileWhenDependencyIsLazy() {
+
+            final ServiceDefinition<LazyDependency> serviceDefinition =
+                    new InjectServiceDefinitionFactoryImpl(new ParameterResolverImpl())
+                            .createServiceDefinition(LazyDependency.class, LazyDependency.class);
+            final ServiceDefinitionRegistry serviceDefinitionRegistry =
+                    ServiceDefinitionRegistry.builder()
+                            .serviceDefinition(engineServiceDefinition)
+                            .serviceDefinition(serviceDefinition)
+                            .build();
+
+            final ResolutionPlan plan = ResolutionPlan.compile(
+                    serviceDefinitionRegistry,
+                    List.of(LazyDependency.class));
+
+            assertEquals(2, plan.size());
+            assertArrayEquals(new ServiceDefinition<?>[]{engineServiceDefinition},
+                    plan.getServiceDefinitions(plan.indexOf(Engine.class)));
+            assertArrayEquals(new int[]{ResolutionPlan.UNPLANNED},
+                    plan.getDependencyIndices(plan.indexOf(LazyDependency.class), 0));
+        }
+
+        @Test
+        void testCompileWhenDependencyIsNamed() {
+
+            final ServiceDefinition<NamedDependency> serviceDefinition =
+                    new InjectServiceDefinitionFactoryImpl(new ParameterResolverImpl())
+                            .createServiceDefinition(NamedDependency.class, NamedDependency.class);
+            final ServiceDefinitionRegistry serviceDefinitionRegistry =
+                    ServiceDefinitionRegistry.builder()
+                            .serviceDefinition(engineServiceDefinition)
+                            .serviceDefinition(serviceDefinition)
+                            .build();
+
+            final ResolutionPlan plan = ResolutionPlan.compile(
+                    serviceDefinitionRegistry,
+                    List.of(NamedDependency.class));
+
+            assertArrayEquals(new int[]{ResolutionPlan.UNPLANNED},
+                    plan.getDependencyIndices(plan.indexOf(NamedDependency.class), 0));
+        }
+
+        @Test
+        void testCompileWhenDependencyIsParameterized() {
+
+            final ServiceDefinition<GenericDependency> serviceDefinition =
+                    new InjectServiceDefinitionFactoryImpl(new ParameterResolverImpl())
+                            .createServiceDefinition(
+                                    GenericDependency.class,
+                                    GenericDependency.class);
+            final ServiceDefinitionRegistry serviceDefinitionRegistry =
+                    ServiceDefinitionRegistry.builder()
+                            .serviceDefinition(new SingletonServiceDefinition<>(
+                                    Comparator.class,
+                                    Comparator.naturalOrder()))
+                            .serviceDefinition(serviceDefinition)
+                            .build();
+
+            final ResolutionPlan plan = ResolutionPlan.compile(
+                    serviceDefinitionRegistry,
+                    List.of(GenericDependency.class));
+
+            assertArrayEquals(new int[]{ResolutionPlan.UNPLANNED},
+                    plan.getDependencyIndices(plan.indexOf(GenericDependency.class), 0));
+        }
+
+        @Test
+        void testCompileWhenServiceDefinitionsCannotBeFound() {
+
+            final ServiceDefinitionRegistry serviceDefinitionRegistry = mock();
+            when(serviceDefinitionRegistry.findServiceDefinitions(Car.class))
+                    .thenThrow(ServiceException.class);
+
+            final ResolutionPlan plan =
+                    ResolutionPlan.compile(serviceDefinitionRegistry, List.of(Car.class));
+
+            assertEquals(0, plan.size());
+            assertEquals(ResolutionPlan.UNPLANNED, plan.indexOf(Car.class));
+        }
+    }
+    @DisplayName("findProblems()")
+    @Nested
+    class FindProblems {
+
+        <T> ServiceDefinition<T> createServiceDefinition(final Class<T> type) {
+
+            return new InjectServiceDefinitionFactoryImpl(new ParameterResolverImpl())
+                    .createServiceDefinition(type, type);
+        }
+
+        @Test
+        void testFindProblemsWhenThereAreNoProblems() {
+
+            final ServiceDefinitionRegistry serviceDefinitionRegistry =
+                    ServiceDefinitionRegistry.builder()
+                            .serviceDefinition(engineServiceDefinition)
+                            .serviceDefinition(carServiceDefinition)
+                            .serviceDefinition(
+                                    new SingletonServiceDefinition<>(Wheels.class, new Wheels()))
+                            .build();
+
+            final ResolutionPlan plan =
+                    ResolutionPlan.compile(serviceDefinitionRegistry, List.of(Car.class));
+
+            assertEquals(List.of(), plan.findProblems());
+        }
+
+        @Test
+        void testFindProblemsWhenServiceIsMissing() {
+
+            final ResolutionPlan plan =
+                    ResolutionPlan.compile(serviceDefinitionRegistry, List.of(Car.class));
+
+            assertEquals(
+                    List.of("Service of type " + Car.class.getName() +
+                            " requires a service of type " + Wheels.class.getName() +
+                            " but none were found"),
+                    plan.findProblems());
+        }
+
+        @Test
+        void testFindProblemsWhenServiceIsNotUnique() {
+
+            final ServiceDefinitionRegistry serviceDefinitionRegistry =
+                    ServiceDefinitionRegistry.builder()
+                            .serviceDefinition(engineServiceDefinition)
+                            .serviceDefinition(
+                                    new SingletonServiceDefinition<>(Engine.class, new V8Engine()))
+                            .serviceDefinition(carServiceDefinition)
+                            .serviceDefinition(
+                                    new SingletonServiceDefinition<>(Wheels.class, new Wheels()))
+                            .build();
+
+            final ResolutionPlan plan =
+                    ResolutionPlan.compile(serviceDefinitionRegistry, List.of(Car.class));
+
+            assertEquals(
+                    List.of("Service of type " + Car.class.getName() +
+                            " requires a service of type " + Engine.class.getName() +
+                            " but 2 were found"),
+                    plan.findProblems());
+        }
+
+        @Test
+        void testFindProblemsWhenNamedServiceIsMissing() {
+
+            final ServiceDefinitionRegistry serviceDefinitionRegistry =
+                    ServiceDefinitionRegistry.builder()
+                            .serviceDefinition(engineServiceDefinition)
+                            .serviceDefinition(createServiceDefinition(NamedDependency.class))
+                            .build();
+
+            final ResolutionPlan plan = ResolutionPlan.compile(
+                    serviceDefinitionRegistry,
+                    List.of(NamedDependency.class));
+
+            assertEquals(
+                    List.of("Service of type " + NamedDependency.class.getName() +
+                            " requires a service of type " + Engine.class.getName() +
+                            " named \"v8\" but none were found"),
+                    plan.findProblems());
+        }
+
+        @Test
+        void testFindProblemsWhenNamedServiceIsFound() {
+
+            final ServiceDefinitionRegistry serviceDefinitionRegistry =
+                    ServiceDefinitionRegistry.builder()
+                            .serviceDefinition(engineServiceDefinition)
+                            .serviceDefinition(new SingletonServiceDefinition<>(
+                                    Engine.class,
+                                    "v8",
+                                    new V8Engine()))
+                            .serviceDefinition(createServiceDefinition(NamedDependency.class))
+                            .build();
+
+            final ResolutionPlan plan = ResolutionPlan.compile(
+                    serviceDefinitionRegistry,
+                    List.of(NamedDependency.class));
+
+            assertEquals(List.of(), plan.findProblems());
+        }
+
+        @Test
+        void testFindProblemsWhenParameterizedServiceIsMissing() {
+
+            final ServiceDefinitionRegistry serviceDefinitionRegistry =
+                    ServiceDefinitionRegistry.builder()
+                            .serviceDefinition(createServiceDefinition(GenericDependency.class))
+                            .build();
+
+            final ResolutionPlan plan = ResolutionPlan.compile(
+                    serviceDefinitionRegistry,
+                    List.of(GenericDependency.class));
+
+            assertEquals(
+                    List.of("Service of type " + GenericDependency.class.getName() +
+                            " requires a service of type " + Comparator.class.getName() + "<" +
+                            Engine.class.getName() + "> but none were found"),
+                    plan.findProblems());
+        }
+
+        @Test
+        void testFindProblemsWhenServiceDefinitionsCannotBeFound() {
+
+            final ServiceException exception = new ServiceException("exception");
+            final ServiceDefinitionRegistry serviceDefinitionRegistry = mock();
+            when(serviceDefinitionRegistry.findServiceDefinitions(Car.class))
+                    .thenReturn(List.of(carServiceDefinition));
+            when(serviceDefinitionRegistry.findServiceDefinitions(Engine.class))
+                    .thenThrow(exception);
+            when(serviceDefinitionRegistry.findServiceDefinitions(Wheels.class))
+                    .thenReturn(List.of(
+                            new SingletonServiceDefinition<>(Wheels.class, new Wheels())));
+
+            final ResolutionPlan plan =
+                    ResolutionPlan.compile(serviceDefinitionRegistry, List.of(Car.class));
+
+            assertEquals(
+                    List.of("Service of type " + Car.class.getName() +
+                            " requires services of type " + Engine.class.getName() +
+                            " but their service definitions could not be found: " + exception),
+                    plan.findProblems());
+        }
+
+        @Test
+        void testFindProblemsWhenDependenciesAreCyclic() {
+
+            final ServiceDefinitionRegistry serviceDefinitionRegistry =
+                    ServiceDefinitionRegistry.builder()
+                            .serviceDefinition(createServiceDefinition(CyclicDependency.class))
+                            .serviceDefinition(createServiceDefinition(CyclicDependent.class))
+                            .build();
+
+            final ResolutionPlan plan = ResolutionPlan.compile(
+                    serviceDefinitionRegistry,
+                    List.of(CyclicDependency.class));
+
+            assertEquals(
+                    List.of("Cyclic dependency: " + CyclicDependency.class.getName() +
+                            " -> " + CyclicDependent.class.getName() +
+                            " -> " + CyclicDependency.class.getName()),
+                    plan.findProblems());
+        }
+
+        @Test
+        void testFindProblemsWhenCyclicDependencyIsLazy() {
+
+            final ServiceDefinitionRegistry serviceDefinitionRegistry =
+                    ServiceDefinitionRegistry.builder()
+                            .serviceDefinition(createServiceDefinition(LazyCyclicDependency.class))
+                            .serviceDefinition(createServiceDefinition(LazyCyclicDependent.class))
+                            .build();
+
+            final ResolutionPlan plan = ResolutionPlan.compile(
+                    serviceDefinitionRegistry,
+                    List.of(LazyCyclicDependency.class));
+
+            assertEquals(List.of(), plan.findProblems());
+        }
+    }
+}
@@ -3,7 +3,10 @@ package dev.nebulamc.inject.internal;
 import dev.nebulamc.inject.NoUniqueServiceException;
 import dev.nebulamc.inject.ServiceDefinition;
 import dev.nebulamc.inject.ServiceDefinitionRegistry;
+import dev.nebulamc.inject.car.Car;
 import dev.nebulamc.inject.car.Engine;
+import dev.nebulamc.inject.car.V8Engine;
+import dev.nebulamc.inject.car.Wheels;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -14,6 +17,8 @@ import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -122,6 +127,84 @@ class ServiceDefinitionRegistryCompositeTest {
             verify(serviceDefinitionRegistry1).findServiceDefinitions(Engine.class);
             verify(serviceDefinitionRegistry2).findServiceDefinitions(Engine.class);
         }
+
+        @Test
+        void testFindServiceWhenRegistriesAreMerged() {
+
+            final ServiceDefinition<Engine> serviceDefinition =
+                    new SingletonServiceDefinition<>(Engine.class, new V8Engine());
+            final ServiceDefinitionRegistry composite =
+                    new ServiceDefinitionRegistryComposite(List.of(
+                            ServiceDefinitionRegistry.builder().build(),
+                            ServiceDefinitionRegistry.builder()
+                                    .serviceDefinition(serviceDefinition)
+                                    .build()));
+
+            assertEquals(serviceDefinition, composite.findServiceDefinition(Engine.class));
+            assertThrows(NoUniqueServiceException.class,
+                    () -> composite.findServiceDefinition(Wheels.class));
+        }
+    }
+
+    @DisplayName("findServiceDefinitionOrNull(Class<T>)")
+    @Nested
+    class FindServiceDefinitionOrNull {
+
+        @SuppressWarnings("ConstantConditions")
+        @Test
+        void testFindServiceDefinitionOrNullWhenTypeIsNull() {
+
+            assertThrows(NullPointerException.class,
+                    () -> composite.findServiceDefinitionOrNull(null));
+        }
+
+        @SuppressWarnings("unchecked")
+        @Test
+        void testFindServiceDefinitionOrNullWhenCompositesHaveMultipleServices() {
+
+            final ServiceDefinition<Engine> serviceDefinition = mock();
+
+            when(serviceDefinitionRegistry1.findServiceDefinitions(Engine.class))
+                    .thenReturn(List.of(serviceDefinition));
+            when(serviceDefinitionRegistry2.findServiceDefinitions(Engine.class))
+                    .thenReturn(List.of(serviceDefinition));
+
+            assertNull(composite.findServiceDefinitionOrNull(Engine.class));
+            verify(serviceDefinitionRegistry1).findServiceDefinitions(Engine.class);
+            verify(serviceDefinitionRegistry2).findServiceDefinitions(Engine.class);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Test
+        void testFindServiceDefinitionOrNull() {
+
+            final ServiceDefinition<Engine> serviceDefinition = mock();
+
+            when(serviceDefinitionRegistry1.findServiceDefinitions(Engine.class))
+                    .thenReturn(List.of());
+            when(serviceDefinitionRegistry2.findServiceDefinitions(Engine.class))
+                    .thenReturn(List.of(serviceDefinition));
+
+            assertEquals(serviceDefinition, composite.findServiceDefinitionOrNull(Engine.class));
+            verify(serviceDefinitionRegistry1).findServiceDefinitions(Engine.class);
+            verify(serviceDefinitionRegistry2).findServiceDefinitions(Engine.class);
+        }
+
+        @Test
+        void testFindServiceDefinitionOrNullWhenRegistriesAreMerged() {
+
+            final ServiceDefinition<Engine> serviceDefinition =
+                    new SingletonServiceDefinition<>(Engine.class, new V8Engine());
+            final ServiceDefinitionRegistry composite =
+                    new ServiceDefinitionRegistryComposite(List.of(
+                            ServiceDefinitionRegistry.builder().build(),
+                            ServiceDefinitionRegistry.builder()
+                                    .serviceDefinition(serviceDefinition)
+                                    .build()));
+
+            assertEquals(serviceDefinition, composite.findServiceDefinitionOrNull(Engine.class));
+            assertNull(composite.findServiceDefinitionOrNull(Wheels.class));
+        }
     }
 
     @DisplayName("findServiceDefinitions()")
@@ -153,5 +236,91 @@ class ServiceDefinitionRegistryCompositeTest {
             verify(serviceDefinitionRegistry1).findServiceDefinitions(Engine.class);
             verify(serviceDefinitionRegistry2).findServiceDefinitions(Engine.class);
         }
+
+        @SuppressWarnings("unchecked")
+        @Test
+        void testFindServiceDefinitionsWhenOnlyOneRegistryHasServices() {
+
+            final ServiceDefinition<Engine> serviceDefinition = mock();
+            final List<ServiceDefinition<Engine>> serviceDefinitions = List.of(serviceDefinition);
+
+            when(serviceDefinitionRegistry1.findServiceDefinitions(Engine.class))
+                    .thenReturn(List.of());
+            when(serviceDefinitionRegistry2.findServiceDefinitions(Engine.class))
+                    .thenReturn(serviceDefinitions);
+
+            assertSame(serviceDefinitions, composite.findServiceDefinitions(Engine.class));
+            verify(serviceDefinitionRegistry1).findServiceDefinitions(Engine.class);
+            verify(serviceDefinitionRegistry2).findServiceDefinitions(Engine.class);
+        }
+
+        @Test
+        void testFindServiceDefinitionsWhenRegistriesAreMerged() {
+
+            final ServiceDefinition<Engine> serviceDefinition1 =
+                    new SingletonServiceDefinition<>(Engine.class, new V8Engine());
+            final ServiceDefinition<Engine> serviceDefinition2 =
+                    new SingletonServiceDefinition<>(Engine.class, new V8Engine());
+            final ServiceDefinition<Engine> serviceDefinition3 =
+                    new SingletonServiceDefinition<>(Engine.class, new V8Engine());
+            final ServiceDefinitionRegistry composite =
+                    new ServiceDefinitionRegistryComposite(List.of(
+                            ServiceDefinitionRegistry.builder()
+                                    .serviceDefinition(serviceDefinition1)
+                                    .build(),
+                            new ServiceDefinitionRegistryComposite(List.of(
+                                    ServiceDefinitionRegistry.builder()
+                                            .serviceDefinition(serviceDefinition2)
+                                            .build())),
+                            serviceDefinitionRegistry1,
+                            ServiceDefinitionRegistry.builder()
+                                    .serviceDefinition(serviceDefinition3)
+                                    .build()));
+
+            when(serviceDefinitionRegistry1.findServiceDefinitions(Engine.class))
+                    .thenReturn(List.of());
+
+            assertEquals(List.of(serviceDefinition1, serviceDefinition2, serviceDefinition3),
+                    composite.findServiceDefinitions(Engine.class));
+            assertEquals(List.of(), composite.findServiceDefinitions(Wheels.class));
+            verify(serviceDefinitionRegistry1).findServiceDefinitions(Engine.class);
+            verify(serviceDefinitionRegistry1).findServiceDefinitions(Wheels.class);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Test
+        void testFindServiceDefinitionsWhenRegistriesAreNotAdjacent() {
+
+            final ServiceDefinition<Engine> serviceDefinition1 =
+                    new SingletonServiceDefinition<>(Engine.class, new V8Engine());
+            final ServiceDefinition<Engine> serviceDefinition2 = mock();
+            final ServiceDefinition<Wheels> serviceDefinition3 =
+                    new SingletonServiceDefinition<>(Wheels.class, new Wheels());
+            final ServiceDefinitionRegistry composite =
+                    new ServiceDefinitionRegistryComposite(List.of(
+                            ServiceDefinitionRegistry.builder()
+                                    .serviceDefinition(serviceDefinition1)
+                                    .build(),
+                            serviceDefinitionRegistry1,
+                            ServiceDefinitionRegistry.builder()
+                                    .serviceDefinition(serviceDefinition3)
+                                    .build()));
+
+            when(serviceDefinitionRegistry1.findServiceDefinitions(Engine.class))
+                    .thenReturn(List.of(serviceDefinition2));
+            when(serviceDefinitionRegistry1.findServiceDefinitions(Wheels.class))
+                    .thenReturn(List.of());
+            when(serviceDefinitionRegistry1.findServiceDefinitions(Car.class))
+                    .thenReturn(List.of());
+
+            assertEquals(List.of(serviceDefinition1, serviceDefinition2),
+                    composite.findServiceDefinitions(Engine.class));
+            assertEquals(List.of(serviceDefinition3),
+                    composite.findServiceDefinitions(Wheels.class));
+            assertEquals(List.of(), composite.findServiceDefinitions(Car.class));
+            verify(serviceDefinitionRegistry1).findServiceDefinitions(Engine.class);
+            verify(serviceDefinitionRegistry1).findServiceDefinitions(Wheels.class);
+            verify(serviceDefinitionRegistry1).findServiceDefinitions(Car.class);
+        }
     }
 }
@@ -13,8 +13,11 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -71,37 +74,83 @@ class ServiceFinderServiceDefinitionRegistryTest {
         @Test
         void testFindServiceDefinitionWhenServiceIsNotFound() {
 
-            when(serviceFinder.findService(Wheels.class))
-                    .thenThrow(NoUniqueServiceException.class);
+            when(serviceFinder.findOptionalService(Wheels.class)).thenReturn(Optional.empty());
 
             assertThrows(NoUniqueServiceException.class, () ->
                     serviceDefinitionRegistry.findServiceDefinition(Wheels.class));
-            verify(serviceFinder).findService(Wheels.class);
+            verify(serviceFinder).findOptionalService(Wheels.class);
         }
 
         @Test
         void testFindServiceDefinitionWhenExceptionIsThrown() {
 
-            when(serviceFinder.findService(Wheels.class))
+            when(serviceFinder.findOptionalService(Wheels.class))
                     .thenThrow(ServiceException.class);
 
             assertThrows(NoUniqueServiceException.class, () ->
                     serviceDefinitionRegistry.findServiceDefinition(Wheels.class));
-            verify(serviceFinder).findService(Wheels.class);
+            verify(serviceFinder).findOptionalService(Wheels.class);
         }
 
         @Test
         void testFindServiceDefinition() {
 
             final Wheels wheels = new Wheels();
-            when(serviceFinder.findService(Wheels.class)).thenReturn(wheels);
+            when(serviceFinder.findOptionalService(Wheels.class)).thenReturn(Optional.of(wheels));
 
             final ServiceDefinition<Wheels> serviceDefinition = serviceDefinitionRegistry
                     .findServiceDefinition(Wheels.class);
 
             assertEquals(Wheels.class, serviceDefinition.getServiceType());
             assertEquals(wheels, serviceDefinition.createService(unusedServiceFinder));
-            verify(serviceFinder).findService(Wheels.class);
+            verify(serviceFinder).findOptionalService(Wheels.class);
+        }
+    }
+
+    @DisplayName("findServiceDefinitionOrNull(Class<T>)")
+    @Nested
+    class FindServiceDefinitionOrNull {
+
+        @SuppressWarnings("ConstantConditions")
+        @Test
+        void testFindServiceDefinitionOrNullThrowsWhenServiceTypeIsNull() {
+
+            assertThrows(NullPointerException.class, () ->
+                    serviceDefinitionRegistry.findServiceDefinitionOrNull(null));
+        }
+
+        @Test
+        void testFindServiceDefinitionOrNullWhenServiceIsNotFound() {
+
+            when(serviceFinder.findOptionalService(Wheels.class)).thenReturn(Optional.empty());
+
+            assertNull(serviceDefinitionRegistry.findServiceDefinitionOrNull(Wheels.class));
+            verify(serviceFinder).findOptionalService(Wheels.class);
+        }
+
+        @Test
+        void testFindServiceDefinitionOrNullWhenExceptionIsThrown() {
+
+            when(serviceFinder.findOptionalService(Wheels.class))
+                    .thenThrow(ServiceException.class);
+
+            assertNull(serviceDefinitionRegistry.findServiceDefinitionOrNull(Wheels.class));
+            verify(serviceFinder).findOptionalService(Wheels.class);
+        }
+
+        @Test
+        void testFindServiceDefinitionOrNull() {
+
+            final Wheels wheels = new Wheels();
+            when(serviceFinder.findOptionalService(Wheels.class)).thenReturn(Optional.of(wheels));
+
+            final ServiceDefinition<Wheels> serviceDefinition = serviceDefinitionRegistry
+                    .findServiceDefinitionOrNull(Wheels.class);
+
+            assertNotNull(serviceDefinition);
+            assertEquals(Wheels.class, serviceDefinition.getServiceType());
+            assertEquals(wheels, serviceDefinition.createService(unusedServiceFinder));
+            verify(serviceFinder).findOptionalService(Wheels.class);
         }
     }
 
@@ -145,4 +194,78 @@ class ServiceFinderServiceDefinitionRegistryTest {
             verify(serviceFinder).findServices(Wheels.class);
         }
     }
+
+    @DisplayName("findServiceDefinitions(Class<T>, String)")
+    @Nested
+    class FindNamedServiceDefinitions {
+
+        @Test
+        void testFindServiceDefinitionsWhenServiceIsNotFound() {
+
+            when(serviceFinder.findOptionalService(Wheels.class, "wheels"))
+                    .thenReturn(Optional.empty());
+
+            assertEquals(
+                    List.of(),
+                    serviceDefinitionRegistry.findServiceDefinitions(Wheels.class, "wheels"));
+            verify(serviceFinder).findOptionalService(Wheels.class, "wheels");
+        }
+
+        @Test
+        void testFindServiceDefinitionsWhenExceptionIsThrown() {
+
+            when(serviceFinder.findOptionalService(Wheels.class, "wheels"))
+                    .thenThrow(ServiceException.class);
+
+            assertThrows(ServiceException.class, () ->
+                    serviceDefinitionRegistry.findServiceDefinitions(Wheels.class, "wheels"));
+            verify(serviceFinder).findOptionalService(Wheels.class, "wheels");
+        }
+
+        @Test
+        void testFindServiceDefinitionsWhenNamedServicesAreNotSupported() {
+
+            final ServiceFinder serviceFinder = new ServiceFinder() {
+                @Override
+                public <T> T findService(final Class<T> serviceType) {
+
+                    throw new NoUniqueServiceException();
+                }
+
+                @Override
+                public <T> Optional<T> findOptionalService(final Class<T> serviceType) {
+
+                    return Optional.empty();
+                }
+
+                @Override
+                public <T> List<T> findServices(final Class<T> serviceType) {
+
+                    return List.of();
+                }
+            };
+            final ServiceDefinitionRegistry serviceDefinitionRegistry =
+                    new ServiceFinderServiceDefinitionRegistry(serviceFinder);
+
+            assertEquals(
+                    List.of(),
+                    serviceDefinitionRegistry.findServiceDefinitions(Wheels.class, "wheels"));
+        }
+
+        @Test
+        void testFindServiceDefinitions() {
+
+            final Wheels wheels = new Wheels();
+            when(serviceFinder.findOptionalService(Wheels.class, "wheels"))
+                    .thenReturn(Optional.of(wheels));
+
+            final List<ServiceDefinition<Wheels>> serviceDefinitions = serviceDefinitionRegistry
+                    .findServiceDefinitions(Wheels.class, "wheels");
+
+            assertEquals(1, serviceDefinitions.size());
+            assertEquals("wheels", serviceDefinitions.get(0).getName());
+            assertEquals(wheels, serviceDefinitions.get(0).createService(unusedServiceFinder));
+            verify(serviceFinder).findOptionalService(Wheels.class, "wheels");
+        }
+    }
 }
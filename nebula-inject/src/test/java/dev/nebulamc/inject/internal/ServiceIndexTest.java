@@ -0,0 +1,198 @@
+package dev.nebulamc.inject.internal;
+
+import dev.nebulamc.inject.car.CarFactory;
+import dev.nebulamc.inject.car.Engine;
+import dev.nebulamc.inject.car.Sedan;
+import dev.nebulamc.inject.car.Wheels;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ServiceIndexTest {
+
+    static abstract class AbstractService {
+
+    }
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Writes a snapshot of the constructor of {@link Sedan} and the service methods of
+     * {@link CarFactory}, fingerprinting every class with {@code 1}.
+     */
+    Path writeSnapshot() throws IOException {
+
+        final Path snapshot = directory.resolve("snapshot.bin");
+        final ServiceIndex serviceIndex = ServiceIndex.read(snapshot, (type) -> 1);
+
+        serviceIndex.findInjectableConstructor(Sedan.class);
+        serviceIndex.findServiceMethods(CarFactory.class);
+        serviceIndex.write(snapshot);
+
+        return snapshot;
+    }
+
+    @DisplayName("read(Path)")
+    @Nested
+    class Read {
+
+        @SuppressWarnings("DataFlowIssue")
+        @Test
+        void testReadWhenSnapshotIsNull() {
+
+            assertThrows(NullPointerException.class, () -> ServiceIndex.read(null));
+        }
+
+        @Test
+        void testReadWhenSnapshotDoesNotExist() {
+
+            final ServiceIndex serviceIndex = ServiceIndex.read(directory.resolve("snapshot.bin"));
+
+            assertFalse(serviceIndex.isModified());
+            assertFalse(serviceIndex.hasSnapshotEntries());
+        }
+
+        @Test
+        void testRead() throws IOException {
+
+            final ServiceIndex serviceIndex = ServiceIndex.read(writeSnapshot(), (type) -> 1);
+
+            assertTrue(serviceIndex.hasSnapshotEntries());
+        }
+
+        @Test
+        void testReadWhenSnapshotIsCorrupt() throws IOException {
+
+            final Path snapshot = writeSnapshot();
+            Files.write(snapshot, List.of("not a snapshot"));
+
+            final ServiceIndex serviceIndex = ServiceIndex.read(snapshot, (type) -> 1);
+
+            assertEquals(
+                    Sedan.class.getDeclaredConstructors()[0],
+                    serviceIndex.findInjectableConstructor(Sedan.class));
+            assertTrue(serviceIndex.isModified());
+            assertFalse(serviceIndex.hasSnapshotEntries());
+        }
+    }
+
+    @DisplayName("findInjectableConstructor(Class<? extends T>)")
+    @Nested
+    class FindInjectableConstructor {
+
+        @SuppressWarnings("DataFlowIssue")
+        @Test
+        void testFindInjectableConstructorWhenImplementationIsNull() {
+
+            final ServiceIndex serviceIndex = ServiceIndex.read(directory.resolve("snapshot.bin"));
+
+            assertThrows(
+                    NullPointerException.class,
+                    () -> serviceIndex.findInjectableConstructor(null));
+        }
+
+        @Test
+        void testFindInjectableConstructorWhenImplementationIsAbstract() {
+
+            final ServiceIndex serviceIndex = ServiceIndex.read(directory.resolve("snapshot.bin"));
+
+            assertThrows(
+                    IllegalArgumentException.class,
+                    () -> serviceIndex.findInjectableConstructor(AbstractService.class));
+            assertFalse(serviceIndex.isModified());
+        }
+
+        @Test
+        void testFindInjectableConstructor() throws IOException {
+
+            final ServiceIndex serviceIndex = ServiceIndex.read(writeSnapshot(), (type) -> 1);
+
+            assertEquals(
+                    Sedan.class.getDeclaredConstructors()[0],
+                    serviceIndex.findInjectableConstructor(Sedan.class));
+            serviceIndex.findServiceMethods(CarFactory.class);
+            assertFalse(serviceIndex.isModified());
+        }
+
+        @Test
+        void testFindInjectableConstructorWhenClassHasChanged() throws IOException {
+
+            final ServiceIndex serviceIndex = ServiceIndex.read(writeSnapshot(), (type) -> 2);
+
+            assertEquals(
+                    Sedan.class.getDeclaredConstructors()[0],
+                    serviceIndex.findInjectableConstructor(Sedan.class));
+            serviceIndex.findServiceMethods(CarFactory.class);
+            assertTrue(serviceIndex.isModified());
+        }
+
+        @Test
+        void testFindInjectableConstructorWhenClassCannotBeFingerprinted() {
+
+            final Path snapshot = directory.resolve("snapshot.bin");
+            final ServiceIndex serviceIndex =
+                    ServiceIndex.read(snapshot, (type) -> ServiceIndex.NO_FINGERPRINT);
+
+            serviceIndex.findInjectableConstructor(Sedan.class);
+
+            assertFalse(serviceIndex.isModified());
+        }
+    }
+
+    @DisplayName("findServiceMethods(Class<?>)")
+    @Nested
+    class FindServiceMethods {
+
+        @SuppressWarnings("DataFlowIssue")
+        @Test
+        void testFindServiceMethodsWhenFactoryClassIsNull() {
+
+            final ServiceIndex serviceIndex = ServiceIndex.read(directory.resolve("snapshot.bin"));
+
+            assertThrows(NullPointerException.class, () -> serviceIndex.findServiceMethods(null));
+        }
+
+        @Test
+        void testFindServiceMethods() throws IOException, NoSuchMethodException {
+
+            final Method createCar = CarFactory.class.getDeclaredMethod(
+                    "createCar",
+                    Engine.class,
+                    Wheels.class);
+            final ServiceIndex serviceIndex = ServiceIndex.read(writeSnapshot(), (type) -> 1);
+
+            assertEquals(List.of(createCar), serviceIndex.findServiceMethods(CarFactory.class));
+        }
+    }
+
+    @DisplayName("fingerprint(Class<?>)")
+    @Nested
+    class Fingerprint {
+
+        @Test
+        void testFingerprint() {
+
+            assertEquals(
+                    ServiceIndex.fingerprint(Sedan.class),
+                    ServiceIndex.fingerprint(Sedan.class));
+            assertNotEquals(ServiceIndex.NO_FINGERPRINT, ServiceIndex.fingerprint(Sedan.class));
+            assertNotEquals(
+                    ServiceIndex.fingerprint(Sedan.class),
+                    ServiceIndex.fingerprint(CarFactory.class));
+        }
+    }
+}
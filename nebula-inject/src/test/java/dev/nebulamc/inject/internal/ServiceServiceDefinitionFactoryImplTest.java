@@ -22,6 +22,7 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -224,6 +225,26 @@ class ServiceServiceDefinitionFactoryImplTest {
                 verify(parameterResolver).resolveParameter(engineParameter, serviceFinder);
                 verify(parameterResolver).resolveParameter(wheelsParameter, serviceFinder);
             }
+
+            @SuppressWarnings("unchecked")
+            @Test
+            void testCreateServiceDoesNotMakeServiceMethodAccessible() {
+
+                final Parameter engineParameter = method.getParameters()[0];
+                final Parameter wheelsParameter = method.getParameters()[1];
+                when(parameterResolver.resolveParameter(engineParameter, serviceFinder))
+                        .thenReturn(new V8Engine());
+                when(parameterResolver.resolveParameter(wheelsParameter, serviceFinder))
+                        .thenReturn(new Wheels());
+
+                final ServiceDefinition<Car> serviceDefinition = (ServiceDefinition<Car>)
+                        serviceServiceDefinitionFactory.createServiceDefinition(factory, method);
+                serviceDefinition.createService(serviceFinder);
+
+                assertFalse(method.canAccess(factory));
+                verify(parameterResolver).resolveParameter(engineParameter, serviceFinder);
+                verify(parameterResolver).resolveParameter(wheelsParameter, serviceFinder);
+            }
         }
     }
 }
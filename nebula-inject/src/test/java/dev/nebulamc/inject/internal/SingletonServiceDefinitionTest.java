@@ -10,6 +10,8 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -58,6 +60,56 @@ class SingletonServiceDefinitionTest {
         }
     }
 
+    @DisplayName("getName()")
+    @Nested
+    class GetName {
+
+        @Test
+        void testGetNameWhenNotNamed() {
+
+            assertNull(serviceDefinition.getName());
+        }
+
+        @Test
+        void testGetName() {
+
+            assertEquals(
+                    "v8",
+                    new SingletonServiceDefinition<>(Engine.class, "v8", engine).getName());
+        }
+    }
+
+    @DisplayName("equals(Object)")
+    @Nested
+    class Equals {
+
+        @Test
+        void testEqualsWhenSameSingleton() {
+
+            final ServiceDefinition<Engine> other =
+                    new SingletonServiceDefinition<>(Engine.class, engine);
+
+            assertEquals(serviceDefinition, other);
+            assertEquals(serviceDefinition.hashCode(), other.hashCode());
+        }
+
+        @Test
+        void testEqualsWhenDifferentSingleton() {
+
+            assertNotEquals(
+                    serviceDefinition,
+                    new SingletonServiceDefinition<>(Engine.class, new V8Engine()));
+        }
+
+        @Test
+        void testEqualsWhenDifferentName() {
+
+            assertNotEquals(
+                    serviceDefinition,
+                    new SingletonServiceDefinition<>(Engine.class, "v8", engine));
+        }
+    }
+
     @DisplayName("createService(ServiceFinder)")
     @Nested
     class CreateService {
@@ -0,0 +1,200 @@
+package dev.nebulamc.inject.internal;
+
+import dev.nebulamc.inject.ServiceDefinition;
+import dev.nebulamc.inject.TypeToken;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TypesTest {
+
+    interface Cache<K, V> {
+
+    }
+
+    static class StringCache<V> implements Cache<String, V> {
+
+    }
+
+    static class IntegerStringCache extends StringCache<Integer> {
+
+    }
+
+    static class StringSupplier implements Supplier<String> {
+
+        @Override
+        public String get() {
+
+            return "string";
+        }
+    }
+
+    @DisplayName("canonicalize(Type)")
+    @Nested
+    class Canonicalize {
+
+        @SuppressWarnings("ConstantConditions")
+        @Test
+        void testCanonicalizeWhenTypeIsNull() {
+
+            assertThrows(NullPointerException.class, () -> Types.canonicalize(null));
+        }
+
+        @Test
+        void testCanonicalizeWhenTypeIsClass() {
+
+            assertSame(String.class, Types.canonicalize(String.class));
+        }
+
+        @Test
+        void testCanonicalize() {
+
+            final Type type = StringSupplier.class.getGenericInterfaces()[0];
+
+            final Type canonicalType = Types.canonicalize(type);
+
+            assertEquals(type, canonicalType);
+            assertEquals(type.hashCode(), canonicalType.hashCode());
+            assertEquals(type.getTypeName(), canonicalType.getTypeName());
+            assertSame(canonicalType, Types.canonicalize(type));
+        }
+
+        @Test
+        void testCanonicalizeWhenTypeIsTypeVariable() {
+
+            final Type type = List.class.getTypeParameters()[0];
+
+            assertThrows(IllegalArgumentException.class, () -> Types.canonicalize(type));
+        }
+    }
+
+    @DisplayName("getGenericSupertype(Class<?>, Class<?>)")
+    @Nested
+    class GetGenericSupertype {
+
+        @Test
+        void testGetGenericSupertype() {
+
+            assertEquals(
+                    new TypeToken<Cache<String, Integer>>() {}.getType(),
+                    Types.getGenericSupertype(Cache.class, IntegerStringCache.class));
+            assertEquals(
+                    new TypeToken<Supplier<String>>() {}.getType(),
+                    Types.getGenericSupertype(Supplier.class, StringSupplier.class));
+        }
+
+        @Test
+        void testGetGenericSupertypeWhenTypeArgumentIsNotBound() {
+
+            assertSame(Cache.class, Types.getGenericSupertype(Cache.class, StringCache.class));
+        }
+
+        @Test
+        void testGetGenericSupertypeWhenImplementationIsServiceType() {
+
+            assertSame(
+                    StringSupplier.class,
+                    Types.getGenericSupertype(StringSupplier.class, StringSupplier.class));
+        }
+
+        @Test
+        void testGetGenericSupertypeWhenSupertypeIsRaw() {
+
+            assertSame(List.class, Types.getGenericSupertype(List.class, ArrayList.class));
+        }
+    }
+
+    @DisplayName("getGenericType(ServiceDefinition<?>, Class<?>)")
+    @Nested
+    class GetGenericType {
+
+        @Test
+        void testGetGenericTypeWhenTypeIsServiceType() {
+
+            final ServiceDefinition<StringSupplier> serviceDefinition =
+                    new SingletonServiceDefinition<>(StringSupplier.class, new StringSupplier());
+
+            assertSame(
+                    StringSupplier.class,
+                    Types.getGenericType(serviceDefinition, StringSupplier.class));
+        }
+
+        @Test
+        void testGetGenericTypeWhenTypeIsSupertype() {
+
+            final ServiceDefinition<IntegerStringCache> serviceDefinition =
+                    new SingletonServiceDefinition<>(
+                            IntegerStringCache.class,
+                            new IntegerStringCache());
+
+            assertEquals(
+                    new TypeToken<Cache<String, Integer>>() {}.getType(),
+                    Types.getGenericType(serviceDefinition, Cache.class));
+        }
+    }
+
+    @DisplayName("isServiceOf(ServiceDefinition<?>, TypeToken<?>)")
+    @Nested
+    class IsServiceOf {
+
+        @SuppressWarnings("rawtypes")
+        @Test
+        void testIsServiceOfWhenGenericTypeIsParameterized() {
+
+            final ServiceDefinition<Supplier> serviceDefinition = mock();
+            when(serviceDefinition.getServiceType()).thenReturn(Supplier.class);
+            when(serviceDefinition.getGenericType())
+                    .thenReturn(StringSupplier.class.getGenericInterfaces()[0]);
+
+            assertTrue(Types.isServiceOf(
+                    serviceDefinition,
+                    new TypeToken<Supplier<String>>() {}));
+            assertFalse(Types.isServiceOf(
+                    serviceDefinition,
+                    new TypeToken<Supplier<Integer>>() {}));
+        }
+
+        @SuppressWarnings("rawtypes")
+        @Test
+        void testIsServiceOfWhenGenericTypeIsClass() {
+
+            final ServiceDefinition<Supplier> serviceDefinition = mock();
+            when(serviceDefinition.getServiceType()).thenReturn(Supplier.class);
+            when(serviceDefinition.getGenericType()).thenReturn(Supplier.class);
+
+            assertTrue(Types.isServiceOf(
+                    serviceDefinition,
+                    new TypeToken<Supplier<String>>() {}));
+            assertFalse(Types.isServiceOf(
+                    serviceDefinition,
+                    new TypeToken<List<String>>() {}));
+        }
+
+        @Test
+        void testIsServiceOfWhenServiceTypeIsSubtype() {
+
+            final ServiceDefinition<StringSupplier> serviceDefinition =
+                    new SingletonServiceDefinition<>(StringSupplier.class, new StringSupplier());
+
+            assertTrue(Types.isServiceOf(
+                    serviceDefinition,
+                    new TypeToken<Supplier<String>>() {}));
+            assertFalse(Types.isServiceOf(
+                    serviceDefinition,
+                    new TypeToken<Supplier<Integer>>() {}));
+        }
+    }
+}
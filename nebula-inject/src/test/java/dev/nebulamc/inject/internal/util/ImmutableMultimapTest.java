@@ -0,0 +1,175 @@
+package dev.nebulamc.inject.internal.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ImmutableMultimapTest {
+
+    ImmutableMultimap<String, Object> map;
+
+    @BeforeEach
+    void setUp() {
+
+        final Multimap<String, Object> multimap = new Multimap<>();
+        multimap.add("single", "value");
+        multimap.add("multiple", "value 1");
+        multimap.add("multiple", "value 2");
+        multimap.add("list", List.of("value"));
+        map = ImmutableMultimap.copyOf(multimap);
+    }
+
+    @DisplayName("of()")
+    @Nested
+    class Of {
+
+        @Test
+        void testOf() {
+
+            final ImmutableMultimap<String, String> map = ImmutableMultimap.of();
+
+            assertEquals(List.of(), map.get("key"));
+            assertEquals(Set.of(), map.keySet());
+        }
+    }
+
+    @DisplayName("copyOf(Map<K, List<V>>)")
+    @Nested
+    class CopyOf {
+
+        @SuppressWarnings("DataFlowIssue")
+        @Test
+        void testCopyOfWhenMapIsNull() {
+
+            assertThrows(NullPointerException.class, () -> ImmutableMultimap.copyOf(null));
+        }
+
+        @Test
+        void testCopyOfWhenMapContainsNullValue() {
+
+            final Multimap<String, String> multimap = new Multimap<>();
+            multimap.add("key", null);
+
+            assertThrows(NullPointerException.class, () -> ImmutableMultimap.copyOf(multimap));
+        }
+
+        @Test
+        void testCopyOfWhenMapIsModified() {
+
+            final List<String> values = new ArrayList<>(List.of("value 1", "value 2"));
+            final Map<String, List<String>> multimap = new HashMap<>(Map.of("key", values));
+
+            final ImmutableMultimap<String, String> map = ImmutableMultimap.copyOf(multimap);
+            values.add("value 3");
+            multimap.put("other key", List.of("value"));
+
+            assertEquals(List.of("value 1", "value 2"), map.get("key"));
+            assertEquals(Set.of("key"), map.keySet());
+        }
+
+        @Test
+        void testCopyOfWhenKeyHasNoValues() {
+
+            final ImmutableMultimap<String, String> map =
+                    ImmutableMultimap.copyOf(Map.of("key", List.of()));
+
+            assertEquals(Set.of(), map.keySet());
+        }
+    }
+
+    @DisplayName("get(Object)")
+    @Nested
+    class Get {
+
+        @SuppressWarnings("DataFlowIssue")
+        @Test
+        void testGetWhenKeyIsNull() {
+
+            assertThrows(NullPointerException.class, () -> map.get(null));
+        }
+
+        @Test
+        void testGetWhenKeyNotPresent() {
+
+            assertEquals(List.of(), map.get("key"));
+        }
+
+        @Test
+        void testGetWhenKeyHasSingleValue() {
+
+            final List<Object> values = map.get("single");
+
+            assertEquals(List.of("value"), values);
+            assertSame(values, map.get("single"));
+            assertThrows(UnsupportedOperationException.class, () -> values.add("value 2"));
+        }
+
+        @Test
+        void testGetWhenKeyHasMultipleValues() {
+
+            final List<Object> values = map.get("multiple");
+
+            assertEquals(List.of("value 1", "value 2"), values);
+            assertSame(values, map.get("multiple"));
+            assertThrows(UnsupportedOperationException.class, () -> values.add("value 3"));
+        }
+
+        @Test
+        void testGetWhenValueIsList() {
+
+            assertEquals(List.of(List.of("value")), map.get("list"));
+        }
+    }
+
+    @DisplayName("getOnly(Object)")
+    @Nested
+    class GetOnly {
+
+        @Test
+        void testGetOnlyWhenKeyNotPresent() {
+
+            assertNull(map.getOnly("key"));
+        }
+
+        @Test
+        void testGetOnlyWhenKeyHasSingleValue() {
+
+            assertEquals("value", map.getOnly("single"));
+        }
+
+        @Test
+        void testGetOnlyWhenKeyHasMultipleValues() {
+
+            assertNull(map.getOnly("multiple"));
+        }
+
+        @Test
+        void testGetOnlyWhenValueIsList() {
+
+            assertEquals(List.of("value"), map.getOnly("list"));
+        }
+    }
+
+    @DisplayName("keySet()")
+    @Nested
+    class KeySet {
+
+        @Test
+        void testKeySet() {
+
+            assertEquals(Set.of("single", "multiple", "list"), map.keySet());
+        }
+    }
+}
@@ -6,5 +6,7 @@ dependencyResolutionManagement {
 
 sequenceOf(
     "nebula-inject",
-    "nebula-inject-test"
+    "nebula-inject-test",
+    "nebula-inject-processor",
+    "nebula-inject-benchmarks"
 ).forEach { include(it) }